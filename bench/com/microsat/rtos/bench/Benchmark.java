@@ -0,0 +1,53 @@
+package com.microsat.rtos.bench;
+
+/**
+ * Un micro-benchmark ejecutable por {@link BenchmarkRunner}.
+ * <p>
+ * El ciclo de vida es el mismo que en JMH: {@link #setUp(BenchmarkParams)} una vez por
+ * combinación de parámetros (fuera de la medición), {@link #operation()} muchas veces durante
+ * el calentamiento y la medición, y {@link #tearDown()} al final.
+ */
+public interface Benchmark {
+
+    /**
+     * @return Nombre corto del benchmark, usado para filtrar y en el reporte.
+     */
+    String getName();
+
+    /**
+     * Indica qué parámetros usa el benchmark, para no repetir combinaciones irrelevantes.
+     * @return true si el resultado depende del algoritmo de planificación.
+     */
+    default boolean usesAlgorithm() {
+        return false;
+    }
+
+    /**
+     * @return true si el resultado depende de la forma de la carga de trabajo.
+     */
+    default boolean usesShape() {
+        return true;
+    }
+
+    /**
+     * Prepara el estado para una combinación de parámetros.
+     * @param params Parámetros de esta ejecución.
+     * @throws Exception si la preparación falla.
+     */
+    void setUp(BenchmarkParams params) throws Exception;
+
+    /**
+     * Ejecuta una operación medida. El valor devuelto se consume para que el JIT no elimine
+     * el trabajo como código muerto.
+     * @return Un valor derivado del trabajo realizado.
+     * @throws Exception si la operación falla.
+     */
+    long operation() throws Exception;
+
+    /**
+     * Libera los recursos creados en {@link #setUp(BenchmarkParams)}.
+     * @throws Exception si la liberación falla.
+     */
+    default void tearDown() throws Exception {
+    }
+}
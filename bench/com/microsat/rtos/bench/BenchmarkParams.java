@@ -0,0 +1,32 @@
+package com.microsat.rtos.bench;
+
+/**
+ * Combinación de parámetros con la que se ejecuta un {@link Benchmark}.
+ */
+public class BenchmarkParams {
+
+    private final int size;
+    private final String algorithm;
+    private final WorkloadShape shape;
+
+    public BenchmarkParams(int size, String algorithm, WorkloadShape shape) {
+        this.size = size;
+        this.algorithm = algorithm;
+        this.shape = shape;
+    }
+
+    /**
+     * @return Tamaño del problema: procesos en la cola de listos, filas del archivo, etc.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public WorkloadShape getShape() {
+        return shape;
+    }
+}
@@ -0,0 +1,193 @@
+package com.microsat.rtos.bench;
+
+import com.microsat.rtos.core.algorithms.AlgorithmFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Ejecuta los micro-benchmarks del simulador al estilo de JMH: para cada combinación de
+ * parámetros hace iteraciones de calentamiento (descartadas) y de medición acotadas por tiempo,
+ * y reporta operaciones por segundo con su desviación y la tasa de asignación de memoria
+ * (bytes por operación y MB/s, medidos con el contador de asignación del hilo).
+ * <p>
+ * Uso: {@code java -cp out com.microsat.rtos.bench.BenchmarkRunner [opciones]}
+ * <ul>
+ *   <li>{@code --filter texto}: solo benchmarks cuyo nombre contiene el texto.</li>
+ *   <li>{@code --sizes 10,1000,100000}: tamaños de la cola de listos o del archivo.</li>
+ *   <li>{@code --algorithms FCFS,EDF}: algoritmos para los benchmarks que dependen de él.</li>
+ *   <li>{@code --shapes UNIFORM,HEAVY_TAIL}: formas de carga (ver {@link WorkloadShape}).</li>
+ *   <li>{@code --warmup 3 --iterations 5 --time-ms 1000}: iteraciones y su duración.</li>
+ * </ul>
+ */
+public class BenchmarkRunner {
+
+    private static final Benchmark[] BENCHMARKS = {
+            new QueueBenchmarks.QueueCycle(),
+            new QueueBenchmarks.LinkedListAdd(),
+            new QueueBenchmarks.LinkedListGet(),
+            new SchedulerBenchmarks.AlgorithmDispatch(),
+            new SchedulerBenchmarks.SchedulerTick(),
+            new SchedulerBenchmarks.LoadCsv(),
+            new SchedulerBenchmarks.LoadBinary(),
+    };
+
+    private String filter = "";
+    private int[] sizes = {10, 100, 1_000, 10_000, 100_000};
+    private String[] algorithms = AlgorithmFactory.ALGORITHM_NAMES;
+    private WorkloadShape[] shapes = WorkloadShape.values();
+    private int warmupIterations = 3;
+    private int measurementIterations = 5;
+    private long iterationNanos = 1_000_000_000L;
+
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    private BenchmarkRunner() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        this.threadBean = bean instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) bean : null;
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkRunner runner = new BenchmarkRunner();
+        try {
+            runner.parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Argumento inválido: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        runner.runAll();
+    }
+
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Falta el valor de " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--filter": filter = value; break;
+                case "--sizes": sizes = parseInts(value); break;
+                case "--algorithms": algorithms = value.split(","); break;
+                case "--shapes": shapes = parseShapes(value); break;
+                case "--warmup": warmupIterations = Integer.parseInt(value); break;
+                case "--iterations": measurementIterations = Integer.parseInt(value); break;
+                case "--time-ms": iterationNanos = Long.parseLong(value) * 1_000_000L; break;
+                default: throw new IllegalArgumentException("Opción desconocida: " + option);
+            }
+        }
+        for (String algorithm : algorithms) {
+            AlgorithmFactory.create(algorithm); // Valida los nombres antes de empezar
+        }
+    }
+
+    private static int[] parseInts(String csv) {
+        String[] parts = csv.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim().replace("_", ""));
+        }
+        return values;
+    }
+
+    private static WorkloadShape[] parseShapes(String csv) {
+        String[] parts = csv.split(",");
+        WorkloadShape[] values = new WorkloadShape[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = WorkloadShape.valueOf(parts[i].trim().toUpperCase());
+        }
+        return values;
+    }
+
+    private void runAll() throws Exception {
+        System.out.printf("%-20s %8s %-12s %-10s %16s %12s %12s %10s%n",
+                "Benchmark", "Tamaño", "Algoritmo", "Forma", "ops/s", "± error", "B/op", "MB/s");
+        String[] noAlgorithm = {"-"};
+        WorkloadShape[] defaultShape = {WorkloadShape.UNIFORM};
+        for (Benchmark benchmark : BENCHMARKS) {
+            if (!benchmark.getName().contains(filter)) {
+                continue;
+            }
+            for (int size : sizes) {
+                for (String algorithm : benchmark.usesAlgorithm() ? algorithms : noAlgorithm) {
+                    for (WorkloadShape shape : benchmark.usesShape() ? shapes : defaultShape) {
+                        run(benchmark, new BenchmarkParams(size, algorithm, shape));
+                    }
+                }
+            }
+        }
+    }
+
+    private void run(Benchmark benchmark, BenchmarkParams params) throws Exception {
+        benchmark.setUp(params);
+        try {
+            for (int i = 0; i < warmupIterations; i++) {
+                measureIteration(benchmark);
+            }
+            double[] opsPerSecond = new double[measurementIterations];
+            long totalOps = 0;
+            long totalNanos = 0;
+            long totalBytes = 0;
+            for (int i = 0; i < measurementIterations; i++) {
+                long[] result = measureIteration(benchmark);
+                opsPerSecond[i] = result[0] * 1e9 / result[1];
+                totalOps += result[0];
+                totalNanos += result[1];
+                totalBytes += result[2];
+            }
+            double mean = 0;
+            for (double value : opsPerSecond) {
+                mean += value;
+            }
+            mean /= opsPerSecond.length;
+            double variance = 0;
+            for (double value : opsPerSecond) {
+                variance += (value - mean) * (value - mean);
+            }
+            double error = opsPerSecond.length > 1 ? Math.sqrt(variance / (opsPerSecond.length - 1)) : 0.0;
+            String bytesPerOp = totalBytes < 0 ? "n/d" : String.format("%.1f", (double) totalBytes / totalOps);
+            String allocationRate = totalBytes < 0 ? "n/d" : String.format("%.1f", totalBytes / 1e6 / (totalNanos / 1e9));
+            System.out.printf("%-20s %8d %-12s %-10s %16.1f %12.1f %12s %10s%n",
+                    benchmark.getName(), params.getSize(), params.getAlgorithm(),
+                    benchmark.usesShape() ? params.getShape().name() : "-",
+                    mean, error, bytesPerOp, allocationRate);
+        } finally {
+            benchmark.tearDown();
+        }
+    }
+
+    /**
+     * Ejecuta operaciones en lotes crecientes hasta cubrir el tiempo de la iteración.
+     * @return {operaciones, nanosegundos, bytes asignados (-1 si no se pueden medir)}.
+     */
+    private long[] measureIteration(Benchmark benchmark) throws Exception {
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = allocatedBytes(threadId);
+        long start = System.nanoTime();
+        long elapsed;
+        long ops = 0;
+        long batch = 1;
+        do {
+            for (long i = 0; i < batch; i++) {
+                Blackhole.consume(benchmark.operation());
+            }
+            ops += batch;
+            if (batch < (1 << 20)) {
+                batch <<= 1;
+            }
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        long bytesAfter = allocatedBytes(threadId);
+        long bytes = bytesBefore < 0 || bytesAfter < 0 ? -1 : bytesAfter - bytesBefore;
+        return new long[]{ops, elapsed, bytes};
+    }
+
+    private long allocatedBytes(long threadId) {
+        if (threadBean == null || !threadBean.isThreadAllocatedMemorySupported()) {
+            return -1;
+        }
+        return threadBean.getThreadAllocatedBytes(threadId);
+    }
+}
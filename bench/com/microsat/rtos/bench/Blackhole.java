@@ -0,0 +1,24 @@
+package com.microsat.rtos.bench;
+
+/**
+ * Consume los valores devueltos por los benchmarks para que el JIT no pueda descartar el
+ * trabajo medido como código muerto.
+ */
+final class Blackhole {
+
+    private static volatile long sink;
+
+    private Blackhole() {
+    }
+
+    static void consume(long value) {
+        // Una escritura volátil condicional: barata, pero el JIT no puede probar que no ocurre.
+        if (value == 0x5DEECE66DL) {
+            sink = value;
+        }
+    }
+
+    static long sink() {
+        return sink;
+    }
+}
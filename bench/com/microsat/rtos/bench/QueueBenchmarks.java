@@ -0,0 +1,120 @@
+package com.microsat.rtos.bench;
+
+import com.microsat.rtos.core.PCB;
+import com.microsat.rtos.datastructures.CustomLinkedList;
+import com.microsat.rtos.datastructures.CustomQueue;
+
+/**
+ * Benchmarks de las estructuras de datos propias.
+ */
+final class QueueBenchmarks {
+
+    private QueueBenchmarks() {
+    }
+
+    /**
+     * Ciclo estacionario de una cola FIFO con N elementos: {@code enqueue(dequeue())}.
+     * Mide el costo por operación y la basura generada por cada nodo.
+     */
+    static final class QueueCycle implements Benchmark {
+        private CustomQueue<PCB> queue;
+
+        @Override
+        public String getName() {
+            return "queue.cycle";
+        }
+
+        @Override
+        public boolean usesShape() {
+            return false;
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) {
+            queue = new CustomQueue<>();
+            for (PCB pcb : WorkloadShape.UNIFORM.generate(params.getSize())) {
+                queue.enqueue(pcb);
+            }
+        }
+
+        @Override
+        public long operation() {
+            PCB pcb = queue.dequeue();
+            queue.enqueue(pcb);
+            return pcb.getProcessId();
+        }
+    }
+
+    /**
+     * Agregar al final de una lista que empieza con N elementos. La lista se reconstruye cada
+     * vez que duplica su tamaño, de modo que el tamaño medio se mantiene cerca de 1.5 N.
+     */
+    static final class LinkedListAdd implements Benchmark {
+        private PCB[] pcbs;
+        private CustomLinkedList<PCB> list;
+        private int initialSize;
+
+        @Override
+        public String getName() {
+            return "linkedlist.add";
+        }
+
+        @Override
+        public boolean usesShape() {
+            return false;
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) {
+            initialSize = params.getSize();
+            pcbs = WorkloadShape.UNIFORM.generate(initialSize);
+            rebuild();
+        }
+
+        private void rebuild() {
+            list = new CustomLinkedList<>();
+            for (PCB pcb : pcbs) {
+                list.add(pcb);
+            }
+        }
+
+        @Override
+        public long operation() {
+            if (list.size() >= 2 * initialSize) {
+                rebuild();
+            }
+            list.add(pcbs[list.size() % pcbs.length]);
+            return list.size();
+        }
+    }
+
+    /**
+     * Acceso por índice a la mitad de una lista de N elementos.
+     */
+    static final class LinkedListGet implements Benchmark {
+        private CustomLinkedList<PCB> list;
+
+        @Override
+        public String getName() {
+            return "linkedlist.get";
+        }
+
+        @Override
+        public boolean usesShape() {
+            return false;
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) {
+            list = new CustomLinkedList<>();
+            for (PCB pcb : WorkloadShape.UNIFORM.generate(params.getSize())) {
+                list.add(pcb);
+            }
+        }
+
+        @Override
+        public long operation() {
+            return list.get(list.size() / 2).getProcessId();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.microsat.rtos.bench;
+
+import com.microsat.rtos.core.PCB;
+import com.microsat.rtos.core.Scheduler;
+import com.microsat.rtos.core.algorithms.AlgorithmFactory;
+import com.microsat.rtos.core.algorithms.SchedulingAlgorithm;
+import com.microsat.rtos.datastructures.CustomArrayList;
+import com.microsat.rtos.datastructures.CustomQueue;
+import com.microsat.rtos.io.BinaryWorkload;
+import com.microsat.rtos.io.ProcessLoader;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Benchmarks de los caminos críticos del planificador.
+ */
+final class SchedulerBenchmarks {
+
+    private SchedulerBenchmarks() {
+    }
+
+    /**
+     * Un despacho en estado estacionario: el algoritmo elige el siguiente proceso de una cola
+     * de listos con N procesos y el proceso vuelve a la cola, como tras una expropiación.
+     */
+    static final class AlgorithmDispatch implements Benchmark {
+        private SchedulingAlgorithm algorithm;
+        private CustomQueue<PCB> readyQueue;
+
+        @Override
+        public String getName() {
+            return "algorithm.dispatch";
+        }
+
+        @Override
+        public boolean usesAlgorithm() {
+            return true;
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) {
+            algorithm = AlgorithmFactory.create(params.getAlgorithm());
+            readyQueue = new CustomQueue<>();
+            readyQueue.setOrdering(algorithm.getReadyOrdering());
+            for (PCB pcb : params.getShape().generate(params.getSize())) {
+                pcb.setArrivalTick(0); // Todos llegan juntos: EDF ordena por el deadline de la carga
+                readyQueue.enqueue(pcb);
+            }
+        }
+
+        @Override
+        public long operation() {
+            PCB next = algorithm.getNextProcess(readyQueue);
+            readyQueue.enqueue(next);
+            return next.getProcessId();
+        }
+    }
+
+    /**
+     * Un tick completo del Scheduler con N procesos en el sistema. Cuando todos terminan, la
+     * carga se vuelve a inyectar (ese costo queda amortizado dentro de la medición).
+     */
+    static final class SchedulerTick implements Benchmark {
+        private BenchmarkParams params;
+        private Scheduler scheduler;
+
+        @Override
+        public String getName() {
+            return "scheduler.tick";
+        }
+
+        @Override
+        public boolean usesAlgorithm() {
+            return true;
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) {
+            this.params = params;
+            reload();
+        }
+
+        private void reload() {
+            scheduler = new Scheduler();
+            scheduler.setAlgorithm(AlgorithmFactory.create(params.getAlgorithm()));
+            for (PCB pcb : params.getShape().generate(params.getSize())) {
+                scheduler.addProcess(pcb);
+            }
+        }
+
+        @Override
+        public long operation() {
+            if (scheduler.getTerminatedQueue().size() == params.getSize()) {
+                reload();
+            }
+            scheduler.advance(1);
+            PCB running = scheduler.getRunningProcess();
+            return running == null ? 0 : running.getProcessId();
+        }
+    }
+
+    /**
+     * Carga completa de un archivo CSV de N filas con {@link ProcessLoader#loadFromFile(File)}.
+     */
+    static final class LoadCsv implements Benchmark {
+        private File file;
+
+        @Override
+        public String getName() {
+            return "loader.csv";
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) throws IOException {
+            file = File.createTempFile("rtos-bench-", ".csv");
+            file.deleteOnExit();
+            try (Writer writer = new FileWriter(file)) {
+                for (PCB pcb : params.getShape().generate(params.getSize())) {
+                    writer.write(pcb.getProcessId() + "," + pcb.getProcessName() + "," + pcb.getTotalExecutionTicks()
+                            + "," + pcb.getPriority() + "," + pcb.getInitialDeadlineTicks() + "\n");
+                }
+            }
+        }
+
+        @Override
+        public long operation() throws IOException {
+            return ProcessLoader.loadFromFile(file).size();
+        }
+
+        @Override
+        public void tearDown() {
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Carga completa de un archivo binario {@value BinaryWorkload#EXTENSION} de N registros,
+     * para comparar con {@link LoadCsv}.
+     */
+    static final class LoadBinary implements Benchmark {
+        private File file;
+
+        @Override
+        public String getName() {
+            return "loader.binary";
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) throws IOException {
+            file = File.createTempFile("rtos-bench-", BinaryWorkload.EXTENSION);
+            file.deleteOnExit();
+            CustomArrayList<PCB> pcbs = new CustomArrayList<>(params.getSize());
+            for (PCB pcb : params.getShape().generate(params.getSize())) {
+                pcbs.add(pcb);
+            }
+            BinaryWorkload.write(pcbs, file);
+        }
+
+        @Override
+        public long operation() throws IOException {
+            return ProcessLoader.loadFromFile(file).size();
+        }
+
+        @Override
+        public void tearDown() {
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.microsat.rtos.bench;
+
+import com.microsat.rtos.core.PCB;
+
+import java.util.Random;
+
+/**
+ * Formas de carga de trabajo sintética usadas por los benchmarks. Todas son deterministas
+ * (semilla fija) para que las corridas sean comparables entre sí.
+ */
+public enum WorkloadShape {
+
+    /**
+     * Prioridades, duraciones y deadlines aleatorios e independientes.
+     */
+    UNIFORM,
+
+    /**
+     * Los procesos llegan ya ordenados de más a menos urgente (mejor caso para colas ordenadas).
+     */
+    SORTED,
+
+    /**
+     * Los procesos llegan en orden inverso de urgencia (peor caso para inserciones ordenadas).
+     */
+    REVERSED,
+
+    /**
+     * Muchos procesos cortos y unos pocos muy largos, como la telemetría frente a los trabajos
+     * de mantenimiento.
+     */
+    HEAVY_TAIL;
+
+    private static final long SEED = 20240601L;
+
+    /**
+     * Genera {@code count} procesos con esta forma.
+     * @param count Número de procesos.
+     * @return Un arreglo de PCBs nuevos en estado NUEVO.
+     */
+    public PCB[] generate(int count) {
+        Random random = new Random(SEED);
+        PCB[] pcbs = new PCB[count];
+        for (int i = 0; i < count; i++) {
+            int totalTicks;
+            int priority;
+            int deadline;
+            switch (this) {
+                case SORTED:
+                    totalTicks = 10 + i;
+                    priority = i * 10 / count;
+                    deadline = totalTicks + 20 + i;
+                    break;
+                case REVERSED:
+                    totalTicks = 10 + (count - i);
+                    priority = (count - 1 - i) * 10 / count;
+                    deadline = totalTicks + 20 + (count - i);
+                    break;
+                case HEAVY_TAIL:
+                    totalTicks = random.nextInt(100) < 95 ? random.nextInt(10) + 1 : random.nextInt(5000) + 500;
+                    priority = random.nextInt(10);
+                    deadline = totalTicks + random.nextInt(200) + 20;
+                    break;
+                case UNIFORM:
+                default:
+                    totalTicks = random.nextInt(50) + 10;
+                    priority = random.nextInt(10);
+                    deadline = totalTicks + random.nextInt(100) + 20;
+                    break;
+            }
+            pcbs[i] = new PCB(i + 1, "Bench-" + (i + 1), priority, deadline, totalTicks);
+        }
+        return pcbs;
+    }
+}
@@ -0,0 +1,170 @@
+package com.microsat.rtos.core;
+
+import com.microsat.rtos.datastructures.CustomQueue;
+import com.microsat.rtos.datastructures.DemandBoundTree;
+
+import java.util.Comparator;
+
+/**
+ * Control de admisión con prueba de planificabilidad de EDF en línea. Lleva en un
+ * {@link DemandBoundTree} la demanda pendiente (ticks de CPU) de cada proceso admitido que no
+ * terminó, ordenada por deadline absoluto, y admite un proceso nuevo solo si con él todos siguen
+ * pudiendo terminar a tiempo con EDF: en el tick t, el proceso k de ese orden termina a más tardar en
+ * {@code t + demanda acumulada hasta k}. Cada prueba cuesta O(log n).
+ * <p>
+ * La prueba cuenta solo CPU: no incluye el tiempo de E/S ni el de swapping, y supone que el
+ * proceso en ejecución puede perder el tick de la expropiación (es conservadora por un tick). Con
+ * otro algoritmo que no sea EDF, admitir no garantiza los deadlines, solo que EDF los cumpliría.
+ * <p>
+ * Los procesos que incumplieron su deadline sin abortarse siguen sumando demanda, pero su deadline
+ * deja de contar. Solo el proceso que ejecutó por última vez puede tener en el árbol una demanda
+ * desactualizada (el PC avanza solo en la CPU), así que se actualiza antes de cada prueba y cuando
+ * deja su lugar a otro. Lo usa solo el hilo del Scheduler.
+ */
+final class AdmissionController {
+
+    /**
+     * Orden de los diferidos: último tick en que podrían empezar y aún cumplir su deadline.
+     */
+    private static final Comparator<PCB> BY_LATEST_START =
+            Comparator.comparingLong(AdmissionController::latestStart).thenComparingInt(PCB::getProcessId);
+
+    private final DemandBoundTree demand;
+    private final CustomQueue<PCB> deferredQueue;
+    private AdmissionPolicy policy;
+    private PCB lastDispatched; // El único proceso cuya demanda en el árbol puede estar desactualizada
+    private boolean retryPending; // Se liberó demanda desde el último reintento de los diferidos
+
+    AdmissionController() {
+        this.demand = new DemandBoundTree();
+        this.deferredQueue = new CustomQueue<>();
+        this.deferredQueue.setOrdering(BY_LATEST_START);
+        this.policy = AdmissionPolicy.NONE;
+    }
+
+    AdmissionPolicy getPolicy() {
+        return policy;
+    }
+
+    boolean isEnabled() {
+        return policy != AdmissionPolicy.NONE;
+    }
+
+    /**
+     * Cambia la política y vacía el árbol; el Scheduler vuelve a registrar los procesos vivos con
+     * {@link #track(PCB, long)} si la nueva política lo usa.
+     */
+    void setPolicy(AdmissionPolicy policy) {
+        this.policy = policy;
+        demand.clear();
+        lastDispatched = null;
+        retryPending = true;
+    }
+
+    /**
+     * Prueba si el proceso entra sin volver infactible el conjunto admitido y, si entra, lo
+     * registra. O(log n).
+     * @param pcb Proceso que llega, con su tick de llegada ya asignado.
+     * @param tick Tick actual.
+     * @return true si se admite.
+     */
+    boolean tryAdmit(PCB pcb, long tick) {
+        refresh(lastDispatched);
+        demand.insert(pcb.getAbsoluteDeadline(), pcb.getProcessId(), remainingTicks(pcb));
+        if (demand.getMinSlack() >= tick) {
+            return true;
+        }
+        demand.remove(pcb.getAbsoluteDeadline(), pcb.getProcessId());
+        return false;
+    }
+
+    /**
+     * @return true si el proceso ya no podría cumplir su deadline ni con la CPU solo para él.
+     */
+    static boolean isHopeless(PCB pcb, long tick) {
+        return latestStart(pcb) < tick;
+    }
+
+    /**
+     * Registra un proceso que ya estaba en el sistema (al activar el control o al restaurar un
+     * checkpoint). Si su incumplimiento ya se reportó, su deadline no cuenta.
+     */
+    void track(PCB pcb, long tick) {
+        if (pcb.getArrivalTick() == PCB.NO_TICK) {
+            return;
+        }
+        demand.insert(pcb.getAbsoluteDeadline(), pcb.getProcessId(), remainingTicks(pcb));
+        if (pcb.getAbsoluteDeadline() + 1 < tick) {
+            demand.dropDeadline(pcb.getAbsoluteDeadline(), pcb.getProcessId());
+        }
+    }
+
+    /**
+     * El proceso entró a la CPU: el que ejecutaba antes deja de avanzar y se actualiza su demanda.
+     */
+    void onDispatch(PCB pcb) {
+        refresh(lastDispatched);
+        lastDispatched = pcb;
+    }
+
+    /**
+     * El proceso terminó o se abortó: su demanda sale del árbol.
+     */
+    void onTermination(PCB pcb) {
+        demand.remove(pcb.getAbsoluteDeadline(), pcb.getProcessId());
+        if (lastDispatched == pcb) {
+            lastDispatched = null;
+        }
+        retryPending = true;
+    }
+
+    /**
+     * Venció el deadline del proceso y sigue en el sistema: solo cuenta su demanda.
+     */
+    void onDeadlineMiss(PCB pcb) {
+        demand.dropDeadline(pcb.getAbsoluteDeadline(), pcb.getProcessId());
+        retryPending = true;
+    }
+
+    /**
+     * @return true si hay diferidos y, desde el último reintento, algún proceso terminó o incumplió
+     *         su deadline. Sin eso, el tiempo que pasa solo reduce la holgura: un diferido que no
+     *         entró tampoco entraría ahora.
+     */
+    boolean isRetryPending() {
+        return retryPending && !deferredQueue.isEmpty();
+    }
+
+    void clearRetryPending() {
+        retryPending = false;
+    }
+
+    /**
+     * @return Los procesos diferidos, ordenados por el último tick en que podrían empezar.
+     */
+    CustomQueue<PCB> getDeferredQueue() {
+        return deferredQueue;
+    }
+
+    /**
+     * @return Los ticks hasta que el primer diferido ya no pueda cumplir su deadline y haya que
+     *         rechazarlo (Long.MAX_VALUE si no hay diferidos).
+     */
+    long ticksUntilDeferredExpires(long tick) {
+        return deferredQueue.isEmpty() ? Long.MAX_VALUE : Math.max(0, latestStart(deferredQueue.peek()) + 1 - tick);
+    }
+
+    private void refresh(PCB pcb) {
+        if (pcb != null && pcb.getState() != ProcessState.TERMINADO) {
+            demand.setDemand(pcb.getAbsoluteDeadline(), pcb.getProcessId(), remainingTicks(pcb));
+        }
+    }
+
+    private static long latestStart(PCB pcb) {
+        return pcb.getAbsoluteDeadline() - remainingTicks(pcb);
+    }
+
+    private static int remainingTicks(PCB pcb) {
+        return pcb.getTotalExecutionTicks() - pcb.getProgramCounter();
+    }
+}
@@ -0,0 +1,50 @@
+package com.microsat.rtos.core;
+
+/**
+ * Qué hace el control de admisión con un proceso nuevo que haría infactible, para EDF, el
+ * conjunto de procesos ya admitidos (ver {@link AdmissionController}).
+ */
+public enum AdmissionPolicy {
+
+    /**
+     * Sin control de admisión: se admiten todos los procesos.
+     */
+    NONE("Ninguna"),
+
+    /**
+     * El proceso se rechaza en su llegada y pasa a terminados sin ejecutar.
+     */
+    REJECT("Rechazar"),
+
+    /**
+     * El proceso espera fuera del sistema hasta que el conjunto admitido le deje lugar; se
+     * rechaza recién cuando ya no podría cumplir su deadline ni con la CPU para él solo.
+     */
+    DEFER("Diferir");
+
+    private final String label;
+
+    AdmissionPolicy(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Busca una política por nombre, sin distinguir mayúsculas, espacios ni guiones.
+     * @param name Nombre de la constante (p. ej. "reject" o "defer").
+     * @return La política.
+     * @throws IllegalArgumentException si el nombre no corresponde a ninguna política.
+     */
+    public static AdmissionPolicy fromName(String name) {
+        String key = name.toUpperCase().replace(" ", "_").replace("-", "_");
+        for (AdmissionPolicy policy : values()) {
+            if (policy.name().equals(key)) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Política de admisión desconocida: " + name);
+    }
+}
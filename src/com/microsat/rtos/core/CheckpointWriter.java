@@ -0,0 +1,140 @@
+package com.microsat.rtos.core;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escribe checkpoints del Scheduler en segundo plano, en un directorio, con un archivo por
+ * checkpoint ({@code checkpoint-<tick>.rtcp}, con el tick completado con ceros para que el orden
+ * alfabético sea el cronológico).
+ * <p>
+ * El Scheduler solo paga la captura del estado ({@link Scheduler#checkpoint()}); la escritura
+ * ocurre en un hilo propio. Hay un único lugar para el checkpoint pendiente: si llega uno nuevo
+ * antes de que se haya escrito el anterior, el anterior se descarta (y se cuenta en
+ * {@link #getDroppedCount()}), así que el tick nunca espera al disco.
+ */
+public final class CheckpointWriter implements Closeable {
+
+    private final File directory;
+    private final AtomicReference<SchedulerCheckpoint> pending;
+    private final Thread writerThread;
+    private final LongAdder dropped;
+    private volatile boolean closed;
+    private volatile long writtenCount;
+    private volatile File lastFile;
+    private volatile IOException lastError;
+
+    /**
+     * Crea el escritor e inicia su hilo.
+     * @param directory Directorio destino; se crea si no existe.
+     * @throws IOException Si el directorio no existe y no se puede crear.
+     */
+    public CheckpointWriter(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("No se pudo crear el directorio de checkpoints: " + directory.getPath());
+        }
+        this.directory = directory;
+        this.pending = new AtomicReference<>();
+        this.dropped = new LongAdder();
+        this.writerThread = new Thread(this::writeLoop, "Checkpoint-Writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Encola un checkpoint para escribirlo. No bloquea.
+     * @param checkpoint El checkpoint a escribir.
+     * @throws IllegalStateException si el escritor ya se cerró.
+     */
+    public void submit(SchedulerCheckpoint checkpoint) {
+        if (closed) {
+            throw new IllegalStateException("El escritor de checkpoints ya fue cerrado");
+        }
+        if (pending.getAndSet(checkpoint) != null) {
+            dropped.increment();
+        }
+        LockSupport.unpark(writerThread);
+    }
+
+    /**
+     * @param tick Tick del checkpoint.
+     * @return El archivo en el que se escribe el checkpoint de ese tick.
+     */
+    public File fileFor(long tick) {
+        return new File(directory, String.format(Locale.ROOT, "checkpoint-%012d%s", tick, SchedulerCheckpoint.EXTENSION));
+    }
+
+    private void writeLoop() {
+        while (true) {
+            SchedulerCheckpoint checkpoint = pending.getAndSet(null);
+            if (checkpoint == null) {
+                if (closed) {
+                    return;
+                }
+                LockSupport.park(this);
+                continue;
+            }
+            File file = fileFor(checkpoint.getTick());
+            try {
+                checkpoint.write(file);
+                lastFile = file;
+                writtenCount++; // Solo este hilo escribe el contador
+            } catch (IOException e) {
+                lastError = e;
+            }
+        }
+    }
+
+    /**
+     * @return El número de checkpoints escritos.
+     */
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    /**
+     * @return El número de checkpoints descartados porque llegó uno más nuevo antes de escribirlos.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return El último archivo escrito, o null si todavía no se escribió ninguno.
+     */
+    public File getLastFile() {
+        return lastFile;
+    }
+
+    /**
+     * @return El último error de escritura, o null si no hubo.
+     */
+    public IOException getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Escribe el checkpoint pendiente, si lo hay, y detiene el hilo.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writerThread);
+        boolean interrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
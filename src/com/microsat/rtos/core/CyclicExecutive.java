@@ -0,0 +1,116 @@
+package com.microsat.rtos.core;
+
+import com.microsat.rtos.metrics.MetricsManager;
+
+/**
+ * Ejecutivo cíclico: ejecuta un conjunto de tareas periódicas siguiendo una {@link ScheduleTable}
+ * calculada de antemano, como el despachador de un sistema disparado por tiempo. En lugar de colas
+ * y decisiones por tick, avanza de una entrada de la tabla a la siguiente: cada despacho cuesta
+ * O(1), sin comparaciones ni objetos nuevos, y el reloj salta directamente al fin de cada entrada.
+ * <p>
+ * Los trabajos de cada tarea se liberan, ejecutan y terminan donde lo dice la tabla, que solo se
+ * construye si todos cumplen su deadline. Las métricas registran los ticks de CPU y, por cada
+ * trabajo terminado, sus latencias (con un PCB por tarea que se reutiliza). Solo ejecuta tareas
+ * periódicas: no admite procesos aperiódicos ni modela E/S, memoria ni expropiaciones.
+ */
+public class CyclicExecutive {
+
+    /**
+     * Nombre con el que se agrupan las métricas.
+     */
+    public static final String NAME = "Ejecutivo cíclico";
+
+    private final ScheduleTable table;
+    private final MetricsManager metricsManager;
+    private final PCB[] jobs; // El trabajo en curso de cada tarea
+    private final long[] completedJobs;
+    private int entry;
+    private long cycleOffset; // Se suma a los ticks de la tabla: H por cada vuelta completa al ciclo
+    private long currentTick;
+
+    /**
+     * Crea un ejecutivo en el tick 0.
+     * @param table Tabla de planificación.
+     * @param metricsManager Destino de las métricas de esta simulación.
+     */
+    public CyclicExecutive(ScheduleTable table, MetricsManager metricsManager) {
+        this.table = table;
+        this.metricsManager = metricsManager;
+        this.jobs = new PCB[table.getTaskCount()];
+        this.completedJobs = new long[table.getTaskCount()];
+        for (int task = 0; task < jobs.length; task++) {
+            jobs[task] = table.getTask(task).createJob();
+        }
+    }
+
+    /**
+     * Ejecuta los ticks indicados. Cuesta O(1) por entrada de la tabla recorrida, sin importar
+     * cuántos ticks abarque cada una.
+     * @param ticks Número de ticks a simular.
+     */
+    public synchronized void advance(long ticks) {
+        long end = currentTick + ticks;
+        while (currentTick < end) {
+            long entryEnd = cycleOffset + table.getEntryEnd(entry);
+            long until = Math.min(entryEnd, end);
+            int task = table.getEntryTask(entry);
+            if (task != ScheduleTable.IDLE && jobs[task].getFirstRunTick() == PCB.NO_TICK) {
+                jobs[task].setFirstRunTick(currentTick);
+            }
+            metricsManager.recordTicks(task != ScheduleTable.IDLE, until - currentTick);
+            currentTick = until;
+            if (until == entryEnd) {
+                if (task != ScheduleTable.IDLE && table.completesJob(entry)) {
+                    completeJob(task);
+                }
+                nextEntry();
+            }
+        }
+    }
+
+    private void completeJob(int task) {
+        PCB job = jobs[task];
+        job.setArrivalTick(table.getTask(task).releaseTick(completedJobs[task]));
+        job.setProgramCounter(job.getTotalExecutionTicks());
+        job.setState(ProcessState.TERMINADO);
+        job.setCompletionTick(currentTick);
+        metricsManager.recordProcessCompletion(job, NAME);
+        completedJobs[task]++;
+        // El mismo PCB representa al siguiente trabajo de la tarea
+        job.setState(ProcessState.NUEVO);
+        job.setProgramCounter(0);
+        job.setFirstRunTick(PCB.NO_TICK);
+        job.setCompletionTick(PCB.NO_TICK);
+    }
+
+    private void nextEntry() {
+        entry++;
+        if (entry == table.getEntryCount()) {
+            entry = table.getCycleEntry();
+            cycleOffset += table.getHyperperiod();
+        }
+    }
+
+    /**
+     * @return El número de ticks simulados hasta ahora.
+     */
+    public synchronized long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @param task Índice de la tarea en la tabla.
+     * @return Los trabajos de la tarea que ya terminaron.
+     */
+    public synchronized long getCompletedJobs(int task) {
+        return completedJobs[task];
+    }
+
+    public ScheduleTable getTable() {
+        return table;
+    }
+
+    public MetricsManager getMetricsManager() {
+        return metricsManager;
+    }
+}
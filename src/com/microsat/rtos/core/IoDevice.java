@@ -0,0 +1,115 @@
+package com.microsat.rtos.core;
+
+/**
+ * Un dispositivo de E/S simulado. Atiende un pedido a la vez, en orden de llegada, y cada pedido
+ * lo ocupa durante la ráfaga de E/S del proceso que lo hizo. Como el servicio es determinista, al
+ * recibir un pedido ya se sabe en qué tick termina: el Scheduler lo usa para despertar al proceso
+ * sin recorrer la cola de bloqueados.
+ * <p>
+ * Solo lo modifica el hilo del Scheduler.
+ */
+public final class IoDevice {
+
+    private final int index;
+    private final String name;
+    private long busyUntilTick;  // Fin del servicio del último pedido aceptado
+    private long busyTicks;      // Ticks de servicio de todos los pedidos aceptados
+    private long requests;
+    private int queueLength;     // Pedidos en espera o en servicio
+    private int maxQueueLength;
+
+    /**
+     * Crea un dispositivo libre.
+     * @param index Índice del dispositivo, el que usan los procesos en {@link PCB#getIoDevice()}.
+     */
+    IoDevice(int index) {
+        this.index = index;
+        this.name = SystemConfig.getIoDeviceName(index);
+    }
+
+    /**
+     * Encola un pedido.
+     * @param tick Tick actual.
+     * @param serviceTicks Ticks que tarda el pedido una vez que el dispositivo lo atiende.
+     * @return El tick en el que el pedido termina.
+     */
+    long submit(long tick, int serviceTicks) {
+        long start = Math.max(tick, busyUntilTick);
+        busyUntilTick = start + serviceTicks;
+        busyTicks += serviceTicks;
+        requests++;
+        queueLength++;
+        maxQueueLength = Math.max(maxQueueLength, queueLength);
+        return busyUntilTick;
+    }
+
+    /**
+     * Registra que terminó el pedido más antiguo.
+     */
+    void complete() {
+        queueLength--;
+    }
+
+    /**
+     * Crea una copia independiente, para los checkpoints.
+     */
+    IoDevice copy() {
+        IoDevice copy = new IoDevice(index);
+        copy.restore(busyUntilTick, busyTicks, requests, queueLength, maxQueueLength);
+        return copy;
+    }
+
+    void restore(long busyUntilTick, long busyTicks, long requests, int queueLength, int maxQueueLength) {
+        this.busyUntilTick = busyUntilTick;
+        this.busyTicks = busyTicks;
+        this.requests = requests;
+        this.queueLength = queueLength;
+        this.maxQueueLength = maxQueueLength;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param tick Tick actual del Scheduler.
+     * @return El porcentaje de los ticks [0, tick) en que el dispositivo estuvo atendiendo pedidos.
+     */
+    public double getUtilization(long tick) {
+        if (tick <= 0) {
+            return 0.0;
+        }
+        long served = busyTicks - Math.max(0, busyUntilTick - tick); // Sin el servicio todavía pendiente
+        return 100.0 * served / tick;
+    }
+
+    /**
+     * @return El número de pedidos recibidos.
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return Los pedidos en espera o en servicio.
+     */
+    public int getQueueLength() {
+        return queueLength;
+    }
+
+    public int getMaxQueueLength() {
+        return maxQueueLength;
+    }
+
+    long getBusyUntilTick() {
+        return busyUntilTick;
+    }
+
+    long getBusyTicks() {
+        return busyTicks;
+    }
+}
@@ -0,0 +1,63 @@
+package com.microsat.rtos.core;
+
+import com.microsat.rtos.datastructures.CustomQueue;
+import com.microsat.rtos.datastructures.IntBinaryHeap;
+
+/**
+ * Libera los trabajos de un conjunto de {@link PeriodicTask} en los ticks que les corresponden.
+ * Guarda la próxima liberación de cada tarea en un montículo, así que un tick sin liberaciones
+ * cuesta O(1) y cada trabajo liberado O(log n). La clave combina el tick y el índice de la tarea:
+ * los trabajos que se liberan en el mismo tick salen en el orden del conjunto.
+ * <p>
+ * No guarda más estado que las tareas: las próximas liberaciones se deducen del tick en que se
+ * crea, lo que permite reconstruirlo al restaurar un checkpoint. Lo usa solo el hilo del Scheduler.
+ */
+final class JobReleaser {
+
+    private final PeriodicTask[] tasks;
+    private final IntBinaryHeap nextRelease; // Índice de tarea, por tick de su próxima liberación
+
+    /**
+     * @param tasks Tareas, en el orden en que se liberan sus trabajos simultáneos.
+     * @param tick Tick desde el que se liberan trabajos (los anteriores no se liberan).
+     */
+    JobReleaser(PeriodicTask[] tasks, long tick) {
+        this.tasks = tasks;
+        this.nextRelease = new IntBinaryHeap(Math.max(1, tasks.length));
+        for (int i = 0; i < tasks.length; i++) {
+            schedule(i, tasks[i].releaseTick(tasks[i].firstJobAtOrAfter(tick)));
+        }
+    }
+
+    PeriodicTask[] getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Encola en {@code newQueue} los trabajos que se liberan hasta el tick indicado.
+     */
+    void releaseDue(long tick, CustomQueue<PCB> newQueue) {
+        while (!nextRelease.isEmpty() && releaseTickOf(nextRelease.peekKey()) <= tick) {
+            long releaseTick = releaseTickOf(nextRelease.peekKey());
+            int task = nextRelease.poll();
+            newQueue.enqueue(tasks[task].createJob());
+            schedule(task, releaseTick + tasks[task].getPeriodTicks());
+        }
+    }
+
+    /**
+     * @return Los ticks hasta la próxima liberación (0 si hay una en este tick), o Long.MAX_VALUE
+     *         si no hay tareas.
+     */
+    long ticksUntilNextRelease(long tick) {
+        return nextRelease.isEmpty() ? Long.MAX_VALUE : Math.max(0, releaseTickOf(nextRelease.peekKey()) - tick);
+    }
+
+    private void schedule(int task, long releaseTick) {
+        nextRelease.insert(task, releaseTick * tasks.length + task);
+    }
+
+    private long releaseTickOf(long key) {
+        return key / tasks.length;
+    }
+}
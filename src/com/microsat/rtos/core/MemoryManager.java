@@ -2,12 +2,36 @@ package com.microsat.rtos.core;
 
 import com.microsat.rtos.datastructures.CustomQueue;
 
+import java.util.Comparator;
+
 /**
  * Gestiona la admisión de procesos en la memoria principal (RAM simulada)
  * y la lógica de swapping hacia memoria secundaria (disco simulado).
+ * <p>
+ * Las decisiones de cuándo traer o llevar procesos a disco las toma el planificador de mediano
+ * plazo del {@link Scheduler}; aquí están las operaciones sobre las colas.
  */
 public class MemoryManager {
 
+    private static final Comparator<PCB> BY_WAKEUP_TICK = Comparator.comparingLong(PCB::getWakeupTick);
+
+    private final int maxMemoryProcesses;
+
+    /**
+     * Crea un gestor con el límite de memoria por defecto ({@link SystemConfig#MAX_MEMORY_PROCESSES}).
+     */
+    public MemoryManager() {
+        this(SystemConfig.MAX_MEMORY_PROCESSES);
+    }
+
+    /**
+     * Crea un gestor con un límite de memoria propio.
+     * @param maxMemoryProcesses Máximo número de procesos que caben en RAM.
+     */
+    public MemoryManager(int maxMemoryProcesses) {
+        this.maxMemoryProcesses = maxMemoryProcesses;
+    }
+
     /**
      * Verifica si la memoria principal (representada por las colas de listos y bloqueados) está llena.
      * @param readyQueue La cola de procesos listos en RAM.
@@ -15,7 +39,7 @@ public class MemoryManager {
      * @return true si el número de procesos en RAM ha alcanzado el límite.
      */
     public boolean isMemoryFull(CustomQueue<PCB> readyQueue, CustomQueue<PCB> blockedQueue) {
-        return (readyQueue.size() + blockedQueue.size()) >= SystemConfig.MAX_MEMORY_PROCESSES;
+        return (readyQueue.size() + blockedQueue.size()) >= maxMemoryProcesses;
     }
 
     /**
@@ -36,7 +60,67 @@ public class MemoryManager {
         }
     }
 
-    // En el futuro, aquí se podrían implementar métodos más complejos para swapping.
-    // Por ejemplo, un método que elija un proceso de la cola de listos para suspender
-    // y así liberar espacio para un proceso de mayor prioridad que está en LISTO_SUSPENDIDO.
+    /**
+     * Trae a RAM el primer proceso de la cola de listos-suspendidos. No comprueba si hay espacio.
+     * @param readySuspendedQueue La cola de procesos listos-suspendidos en Disco.
+     * @param readyQueue La cola de procesos listos en RAM.
+     * @return El proceso traído, o null si no había procesos en disco.
+     */
+    public PCB swapIn(CustomQueue<PCB> readySuspendedQueue, CustomQueue<PCB> readyQueue) {
+        PCB pcb = readySuspendedQueue.dequeue();
+        if (pcb != null) {
+            pcb.setState(ProcessState.LISTO);
+            readyQueue.enqueue(pcb);
+        }
+        return pcb;
+    }
+
+    /**
+     * Busca en la cola de listos el proceso menos urgente, para llevarlo a disco si es menos
+     * urgente que {@code candidate}. Entre empates elige el que saldría último de la cola, para
+     * que la decisión no dependa de la disposición interna de la cola (y se repita igual tras
+     * restaurar un checkpoint). Recorre toda la cola: O(n).
+     * @param readyQueue La cola de procesos listos en RAM.
+     * @param urgency Orden de urgencia (menor = más urgente).
+     * @param candidate El proceso en disco que pide lugar.
+     * @return La posición de la víctima en el recorrido de la cola, o -1 si ningún proceso listo
+     *         es menos urgente que el candidato.
+     */
+    public int findSwapOutVictim(CustomQueue<PCB> readyQueue, Comparator<? super PCB> urgency, PCB candidate) {
+        int victim = readyQueue.indexOfMax(urgency);
+        return victim >= 0 && urgency.compare(readyQueue.get(victim), candidate) > 0 ? victim : -1;
+    }
+
+    /**
+     * Lleva a disco un proceso listo.
+     * @param readyQueue La cola de procesos listos en RAM.
+     * @param index Posición del proceso en el recorrido de la cola ({@link #findSwapOutVictim}).
+     * @param readySuspendedQueue La cola de procesos listos-suspendidos en Disco.
+     * @return El proceso llevado a disco.
+     */
+    public PCB swapOutReady(CustomQueue<PCB> readyQueue, int index, CustomQueue<PCB> readySuspendedQueue) {
+        PCB pcb = readyQueue.removeAt(index);
+        pcb.setState(ProcessState.LISTO_SUSPENDIDO);
+        readySuspendedQueue.enqueue(pcb);
+        return pcb;
+    }
+
+    /**
+     * Lleva a disco el proceso bloqueado cuya E/S termina más tarde (entre empates, el último de
+     * la cola). Un proceso bloqueado no puede ejecutar, así que es la primera opción para liberar
+     * RAM. Recorre la cola: O(n).
+     * @param blockedQueue La cola de procesos bloqueados en RAM.
+     * @param blockedSuspendedQueue La cola de procesos bloqueados-suspendidos en Disco.
+     * @return El proceso llevado a disco, o null si no había procesos bloqueados.
+     */
+    public PCB swapOutBlocked(CustomQueue<PCB> blockedQueue, CustomQueue<PCB> blockedSuspendedQueue) {
+        int victim = blockedQueue.indexOfMax(BY_WAKEUP_TICK);
+        if (victim < 0) {
+            return null;
+        }
+        PCB pcb = blockedQueue.removeAt(victim);
+        pcb.setState(ProcessState.BLOQUEADO_SUSPENDIDO);
+        blockedSuspendedQueue.enqueue(pcb);
+        return pcb;
+    }
 }
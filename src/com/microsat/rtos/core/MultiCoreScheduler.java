@@ -0,0 +1,405 @@
+package com.microsat.rtos.core;
+
+import com.microsat.rtos.core.algorithms.SchedulingAlgorithm;
+import com.microsat.rtos.datastructures.CustomArrayList;
+import com.microsat.rtos.datastructures.CustomQueue;
+import com.microsat.rtos.datastructures.MpscQueue;
+import com.microsat.rtos.metrics.MetricsManager;
+
+/**
+ * Planificador para una CPU de varios núcleos. Cada núcleo tiene su propio proceso en ejecución
+ * y su propio quantum; la cola de listos depende del modo:
+ * <ul>
+ *   <li>{@link Mode#GLOBAL}: una sola cola compartida. Cada núcleo libre toma el siguiente
+ *       proceso según el algoritmo, y un proceso que llega expropia al núcleo cuyo proceso
+ *       tiene menos derecho a seguir (si no hay núcleos libres).</li>
+ *   <li>{@link Mode#PARTITIONED}: una cola por núcleo. Cada proceso admitido va al núcleo con
+ *       menos carga y solo puede expropiar a ese núcleo. Un núcleo sin trabajo roba el siguiente
+ *       proceso de la cola más larga (work stealing).</li>
+ * </ul>
+ * Las reglas de admisión, memoria, quantum, envejecimiento y terminación son las mismas de
+ * {@link Scheduler} con {@link SwapPolicy#NONE} (los procesos de disco vuelven a RAM en orden de
+ * llegada): con un solo núcleo, ambos modos dan exactamente los mismos resultados que ese
+ * {@link Scheduler}.
+ * No modela E/S: las ráfagas de E/S de los procesos se ignoran, así que la equivalencia vale
+ * solo para cargas que usan únicamente CPU. Los incumplimientos de deadline se cuentan al terminar
+ * cada proceso (no hay eventos de deadline vencido ni aborto).
+ * Las métricas se registran por núcleo ({@link MetricsManager#getCoreUtilization(int)}).
+ * <p>
+ * Pensado para simulaciones sin interfaz gráfica; avanza con {@link #advance(long)}.
+ */
+public class MultiCoreScheduler {
+
+    /**
+     * Organización de las colas de listos.
+     */
+    public enum Mode {
+        GLOBAL, PARTITIONED
+    }
+
+    /**
+     * Estado de un núcleo simulado.
+     */
+    private static final class Core {
+        private final CustomQueue<PCB> readyQueue; // Propia (particionado) o compartida (global)
+        private PCB runningProcess;
+        private int quantumCounter; // 0 = sin límite
+
+        Core(CustomQueue<PCB> readyQueue) {
+            this.readyQueue = readyQueue;
+        }
+    }
+
+    private final SimulationConfig config;
+    private final MetricsManager metricsManager;
+    private final SchedulingAlgorithm algorithm;
+    private final Mode mode;
+    private final Core[] cores;
+    private final boolean[] busyCores; // Reutilizado en cada tick para las métricas
+
+    private final MpscQueue<PCB> admissionQueue;
+    private final CustomQueue<PCB> newQueue;
+    private final CustomQueue<PCB> readySuspendedQueue;
+    private final CustomQueue<PCB> terminatedQueue;
+
+    private long currentTick;
+    private long steals;
+    private long preemptions;
+
+    /**
+     * Crea un planificador multinúcleo.
+     * @param config Parámetros de la simulación (memoria y quantum se aplican a todo el sistema).
+     * @param metricsManager Destino de las métricas; se configura con el número de núcleos.
+     * @param coreCount Número de núcleos (al menos 1).
+     * @param mode Cola global o colas por núcleo.
+     * @param algorithm Algoritmo de planificación que aplica cada núcleo.
+     * @throws IllegalArgumentException si coreCount no es positivo.
+     */
+    public MultiCoreScheduler(SimulationConfig config, MetricsManager metricsManager, int coreCount, Mode mode,
+                              SchedulingAlgorithm algorithm) {
+        if (coreCount <= 0) {
+            throw new IllegalArgumentException("El número de núcleos debe ser positivo: " + coreCount);
+        }
+        this.config = config;
+        this.metricsManager = metricsManager;
+        this.algorithm = algorithm;
+        this.mode = mode;
+        this.cores = new Core[coreCount];
+        this.busyCores = new boolean[coreCount];
+        CustomQueue<PCB> shared = mode == Mode.GLOBAL ? newReadyQueue() : null;
+        for (int i = 0; i < coreCount; i++) {
+            cores[i] = new Core(shared != null ? shared : newReadyQueue());
+        }
+        this.admissionQueue = new MpscQueue<>();
+        this.newQueue = new CustomQueue<>();
+        this.readySuspendedQueue = new CustomQueue<>();
+        this.terminatedQueue = new CustomQueue<>();
+        metricsManager.setCoreCount(coreCount);
+    }
+
+    private CustomQueue<PCB> newReadyQueue() {
+        CustomQueue<PCB> queue = new CustomQueue<>();
+        queue.setOrdering(algorithm.getReadyOrdering());
+        return queue;
+    }
+
+    /**
+     * Envía un proceso al sistema; se admite en el siguiente tick. Puede llamarse desde cualquier hilo.
+     * @param pcb El proceso a agregar.
+     */
+    public void addProcess(PCB pcb) {
+        admissionQueue.offer(pcb);
+    }
+
+    /**
+     * Envía un lote de procesos, en orden. Puede llamarse desde cualquier hilo.
+     * @param pcbs Los procesos a agregar.
+     */
+    public void addProcesses(CustomArrayList<PCB> pcbs) {
+        admissionQueue.offerAll(pcbs);
+    }
+
+    /**
+     * Ejecuta varios ticks seguidos, sin esperas.
+     * @param ticks Número de ticks a simular.
+     */
+    public synchronized void advance(long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Un pulso de reloj para todos los núcleos: envejecimiento, admisión, ejecución, swapping y despacho.
+     */
+    private void step() {
+        ageProcesses();
+        for (int i = 0; i < cores.length; i++) {
+            busyCores[i] = cores[i].runningProcess != null;
+        }
+        metricsManager.recordCoreTicks(busyCores);
+
+        // 1. Admitir nuevos procesos
+        admissionQueue.drainTo(newQueue);
+        while (!newQueue.isEmpty()) {
+            PCB pcb = newQueue.dequeue();
+            if (pcb.getArrivalTick() == PCB.NO_TICK) {
+                pcb.setArrivalTick(currentTick);
+            }
+            admitToReady(pcb);
+        }
+
+        // 2. Gestionar el proceso en ejecución de cada núcleo
+        for (Core core : cores) {
+            PCB running = core.runningProcess;
+            if (running == null) {
+                continue;
+            }
+            running.setProgramCounter(running.getProgramCounter() + 1);
+            if (running.getProgramCounter() >= running.getTotalExecutionTicks()) {
+                running.setState(ProcessState.TERMINADO);
+                running.setCompletionTick(currentTick);
+                terminatedQueue.enqueue(running);
+                metricsManager.recordProcessCompletion(running, algorithm.getName());
+                core.runningProcess = null;
+            } else if (core.quantumCounter > 0) {
+                core.quantumCounter--;
+                if (core.quantumCounter == 0) {
+                    algorithm.onQuantumExpired(running);
+                    running.setState(ProcessState.LISTO);
+                    core.readyQueue.enqueue(running);
+                    core.runningProcess = null;
+                }
+            }
+        }
+
+        // 3. Traer de disco los procesos que entren en RAM
+        while (!readySuspendedQueue.isEmpty() && readyCount() < config.getMaxMemoryProcesses()) {
+            PCB pcb = readySuspendedQueue.dequeue();
+            metricsManager.recordSwapIn(currentTick - pcb.getSuspendedTick());
+            pcb.setSuspendedTick(PCB.NO_TICK);
+            admitToReady(pcb);
+        }
+
+        // 4. Despachar en los núcleos libres
+        for (Core core : cores) {
+            if (core.runningProcess == null) {
+                dispatch(core);
+            }
+        }
+        currentTick++;
+    }
+
+    /**
+     * En los ticks múltiplos del intervalo de envejecimiento del algoritmo, envejece a todos los
+     * procesos admitidos y reordena las colas de listos, como {@link Scheduler}.
+     */
+    private void ageProcesses() {
+        long interval = algorithm.getAgingInterval();
+        if (interval <= 0 || currentTick % interval != 0) {
+            return;
+        }
+        for (Core core : cores) {
+            if (core.runningProcess != null) {
+                algorithm.age(core.runningProcess);
+            }
+        }
+        int queues = mode == Mode.GLOBAL ? 1 : cores.length; // En modo global todos comparten la misma
+        for (int i = 0; i < queues; i++) {
+            CustomQueue<PCB> queue = cores[i].readyQueue;
+            for (PCB pcb : queue) {
+                algorithm.age(pcb);
+            }
+            queue.reorder();
+        }
+        for (PCB pcb : readySuspendedQueue) {
+            algorithm.age(pcb);
+        }
+    }
+
+    /**
+     * Admite un proceso en RAM (o en listos-suspendidos si no hay espacio) y decide si expropia.
+     */
+    private void admitToReady(PCB pcb) {
+        if (readyCount() >= config.getMaxMemoryProcesses()) {
+            pcb.setState(ProcessState.LISTO_SUSPENDIDO);
+            pcb.setSuspendedTick(currentTick);
+            readySuspendedQueue.enqueue(pcb);
+            return;
+        }
+        Core target = mode == Mode.GLOBAL ? cores[0] : leastLoadedCore();
+        pcb.setState(ProcessState.LISTO);
+        target.readyQueue.enqueue(pcb);
+
+        Core victim = mode == Mode.GLOBAL ? preemptionVictim(pcb) : target;
+        if (victim != null && victim.runningProcess != null && algorithm.shouldPreempt(victim.runningProcess, pcb)) {
+            victim.runningProcess.setState(ProcessState.LISTO);
+            victim.readyQueue.enqueue(victim.runningProcess);
+            victim.runningProcess = null;
+            preemptions++;
+        }
+    }
+
+    /**
+     * En modo global: si hay un núcleo libre no se expropia a nadie (el proceso se despachará en
+     * ese núcleo). Si no, la víctima es el núcleo cuyo proceso sería expropiado por todos los
+     * demás candidatos, es decir, el de menor derecho a la CPU según el algoritmo.
+     */
+    private Core preemptionVictim(PCB pcb) {
+        Core victim = null;
+        for (Core core : cores) {
+            if (core.runningProcess == null) {
+                return null;
+            }
+            if (!algorithm.shouldPreempt(core.runningProcess, pcb)) {
+                continue;
+            }
+            if (victim == null || algorithm.shouldPreempt(core.runningProcess, victim.runningProcess)) {
+                victim = core;
+            }
+        }
+        return victim;
+    }
+
+    private Core leastLoadedCore() {
+        Core best = cores[0];
+        int bestLoad = load(best);
+        for (int i = 1; i < cores.length; i++) {
+            int load = load(cores[i]);
+            if (load < bestLoad) {
+                best = cores[i];
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private static int load(Core core) {
+        return core.readyQueue.size() + (core.runningProcess != null ? 1 : 0);
+    }
+
+    private void dispatch(Core core) {
+        CustomQueue<PCB> source = core.readyQueue;
+        if (source.isEmpty() && mode == Mode.PARTITIONED) {
+            source = stealSource();
+            if (source == null) {
+                return;
+            }
+            steals++;
+        }
+        if (source.isEmpty()) {
+            return;
+        }
+        PCB next = algorithm.getNextProcess(source);
+        if (next != null) {
+            next.setState(ProcessState.EJECUCION);
+            if (next.getFirstRunTick() == PCB.NO_TICK) {
+                next.setFirstRunTick(currentTick);
+            }
+            core.runningProcess = next;
+            core.quantumCounter = algorithm.getQuantum(next, config.getQuantum());
+        }
+    }
+
+    /**
+     * @return La cola de listos más larga, o null si todas están vacías.
+     */
+    private CustomQueue<PCB> stealSource() {
+        CustomQueue<PCB> longest = null;
+        for (Core core : cores) {
+            if (!core.readyQueue.isEmpty() && (longest == null || core.readyQueue.size() > longest.size())) {
+                longest = core.readyQueue;
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * @return El número de procesos listos en RAM, sumando todas las colas.
+     */
+    private int readyCount() {
+        if (mode == Mode.GLOBAL) {
+            return cores[0].readyQueue.size();
+        }
+        int count = 0;
+        for (Core core : cores) {
+            count += core.readyQueue.size();
+        }
+        return count;
+    }
+
+    // --- Acceso ---
+
+    public int getCoreCount() {
+        return cores.length;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public SimulationConfig getConfig() {
+        return config;
+    }
+
+    public MetricsManager getMetricsManager() {
+        return metricsManager;
+    }
+
+    /**
+     * @return El número de ticks simulados hasta ahora.
+     */
+    public synchronized long getCurrentTick() {
+        return currentTick;
+    }
+
+    public synchronized SchedulingAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @param core Índice del núcleo.
+     * @return El proceso en ejecución en ese núcleo, o null si está libre.
+     */
+    public synchronized PCB getRunningProcess(int core) {
+        return cores[core].runningProcess;
+    }
+
+    /**
+     * @param core Índice del núcleo.
+     * @return La cola de listos del núcleo (en modo global, la cola compartida).
+     */
+    public synchronized CustomQueue<PCB> getReadyQueue(int core) {
+        return cores[core].readyQueue;
+    }
+
+    public synchronized int getReadyCount() {
+        return readyCount();
+    }
+
+    public synchronized CustomQueue<PCB> getNewQueue() {
+        return newQueue;
+    }
+
+    public synchronized CustomQueue<PCB> getReadySuspendedQueue() {
+        return readySuspendedQueue;
+    }
+
+    public synchronized CustomQueue<PCB> getTerminatedQueue() {
+        return terminatedQueue;
+    }
+
+    /**
+     * @return Cuántas veces un núcleo libre tomó trabajo de la cola de otro núcleo.
+     */
+    public synchronized long getSteals() {
+        return steals;
+    }
+
+    /**
+     * @return Cuántas veces un proceso que llegaba expropió a un núcleo.
+     */
+    public synchronized long getPreemptions() {
+        return preemptions;
+    }
+}
@@ -3,18 +3,43 @@ package com.microsat.rtos.core;
 /**
  * Process Control Block (PCB).
  * Almacena toda la información de contexto de un proceso.
+ * <p>
+ * Un proceso puede alternar ráfagas de CPU y de E/S: cada {@code cpuBurstTicks} ticks de CPU pide
+ * al dispositivo {@code ioDevice} una operación de {@code ioBurstTicks} ticks y queda bloqueado
+ * hasta que termine. Con {@code cpuBurstTicks} en 0 el proceso solo usa CPU.
+ * <p>
+ * El deadline es relativo a la llegada: cuando el Scheduler admite el proceso (tick de llegada),
+ * queda fijo su deadline absoluto, {@code llegada + deadline}. El tiempo corre igual para todos los
+ * procesos vivos, ejecuten o no, sin que haya que descontar nada en cada tick.
+ * <p>
+ * Los trabajos de una {@link PeriodicTask} llevan el período de su tarea; los procesos aperiódicos
+ * tienen período 0.
  */
 public class PCB {
 
+    /**
+     * Valor de las marcas de tiempo que todavía no ocurrieron.
+     */
+    public static final long NO_TICK = -1;
+
     private final int processId;
     private final String processName;
     private ProcessState state;
     private int programCounter;
     private int memoryAddressRegister;
     private int priority;
-        private int deadlineTicks;
         private final int totalExecutionTicks;
         private final int initialDeadlineTicks;
+        private final int cpuBurstTicks; // 0 = sin E/S
+        private final int ioDevice;
+        private final int ioBurstTicks;
+        private int periodTicks; // 0 = aperiódico
+        // Marcas del reloj del Scheduler, para las métricas de latencia
+        private long arrivalTick = NO_TICK;
+        private long firstRunTick = NO_TICK;
+        private long completionTick = NO_TICK;
+        private long suspendedTick = NO_TICK; // Desde cuándo está en disco
+        private long wakeupTick = NO_TICK; // Cuándo termina su E/S, mientras está bloqueado
     
         /**
          * Constructor para un nuevo PCB.
@@ -22,21 +47,78 @@ public class PCB {
          * @param processId ID único del proceso.
          * @param processName Nombre descriptivo del proceso.
          * @param priority Prioridad de ejecución.
-         * @param deadlineTicks Ticks de reloj restantes para cumplir el deadline.
+         * @param deadlineTicks Ticks de reloj, desde la llegada, para cumplir el deadline.
          * @param totalExecutionTicks Ticks totales de CPU que el proceso necesita para completarse.
          */
         public PCB(int processId, String processName, int priority, int deadlineTicks, int totalExecutionTicks) {
+            this(processId, processName, priority, deadlineTicks, totalExecutionTicks, 0, 0, 0);
+        }
+
+        /**
+         * Constructor para un nuevo PCB que alterna ráfagas de CPU y de E/S.
+         *
+         * @param processId ID único del proceso.
+         * @param processName Nombre descriptivo del proceso.
+         * @param priority Prioridad de ejecución.
+         * @param deadlineTicks Ticks de reloj, desde la llegada, para cumplir el deadline.
+         * @param totalExecutionTicks Ticks totales de CPU que el proceso necesita para completarse.
+         * @param cpuBurstTicks Ticks de CPU entre dos pedidos de E/S (0 si el proceso no hace E/S).
+         * @param ioDevice Índice del dispositivo de E/S (ver {@link SystemConfig#IO_DEVICE_COUNT}).
+         * @param ioBurstTicks Ticks que tarda el dispositivo en atender cada pedido.
+         * @throws IllegalArgumentException si el patrón de E/S no es válido.
+         */
+        public PCB(int processId, String processName, int priority, int deadlineTicks, int totalExecutionTicks,
+                   int cpuBurstTicks, int ioDevice, int ioBurstTicks) {
+            if (cpuBurstTicks < 0 || (cpuBurstTicks > 0
+                    && (ioBurstTicks <= 0 || ioDevice < 0 || ioDevice >= SystemConfig.IO_DEVICE_COUNT))) {
+                throw new IllegalArgumentException("Patrón de E/S inválido: ráfaga de CPU=" + cpuBurstTicks
+                        + ", dispositivo=" + ioDevice + ", ráfaga de E/S=" + ioBurstTicks);
+            }
             this.processId = processId;
             this.processName = processName;
             this.state = ProcessState.NUEVO; // Todos los procesos inician en NUEVO
             this.programCounter = 0; // Se inicializa en 0
             this.memoryAddressRegister = 0; // Puede cambiar según la gestión de memoria
             this.priority = priority;
-            this.deadlineTicks = deadlineTicks;
             this.totalExecutionTicks = totalExecutionTicks;
-            this.initialDeadlineTicks = deadlineTicks; // Guardar el valor inicial
+            this.initialDeadlineTicks = deadlineTicks;
+            this.cpuBurstTicks = cpuBurstTicks;
+            this.ioDevice = cpuBurstTicks > 0 ? ioDevice : 0;
+            this.ioBurstTicks = cpuBurstTicks > 0 ? ioBurstTicks : 0;
         }
     
+        /**
+         * Crea un PCB nuevo con la misma definición (ID, nombre, prioridad, deadline, duración, período y
+         * patrón de E/S) pero con el estado de ejecución inicial. Útil para reutilizar una carga de trabajo en
+         * varias simulaciones.
+         * @return Una copia sin ejecutar de este proceso.
+         */
+        public PCB copy() {
+            PCB copy = new PCB(getProcessId(), getProcessName(), getPriority(), getInitialDeadlineTicks(), getTotalExecutionTicks(),
+                    cpuBurstTicks, ioDevice, ioBurstTicks);
+            copy.periodTicks = periodTicks;
+            return copy;
+        }
+
+        /**
+         * Crea una copia exacta de este proceso, incluido su estado de ejecución y sus marcas de
+         * tiempo. La usan los checkpoints del Scheduler para fotografiar los procesos vivos.
+         * @return Una copia independiente del proceso en su estado actual.
+         */
+        PCB copyWithState() {
+            PCB copy = copy();
+            copy.state = state;
+            copy.programCounter = programCounter;
+            copy.memoryAddressRegister = memoryAddressRegister;
+            copy.priority = priority;
+            copy.arrivalTick = arrivalTick;
+            copy.firstRunTick = firstRunTick;
+            copy.completionTick = completionTick;
+            copy.suspendedTick = suspendedTick;
+            copy.wakeupTick = wakeupTick;
+            return copy;
+        }
+
         // --- Getters y Setters ---
     
         public int getProcessId() {
@@ -79,30 +161,149 @@ public class PCB {
             this.priority = priority;
         }
     
-        public int getDeadlineTicks() {
-            return deadlineTicks;
-        }
-    
-        public void setDeadlineTicks(int deadlineTicks) {
-            this.deadlineTicks = deadlineTicks;
-        }
-    
         public int getTotalExecutionTicks() {
             return totalExecutionTicks;
         }
     
+        /**
+         * @return El deadline relativo a la llegada, tal como se definió el proceso.
+         */
         public int getInitialDeadlineTicks() {
             return initialDeadlineTicks;
         }
+
+        /**
+         * @return El período de la tarea a la que pertenece el trabajo, o 0 si el proceso es aperiódico.
+         */
+        public int getPeriodTicks() {
+            return periodTicks;
+        }
+
+        void setPeriodTicks(int periodTicks) {
+            this.periodTicks = periodTicks;
+        }
+
+        /**
+         * @return El tick hasta el que el proceso puede terminar cumpliendo su deadline (llegada +
+         *         deadline relativo), o {@link #NO_TICK} si todavía no llegó.
+         */
+        public long getAbsoluteDeadline() {
+            long arrival = getArrivalTick();
+            return arrival == NO_TICK ? NO_TICK : arrival + getInitialDeadlineTicks();
+        }
+
+        /**
+         * @param tick Un tick del reloj del Scheduler.
+         * @return Los ticks que, en ese tick, faltan para el deadline (negativo si ya venció). Si el
+         *         proceso todavía no llegó, el deadline relativo completo.
+         */
+        public long getDeadlineTicks(long tick) {
+            long deadline = getAbsoluteDeadline();
+            return deadline == NO_TICK ? getInitialDeadlineTicks() : deadline - tick;
+        }
+
+        /**
+         * @return true si el proceso terminó a más tardar en su deadline absoluto.
+         */
+        public boolean isDeadlineMet() {
+            long completion = getCompletionTick();
+            return completion != NO_TICK && getDeadlineTicks(completion) >= 0;
+        }
+
+        /**
+         * @return El tick en el que el Scheduler admitió el proceso, o {@link #NO_TICK}.
+         */
+        public long getArrivalTick() {
+            return arrivalTick;
+        }
+
+        public void setArrivalTick(long arrivalTick) {
+            this.arrivalTick = arrivalTick;
+        }
+
+        /**
+         * @return El tick en el que el proceso entró a la CPU por primera vez, o {@link #NO_TICK}.
+         */
+        public long getFirstRunTick() {
+            return firstRunTick;
+        }
+
+        public void setFirstRunTick(long firstRunTick) {
+            this.firstRunTick = firstRunTick;
+        }
+
+        /**
+         * @return El tick en el que el proceso terminó, o {@link #NO_TICK}.
+         */
+        public long getCompletionTick() {
+            return completionTick;
+        }
+
+        public void setCompletionTick(long completionTick) {
+            this.completionTick = completionTick;
+        }
+
+        /**
+         * @return El tick en el que el proceso fue llevado a disco, o {@link #NO_TICK} si está en RAM.
+         */
+        public long getSuspendedTick() {
+            return suspendedTick;
+        }
+
+        public void setSuspendedTick(long suspendedTick) {
+            this.suspendedTick = suspendedTick;
+        }
+
+        public int getCpuBurstTicks() {
+            return cpuBurstTicks;
+        }
+
+        public int getIoDevice() {
+            return ioDevice;
+        }
+
+        public int getIoBurstTicks() {
+            return ioBurstTicks;
+        }
+
+        /**
+         * @return true si, con el PC actual, el proceso debe pedir E/S antes de seguir ejecutando.
+         */
+        public boolean isIoDue() {
+            return cpuBurstTicks > 0 && programCounter % cpuBurstTicks == 0 && programCounter < totalExecutionTicks;
+        }
+
+        /**
+         * @return Los ticks de CPU que faltan para el próximo pedido de E/S o para terminar, lo
+         *         que ocurra primero (al menos 1).
+         */
+        public int ticksUntilCpuBurstEnds() {
+            int remaining = totalExecutionTicks - programCounter;
+            if (cpuBurstTicks > 0) {
+                remaining = Math.min(remaining, cpuBurstTicks - programCounter % cpuBurstTicks);
+            }
+            return Math.max(1, remaining);
+        }
+
+        /**
+         * @return El tick en el que termina la E/S del proceso bloqueado, o {@link #NO_TICK}.
+         */
+        public long getWakeupTick() {
+            return wakeupTick;
+        }
+
+        public void setWakeupTick(long wakeupTick) {
+            this.wakeupTick = wakeupTick;
+        }
     
         @Override
         public String toString() {
             return "PCB{" +
-                   "id=" + processId +
-               ", name='" + processName + "'" +
-               ", state=" + state +
-               ", priority=" + priority +
-               ", pc=" + programCounter +
+                   "id=" + getProcessId() +
+               ", name='" + getProcessName() + "'" +
+               ", state=" + getState() +
+               ", priority=" + getPriority() +
+               ", pc=" + getProgramCounter() +
                '}';
     }
 }
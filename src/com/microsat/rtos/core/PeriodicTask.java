@@ -0,0 +1,123 @@
+package com.microsat.rtos.core;
+
+/**
+ * Definición de una tarea periódica: cada {@code period} ticks, a partir de {@code phase}, libera
+ * un trabajo que necesita {@code wcet} ticks de CPU y debe terminar dentro de {@code deadline}
+ * ticks desde su liberación. Cada trabajo es un {@link PCB} con el ID, el nombre y la prioridad de
+ * la tarea, y con su período ({@link PCB#getPeriodTicks()}); el Scheduler lo admite en el tick de
+ * su liberación.
+ * <p>
+ * Los deadlines son restringidos ({@code wcet <= deadline <= period}): un trabajo que cumple
+ * termina antes de que se libere el siguiente de su tarea, así que los trabajos de una misma tarea
+ * tienen deadlines absolutos distintos.
+ */
+public final class PeriodicTask {
+
+    private final int taskId;
+    private final String name;
+    private final int priority;
+    private final int periodTicks;
+    private final int wcetTicks;
+    private final int phaseTicks;
+    private final int deadlineTicks;
+
+    /**
+     * Crea una tarea periódica.
+     * @param taskId ID de la tarea; lo llevan todos sus trabajos.
+     * @param name Nombre descriptivo.
+     * @param priority Prioridad de los trabajos (para los algoritmos que la usan).
+     * @param periodTicks Ticks entre dos liberaciones.
+     * @param wcetTicks Ticks de CPU de cada trabajo (tiempo de ejecución en el peor caso).
+     * @param phaseTicks Tick de la primera liberación.
+     * @param deadlineTicks Deadline relativo a cada liberación.
+     * @throws IllegalArgumentException si no se cumple {@code 0 < wcet <= deadline <= period} o la
+     *         fase es negativa.
+     */
+    public PeriodicTask(int taskId, String name, int priority, int periodTicks, int wcetTicks, int phaseTicks,
+                        int deadlineTicks) {
+        if (wcetTicks <= 0 || wcetTicks > deadlineTicks || deadlineTicks > periodTicks || phaseTicks < 0) {
+            throw new IllegalArgumentException("Tarea periódica inválida: período=" + periodTicks + ", WCET="
+                    + wcetTicks + ", fase=" + phaseTicks + ", deadline=" + deadlineTicks);
+        }
+        this.taskId = taskId;
+        this.name = name;
+        this.priority = priority;
+        this.periodTicks = periodTicks;
+        this.wcetTicks = wcetTicks;
+        this.phaseTicks = phaseTicks;
+        this.deadlineTicks = deadlineTicks;
+    }
+
+    /**
+     * @param tick Un tick del reloj.
+     * @return El índice del primer trabajo que se libera en ese tick o después.
+     */
+    public long firstJobAtOrAfter(long tick) {
+        return tick <= phaseTicks ? 0 : (tick - phaseTicks + periodTicks - 1) / periodTicks;
+    }
+
+    /**
+     * @param job Índice del trabajo (0 = el primero).
+     * @return El tick en que se libera ese trabajo.
+     */
+    public long releaseTick(long job) {
+        return phaseTicks + job * periodTicks;
+    }
+
+    /**
+     * Crea el PCB de un trabajo de la tarea, sin ejecutar.
+     * @return El trabajo; su llegada la fija el Scheduler al admitirlo.
+     */
+    public PCB createJob() {
+        PCB job = new PCB(taskId, name, priority, deadlineTicks, wcetTicks);
+        job.setPeriodTicks(periodTicks);
+        return job;
+    }
+
+    /**
+     * @return La fracción de la CPU que ocupa la tarea ({@code wcet / period}).
+     */
+    public double getUtilization() {
+        return (double) wcetTicks / periodTicks;
+    }
+
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public int getPeriodTicks() {
+        return periodTicks;
+    }
+
+    public int getWcetTicks() {
+        return wcetTicks;
+    }
+
+    public int getPhaseTicks() {
+        return phaseTicks;
+    }
+
+    public int getDeadlineTicks() {
+        return deadlineTicks;
+    }
+
+    @Override
+    public String toString() {
+        return "PeriodicTask{" +
+               "id=" + taskId +
+               ", name='" + name + "'" +
+               ", period=" + periodTicks +
+               ", wcet=" + wcetTicks +
+               ", phase=" + phaseTicks +
+               ", deadline=" + deadlineTicks +
+               '}';
+    }
+}
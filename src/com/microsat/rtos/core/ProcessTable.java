@@ -0,0 +1,386 @@
+package com.microsat.rtos.core;
+
+import java.util.function.IntFunction;
+
+/**
+ * Tabla de procesos en formato de estructura de arreglos (struct-of-arrays): cada campo del PCB
+ * se guarda en un arreglo primitivo propio, indexado por la posición (slot) del proceso. No hay
+ * un objeto por proceso ni un nodo por elemento de cola; las colas ({@link SlotQueue}) se enlazan
+ * con índices dentro de la misma tabla.
+ * <p>
+ * Pensada para simulaciones con millones de procesos (ver {@link TableScheduler}): el costo por
+ * proceso baja a unos 65 bytes y el recolector de basura no tiene objetos que recorrer. Para la
+ * interfaz gráfica y la API existente, {@link #toPcb(int)} copia un proceso a un {@link PCB}.
+ */
+public class ProcessTable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final ProcessState[] STATES = ProcessState.values();
+
+    /**
+     * Valor de enlace que indica "sin siguiente" o "cola vacía".
+     */
+    public static final int NONE = -1;
+
+    private int[] processId;
+    private int[] priority;
+    private long[] absoluteDeadline; // PCB.NO_TICK hasta que el proceso llega
+    private long[] firstRunTick;
+    private long[] completionTick;
+    private long[] suspendedTick;
+    private int[] programCounter;
+    private int[] memoryAddressRegister;
+    private int[] totalExecutionTicks;
+    private int[] initialDeadlineTicks;
+    private byte[] state;
+    private String[] names;
+    private int[] next; // Enlace al siguiente slot dentro de la cola que contiene al proceso
+    private int size;
+    private IntFunction<String> nameResolver;
+
+    /**
+     * Crea una tabla vacía.
+     */
+    public ProcessTable() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Crea una tabla vacía con espacio reservado para {@code initialCapacity} procesos.
+     * @param initialCapacity Capacidad inicial.
+     */
+    public ProcessTable(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        processId = new int[capacity];
+        priority = new int[capacity];
+        absoluteDeadline = new long[capacity];
+        firstRunTick = new long[capacity];
+        completionTick = new long[capacity];
+        suspendedTick = new long[capacity];
+        programCounter = new int[capacity];
+        memoryAddressRegister = new int[capacity];
+        totalExecutionTicks = new int[capacity];
+        initialDeadlineTicks = new int[capacity];
+        state = new byte[capacity];
+        names = new String[capacity];
+        next = new int[capacity];
+        size = 0;
+    }
+
+    /**
+     * Agrega un proceso en estado NUEVO.
+     * @param id ID del proceso.
+     * @param name Nombre del proceso. Puede ser null si se configuró un
+     *             {@link #setNameResolver(IntFunction) resolvedor de nombres}.
+     * @param priorityValue Prioridad de ejecución.
+     * @param deadline Ticks de reloj, desde la llegada, para cumplir el deadline.
+     * @param totalTicks Ticks totales de CPU que necesita.
+     * @return El slot asignado al proceso.
+     */
+    public int add(int id, String name, int priorityValue, int deadline, int totalTicks) {
+        if (size == processId.length) {
+            grow();
+        }
+        int slot = size++;
+        processId[slot] = id;
+        names[slot] = name;
+        priority[slot] = priorityValue;
+        absoluteDeadline[slot] = PCB.NO_TICK;
+        firstRunTick[slot] = PCB.NO_TICK;
+        completionTick[slot] = PCB.NO_TICK;
+        suspendedTick[slot] = PCB.NO_TICK;
+        initialDeadlineTicks[slot] = deadline;
+        totalExecutionTicks[slot] = totalTicks;
+        programCounter[slot] = 0;
+        memoryAddressRegister[slot] = 0;
+        state[slot] = (byte) ProcessState.NUEVO.ordinal();
+        next[slot] = NONE;
+        return slot;
+    }
+
+    /**
+     * Agrega un proceso a partir de su definición como PCB (ID, nombre, prioridad, deadline
+     * inicial y duración). El PCB no queda referenciado por la tabla.
+     * @param pcb El proceso a copiar.
+     * @return El slot asignado.
+     */
+    public int add(PCB pcb) {
+        return add(pcb.getProcessId(), pcb.getProcessName(), pcb.getPriority(),
+                pcb.getInitialDeadlineTicks(), pcb.getTotalExecutionTicks());
+    }
+
+    /**
+     * Define cómo obtener el nombre de los procesos agregados sin nombre. Permite, por ejemplo,
+     * decodificar los nombres bajo demanda desde un archivo mapeado en lugar de guardar un
+     * {@code String} por proceso.
+     * @param nameResolver Recibe el slot y devuelve el nombre.
+     */
+    public void setNameResolver(IntFunction<String> nameResolver) {
+        this.nameResolver = nameResolver;
+    }
+
+    /**
+     * Reserva espacio para al menos {@code capacity} procesos.
+     * @param capacity Capacidad mínima.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > processId.length) {
+            resize(capacity);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // --- Acceso por slot ---
+
+    public int getProcessId(int slot) {
+        return processId[slot];
+    }
+
+    public String getName(int slot) {
+        String name = names[slot];
+        if (name == null && nameResolver != null) {
+            return nameResolver.apply(slot);
+        }
+        return name;
+    }
+
+    public ProcessState getState(int slot) {
+        return STATES[state[slot]];
+    }
+
+    public void setState(int slot, ProcessState newState) {
+        state[slot] = (byte) newState.ordinal();
+    }
+
+    public int getPriority(int slot) {
+        return priority[slot];
+    }
+
+    public void setPriority(int slot, int value) {
+        priority[slot] = value;
+    }
+
+    /**
+     * @return El deadline absoluto del proceso, o {@link PCB#NO_TICK} si todavía no llegó.
+     */
+    public long getAbsoluteDeadline(int slot) {
+        return absoluteDeadline[slot];
+    }
+
+    public void setAbsoluteDeadline(int slot, long tick) {
+        absoluteDeadline[slot] = tick;
+    }
+
+    /**
+     * @return El tick en el que el proceso fue admitido (deadline absoluto menos deadline
+     *         relativo), o {@link PCB#NO_TICK} si todavía no llegó.
+     */
+    public long getArrivalTick(int slot) {
+        long deadline = absoluteDeadline[slot];
+        return deadline == PCB.NO_TICK ? PCB.NO_TICK : deadline - initialDeadlineTicks[slot];
+    }
+
+    /**
+     * @return El tick en el que el proceso entró a la CPU por primera vez, o {@link PCB#NO_TICK}.
+     */
+    public long getFirstRunTick(int slot) {
+        return firstRunTick[slot];
+    }
+
+    public void setFirstRunTick(int slot, long tick) {
+        firstRunTick[slot] = tick;
+    }
+
+    /**
+     * @return El tick en el que el proceso terminó, o {@link PCB#NO_TICK}.
+     */
+    public long getCompletionTick(int slot) {
+        return completionTick[slot];
+    }
+
+    public void setCompletionTick(int slot, long tick) {
+        completionTick[slot] = tick;
+    }
+
+    /**
+     * @return El tick en el que el proceso fue llevado a disco, o {@link PCB#NO_TICK} si está en RAM.
+     */
+    public long getSuspendedTick(int slot) {
+        return suspendedTick[slot];
+    }
+
+    public void setSuspendedTick(int slot, long tick) {
+        suspendedTick[slot] = tick;
+    }
+
+    public int getProgramCounter(int slot) {
+        return programCounter[slot];
+    }
+
+    public void setProgramCounter(int slot, int value) {
+        programCounter[slot] = value;
+    }
+
+    public int getMemoryAddressRegister(int slot) {
+        return memoryAddressRegister[slot];
+    }
+
+    public void setMemoryAddressRegister(int slot, int value) {
+        memoryAddressRegister[slot] = value;
+    }
+
+    public int getTotalExecutionTicks(int slot) {
+        return totalExecutionTicks[slot];
+    }
+
+    public int getInitialDeadlineTicks(int slot) {
+        return initialDeadlineTicks[slot];
+    }
+
+    /**
+     * Avanza el proceso {@code delta} ticks de CPU.
+     */
+    void run(int slot, int delta) {
+        programCounter[slot] += delta;
+    }
+
+    /**
+     * Copia el proceso a un {@link PCB} independiente, con su estado y sus marcas de tiempo. La
+     * tabla no guarda patrón de E/S ni período, así que la copia es un proceso aperiódico que solo
+     * usa CPU, tal como lo ejecuta {@link TableScheduler}. Modificar la copia no altera la tabla.
+     * @param slot Slot del proceso.
+     * @return Una copia del proceso.
+     * @throws IndexOutOfBoundsException si el slot no existe.
+     */
+    public PCB toPcb(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("Slot: " + slot + ", Size: " + size);
+        }
+        PCB pcb = new PCB(processId[slot], getName(slot), priority[slot], initialDeadlineTicks[slot],
+                totalExecutionTicks[slot]);
+        pcb.setState(getState(slot));
+        pcb.setProgramCounter(programCounter[slot]);
+        pcb.setMemoryAddressRegister(memoryAddressRegister[slot]);
+        pcb.setArrivalTick(getArrivalTick(slot));
+        pcb.setFirstRunTick(firstRunTick[slot]);
+        pcb.setCompletionTick(completionTick[slot]);
+        pcb.setSuspendedTick(suspendedTick[slot]);
+        return pcb;
+    }
+
+    /**
+     * Crea una cola vacía cuyos enlaces se guardan en esta tabla. Un proceso solo puede estar
+     * en una cola de la tabla a la vez.
+     * @return Una cola nueva.
+     */
+    public SlotQueue newQueue() {
+        return new SlotQueue(this);
+    }
+
+    private void grow() {
+        resize(processId.length * 2);
+    }
+
+    private void resize(int capacity) {
+        processId = copyOf(processId, capacity);
+        priority = copyOf(priority, capacity);
+        absoluteDeadline = copyOf(absoluteDeadline, capacity);
+        firstRunTick = copyOf(firstRunTick, capacity);
+        completionTick = copyOf(completionTick, capacity);
+        suspendedTick = copyOf(suspendedTick, capacity);
+        programCounter = copyOf(programCounter, capacity);
+        memoryAddressRegister = copyOf(memoryAddressRegister, capacity);
+        totalExecutionTicks = copyOf(totalExecutionTicks, capacity);
+        initialDeadlineTicks = copyOf(initialDeadlineTicks, capacity);
+        next = copyOf(next, capacity);
+        byte[] newState = new byte[capacity];
+        System.arraycopy(state, 0, newState, 0, size);
+        state = newState;
+        String[] newNames = new String[capacity];
+        System.arraycopy(names, 0, newNames, 0, size);
+        names = newNames;
+    }
+
+    private int[] copyOf(int[] source, int capacity) {
+        int[] copy = new int[capacity];
+        System.arraycopy(source, 0, copy, 0, size);
+        return copy;
+    }
+
+    private long[] copyOf(long[] source, int capacity) {
+        long[] copy = new long[capacity];
+        System.arraycopy(source, 0, copy, 0, size);
+        return copy;
+    }
+
+    /**
+     * Cola FIFO de slots enlazada a través de la tabla. Encolar y desencolar son O(1) y no
+     * crean objetos.
+     */
+    public static final class SlotQueue {
+        private final ProcessTable table;
+        private int head = NONE;
+        private int tail = NONE;
+        private int size;
+
+        private SlotQueue(ProcessTable table) {
+            this.table = table;
+        }
+
+        public void enqueue(int slot) {
+            table.next[slot] = NONE;
+            if (tail == NONE) {
+                head = slot;
+            } else {
+                table.next[tail] = slot;
+            }
+            tail = slot;
+            size++;
+        }
+
+        /**
+         * Remueve y devuelve el slot del frente.
+         * @return El slot, o {@link #NONE} si la cola está vacía.
+         */
+        public int dequeue() {
+            int slot = head;
+            if (slot == NONE) {
+                return NONE;
+            }
+            head = table.next[slot];
+            if (head == NONE) {
+                tail = NONE;
+            }
+            table.next[slot] = NONE;
+            size--;
+            return slot;
+        }
+
+        /**
+         * @return El slot del frente sin removerlo, o {@link #NONE} si la cola está vacía.
+         */
+        public int peek() {
+            return head;
+        }
+
+        /**
+         * Permite recorrer la cola: {@code for (int s = q.peek(); s != NONE; s = q.next(s))}.
+         * @param slot Un slot que está en esta cola.
+         * @return El slot siguiente, o {@link #NONE} al final.
+         */
+        public int next(int slot) {
+            return table.next[slot];
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.microsat.rtos.core;
+
+import com.microsat.rtos.datastructures.CustomArrayList;
+
+/**
+ * Análisis de tiempo de respuesta (RTA) de un conjunto de {@link PeriodicTask} planificado con
+ * Rate Monotonic en el {@link Scheduler}. Para cada tarea calcula una cota del tiempo de respuesta
+ * de sus trabajos con la iteración de punto fijo
+ * {@code R = C_i + suma sobre j de techo(R / T_j) * (C_j + 1)}, donde j recorre las demás tareas con
+ * período menor o igual (los empates se resuelven por orden de llegada, así que cuentan como más
+ * prioritarias), y la compara con el deadline. El {@code + 1} es el tick que el Scheduler pierde en
+ * cada expropiación: el trabajo expropiado no avanza en el tick en que llega el más prioritario.
+ * <p>
+ * El análisis supone el instante crítico (todas las tareas se liberan juntas), que es el peor caso
+ * para cualquier combinación de fases, así que una tarea que pasa cumple siempre. Cuenta solo las
+ * tareas periódicas, que no hacen E/S, y supone que sus trabajos caben en RAM: los procesos
+ * aperiódicos y el swapping no están incluidos. Se hace una sola vez, al cargar las tareas.
+ */
+public final class ResponseTimeAnalysis {
+
+    /**
+     * Tiempo de respuesta de una tarea cuya cota supera su deadline.
+     */
+    public static final long UNBOUNDED = -1;
+
+    /**
+     * Ticks que pierde el trabajo expropiado en cada expropiación.
+     */
+    private static final int PREEMPTION_COST_TICKS = 1;
+
+    private final PeriodicTask[] tasks;
+    private final long[] responseTimes;
+    private final double utilization;
+
+    private ResponseTimeAnalysis(PeriodicTask[] tasks, long[] responseTimes, double utilization) {
+        this.tasks = tasks;
+        this.responseTimes = responseTimes;
+        this.utilization = utilization;
+    }
+
+    /**
+     * Analiza un conjunto de tareas. Cuesta O(n²) por iteración del punto fijo de cada tarea, y
+     * cada tarea converge en a lo sumo {@code deadline} iteraciones (en la práctica, unas pocas).
+     * @param taskSet Las tareas, en cualquier orden.
+     * @return El resultado, con las tareas en el mismo orden.
+     */
+    public static ResponseTimeAnalysis analyze(CustomArrayList<PeriodicTask> taskSet) {
+        PeriodicTask[] tasks = new PeriodicTask[taskSet.size()];
+        double utilization = 0;
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = taskSet.get(i);
+            utilization += tasks[i].getUtilization();
+        }
+        long[] responseTimes = new long[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            responseTimes[i] = responseTime(tasks, i);
+        }
+        return new ResponseTimeAnalysis(tasks, responseTimes, utilization);
+    }
+
+    private static long responseTime(PeriodicTask[] tasks, int i) {
+        PeriodicTask task = tasks[i];
+        long response = task.getWcetTicks();
+        while (true) {
+            long next = task.getWcetTicks();
+            for (int j = 0; j < tasks.length; j++) {
+                if (j != i && tasks[j].getPeriodTicks() <= task.getPeriodTicks()) {
+                    long releases = (response + tasks[j].getPeriodTicks() - 1) / tasks[j].getPeriodTicks();
+                    next += releases * (tasks[j].getWcetTicks() + PREEMPTION_COST_TICKS);
+                }
+            }
+            if (next > task.getDeadlineTicks()) {
+                return UNBOUNDED;
+            }
+            if (next == response) {
+                return response;
+            }
+            response = next;
+        }
+    }
+
+    public int getTaskCount() {
+        return tasks.length;
+    }
+
+    public PeriodicTask getTask(int index) {
+        return tasks[index];
+    }
+
+    /**
+     * @param index Posición de la tarea en el conjunto analizado.
+     * @return La cota del tiempo de respuesta de sus trabajos (desde la liberación hasta el fin), o
+     *         {@link #UNBOUNDED} si supera su deadline.
+     */
+    public long getResponseTime(int index) {
+        return responseTimes[index];
+    }
+
+    /**
+     * @param index Posición de la tarea en el conjunto analizado.
+     * @return true si los trabajos de la tarea siempre cumplen su deadline con RM.
+     */
+    public boolean isSchedulable(int index) {
+        return responseTimes[index] != UNBOUNDED;
+    }
+
+    /**
+     * @return true si todas las tareas cumplen su deadline con RM.
+     */
+    public boolean isSchedulable() {
+        for (long response : responseTimes) {
+            if (response == UNBOUNDED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return La fracción de la CPU que piden las tareas (puede ser mayor que 1).
+     */
+    public double getUtilization() {
+        return utilization;
+    }
+
+    /**
+     * @return La cota de Liu y Layland, {@code n (2^(1/n) - 1)}: con deadlines iguales al período y
+     *         sin costo de expropiación, un conjunto que no la supera es planificable con RM. Es solo
+     *         una referencia; el veredicto es el del análisis.
+     */
+    public double getLiuLaylandBound() {
+        int n = tasks.length;
+        return n == 0 ? 1.0 : n * (Math.pow(2, 1.0 / n) - 1);
+    }
+}
@@ -0,0 +1,305 @@
+package com.microsat.rtos.core;
+
+import com.microsat.rtos.datastructures.CustomArrayList;
+
+/**
+ * Tabla de planificación estática de un conjunto de {@link PeriodicTask}, para el
+ * {@link CyclicExecutive}. Cada entrada dice qué tarea ocupa la CPU (o si queda ociosa) desde un
+ * tick hasta el comienzo de la siguiente entrada, y si en ese momento termina el trabajo en curso
+ * de la tarea. Despachar es leer la entrada siguiente: no hay colas ni comparaciones en línea.
+ * <p>
+ * La tabla se calcula una sola vez, simulando EDF expropiativo sobre las tareas (empates por orden
+ * en el conjunto), que encuentra un plan factible siempre que exista uno. Con fases distintas, los
+ * primeros ticks pueden no repetirse: la tabla tiene un prefijo {@code [0, cycleStart)} y un ciclo
+ * {@code [cycleStart, cycleStart + H)}, con H el hiperperíodo (mínimo común múltiplo de los
+ * períodos), que se repite indefinidamente. El ciclo empieza en la primera frontera
+ * {@code faseMáxima + k·H} a partir de la cual el trabajo pendiente de cada tarea vuelve a ser el
+ * mismo una frontera después.
+ */
+public final class ScheduleTable {
+
+    /**
+     * Valor de {@link #getEntryTask(int)} para la CPU ociosa.
+     */
+    public static final int IDLE = -1;
+
+    /**
+     * Máximo número de entradas de una tabla.
+     */
+    public static final int MAX_ENTRIES = 1 << 20;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final PeriodicTask[] tasks;
+    private final long hyperperiod;
+    private final long cycleStart;
+    private final int cycleEntry; // Primera entrada del ciclo
+    private final long[] entryStart;
+    private final int[] entryTask;
+    private final boolean[] entryCompletes;
+    private final int entryCount;
+
+    private ScheduleTable(PeriodicTask[] tasks, long hyperperiod, long cycleStart, int cycleEntry, long[] entryStart,
+                          int[] entryTask, boolean[] entryCompletes, int entryCount) {
+        this.tasks = tasks;
+        this.hyperperiod = hyperperiod;
+        this.cycleStart = cycleStart;
+        this.cycleEntry = cycleEntry;
+        this.entryStart = entryStart;
+        this.entryTask = entryTask;
+        this.entryCompletes = entryCompletes;
+        this.entryCount = entryCount;
+    }
+
+    /**
+     * Calcula la tabla de un conjunto de tareas. Cuesta O(n) por entrada.
+     * @param taskSet Las tareas; los índices de la tabla son sus posiciones en el conjunto.
+     * @return La tabla.
+     * @throws IllegalArgumentException si el conjunto está vacío, si ningún plan cumple todos los
+     *         deadlines, o si el hiperperíodo o la tabla son demasiado grandes.
+     */
+    public static ScheduleTable build(CustomArrayList<PeriodicTask> taskSet) {
+        int n = taskSet.size();
+        if (n == 0) {
+            throw new IllegalArgumentException("El conjunto de tareas está vacío");
+        }
+        PeriodicTask[] tasks = new PeriodicTask[n];
+        long hyperperiod = 1;
+        long maxPhase = 0;
+        for (int i = 0; i < n; i++) {
+            tasks[i] = taskSet.get(i);
+            hyperperiod = lcm(hyperperiod, tasks[i].getPeriodTicks());
+            maxPhase = Math.max(maxPhase, tasks[i].getPhaseTicks());
+        }
+        try {
+            return new Builder(tasks, hyperperiod, maxPhase).build();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El hiperperíodo de las tareas es demasiado largo: " + hyperperiod);
+        }
+    }
+
+    private static long lcm(long a, long b) {
+        long x = a;
+        long y = b;
+        while (y != 0) {
+            long r = x % y;
+            x = y;
+            y = r;
+        }
+        try {
+            return Math.multiplyExact(a / x, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El hiperperíodo de las tareas no cabe en un long");
+        }
+    }
+
+    /**
+     * Simulación de EDF que produce las entradas de la tabla.
+     */
+    private static final class Builder {
+        private final PeriodicTask[] tasks;
+        private final long hyperperiod;
+        private final long[] remaining; // Ticks pendientes del trabajo en curso de cada tarea (0 = ninguno)
+        private final long[] deadline; // Deadline absoluto del trabajo en curso
+        private final long[] nextRelease;
+        private long[] entryStart = new long[INITIAL_CAPACITY];
+        private int[] entryTask = new int[INITIAL_CAPACITY];
+        private boolean[] entryCompletes = new boolean[INITIAL_CAPACITY];
+        private int entryCount;
+        private boolean splitNext; // La próxima entrada no se une con la anterior
+        private long boundary; // Próxima frontera faseMáxima + k·H
+
+        Builder(PeriodicTask[] tasks, long hyperperiod, long maxPhase) {
+            this.tasks = tasks;
+            this.hyperperiod = hyperperiod;
+            this.remaining = new long[tasks.length];
+            this.deadline = new long[tasks.length];
+            this.nextRelease = new long[tasks.length];
+            for (int i = 0; i < tasks.length; i++) {
+                nextRelease[i] = tasks[i].getPhaseTicks();
+            }
+            this.boundary = maxPhase;
+        }
+
+        ScheduleTable build() {
+            long[] previousBacklog = null;
+            int previousBoundaryEntry = 0;
+            long tick = 0;
+            while (true) {
+                release(tick);
+                if (tick == boundary) {
+                    if (previousBacklog != null && sameBacklog(previousBacklog)) {
+                        return new ScheduleTable(tasks, hyperperiod, boundary - hyperperiod, previousBoundaryEntry,
+                                entryStart, entryTask, entryCompletes, entryCount);
+                    }
+                    previousBacklog = remaining.clone();
+                    previousBoundaryEntry = entryCount;
+                    splitNext = true;
+                    boundary = Math.addExact(boundary, hyperperiod);
+                }
+                int selected = earliestDeadline();
+                long end = boundary;
+                for (long release : nextRelease) {
+                    end = Math.min(end, release);
+                }
+                if (selected != IDLE) {
+                    end = Math.min(end, tick + remaining[selected]);
+                }
+                addEntry(tick, selected);
+                if (selected != IDLE) {
+                    remaining[selected] -= end - tick;
+                    if (remaining[selected] == 0) {
+                        if (end > deadline[selected]) {
+                            throw infeasible(selected, deadline[selected]);
+                        }
+                        entryCompletes[entryCount - 1] = true;
+                    }
+                }
+                tick = end;
+            }
+        }
+
+        private void release(long tick) {
+            for (int i = 0; i < tasks.length; i++) {
+                if (nextRelease[i] == tick) {
+                    if (remaining[i] > 0) {
+                        throw infeasible(i, deadline[i]); // El deadline no pasa del período
+                    }
+                    remaining[i] = tasks[i].getWcetTicks();
+                    deadline[i] = tick + tasks[i].getDeadlineTicks();
+                    nextRelease[i] = tick + tasks[i].getPeriodTicks();
+                }
+            }
+        }
+
+        private int earliestDeadline() {
+            int best = IDLE;
+            for (int i = 0; i < tasks.length; i++) {
+                if (remaining[i] > 0 && (best == IDLE || deadline[i] < deadline[best])) {
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        private boolean sameBacklog(long[] previous) {
+            for (int i = 0; i < remaining.length; i++) {
+                if (remaining[i] != previous[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Agrega una entrada, o extiende la anterior si es de la misma tarea y el trabajo sigue.
+         */
+        private void addEntry(long tick, int task) {
+            if (!splitNext && entryCount > 0 && entryTask[entryCount - 1] == task && !entryCompletes[entryCount - 1]) {
+                return;
+            }
+            splitNext = false;
+            if (entryCount == entryStart.length) {
+                if (entryCount == MAX_ENTRIES) {
+                    throw new IllegalArgumentException("La tabla cíclica supera las " + MAX_ENTRIES
+                            + " entradas (hiperperíodo de " + hyperperiod + " ticks)");
+                }
+                grow();
+            }
+            entryStart[entryCount] = tick;
+            entryTask[entryCount] = task;
+            entryCompletes[entryCount] = false;
+            entryCount++;
+        }
+
+        private void grow() {
+            int capacity = Math.min(MAX_ENTRIES, entryStart.length * 2);
+            long[] newStart = new long[capacity];
+            System.arraycopy(entryStart, 0, newStart, 0, entryCount);
+            entryStart = newStart;
+            int[] newTask = new int[capacity];
+            System.arraycopy(entryTask, 0, newTask, 0, entryCount);
+            entryTask = newTask;
+            boolean[] newCompletes = new boolean[capacity];
+            System.arraycopy(entryCompletes, 0, newCompletes, 0, entryCount);
+            entryCompletes = newCompletes;
+        }
+
+        private IllegalArgumentException infeasible(int task, long missedDeadline) {
+            return new IllegalArgumentException("No hay un plan que cumpla todos los deadlines: la tarea "
+                    + tasks[task].getTaskId() + " (" + tasks[task].getName() + ") incumple su deadline del tick "
+                    + missedDeadline);
+        }
+    }
+
+    // --- Consultas ---
+
+    public int getTaskCount() {
+        return tasks.length;
+    }
+
+    /**
+     * @param index Índice de la tarea en la tabla (su posición en el conjunto).
+     * @return La tarea.
+     */
+    public PeriodicTask getTask(int index) {
+        return tasks[index];
+    }
+
+    /**
+     * @return El hiperperíodo: la duración del ciclo que se repite.
+     */
+    public long getHyperperiod() {
+        return hyperperiod;
+    }
+
+    /**
+     * @return El tick en el que empieza el ciclo (0 si las tareas no tienen fase).
+     */
+    public long getCycleStart() {
+        return cycleStart;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * @return La primera entrada del ciclo; las anteriores forman el prefijo, que se ejecuta una vez.
+     */
+    public int getCycleEntry() {
+        return cycleEntry;
+    }
+
+    /**
+     * @param entry Índice de la entrada.
+     * @return El tick de la tabla en el que empieza (en {@code [0, cycleStart + H)}).
+     */
+    public long getEntryStart(int entry) {
+        return entryStart[entry];
+    }
+
+    /**
+     * @param entry Índice de la entrada.
+     * @return El tick de la tabla en el que termina: el comienzo de la siguiente, o el fin del ciclo.
+     */
+    public long getEntryEnd(int entry) {
+        return entry + 1 < entryCount ? entryStart[entry + 1] : cycleStart + hyperperiod;
+    }
+
+    /**
+     * @param entry Índice de la entrada.
+     * @return El índice de la tarea que ejecuta, o {@link #IDLE}.
+     */
+    public int getEntryTask(int entry) {
+        return entryTask[entry];
+    }
+
+    /**
+     * @param entry Índice de la entrada.
+     * @return true si al final de la entrada termina el trabajo en curso de su tarea.
+     */
+    public boolean completesJob(int entry) {
+        return entryCompletes[entry];
+    }
+}
@@ -1,17 +1,62 @@
 package com.microsat.rtos.core;
 
+import com.microsat.rtos.core.algorithms.AlgorithmFactory;
 import com.microsat.rtos.core.algorithms.FCFSAlgorithm;
-import com.microsat.rtos.core.algorithms.RoundRobinAlgorithm;
 import com.microsat.rtos.core.algorithms.SchedulingAlgorithm;
+import com.microsat.rtos.datastructures.CustomArrayList;
 import com.microsat.rtos.datastructures.CustomQueue;
+import com.microsat.rtos.datastructures.MpscQueue;
+import com.microsat.rtos.metrics.DispatchEvent;
 import com.microsat.rtos.metrics.MetricsManager;
+import com.microsat.rtos.metrics.PreemptionEvent;
+import com.microsat.rtos.metrics.SchedulerProfiler;
+import com.microsat.rtos.trace.TraceEventType;
+import com.microsat.rtos.trace.TraceRecorder;
+
+import java.util.Comparator;
 
 /**
  * El núcleo del sistema operativo. Implementa la lógica de planificación y el reloj del sistema.
  * Se ejecuta en su propio hilo.
+ * <p>
+ * Además del planificador de corto plazo (el algoritmo que elige quién usa la CPU), incluye un
+ * planificador de mediano plazo que mueve procesos entre RAM y disco según una {@link SwapPolicy}.
+ * <p>
+ * Los procesos con ráfagas de E/S dejan la CPU al terminar cada ráfaga de CPU y esperan en la
+ * cola de bloqueados (o de bloqueados-suspendidos, si se los lleva a disco) hasta que su
+ * {@link IoDevice} los atiende. Las colas de bloqueados están ordenadas por el tick en que termina
+ * la E/S, así que despertar procesos solo mira el frente de la cola: un tick sin E/S que termine
+ * cuesta O(1) y cada proceso despertado O(log n).
+ * <p>
+ * Los deadlines son absolutos (llegada + deadline relativo) y corren para todos los procesos vivos.
+ * Una cola de deadlines ordenada por deadline absoluto detecta cada incumplimiento en el tick en
+ * que ocurre mirando solo su frente: registra el evento y, si se pidió con
+ * {@link #setAbortOnDeadlineMiss(boolean)}, aborta el proceso. Los procesos que terminan a tiempo
+ * no se buscan en esa cola; se descartan cuando llega su deadline.
+ * <p>
+ * Opcionalmente, un {@link AdmissionController} prueba cada llegada contra la demanda de los
+ * procesos ya admitidos y rechaza o difiere ({@link AdmissionPolicy}) los que harían infactible el
+ * conjunto para EDF: ante una sobrecarga se descartan unos pocos procesos en lugar de atrasar a todos.
+ * <p>
+ * Además de los procesos que se le envían, el Scheduler puede liberar por su cuenta los trabajos de
+ * un conjunto de {@link PeriodicTask} ({@link #setPeriodicTasks(CustomArrayList)}): cada trabajo
+ * entra a la cola de nuevos en el tick de su liberación y desde ahí sigue el camino de cualquier
+ * proceso.
+ * <p>
+ * El quantum y el envejecimiento de prioridades los define el algoritmo
+ * ({@link SchedulingAlgorithm#getQuantum(PCB, int)}, {@link SchedulingAlgorithm#getAgingInterval()}):
+ * el Scheduler solo cuenta los ticks y aplica sus decisiones.
  */
 public class Scheduler implements Runnable {
 
+    private static final Comparator<PCB> BY_WAKEUP_TICK = Comparator.comparingLong(PCB::getWakeupTick);
+    private static final Comparator<PCB> BY_ABSOLUTE_DEADLINE =
+            Comparator.comparingLong(PCB::getAbsoluteDeadline).thenComparingInt(PCB::getProcessId);
+
+    // Procesos enviados por otros hilos (GUI, cargas de archivos) que aún no llegan a la cola de nuevos.
+    // Los productores no toman el monitor del Scheduler; el tick la vacía en un solo lote.
+    private final MpscQueue<PCB> admissionQueue;
+
     // Colas de gestión de procesos
     private final CustomQueue<PCB> newQueue;
     private final CustomQueue<PCB> readyQueue;
@@ -19,33 +64,78 @@ public class Scheduler implements Runnable {
     private final CustomQueue<PCB> readySuspendedQueue;
     private final CustomQueue<PCB> blockedSuspendedQueue;
     private final CustomQueue<PCB> terminatedQueue;
+    private int restoredTerminatedCount; // Terminados antes del checkpoint restaurado (solo se conoce la cantidad)
+    // Procesos llegados cuyo deadline no venció todavía, por deadline absoluto. Los que terminan
+    // quedan en la cola hasta su deadline (borrado diferido).
+    private final CustomQueue<PCB> deadlineQueue;
 
     private volatile PCB runningProcess;
+    private final SimulationConfig config;
     private final MemoryManager memoryManager;
+    private final AdmissionController admissionController;
+    private JobReleaser jobReleaser; // null si no hay tareas periódicas
+    private final IoDevice[] ioDevices;
     private final MetricsManager metricsManager;
+    private final SchedulerProfiler profiler;
+    private TraceRecorder traceRecorder; // null si no se graba traza
+    private CheckpointWriter checkpointWriter; // null si no se toman checkpoints periódicos
+    private long checkpointInterval;
+    private long nextCheckpointTick;
 
     private volatile boolean simulationRunning = false;
     private volatile boolean paused = true; // La simulación comienza pausada
     private volatile long clockSpeedMs;
     private SchedulingAlgorithm currentAlgorithm;
-    private int quantumCounter;
+    private SwapPolicy swapPolicy;
+    private Comparator<? super PCB> swapUrgency; // Orden de la cola de listos-suspendidos; null = FIFO sin intercambios
+    private boolean swapCheckPending; // Puede haber en disco un proceso más urgente que alguno en RAM
+    private boolean abortOnDeadlineMiss;
+    private int quantumCounter; // Ticks de quantum que le quedan al proceso en ejecución; 0 = sin límite
+    // Ticks simulados; marca la llegada, primera ejecución y fin de cada proceso. Solo lo escribe
+    // el hilo de la simulación, bajo el monitor; es volatile para que la GUI lo lea sin bloquear.
+    private volatile long currentTick;
 
     /**
-     * Constructor del Scheduler. Inicializa todas las colas y componentes.
+     * Constructor del Scheduler. Inicializa todas las colas y componentes con la configuración
+     * por defecto y las métricas globales de la aplicación.
      */
     public Scheduler() {
+        this(SimulationConfig.defaults(), MetricsManager.getInstance());
+    }
+
+    /**
+     * Crea un Scheduler independiente, con su propia configuración y sus propias métricas.
+     * @param config Parámetros de la simulación.
+     * @param metricsManager Destino de las métricas de esta simulación.
+     */
+    public Scheduler(SimulationConfig config, MetricsManager metricsManager) {
+        this.config = config;
+        this.admissionQueue = new MpscQueue<>();
         this.newQueue = new CustomQueue<>();
         this.readyQueue = new CustomQueue<>();
         this.blockedQueue = new CustomQueue<>();
+        this.blockedQueue.setOrdering(BY_WAKEUP_TICK);
         this.readySuspendedQueue = new CustomQueue<>();
         this.blockedSuspendedQueue = new CustomQueue<>();
+        this.blockedSuspendedQueue.setOrdering(BY_WAKEUP_TICK);
         this.terminatedQueue = new CustomQueue<>();
-        this.memoryManager = new MemoryManager();
-        this.metricsManager = MetricsManager.getInstance();
+        this.deadlineQueue = new CustomQueue<>();
+        this.deadlineQueue.setOrdering(BY_ABSOLUTE_DEADLINE);
+        this.memoryManager = new MemoryManager(config.getMaxMemoryProcesses());
+        this.admissionController = new AdmissionController();
+        this.ioDevices = new IoDevice[SystemConfig.IO_DEVICE_COUNT];
+        for (int device = 0; device < ioDevices.length; device++) {
+            ioDevices[device] = new IoDevice(device);
+        }
+        this.metricsManager = metricsManager;
+        this.profiler = new SchedulerProfiler();
         this.runningProcess = null;
-        this.clockSpeedMs = SystemConfig.CLOCK_SPEED_MS;
+        this.clockSpeedMs = config.getClockSpeedMs();
         // Por defecto, iniciamos con FCFS
         this.currentAlgorithm = new FCFSAlgorithm();
+        this.readyQueue.setOrdering(currentAlgorithm.getReadyOrdering());
+        this.swapPolicy = SwapPolicy.ALGORITHM;
+        updateSwapOrdering();
     }
 
     @Override
@@ -55,6 +145,7 @@ public class Scheduler implements Runnable {
             try {
                 // Bucle de pausa
                 while (paused && simulationRunning) {
+                    drainAdmissions(); // Mostrar en la cola de nuevos lo que llegue durante la pausa
                     Thread.sleep(200); // No consumir CPU mientras está en pausa
                 }
                 if (!simulationRunning) break;
@@ -73,41 +164,418 @@ public class Scheduler implements Runnable {
      */
     private synchronized void tick() {
         if (paused) return; // No hacer nada si se pausa justo después de despertar
-        
+        step();
+    }
+
+    /**
+     * Ejecuta varios ticks seguidos sin esperar entre ellos ni consultar la pausa.
+     * Pensado para simulaciones sin interfaz gráfica, que corren a la máxima velocidad del host.
+     * @param ticks Número de ticks a simular.
+     */
+    public synchronized void advance(long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Igual que {@link #advance(long)}, pero en modo de eventos discretos: en lugar de ejecutar
+     * cada tick, calcula el siguiente instante en el que algo cambia (fin del proceso en
+     * ejecución, de su ráfaga de CPU o de su quantum, fin de una E/S, vencimiento de un deadline,
+     * liberación de un trabajo periódico, envejecimiento o llegada de procesos) y salta el reloj
+     * hasta allí, aplicando de una vez los contadores de los ticks intermedios. El resultado es
+     * idéntico al de avanzar tick a tick.
+     * @param ticks Número de ticks a simular.
+     */
+    public synchronized void advanceEventDriven(long ticks) {
+        long remaining = ticks;
+        while (remaining > 0) {
+            long quiet = Math.min(quietTicks(), remaining);
+            if (checkpointWriter != null) {
+                quiet = Math.min(quiet, Math.max(0, nextCheckpointTick - currentTick)); // No saltar un checkpoint
+            }
+            if (quiet > 0) {
+                skipQuietTicks(quiet);
+                remaining -= quiet;
+            } else {
+                step();
+                remaining--;
+            }
+        }
+    }
+
+    /**
+     * Cuenta los ticks siguientes en los que {@link #step()} solo actualizaría contadores.
+     * @return El número de ticks sin eventos (Long.MAX_VALUE si el sistema está ocioso sin trabajo).
+     */
+    private long quietTicks() {
+        if (!newQueue.isEmpty() || !admissionQueue.isEmpty() || admissionController.isRetryPending()) {
+            return 0; // Hay admisiones pendientes
+        }
+        if (!readySuspendedQueue.isEmpty()
+                && (swapCheckPending || !memoryManager.isMemoryFull(readyQueue, blockedQueue))) {
+            return 0; // El planificador de mediano plazo tiene trabajo
+        }
+        long quiet;
+        if (runningProcess == null) {
+            if (!readyQueue.isEmpty()) {
+                return 0; // Hay un proceso para despachar
+            }
+            quiet = Long.MAX_VALUE; // CPU ociosa: solo el fin de una E/S puede cambiar el estado
+        } else {
+            // Tick (contando desde 1) en el que el proceso actual termina, pide E/S o agota su quantum.
+            long untilEvent = runningProcess.ticksUntilCpuBurstEnds();
+            if (quantumCounter > 0) {
+                untilEvent = Math.min(untilEvent, quantumCounter);
+            }
+            quiet = untilEvent - 1;
+        }
+        // El tick en que termina una E/S, vence un deadline, expira un diferido, se libera un
+        // trabajo periódico o se envejecen los procesos debe ejecutarse.
+        quiet = Math.min(quiet, ticksUntilWakeup(blockedQueue));
+        quiet = Math.min(quiet, ticksUntilWakeup(blockedSuspendedQueue));
+        quiet = Math.min(quiet, admissionController.ticksUntilDeferredExpires(currentTick));
+        if (jobReleaser != null) {
+            quiet = Math.min(quiet, jobReleaser.ticksUntilNextRelease(currentTick));
+        }
+        quiet = Math.min(quiet, ticksUntilAging());
+        return Math.min(quiet, ticksUntilDeadlineMiss());
+    }
+
+    private long ticksUntilDeadlineMiss() {
+        // El incumplimiento se detecta en el tick siguiente al deadline.
+        return deadlineQueue.isEmpty() ? Long.MAX_VALUE
+                : Math.max(0, deadlineQueue.peek().getAbsoluteDeadline() + 1 - currentTick);
+    }
+
+    private long ticksUntilAging() {
+        long interval = currentAlgorithm.getAgingInterval();
+        return interval <= 0 ? Long.MAX_VALUE : (interval - currentTick % interval) % interval;
+    }
+
+    private long ticksUntilWakeup(CustomQueue<PCB> blocked) {
+        return blocked.isEmpty() ? Long.MAX_VALUE : Math.max(0, blocked.peek().getWakeupTick() - currentTick);
+    }
+
+    /**
+     * Aplica el efecto de varios ticks sin eventos: el proceso en ejecución (si lo hay) avanza
+     * y las métricas registran los ticks, exactamente como lo haría {@link #step()}.
+     */
+    private void skipQuietTicks(long count) {
+        metricsManager.recordTicks(runningProcess != null, count);
+        currentTick += count;
+        if (runningProcess != null) {
+            // count es menor que los ticks restantes del proceso, por lo que cabe en un int.
+            int delta = (int) count;
+            runningProcess.setProgramCounter(runningProcess.getProgramCounter() + delta);
+            if (quantumCounter > 0) {
+                quantumCounter -= delta; // Sigue siendo positivo: el fin del quantum es un evento
+            }
+        }
+    }
+
+    /**
+     * Un pulso de reloj: deadlines vencidos, envejecimiento, admisión, ejecución del proceso
+     * actual, fin de E/S, swapping y despacho.
+     */
+    private void step() {
+        if (checkpointWriter != null && currentTick >= nextCheckpointTick) {
+            checkpointWriter.submit(checkpoint());
+            nextCheckpointTick = currentTick + checkpointInterval;
+        }
+        if (profiler.isEnabled()) {
+            profiledStep();
+            return;
+        }
+        checkDeadlines();
+        ageProcesses();
+        metricsManager.recordTick(runningProcess != null);
+        admitNewProcesses();
+        runCurrentProcess();
+        completeIo();
+        swapProcesses();
+        if (runningProcess == null) {
+            dispatch();
+        }
+        currentTick++;
+    }
+
+    /**
+     * Igual que {@link #step()}, pero midiendo cada fase y la memoria asignada en el tick.
+     */
+    private void profiledStep() {
+        long allocatedBefore = profiler.currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        checkDeadlines();
+        ageProcesses();
+        long deadlinesChecked = System.nanoTime();
         metricsManager.recordTick(runningProcess != null);
+        admitNewProcesses();
+        long admitted = System.nanoTime();
+        runCurrentProcess();
+        long executed = System.nanoTime();
+        completeIo();
+        long ioCompleted = System.nanoTime();
+        swapProcesses();
+        long swapped = System.nanoTime();
+        if (runningProcess == null) {
+            dispatch();
+        }
+        long dispatched = System.nanoTime();
+        long allocated = allocatedBefore < 0 ? -1 : profiler.currentThreadAllocatedBytes() - allocatedBefore;
+        profiler.recordTick(deadlinesChecked - start, admitted - deadlinesChecked, executed - admitted,
+                ioCompleted - executed, swapped - ioCompleted, dispatched - swapped, allocated, readyQueue.size(),
+                currentAlgorithm.getName());
+        currentTick++;
+    }
+
+    /**
+     * Fase 0: registra los deadlines que vencieron en el tick anterior sin que su proceso
+     * terminara y, si corresponde, aborta esos procesos. Va antes que la ejecución, así que un
+     * proceso abortado no usa la CPU en este tick. Solo mira el frente de la cola de deadlines:
+     * O(1) si no vence ninguno y O(log n) por cada deadline vencido, más una pasada por cada cola
+     * de la que haya que sacar procesos abortados.
+     */
+    private void checkDeadlines() {
+        int abortedFrom = 0; // Bit por cada cola con procesos abortados (ver abortProcess)
+        while (!deadlineQueue.isEmpty() && deadlineQueue.peek().getAbsoluteDeadline() < currentTick) {
+            PCB pcb = deadlineQueue.dequeue();
+            if (pcb.getState() == ProcessState.TERMINADO) {
+                continue; // Terminó a tiempo
+            }
+            metricsManager.recordDeadlineMiss(abortOnDeadlineMiss);
+            trace(TraceEventType.DEADLINE_MISS, pcb, pcb.getTotalExecutionTicks() - pcb.getProgramCounter());
+            if (abortOnDeadlineMiss) {
+                abortedFrom |= abortProcess(pcb);
+            } else if (admissionController.isEnabled()) {
+                admissionController.onDeadlineMiss(pcb);
+            }
+        }
+        if (abortedFrom != 0) {
+            // Una sola pasada por cola, aunque venzan muchos procesos en el mismo tick
+            removeTerminated(abortedFrom, ProcessState.LISTO, readyQueue);
+            removeTerminated(abortedFrom, ProcessState.BLOQUEADO, blockedQueue);
+            removeTerminated(abortedFrom, ProcessState.LISTO_SUSPENDIDO, readySuspendedQueue);
+            removeTerminated(abortedFrom, ProcessState.BLOQUEADO_SUSPENDIDO, blockedSuspendedQueue);
+        }
+    }
+
+    /**
+     * Fase 0 (continuación): en los ticks múltiplos del intervalo de envejecimiento del algoritmo,
+     * envejece a todos los procesos admitidos y reordena las colas cuyo orden depende de ellos.
+     * O(n) cada vez; O(1) en los demás ticks.
+     */
+    private void ageProcesses() {
+        long interval = currentAlgorithm.getAgingInterval();
+        if (interval <= 0 || currentTick % interval != 0) {
+            return;
+        }
+        if (runningProcess != null) {
+            currentAlgorithm.age(runningProcess);
+        }
+        ageProcesses(readyQueue);
+        ageProcesses(blockedQueue);
+        ageProcesses(readySuspendedQueue);
+        ageProcesses(blockedSuspendedQueue);
+        readyQueue.reorder();
+        readySuspendedQueue.reorder(); // Su orden puede depender del algoritmo (SwapPolicy.ALGORITHM)
+        swapCheckPending = true;
+    }
 
-        // 1. Admitir nuevos procesos
+    private void ageProcesses(CustomQueue<PCB> queue) {
+        for (PCB pcb : queue) {
+            currentAlgorithm.age(pcb);
+        }
+    }
+
+    /**
+     * Pasa un proceso a terminados sin contarlo como completado. Si estaba en la CPU la libera en
+     * el acto; si estaba en una cola, queda marcado como TERMINADO y {@link #checkDeadlines()} lo
+     * saca después junto con los demás abortados del tick. Si esperaba una E/S, el dispositivo
+     * termina igual la operación en curso.
+     * @return El bit del estado que tenía el proceso, si hay que sacarlo de su cola, o 0.
+     */
+    private int abortProcess(PCB pcb) {
+        ProcessState previous = pcb.getState();
+        int queueBit = 1 << previous.ordinal();
+        switch (previous) {
+            case EJECUCION:
+                runningProcess = null;
+                queueBit = 0;
+                break;
+            case BLOQUEADO:
+            case BLOQUEADO_SUSPENDIDO:
+                ioDevices[pcb.getIoDevice()].complete();
+                break;
+            case LISTO:
+            case LISTO_SUSPENDIDO:
+                break;
+            default:
+                queueBit = 0;
+                break;
+        }
+        pcb.setWakeupTick(PCB.NO_TICK);
+        pcb.setSuspendedTick(PCB.NO_TICK);
+        pcb.setState(ProcessState.TERMINADO);
+        pcb.setCompletionTick(currentTick);
+        trace(TraceEventType.ABORT, pcb, -1);
+        terminatedQueue.enqueue(pcb);
+        if (admissionController.isEnabled()) {
+            admissionController.onTermination(pcb);
+        }
+        return queueBit;
+    }
+
+    private static void removeTerminated(int abortedFrom, ProcessState state, CustomQueue<PCB> queue) {
+        if ((abortedFrom & (1 << state.ordinal())) != 0) {
+            queue.removeIf(pcb -> pcb.getState() == ProcessState.TERMINADO);
+        }
+    }
+
+    /**
+     * Fase 1: admite los procesos nuevos, después de los trabajos periódicos que se liberan en este
+     * tick. Desde su llegada corre su deadline. Con control de admisión, primero reintenta los
+     * diferidos (en orden, hasta el primero que no entra) y después prueba cada llegada.
+     */
+    private void admitNewProcesses() {
+        admissionQueue.drainTo(newQueue);
+        if (jobReleaser != null) {
+            jobReleaser.releaseDue(currentTick, newQueue);
+        }
+        if (admissionController.isEnabled()) {
+            admitDeferredProcesses();
+        }
         while (!newQueue.isEmpty()) {
             PCB newPcb = newQueue.dequeue();
+            if (newPcb.getArrivalTick() == PCB.NO_TICK) {
+                newPcb.setArrivalTick(currentTick);
+            }
+            if (admissionController.isEnabled() && !admissionController.tryAdmit(newPcb, currentTick)) {
+                deferOrReject(newPcb);
+                continue;
+            }
+            deadlineQueue.enqueue(newPcb);
             admitToReady(newPcb);
         }
+    }
 
-        // 2. Gestionar el proceso en ejecución
+    /**
+     * Admite los diferidos que ahora entran y rechaza los que ya no podrían cumplir su deadline.
+     * Se detiene en el primero que no entra: mientras no termine ni incumpla ningún proceso, el
+     * conjunto admitido no deja más lugar que en el tick anterior.
+     */
+    private void admitDeferredProcesses() {
+        CustomQueue<PCB> deferred = admissionController.getDeferredQueue();
+        admissionController.clearRetryPending();
+        while (!deferred.isEmpty()) {
+            PCB pcb = deferred.peek();
+            if (AdmissionController.isHopeless(pcb, currentTick)) {
+                rejectProcess(deferred.dequeue());
+            } else if (admissionController.tryAdmit(pcb, currentTick)) {
+                deferred.dequeue();
+                deadlineQueue.enqueue(pcb);
+                admitToReady(pcb);
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Un proceso no pasó la prueba de admisión: se difiere si la política lo permite y todavía
+     * puede cumplir su deadline; si no, se rechaza.
+     */
+    private void deferOrReject(PCB pcb) {
+        if (admissionController.getPolicy() == AdmissionPolicy.DEFER && !AdmissionController.isHopeless(pcb, currentTick)) {
+            metricsManager.recordAdmissionDeferral();
+            trace(TraceEventType.DEFERRAL, pcb, -1);
+            admissionController.getDeferredQueue().enqueue(pcb);
+        } else {
+            rejectProcess(pcb);
+        }
+    }
+
+    /**
+     * Pasa a terminados, sin ejecutar ni contarse como completado, un proceso que el control de
+     * admisión no dejó entrar.
+     */
+    private void rejectProcess(PCB pcb) {
+        pcb.setState(ProcessState.TERMINADO);
+        pcb.setCompletionTick(currentTick);
+        metricsManager.recordAdmissionRejection();
+        trace(TraceEventType.REJECTION, pcb, -1);
+        terminatedQueue.enqueue(pcb);
+    }
+
+    /**
+     * Fase 2: el proceso en ejecución avanza un tick; termina, pide E/S o agota su quantum si
+     * corresponde.
+     */
+    private void runCurrentProcess() {
         if (runningProcess != null) {
             runningProcess.setProgramCounter(runningProcess.getProgramCounter() + 1);
-            runningProcess.setDeadlineTicks(runningProcess.getDeadlineTicks() - 1);
 
             // Verificar si el proceso ha terminado
             if (runningProcess.getProgramCounter() >= runningProcess.getTotalExecutionTicks()) {
                 terminateProcess(runningProcess);
                 runningProcess = null;
-            } else if (currentAlgorithm instanceof RoundRobinAlgorithm) {
-                // Manejo del quantum para Round Robin
+            } else if (runningProcess.isIoDue()) {
+                blockForIo(runningProcess);
+                runningProcess = null;
+            } else if (quantumCounter > 0) {
+                // Manejo del quantum, para los algoritmos que lo usan
                 quantumCounter--;
-                if (quantumCounter <= 0) {
+                if (quantumCounter == 0) {
+                    currentAlgorithm.onQuantumExpired(runningProcess);
                     runningProcess.setState(ProcessState.LISTO);
+                    trace(TraceEventType.QUANTUM_EXPIRED, runningProcess, -1);
                     readyQueue.enqueue(runningProcess);
                     runningProcess = null;
                 }
             }
         }
+    }
 
-        // 3. Si la CPU está libre, despachar el siguiente proceso
-        if (runningProcess == null) {
-            dispatch();
+    /**
+     * Envía el pedido de E/S del proceso a su dispositivo y lo deja bloqueado hasta que termine.
+     */
+    private void blockForIo(PCB pcb) {
+        IoDevice device = ioDevices[pcb.getIoDevice()];
+        long wakeupTick = device.submit(currentTick, pcb.getIoBurstTicks());
+        pcb.setWakeupTick(wakeupTick);
+        pcb.setState(ProcessState.BLOQUEADO);
+        metricsManager.recordIoRequest(wakeupTick - currentTick);
+        trace(TraceEventType.IO_BLOCK, pcb, device.getIndex());
+        blockedQueue.enqueue(pcb);
+    }
+
+    /**
+     * Fase 3: despierta a los procesos cuya E/S termina en este tick. Los que esperaban en RAM
+     * pasan a listos (y pueden expropiar); los que estaban en disco, a listos-suspendidos.
+     */
+    private void completeIo() {
+        while (!blockedQueue.isEmpty() && blockedQueue.peek().getWakeupTick() <= currentTick) {
+            PCB pcb = blockedQueue.dequeue();
+            finishIo(pcb);
+            pcb.setState(ProcessState.LISTO);
+            readyQueue.enqueue(pcb);
+            preemptIfNeeded(pcb);
+        }
+        while (!blockedSuspendedQueue.isEmpty() && blockedSuspendedQueue.peek().getWakeupTick() <= currentTick) {
+            PCB pcb = blockedSuspendedQueue.dequeue();
+            finishIo(pcb);
+            pcb.setState(ProcessState.LISTO_SUSPENDIDO);
+            readySuspendedQueue.enqueue(pcb);
+            swapCheckPending = true;
         }
     }
 
+    private void finishIo(PCB pcb) {
+        ioDevices[pcb.getIoDevice()].complete();
+        pcb.setWakeupTick(PCB.NO_TICK);
+        trace(TraceEventType.IO_WAKEUP, pcb, pcb.getIoDevice());
+    }
+
     /**
      * Mueve un proceso a la cola de listos o listos-suspendidos y comprueba si debe expropiar al actual.
      */
@@ -115,40 +583,311 @@ public class Scheduler implements Runnable {
         boolean wasMemoryFull = memoryManager.isMemoryFull(readyQueue, blockedQueue);
         
         memoryManager.admitProcess(pcb, readyQueue, blockedQueue, readySuspendedQueue);
+        trace(TraceEventType.ADMISSION, pcb, -1);
+
+        if (wasMemoryFull) {
+            // Quedó en disco: el planificador de mediano plazo decidirá si merece la RAM antes.
+            pcb.setSuspendedTick(currentTick);
+            swapCheckPending = true;
+        } else {
+            preemptIfNeeded(pcb);
+        }
+    }
 
-        // Solo se puede expropiar si el proceso nuevo entró a RAM y hay un proceso en ejecución
-        if (!wasMemoryFull && runningProcess != null) {
+    /**
+     * Comprueba si un proceso que acaba de entrar a RAM debe expropiar al que está en ejecución.
+     */
+    private void preemptIfNeeded(PCB pcb) {
+        if (runningProcess != null) {
             if (currentAlgorithm.shouldPreempt(runningProcess, pcb)) {
+                profiler.recordPreemption();
+                if (SchedulerProfiler.isFlightRecorderActive()) {
+                    emitPreemptionEvent(runningProcess, pcb);
+                }
                 runningProcess.setState(ProcessState.LISTO);
+                trace(TraceEventType.PREEMPTION, runningProcess, pcb.getProcessId());
                 readyQueue.enqueue(runningProcess); // El proceso expropiado vuelve a la cola de listos
                 runningProcess = null;
             }
         }
     }
     
+    /**
+     * Fase 4: planificador de mediano plazo. Trae procesos de disco mientras haya RAM libre (en
+     * el orden de la {@link SwapPolicy}) y, si la memoria está llena y en disco espera un proceso
+     * más urgente que el menos urgente en RAM, lleva ese a disco para hacerle lugar: primero los
+     * bloqueados, que no pueden ejecutar, y luego el listo menos urgente. Como máximo se hacen
+     * {@link SystemConfig#SWAP_OUTS_PER_TICK} intercambios por tick; buscar la víctima recorre la
+     * cola de listos, pero solo se intenta cuando llegó un proceso a disco o cambió el criterio.
+     */
+    private void swapProcesses() {
+        fillFreeMemory();
+        if (!swapCheckPending) {
+            return;
+        }
+        swapCheckPending = false;
+        if (swapUrgency == null) {
+            return; // Orden de llegada: nadie se adelanta
+        }
+        for (int swaps = 0; swaps < SystemConfig.SWAP_OUTS_PER_TICK && !readySuspendedQueue.isEmpty(); swaps++) {
+            PCB candidate = readySuspendedQueue.peek();
+            PCB victim = memoryManager.swapOutBlocked(blockedQueue, blockedSuspendedQueue);
+            if (victim == null) {
+                int index = memoryManager.findSwapOutVictim(readyQueue, swapUrgency, candidate);
+                if (index < 0) {
+                    return; // Los procesos en RAM son al menos tan urgentes como el mejor en disco
+                }
+                victim = memoryManager.swapOutReady(readyQueue, index, readySuspendedQueue);
+            }
+            victim.setSuspendedTick(currentTick);
+            metricsManager.recordSwapOut();
+            trace(TraceEventType.SWAP_OUT, victim, candidate.getProcessId());
+            swapCheckPending = true; // Puede quedar otro intercambio para el próximo tick
+            fillFreeMemory();
+        }
+    }
+
+    /**
+     * Trae procesos de disco mientras haya RAM libre.
+     */
+    private void fillFreeMemory() {
+        while (!readySuspendedQueue.isEmpty() && !memoryManager.isMemoryFull(readyQueue, blockedQueue)) {
+            PCB pcb = memoryManager.swapIn(readySuspendedQueue, readyQueue);
+            long ticksOnDisk = currentTick - pcb.getSuspendedTick();
+            pcb.setSuspendedTick(PCB.NO_TICK);
+            metricsManager.recordSwapIn(ticksOnDisk);
+            trace(TraceEventType.SWAP_IN, pcb, (int) Math.min(ticksOnDisk, Integer.MAX_VALUE));
+            preemptIfNeeded(pcb);
+        }
+    }
+
     /**
      * Mueve un proceso a la cola de terminados.
      */
     private void terminateProcess(PCB pcb) {
         pcb.setState(ProcessState.TERMINADO);
+        pcb.setCompletionTick(currentTick);
+        trace(TraceEventType.COMPLETION, pcb, (int) Math.max(Integer.MIN_VALUE, pcb.getDeadlineTicks(currentTick)));
         terminatedQueue.enqueue(pcb);
-        metricsManager.recordProcessCompletion(pcb);
+        if (admissionController.isEnabled()) {
+            admissionController.onTermination(pcb);
+        }
+        metricsManager.recordProcessCompletion(pcb, currentAlgorithm.getName());
     }
 
     /**
-     * Asigna un proceso de la cola de listos a la CPU usando el algoritmo actual.
+     * Fase 5: asigna un proceso de la cola de listos a la CPU usando el algoritmo actual.
      */
     private void dispatch() {
         if (!readyQueue.isEmpty()) {
+            DispatchEvent event = SchedulerProfiler.isFlightRecorderActive() ? new DispatchEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
             runningProcess = currentAlgorithm.getNextProcess(readyQueue);
             if (runningProcess != null) {
+                profiler.recordContextSwitch();
+                if (event != null) {
+                    event.end();
+                    commitDispatchEvent(event, runningProcess);
+                }
                 runningProcess.setState(ProcessState.EJECUCION);
+                trace(TraceEventType.DISPATCH, runningProcess, -1);
+                if (admissionController.isEnabled()) {
+                    admissionController.onDispatch(runningProcess);
+                }
+                if (runningProcess.getFirstRunTick() == PCB.NO_TICK) {
+                    runningProcess.setFirstRunTick(currentTick);
+                }
                 // Reiniciar el contador de quantum cada vez que un proceso entra a la CPU
-                this.quantumCounter = SystemConfig.DEFAULT_QUANTUM;
+                this.quantumCounter = currentAlgorithm.getQuantum(runningProcess, config.getQuantum());
             }
         }
     }
 
+    private void trace(TraceEventType type, PCB pcb, int argument) {
+        if (traceRecorder != null) {
+            traceRecorder.record(type, currentTick, pcb, argument);
+        }
+    }
+
+    private void commitDispatchEvent(DispatchEvent event, PCB selected) {
+        if (event.shouldCommit()) {
+            event.algorithm = currentAlgorithm.getName();
+            event.processId = selected.getProcessId();
+            event.priority = selected.getPriority();
+            event.readyQueueSize = readyQueue.size();
+            event.tick = currentTick;
+            event.commit();
+        }
+    }
+
+    private void emitPreemptionEvent(PCB preempted, PCB preempting) {
+        PreemptionEvent event = new PreemptionEvent();
+        if (event.shouldCommit()) {
+            event.algorithm = currentAlgorithm.getName();
+            event.preemptedProcessId = preempted.getProcessId();
+            event.preemptingProcessId = preempting.getProcessId();
+            event.readyQueueSize = readyQueue.size();
+            event.tick = currentTick;
+            event.commit();
+        }
+    }
+
+    // --- Checkpoints ---
+
+    /**
+     * Captura el estado completo del Scheduler y de sus métricas entre dos ticks. Los procesos
+     * enviados desde otros hilos que aún no llegaban a la cola de nuevos se incluyen en ella.
+     * <p>
+     * Solo se copian los procesos vivos (O(procesos vivos)); de los terminados se guarda la
+     * cantidad. Escribir el checkpoint en disco no necesita el monitor.
+     * @return El checkpoint, independiente del Scheduler.
+     */
+    public synchronized SchedulerCheckpoint checkpoint() {
+        admissionQueue.drainTo(newQueue);
+        return new SchedulerCheckpoint(config, currentAlgorithm.getName(), swapPolicy, swapCheckPending,
+                abortOnDeadlineMiss, admissionController.getPolicy(),
+                jobReleaser != null ? jobReleaser.getTasks() : new PeriodicTask[0], currentTick, quantumCounter,
+                runningProcess != null ? runningProcess.copyWithState() : null,
+                copyLiveProcesses(newQueue), copyLiveProcesses(readyQueue), copyLiveProcesses(blockedQueue),
+                copyLiveProcesses(readySuspendedQueue), copyLiveProcesses(blockedSuspendedQueue),
+                copyLiveProcesses(admissionController.getDeferredQueue()),
+                restoredTerminatedCount + terminatedQueue.size(),
+                copyIoDevices(), metricsManager.captureState());
+    }
+
+    private IoDevice[] copyIoDevices() {
+        IoDevice[] copies = new IoDevice[ioDevices.length];
+        for (int device = 0; device < copies.length; device++) {
+            copies[device] = ioDevices[device].copy();
+        }
+        return copies;
+    }
+
+    private static PCB[] copyLiveProcesses(CustomQueue<PCB> queue) {
+        PCB[] copies = new PCB[queue.size()];
+        queue.copyInDequeueOrder(copies);
+        for (int i = 0; i < copies.length; i++) {
+            copies[i] = copies[i].copyWithState();
+        }
+        return copies;
+    }
+
+    /**
+     * Crea un Scheduler en el estado guardado en un checkpoint, listo para seguir simulando desde
+     * ese tick con resultados idénticos a los de la simulación original. El estado de las métricas
+     * guardado reemplaza el de {@code metricsManager}. La cola de terminados empieza vacía (el
+     * checkpoint no guarda esos procesos). El mismo checkpoint se puede restaurar varias veces.
+     * @param checkpoint El checkpoint a restaurar.
+     * @param metricsManager Destino de las métricas de la simulación restaurada.
+     * @return Un Scheduler pausado, con la configuración y el algoritmo del checkpoint.
+     * @throws IllegalArgumentException si el algoritmo del checkpoint no es uno de {@link AlgorithmFactory}.
+     */
+    public static Scheduler restore(SchedulerCheckpoint checkpoint, MetricsManager metricsManager) {
+        Scheduler scheduler = new Scheduler(checkpoint.getConfig(), metricsManager);
+        scheduler.setAlgorithm(AlgorithmFactory.create(checkpoint.getAlgorithmName()));
+        scheduler.setSwapPolicy(checkpoint.getSwapPolicy()); // Antes de llenar las colas: define su orden
+        synchronized (scheduler) {
+            scheduler.swapCheckPending = checkpoint.isSwapCheckPending();
+            scheduler.abortOnDeadlineMiss = checkpoint.isAbortOnDeadlineMiss();
+            scheduler.currentTick = checkpoint.getTick();
+            scheduler.quantumCounter = checkpoint.getQuantumCounter();
+            PeriodicTask[] tasks = checkpoint.getPeriodicTasks();
+            scheduler.jobReleaser = tasks.length > 0 ? new JobReleaser(tasks, scheduler.currentTick) : null;
+            PCB running = checkpoint.getRunningProcess();
+            scheduler.runningProcess = running != null ? running.copyWithState() : null;
+            restoreQueue(scheduler.newQueue, checkpoint.getNewProcesses());
+            restoreQueue(scheduler.readyQueue, checkpoint.getReady());
+            restoreQueue(scheduler.blockedQueue, checkpoint.getBlocked());
+            restoreQueue(scheduler.readySuspendedQueue, checkpoint.getReadySuspended());
+            restoreQueue(scheduler.blockedSuspendedQueue, checkpoint.getBlockedSuspended());
+            restoreQueue(scheduler.admissionController.getDeferredQueue(), checkpoint.getDeferred());
+            scheduler.restoredTerminatedCount = checkpoint.getTerminatedCount();
+            IoDevice[] devices = checkpoint.getIoDevices();
+            for (int device = 0; device < devices.length; device++) {
+                scheduler.ioDevices[device] = devices[device].copy();
+            }
+            scheduler.rebuildDeadlineQueue();
+            scheduler.admissionController.setPolicy(checkpoint.getAdmissionPolicy());
+            scheduler.trackAdmittedProcesses();
+        }
+        metricsManager.restoreState(checkpoint.getMetrics());
+        return scheduler;
+    }
+
+    /**
+     * Vuelve a llenar la cola de deadlines con los procesos vivos cuyo incumplimiento todavía no
+     * se reportó (los que vencen en el tick anterior al actual se reportan en el próximo paso).
+     */
+    private void rebuildDeadlineQueue() {
+        if (runningProcess != null) {
+            trackDeadline(runningProcess);
+        }
+        trackDeadlines(readyQueue);
+        trackDeadlines(blockedQueue);
+        trackDeadlines(readySuspendedQueue);
+        trackDeadlines(blockedSuspendedQueue);
+    }
+
+    private void trackDeadlines(CustomQueue<PCB> queue) {
+        for (PCB pcb : queue) {
+            trackDeadline(pcb);
+        }
+    }
+
+    private void trackDeadline(PCB pcb) {
+        if (pcb.getArrivalTick() != PCB.NO_TICK && pcb.getAbsoluteDeadline() + 1 >= currentTick) {
+            deadlineQueue.enqueue(pcb);
+        }
+    }
+
+    /**
+     * Registra en el control de admisión (si está activo) la demanda de los procesos admitidos.
+     */
+    private void trackAdmittedProcesses() {
+        if (!admissionController.isEnabled()) {
+            return;
+        }
+        if (runningProcess != null) {
+            admissionController.track(runningProcess, currentTick);
+        }
+        trackAdmitted(readyQueue);
+        trackAdmitted(blockedQueue);
+        trackAdmitted(readySuspendedQueue);
+        trackAdmitted(blockedSuspendedQueue);
+        admissionController.onDispatch(runningProcess);
+    }
+
+    private void trackAdmitted(CustomQueue<PCB> queue) {
+        for (PCB pcb : queue) {
+            admissionController.track(pcb, currentTick);
+        }
+    }
+
+    private static void restoreQueue(CustomQueue<PCB> queue, PCB[] processes) {
+        for (PCB pcb : processes) {
+            queue.enqueue(pcb.copyWithState());
+        }
+    }
+
+    /**
+     * Toma un checkpoint cada {@code intervalTicks} ticks simulados y lo entrega al escritor, que
+     * lo guarda en segundo plano. El primero se toma dentro de {@code intervalTicks} ticks.
+     * Quien llama sigue siendo dueño del escritor y debe cerrarlo al terminar.
+     * @param writer El escritor, o null para dejar de tomar checkpoints.
+     * @param intervalTicks Ticks entre checkpoints.
+     * @throws IllegalArgumentException si hay escritor y el intervalo no es positivo.
+     */
+    public synchronized void setCheckpointWriter(CheckpointWriter writer, long intervalTicks) {
+        if (writer != null && intervalTicks <= 0) {
+            throw new IllegalArgumentException("El intervalo de checkpoints debe ser positivo: " + intervalTicks);
+        }
+        this.checkpointWriter = writer;
+        this.checkpointInterval = intervalTicks;
+        this.nextCheckpointTick = currentTick + intervalTicks;
+    }
+
     // --- Métodos de control y acceso ---
 
     /**
@@ -157,12 +896,116 @@ public class Scheduler implements Runnable {
      */
     public synchronized void setAlgorithm(SchedulingAlgorithm algorithm) {
         this.currentAlgorithm = algorithm;
-        // Si hay un proceso en ejecución, podría ser necesario re-evaluar la decisión
-        // Por simplicidad, el cambio aplicará en el siguiente dispatch.
+        // La cola de listos se reorganiza según el criterio del nuevo algoritmo (O(n), una sola vez).
+        readyQueue.setOrdering(algorithm.getReadyOrdering());
+        updateSwapOrdering();
+        // El proceso en ejecución sigue, con un quantum nuevo según el algoritmo.
+        // Por simplicidad, el resto del cambio aplicará en el siguiente dispatch.
+        quantumCounter = runningProcess != null ? algorithm.getQuantum(runningProcess, config.getQuantum()) : 0;
+    }
+
+    /**
+     * Cambia el criterio con el que el planificador de mediano plazo decide qué procesos ocupan
+     * la RAM. Se aplica desde el próximo tick.
+     * @param policy La nueva política.
+     */
+    public synchronized void setSwapPolicy(SwapPolicy policy) {
+        this.swapPolicy = policy;
+        updateSwapOrdering();
+    }
+
+    public synchronized SwapPolicy getSwapPolicy() {
+        return swapPolicy;
+    }
+
+    /**
+     * Define qué pasa cuando vence el deadline de un proceso que no terminó: siempre se registra
+     * el incumplimiento; si {@code abort} es true, además el proceso se saca del sistema en ese
+     * mismo tick y pasa a terminados (sin contarse como completado).
+     * @param abort true para abortar los procesos que incumplen su deadline.
+     */
+    public synchronized void setAbortOnDeadlineMiss(boolean abort) {
+        this.abortOnDeadlineMiss = abort;
+    }
+
+    public synchronized boolean isAbortOnDeadlineMiss() {
+        return abortOnDeadlineMiss;
+    }
+
+    /**
+     * Activa o cambia el control de admisión. Los procesos ya admitidos se registran con su demanda
+     * pendiente; si la nueva política no difiere, los diferidos vuelven a la cola de nuevos y se
+     * prueban (o se admiten, sin control) en el próximo tick.
+     * @param policy La nueva política; {@link AdmissionPolicy#NONE} lo desactiva.
+     */
+    public synchronized void setAdmissionPolicy(AdmissionPolicy policy) {
+        admissionController.setPolicy(policy);
+        trackAdmittedProcesses();
+        if (policy != AdmissionPolicy.DEFER) {
+            CustomQueue<PCB> deferred = admissionController.getDeferredQueue();
+            while (!deferred.isEmpty()) {
+                newQueue.enqueue(deferred.dequeue());
+            }
+        }
+    }
+
+    public synchronized AdmissionPolicy getAdmissionPolicy() {
+        return admissionController.getPolicy();
+    }
+
+    /**
+     * Define las tareas periódicas cuyos trabajos libera el Scheduler, a partir del tick actual
+     * (reemplaza las anteriores; los trabajos ya liberados siguen en el sistema). Los trabajos que
+     * se liberan en el mismo tick entran en el orden de la lista, antes que los procesos enviados
+     * con {@link #addProcess(PCB)}.
+     * @param tasks Las tareas; una lista vacía deja de liberar trabajos.
+     */
+    public synchronized void setPeriodicTasks(CustomArrayList<PeriodicTask> tasks) {
+        PeriodicTask[] copy = new PeriodicTask[tasks.size()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = tasks.get(i);
+        }
+        jobReleaser = copy.length > 0 ? new JobReleaser(copy, currentTick) : null;
+    }
+
+    private void updateSwapOrdering() {
+        swapUrgency = swapPolicy.urgency(currentAlgorithm);
+        readySuspendedQueue.setOrdering(swapUrgency);
+        swapCheckPending = true;
     }
 
-    public synchronized void addProcess(PCB pcb) {
-        newQueue.enqueue(pcb);
+    /**
+     * Graba desde ahora cada transición de estado en una traza binaria. Quien llama sigue siendo
+     * dueño del grabador y debe cerrarlo al terminar (después de quitarlo con null).
+     * @param traceRecorder El grabador, o null para dejar de grabar.
+     */
+    public synchronized void setTraceRecorder(TraceRecorder traceRecorder) {
+        this.traceRecorder = traceRecorder;
+    }
+
+    /**
+     * Envía un proceso al sistema. Puede llamarse desde cualquier hilo y no espera al tick en
+     * curso: el proceso entra a la cola de nuevos y se admite en el siguiente tick.
+     * @param pcb El proceso a agregar.
+     */
+    public void addProcess(PCB pcb) {
+        admissionQueue.offer(pcb);
+    }
+
+    /**
+     * Envía un lote de procesos, en orden, con una sola operación atómica. Puede llamarse desde
+     * cualquier hilo.
+     * @param pcbs Los procesos a agregar.
+     */
+    public void addProcesses(CustomArrayList<PCB> pcbs) {
+        admissionQueue.offerAll(pcbs);
+    }
+
+    /**
+     * Mueve a la cola de nuevos los procesos enviados desde otros hilos.
+     */
+    private synchronized void drainAdmissions() {
+        admissionQueue.drainTo(newQueue);
     }
     
     public void startSimulation() {
@@ -186,6 +1029,29 @@ public class Scheduler implements Runnable {
         this.clockSpeedMs = milliseconds;
     }
 
+    public SimulationConfig getConfig() {
+        return config;
+    }
+
+    public MetricsManager getMetricsManager() {
+        return metricsManager;
+    }
+
+    /**
+     * @return La instrumentación de este Scheduler (se activa con {@link SchedulerProfiler#setEnabled(boolean)}).
+     */
+    public SchedulerProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * No toma el monitor del Scheduler, así que se puede consultar desde la GUI en cada refresco.
+     * @return El número de ticks simulados hasta ahora (el reloj con el que se marcan los procesos).
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
     public synchronized SchedulingAlgorithm getCurrentAlgorithm() {
         return currentAlgorithm;
     }
@@ -216,6 +1082,21 @@ public class Scheduler implements Runnable {
         return blockedSuspendedQueue;
     }
 
+    /**
+     * @return Los procesos que el control de admisión difirió, en el orden en que se reintentan.
+     */
+    public synchronized CustomQueue<PCB> getDeferredQueue() {
+        return admissionController.getDeferredQueue();
+    }
+
+    /**
+     * @param device Índice del dispositivo, entre 0 y {@link SystemConfig#IO_DEVICE_COUNT} - 1.
+     * @return El dispositivo de E/S, con sus contadores de uso.
+     */
+    public synchronized IoDevice getIoDevice(int device) {
+        return ioDevices[device];
+    }
+
     public synchronized CustomQueue<PCB> getTerminatedQueue() {
         return terminatedQueue;
     }
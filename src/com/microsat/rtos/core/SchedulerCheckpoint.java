@@ -0,0 +1,454 @@
+package com.microsat.rtos.core;
+
+import com.microsat.rtos.metrics.MetricsState;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Fotografía completa de un {@link Scheduler} entre dos ticks: configuración, algoritmo, política
+ * de swapping, política ante deadlines vencidos, política de admisión, tareas periódicas, reloj,
+ * contador de quantum, proceso en ejecución, las colas de procesos vivos (en orden de salida, para
+ * que los empates se resuelvan igual), los dispositivos de E/S y el estado de su {@link com.microsat.rtos.metrics.MetricsManager}.
+ * Se obtiene con {@link Scheduler#checkpoint()} y se vuelve a poner en marcha con
+ * {@link Scheduler#restore(SchedulerCheckpoint, com.microsat.rtos.metrics.MetricsManager)}; la
+ * simulación restaurada produce exactamente los mismos resultados que la original. La cola de
+ * deadlines no se guarda: se reconstruye con los procesos vivos cuyo deadline no se reportó; lo
+ * mismo la demanda del control de admisión, con los procesos admitidos, y las próximas liberaciones
+ * de las tareas periódicas, con el reloj.
+ * <p>
+ * Los procesos vivos son copias independientes, así que el checkpoint no cambia aunque la
+ * simulación siga y se puede escribir desde otro hilo. De los terminados solo se guarda cuántos
+ * son: lo que aportaron a la simulación ya está en las métricas, y así el tamaño del archivo y la
+ * pausa para capturarlo dependen de los procesos vivos y no del largo de la corrida. Al restaurar,
+ * la cola de terminados empieza vacía.
+ * <p>
+ * Formato del archivo ({@value #EXTENSION}), big-endian: cabecera (magic "RTCP" y versión),
+ * configuración, algoritmo, política de swapping, aborto por deadline, política de admisión, tareas
+ * periódicas (cantidad y definiciones), reloj, proceso en
+ * ejecución, las seis colas de procesos vivos (cantidad y procesos, con la de diferidos), la cantidad de terminados, los dispositivos de E/S y las métricas ({@link MetricsState}). Cada
+ * proceso ocupa 81 bytes más su nombre en UTF-8. La
+ * escritura usa un {@link DataOutput} con búfer; la lectura carga el archivo completo en un
+ * {@link ByteBuffer}, para que restaurar tarde milisegundos.
+ */
+public final class SchedulerCheckpoint {
+
+    /**
+     * Extensión de los archivos de checkpoint.
+     */
+    public static final String EXTENSION = ".rtcp";
+
+    private static final int MAGIC = 0x52544350; // "RTCP"
+    private static final int VERSION = 8; // 2: swapping; 3: ráfagas y dispositivos de E/S; 4: deadlines absolutos; 5: control de admisión; 6: tareas periódicas; 7: quantum definido por el algoritmo (0 = sin límite); 8: solo la cantidad de terminados
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int PROCESS_BYTES = 81; // Sin contar el nombre
+    private static final int TASK_BYTES = 28; // Sin contar el nombre
+    private static final int NO_NAME = -1;
+    private static final ProcessState[] STATES = ProcessState.values();
+
+    private final SimulationConfig config;
+    private final String algorithmName;
+    private final SwapPolicy swapPolicy;
+    private final boolean swapCheckPending;
+    private final boolean abortOnDeadlineMiss;
+    private final AdmissionPolicy admissionPolicy;
+    private final PeriodicTask[] periodicTasks;
+    private final long tick;
+    private final int quantumCounter;
+    private final PCB runningProcess; // null si la CPU estaba libre
+    private final PCB[] newProcesses;
+    private final PCB[] ready; // En orden de salida
+    private final PCB[] blocked;
+    private final PCB[] readySuspended;
+    private final PCB[] blockedSuspended;
+    private final PCB[] deferred; // En orden de reintento
+    private final int terminatedCount;
+    private final IoDevice[] ioDevices;
+    private final MetricsState metrics;
+
+    SchedulerCheckpoint(SimulationConfig config, String algorithmName, SwapPolicy swapPolicy, boolean swapCheckPending,
+                        boolean abortOnDeadlineMiss, AdmissionPolicy admissionPolicy, PeriodicTask[] periodicTasks,
+                        long tick, int quantumCounter,
+                        PCB runningProcess, PCB[] newProcesses, PCB[] ready, PCB[] blocked, PCB[] readySuspended,
+                        PCB[] blockedSuspended, PCB[] deferred, int terminatedCount, IoDevice[] ioDevices,
+                        MetricsState metrics) {
+        this.config = config;
+        this.algorithmName = algorithmName;
+        this.swapPolicy = swapPolicy;
+        this.swapCheckPending = swapCheckPending;
+        this.abortOnDeadlineMiss = abortOnDeadlineMiss;
+        this.admissionPolicy = admissionPolicy;
+        this.periodicTasks = periodicTasks;
+        this.tick = tick;
+        this.quantumCounter = quantumCounter;
+        this.runningProcess = runningProcess;
+        this.newProcesses = newProcesses;
+        this.ready = ready;
+        this.blocked = blocked;
+        this.readySuspended = readySuspended;
+        this.blockedSuspended = blockedSuspended;
+        this.deferred = deferred;
+        this.terminatedCount = terminatedCount;
+        this.ioDevices = ioDevices;
+        this.metrics = metrics;
+    }
+
+    // --- Lectura y escritura ---
+
+    /**
+     * Escribe el checkpoint. Primero se escribe un archivo temporal junto al destino y luego se
+     * renombra, de modo que una interrupción a mitad de la escritura nunca deja un checkpoint
+     * incompleto con el nombre final.
+     * @param file Archivo destino, normalmente con extensión {@value #EXTENSION}.
+     * @throws IOException Si no se puede escribir.
+     */
+    public void write(File file) throws IOException {
+        File temporary = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary), BUFFER_BYTES))) {
+            writeTo(out);
+        }
+        try {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Lee un checkpoint escrito con {@link #write(File)}.
+     * @param file Archivo {@value #EXTENSION}.
+     * @return El checkpoint leído.
+     * @throws IOException Si el archivo no se puede leer, está truncado o no tiene el formato esperado.
+     */
+    public static SchedulerCheckpoint read(File file) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        try {
+            if (in.getInt() != MAGIC) {
+                throw new IOException("No es un archivo de checkpoint: " + file.getName());
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException("Versión de formato de checkpoint no soportada: " + version);
+            }
+            return readFrom(in);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Checkpoint truncado: " + file.getName(), e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Checkpoint corrupto: " + file.getName() + " (" + e.getMessage() + ")", e);
+        }
+    }
+
+    private void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(config.getMaxMemoryProcesses());
+        out.writeInt(config.getQuantum());
+        out.writeLong(config.getClockSpeedMs());
+        writeString(out, algorithmName);
+        writeString(out, swapPolicy.name());
+        out.writeBoolean(swapCheckPending);
+        out.writeBoolean(abortOnDeadlineMiss);
+        writeString(out, admissionPolicy.name());
+        out.writeInt(periodicTasks.length);
+        for (PeriodicTask task : periodicTasks) {
+            writeTask(out, task);
+        }
+        out.writeLong(tick);
+        out.writeInt(quantumCounter);
+        out.writeBoolean(runningProcess != null);
+        if (runningProcess != null) {
+            writeProcess(out, runningProcess);
+        }
+        writeQueue(out, newProcesses);
+        writeQueue(out, ready);
+        writeQueue(out, blocked);
+        writeQueue(out, readySuspended);
+        writeQueue(out, blockedSuspended);
+        writeQueue(out, deferred);
+        out.writeInt(terminatedCount);
+        out.writeInt(ioDevices.length);
+        for (IoDevice device : ioDevices) {
+            out.writeLong(device.getBusyUntilTick());
+            out.writeLong(device.getBusyTicks());
+            out.writeLong(device.getRequests());
+            out.writeInt(device.getQueueLength());
+            out.writeInt(device.getMaxQueueLength());
+        }
+        metrics.writeTo(out);
+    }
+
+    private static SchedulerCheckpoint readFrom(ByteBuffer in) throws IOException {
+        SimulationConfig config = new SimulationConfig(in.getInt(), in.getInt(), in.getLong());
+        String algorithmName = readString(in);
+        SwapPolicy swapPolicy = SwapPolicy.valueOf(readString(in));
+        boolean swapCheckPending = in.get() != 0;
+        boolean abortOnDeadlineMiss = in.get() != 0;
+        AdmissionPolicy admissionPolicy = AdmissionPolicy.valueOf(readString(in));
+        int taskCount = in.getInt();
+        if (taskCount < 0 || taskCount > in.remaining() / TASK_BYTES) {
+            throw new IOException("Tareas periódicas corruptas: " + taskCount + " tareas");
+        }
+        PeriodicTask[] periodicTasks = new PeriodicTask[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            periodicTasks[i] = readTask(in);
+        }
+        long tick = in.getLong();
+        int quantumCounter = in.getInt();
+        PCB running = in.get() != 0 ? readProcess(in) : null;
+        PCB[] newProcesses = readQueue(in);
+        PCB[] ready = readQueue(in);
+        PCB[] blocked = readQueue(in);
+        PCB[] readySuspended = readQueue(in);
+        PCB[] blockedSuspended = readQueue(in);
+        PCB[] deferred = readQueue(in);
+        int terminatedCount = in.getInt();
+        if (terminatedCount < 0) {
+            throw new IOException("Cantidad de terminados corrupta: " + terminatedCount);
+        }
+        int deviceCount = in.getInt();
+        if (deviceCount != SystemConfig.IO_DEVICE_COUNT) {
+            throw new IOException("El checkpoint tiene " + deviceCount + " dispositivos de E/S y el sistema "
+                    + SystemConfig.IO_DEVICE_COUNT);
+        }
+        IoDevice[] ioDevices = new IoDevice[deviceCount];
+        for (int device = 0; device < deviceCount; device++) {
+            ioDevices[device] = new IoDevice(device);
+            ioDevices[device].restore(in.getLong(), in.getLong(), in.getLong(), in.getInt(), in.getInt());
+        }
+        MetricsState metrics = MetricsState.readFrom(in);
+        return new SchedulerCheckpoint(config, algorithmName, swapPolicy, swapCheckPending, abortOnDeadlineMiss,
+                admissionPolicy, periodicTasks, tick, quantumCounter,
+                running, newProcesses, ready, blocked, readySuspended, blockedSuspended, deferred, terminatedCount, ioDevices,
+                metrics);
+    }
+
+    private static void writeQueue(DataOutput out, PCB[] processes) throws IOException {
+        out.writeInt(processes.length);
+        for (PCB pcb : processes) {
+            writeProcess(out, pcb);
+        }
+    }
+
+    private static PCB[] readQueue(ByteBuffer in) throws IOException {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining() / PROCESS_BYTES) {
+            throw new IOException("Cola corrupta: " + count + " procesos");
+        }
+        PCB[] processes = new PCB[count];
+        for (int i = 0; i < count; i++) {
+            processes[i] = readProcess(in);
+        }
+        return processes;
+    }
+
+    private static void writeProcess(DataOutput out, PCB pcb) throws IOException {
+        out.writeInt(pcb.getProcessId());
+        writeString(out, pcb.getProcessName());
+        out.writeInt(pcb.getInitialDeadlineTicks());
+        out.writeInt(pcb.getTotalExecutionTicks());
+        out.writeInt(pcb.getCpuBurstTicks());
+        out.writeInt(pcb.getIoDevice());
+        out.writeInt(pcb.getIoBurstTicks());
+        out.writeInt(pcb.getPeriodTicks());
+        out.writeByte(pcb.getState().ordinal());
+        out.writeInt(pcb.getPriority());
+        out.writeInt(pcb.getProgramCounter());
+        out.writeInt(pcb.getMemoryAddressRegister());
+        out.writeLong(pcb.getArrivalTick());
+        out.writeLong(pcb.getFirstRunTick());
+        out.writeLong(pcb.getCompletionTick());
+        out.writeLong(pcb.getSuspendedTick());
+        out.writeLong(pcb.getWakeupTick());
+    }
+
+    private static PCB readProcess(ByteBuffer in) throws IOException {
+        int processId = in.getInt();
+        String name = readString(in);
+        int initialDeadline = in.getInt();
+        int totalExecution = in.getInt();
+        int cpuBurst = in.getInt();
+        int ioDevice = in.getInt();
+        int ioBurst = in.getInt();
+        int period = in.getInt();
+        int state = Byte.toUnsignedInt(in.get());
+        if (state >= STATES.length) {
+            throw new IOException("Estado de proceso desconocido: " + state);
+        }
+        PCB pcb = new PCB(processId, name, 0, initialDeadline, totalExecution, cpuBurst, ioDevice, ioBurst);
+        pcb.setPeriodTicks(period);
+        pcb.setState(STATES[state]);
+        pcb.setPriority(in.getInt());
+        pcb.setProgramCounter(in.getInt());
+        pcb.setMemoryAddressRegister(in.getInt());
+        pcb.setArrivalTick(in.getLong());
+        pcb.setFirstRunTick(in.getLong());
+        pcb.setCompletionTick(in.getLong());
+        pcb.setSuspendedTick(in.getLong());
+        pcb.setWakeupTick(in.getLong());
+        return pcb;
+    }
+
+    private static void writeTask(DataOutput out, PeriodicTask task) throws IOException {
+        out.writeInt(task.getTaskId());
+        writeString(out, task.getName());
+        out.writeInt(task.getPriority());
+        out.writeInt(task.getPeriodTicks());
+        out.writeInt(task.getWcetTicks());
+        out.writeInt(task.getPhaseTicks());
+        out.writeInt(task.getDeadlineTicks());
+    }
+
+    private static PeriodicTask readTask(ByteBuffer in) throws IOException {
+        int taskId = in.getInt();
+        String name = readString(in);
+        return new PeriodicTask(taskId, name, in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt());
+    }
+
+    /**
+     * Escribe el largo en bytes ({@code NO_NAME} para null) y el texto en UTF-8.
+     */
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NO_NAME);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) throws IOException {
+        int length = in.getInt();
+        if (length == NO_NAME) {
+            return null;
+        }
+        if (length < 0 || length > in.remaining()) {
+            throw new IOException("Texto corrupto: " + length + " bytes");
+        }
+        // El búfer envuelve el arreglo del archivo: se decodifica sin copiar.
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    // --- Consultas ---
+
+    public SimulationConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * @return El nombre del algoritmo activo, tal como lo acepta {@link com.microsat.rtos.core.algorithms.AlgorithmFactory}.
+     */
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    /**
+     * @return El tick del reloj del Scheduler en el momento del checkpoint.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return El número de procesos de la simulación: los vivos guardados, en las colas y en la
+     *         CPU, más los terminados.
+     */
+    public int getProcessCount() {
+        return (runningProcess != null ? 1 : 0) + newProcesses.length + ready.length + blocked.length
+                + readySuspended.length + blockedSuspended.length + deferred.length + terminatedCount;
+    }
+
+    /**
+     * @return El número de procesos terminados (cuyos datos no se guardan).
+     */
+    public int getTerminatedCount() {
+        return terminatedCount;
+    }
+
+    /**
+     * @return La política del planificador de mediano plazo.
+     */
+    public SwapPolicy getSwapPolicy() {
+        return swapPolicy;
+    }
+
+    /**
+     * @return true si el Scheduler abortaba los procesos cuyo deadline vence.
+     */
+    public boolean isAbortOnDeadlineMiss() {
+        return abortOnDeadlineMiss;
+    }
+
+    /**
+     * @return La política del control de admisión.
+     */
+    public AdmissionPolicy getAdmissionPolicy() {
+        return admissionPolicy;
+    }
+
+
+    // Acceso para Scheduler.restore
+
+    boolean isSwapCheckPending() {
+        return swapCheckPending;
+    }
+
+    int getQuantumCounter() {
+        return quantumCounter;
+    }
+
+    /**
+     * @return Las tareas periódicas cuyos trabajos liberaba el Scheduler (vacío si no había).
+     */
+    PeriodicTask[] getPeriodicTasks() {
+        return periodicTasks;
+    }
+
+    PCB getRunningProcess() {
+        return runningProcess;
+    }
+
+    PCB[] getNewProcesses() {
+        return newProcesses;
+    }
+
+    PCB[] getReady() {
+        return ready;
+    }
+
+    PCB[] getBlocked() {
+        return blocked;
+    }
+
+    PCB[] getReadySuspended() {
+        return readySuspended;
+    }
+
+    PCB[] getBlockedSuspended() {
+        return blockedSuspended;
+    }
+
+    PCB[] getDeferred() {
+        return deferred;
+    }
+
+    IoDevice[] getIoDevices() {
+        return ioDevices;
+    }
+
+    MetricsState getMetrics() {
+        return metrics;
+    }
+}
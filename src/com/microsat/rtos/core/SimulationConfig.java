@@ -0,0 +1,68 @@
+package com.microsat.rtos.core;
+
+/**
+ * Parámetros de una instancia de simulación. A diferencia de {@link SystemConfig}, que solo
+ * guarda los valores por defecto, cada {@link Scheduler} recibe su propia configuración, lo que
+ * permite correr varias simulaciones distintas en el mismo proceso.
+ */
+public final class SimulationConfig {
+
+    private final int maxMemoryProcesses;
+    private final int quantum;
+    private final long clockSpeedMs;
+
+    /**
+     * Crea una configuración con velocidad de reloj por defecto.
+     * @param maxMemoryProcesses Máximo número de procesos en RAM (colas Ready y Blocked).
+     * @param quantum Duración del quantum en ticks de reloj.
+     * @throws IllegalArgumentException si algún valor no es positivo.
+     */
+    public SimulationConfig(int maxMemoryProcesses, int quantum) {
+        this(maxMemoryProcesses, quantum, SystemConfig.CLOCK_SPEED_MS);
+    }
+
+    /**
+     * Crea una configuración completa.
+     * @param maxMemoryProcesses Máximo número de procesos en RAM (colas Ready y Blocked).
+     * @param quantum Duración del quantum en ticks de reloj.
+     * @param clockSpeedMs Pausa inicial entre ticks del hilo del Scheduler, en milisegundos.
+     * @throws IllegalArgumentException si algún valor no es positivo.
+     */
+    public SimulationConfig(int maxMemoryProcesses, int quantum, long clockSpeedMs) {
+        if (maxMemoryProcesses <= 0 || quantum <= 0 || clockSpeedMs < 0) {
+            throw new IllegalArgumentException("Configuración inválida: memoria=" + maxMemoryProcesses
+                    + ", quantum=" + quantum + ", reloj=" + clockSpeedMs);
+        }
+        this.maxMemoryProcesses = maxMemoryProcesses;
+        this.quantum = quantum;
+        this.clockSpeedMs = clockSpeedMs;
+    }
+
+    /**
+     * @return La configuración con los valores de {@link SystemConfig}.
+     */
+    public static SimulationConfig defaults() {
+        return new SimulationConfig(SystemConfig.MAX_MEMORY_PROCESSES, SystemConfig.DEFAULT_QUANTUM, SystemConfig.CLOCK_SPEED_MS);
+    }
+
+    public int getMaxMemoryProcesses() {
+        return maxMemoryProcesses;
+    }
+
+    public int getQuantum() {
+        return quantum;
+    }
+
+    public long getClockSpeedMs() {
+        return clockSpeedMs;
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationConfig{" +
+               "maxMemoryProcesses=" + maxMemoryProcesses +
+               ", quantum=" + quantum +
+               ", clockSpeedMs=" + clockSpeedMs +
+               '}';
+    }
+}
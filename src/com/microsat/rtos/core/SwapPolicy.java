@@ -0,0 +1,95 @@
+package com.microsat.rtos.core;
+
+import com.microsat.rtos.core.algorithms.SchedulingAlgorithm;
+
+import java.util.Comparator;
+
+/**
+ * Criterio del planificador de mediano plazo para decidir qué proceso de disco (listos-suspendidos)
+ * merece la RAM: define el orden en que se traen de disco y, cuando la memoria está llena, qué
+ * proceso en RAM se lleva a disco para hacer lugar a uno más urgente. El orden va de más a menos
+ * urgente; los empates se resuelven por orden de llegada.
+ */
+public enum SwapPolicy {
+
+    /**
+     * Sin expropiación de memoria: los procesos de disco entran en orden de llegada a medida que
+     * se libera RAM.
+     */
+    NONE("Ninguna"),
+
+    /**
+     * El mismo orden que usa el algoritmo para la cola de listos (prioridad para Priority, tiempo
+     * restante para SRT, deadline para EDF). Con FCFS y Round Robin equivale a {@link #NONE}.
+     */
+    ALGORITHM("Algoritmo"),
+
+    /**
+     * Por prioridad (menor valor = más urgente).
+     */
+    PRIORITY("Prioridad"),
+
+    /**
+     * Por holgura: deadline restante menos ticks de CPU pendientes (menor = más urgente). Se
+     * calcula con el deadline absoluto, que da el mismo orden en cualquier tick.
+     */
+    SLACK("Holgura"),
+
+    /**
+     * Por tiempo de CPU restante (menor = más urgente).
+     */
+    REMAINING_TIME("Tiempo restante");
+
+    private static final Comparator<PCB> BY_PRIORITY = Comparator.comparingInt(PCB::getPriority);
+    private static final Comparator<PCB> BY_SLACK = Comparator.comparingLong(SwapPolicy::slack);
+    private static final Comparator<PCB> BY_REMAINING_TIME = Comparator.comparingInt(SwapPolicy::remainingTime);
+
+    private final String label;
+
+    SwapPolicy(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @param algorithm Algoritmo activo (solo se usa con {@link #ALGORITHM}).
+     * @return El orden de urgencia, o null si los procesos entran en orden de llegada y no se
+     *         expropia memoria.
+     */
+    public Comparator<? super PCB> urgency(SchedulingAlgorithm algorithm) {
+        switch (this) {
+            case ALGORITHM: return algorithm.getReadyOrdering();
+            case PRIORITY: return BY_PRIORITY;
+            case SLACK: return BY_SLACK;
+            case REMAINING_TIME: return BY_REMAINING_TIME;
+            default: return null;
+        }
+    }
+
+    /**
+     * Busca una política por nombre, sin distinguir mayúsculas, espacios ni guiones.
+     * @param name Nombre de la constante (p. ej. "slack" o "remaining-time").
+     * @return La política.
+     * @throws IllegalArgumentException si el nombre no corresponde a ninguna política.
+     */
+    public static SwapPolicy fromName(String name) {
+        String key = name.toUpperCase().replace(" ", "_").replace("-", "_");
+        for (SwapPolicy policy : values()) {
+            if (policy.name().equals(key)) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Política de swapping desconocida: " + name);
+    }
+
+    private static long slack(PCB pcb) {
+        return pcb.getAbsoluteDeadline() - remainingTime(pcb);
+    }
+
+    private static int remainingTime(PCB pcb) {
+        return pcb.getTotalExecutionTicks() - pcb.getProgramCounter();
+    }
+}
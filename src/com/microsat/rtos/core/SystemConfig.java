@@ -17,12 +17,40 @@ public final class SystemConfig {
      */
     public static final int DEFAULT_QUANTUM = 10;
 
+    /**
+     * Cada cuántos ticks la cola multinivel con realimentación (MLFQ) devuelve a todos los procesos
+     * al nivel más prioritario, para que los que bajaron de nivel no sufran inanición bajo carga.
+     */
+    public static final long MLFQ_BOOST_INTERVAL = 1000;
+
+    /**
+     * Máximo número de procesos que el planificador de mediano plazo lleva a disco por tick para
+     * hacer lugar a otros más urgentes (el ancho de banda del swapping).
+     */
+    public static final int SWAP_OUTS_PER_TICK = 1;
+
+    /**
+     * Número de dispositivos de E/S del microsatélite. Los procesos los identifican por índice
+     * (ver {@link #getIoDeviceName(int)}).
+     */
+    public static final int IO_DEVICE_COUNT = 3;
+
+    private static final String[] IO_DEVICE_NAMES = {"Cámara", "Radio", "Memoria flash"};
+
     /**
      * Velocidad del reloj del sistema en milisegundos.
      * Corresponde al delay del hilo del Scheduler entre ticks.
      */
     public static final long CLOCK_SPEED_MS = 100; // 10 ticks por segundo
 
+    /**
+     * @param device Índice del dispositivo, entre 0 y {@link #IO_DEVICE_COUNT} - 1.
+     * @return El nombre del dispositivo de E/S.
+     */
+    public static String getIoDeviceName(int device) {
+        return IO_DEVICE_NAMES[device];
+    }
+
     /**
      * Constructor privado para prevenir la instanciación de esta clase de utilidad.
      */
@@ -0,0 +1,310 @@
+package com.microsat.rtos.core;
+
+import com.microsat.rtos.core.algorithms.EDFAlgorithm;
+import com.microsat.rtos.core.algorithms.FCFSAlgorithm;
+import com.microsat.rtos.core.algorithms.PriorityAlgorithm;
+import com.microsat.rtos.core.algorithms.RoundRobinAlgorithm;
+import com.microsat.rtos.core.algorithms.SRTAlgorithm;
+import com.microsat.rtos.core.algorithms.SchedulingAlgorithm;
+import com.microsat.rtos.datastructures.IntBinaryHeap;
+import com.microsat.rtos.metrics.MetricsManager;
+
+/**
+ * Variante del {@link Scheduler} que trabaja sobre una {@link ProcessTable}: los procesos son
+ * slots de arreglos primitivos y las colas son enlaces por índice, así que el tick no recorre
+ * punteros ni crea objetos. Aplica las mismas reglas de admisión, expropiación, quantum y
+ * despacho que {@link Scheduler} y produce las mismas métricas.
+ * <p>
+ * El planificador de mediano plazo es el de {@link SwapPolicy#NONE}: los procesos de disco
+ * vuelven a RAM en orden de llegada a medida que se libera lugar, sin expropiar memoria.
+ * Tampoco modela E/S: la tabla no guarda el patrón de E/S de los procesos, que se ejecutan como
+ * si solo usaran CPU. Los deadlines son absolutos, como en {@link Scheduler}, pero los
+ * incumplimientos se cuentan al terminar el proceso: no hay eventos de deadline vencido ni aborto.
+ * <p>
+ * Está pensada para simulaciones sin interfaz gráfica con cargas muy grandes; el algoritmo se
+ * fija al construirla. Para inspeccionar un proceso se usa {@link ProcessTable#toPcb(int)}.
+ */
+public class TableScheduler {
+
+    /**
+     * Clave con la que se ordena la cola de listos (menor = más prioritario).
+     */
+    private enum Policy {
+        FIFO, PRIORITY, REMAINING_TIME, DEADLINE
+    }
+
+    private final ProcessTable table;
+    private final SimulationConfig config;
+    private final MetricsManager metricsManager;
+    private final Policy policy;
+    private final boolean roundRobin;
+
+    private final ProcessTable.SlotQueue newQueue;
+    private final ProcessTable.SlotQueue readyFifo;
+    private final IntBinaryHeap readyHeap;
+    private final ProcessTable.SlotQueue readySuspendedQueue;
+    private final ProcessTable.SlotQueue terminatedQueue;
+
+    private int runningSlot = ProcessTable.NONE;
+    private int quantumCounter;
+    private long currentTick; // Reloj con el que se fijan los deadlines absolutos
+
+    /**
+     * Crea un planificador sobre la tabla indicada.
+     * @param table Tabla con los procesos.
+     * @param config Parámetros de la simulación.
+     * @param metricsManager Destino de las métricas de esta simulación.
+     * @param algorithm Algoritmo de planificación (FCFS, Round Robin, SRT, Prioridad o EDF).
+     * @throws IllegalArgumentException si el algoritmo no está soportado por esta variante.
+     */
+    public TableScheduler(ProcessTable table, SimulationConfig config, MetricsManager metricsManager,
+                          SchedulingAlgorithm algorithm) {
+        this.table = table;
+        this.config = config;
+        this.metricsManager = metricsManager;
+        this.roundRobin = algorithm instanceof RoundRobinAlgorithm;
+        this.policy = policyFor(algorithm);
+        this.newQueue = table.newQueue();
+        this.readyFifo = table.newQueue();
+        this.readyHeap = new IntBinaryHeap();
+        this.readySuspendedQueue = table.newQueue();
+        this.terminatedQueue = table.newQueue();
+    }
+
+    private static Policy policyFor(SchedulingAlgorithm algorithm) {
+        if (algorithm instanceof FCFSAlgorithm || algorithm instanceof RoundRobinAlgorithm) {
+            return Policy.FIFO;
+        } else if (algorithm instanceof PriorityAlgorithm) {
+            return Policy.PRIORITY;
+        } else if (algorithm instanceof SRTAlgorithm) {
+            return Policy.REMAINING_TIME;
+        } else if (algorithm instanceof EDFAlgorithm) {
+            return Policy.DEADLINE;
+        }
+        throw new IllegalArgumentException("Algoritmo no soportado por la tabla de procesos: "
+                + algorithm.getClass().getSimpleName());
+    }
+
+    /**
+     * Encola un proceso de la tabla para ser admitido en el próximo tick.
+     * @param slot Slot del proceso.
+     */
+    public synchronized void addProcess(int slot) {
+        table.setState(slot, ProcessState.NUEVO);
+        newQueue.enqueue(slot);
+    }
+
+    /**
+     * Encola todos los procesos de la tabla, en orden de slot.
+     */
+    public synchronized void addAllProcesses() {
+        for (int slot = 0; slot < table.size(); slot++) {
+            addProcess(slot);
+        }
+    }
+
+    /**
+     * Ejecuta varios ticks seguidos, igual que {@link Scheduler#advance(long)}.
+     * @param ticks Número de ticks a simular.
+     */
+    public synchronized void advance(long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Avanza en modo de eventos discretos, igual que {@link Scheduler#advanceEventDriven(long)}.
+     * @param ticks Número de ticks a simular.
+     */
+    public synchronized void advanceEventDriven(long ticks) {
+        long remaining = ticks;
+        while (remaining > 0) {
+            long quiet = Math.min(quietTicks(), remaining);
+            if (quiet > 0) {
+                skipQuietTicks(quiet);
+                remaining -= quiet;
+            } else {
+                step();
+                remaining--;
+            }
+        }
+    }
+
+    private long quietTicks() {
+        if (!newQueue.isEmpty()) {
+            return 0;
+        }
+        if (!readySuspendedQueue.isEmpty() && readyCount() < config.getMaxMemoryProcesses()) {
+            return 0; // Hay procesos para traer de disco
+        }
+        if (runningSlot == ProcessTable.NONE) {
+            return readyCount() == 0 ? Long.MAX_VALUE : 0;
+        }
+        long untilEvent = Math.max(1, table.getTotalExecutionTicks(runningSlot) - table.getProgramCounter(runningSlot));
+        if (roundRobin) {
+            untilEvent = Math.min(untilEvent, Math.max(1, quantumCounter));
+        }
+        return untilEvent - 1;
+    }
+
+    private void skipQuietTicks(long count) {
+        metricsManager.recordTicks(runningSlot != ProcessTable.NONE, count);
+        currentTick += count;
+        if (runningSlot != ProcessTable.NONE) {
+            int delta = (int) count;
+            table.run(runningSlot, delta);
+            if (roundRobin) {
+                quantumCounter -= delta;
+            }
+        }
+    }
+
+    /**
+     * Un pulso de reloj: admisión, ejecución del proceso actual, swapping y despacho.
+     */
+    private void step() {
+        metricsManager.recordTick(runningSlot != ProcessTable.NONE);
+
+        // 1. Admitir nuevos procesos; su deadline se cuenta desde ahora
+        while (!newQueue.isEmpty()) {
+            int slot = newQueue.dequeue();
+            table.setAbsoluteDeadline(slot, currentTick + table.getInitialDeadlineTicks(slot));
+            admitToReady(slot);
+        }
+
+        // 2. Gestionar el proceso en ejecución
+        if (runningSlot != ProcessTable.NONE) {
+            table.run(runningSlot, 1);
+            if (table.getProgramCounter(runningSlot) >= table.getTotalExecutionTicks(runningSlot)) {
+                terminate(runningSlot);
+                runningSlot = ProcessTable.NONE;
+            } else if (roundRobin) {
+                quantumCounter--;
+                if (quantumCounter <= 0) {
+                    enqueueReady(runningSlot);
+                    runningSlot = ProcessTable.NONE;
+                }
+            }
+        }
+
+        // 3. Traer de disco los procesos que entren en RAM
+        while (!readySuspendedQueue.isEmpty() && readyCount() < config.getMaxMemoryProcesses()) {
+            int slot = readySuspendedQueue.dequeue();
+            metricsManager.recordSwapIn(currentTick - table.getSuspendedTick(slot));
+            table.setSuspendedTick(slot, PCB.NO_TICK);
+            admitToReady(slot);
+        }
+
+        // 4. Si la CPU está libre, despachar el siguiente proceso
+        if (runningSlot == ProcessTable.NONE) {
+            dispatch();
+        }
+        currentTick++;
+    }
+
+    private void admitToReady(int slot) {
+        // Esta variante no modela procesos bloqueados: la RAM la ocupan solo los listos.
+        if (readyCount() >= config.getMaxMemoryProcesses()) {
+            table.setState(slot, ProcessState.LISTO_SUSPENDIDO);
+            table.setSuspendedTick(slot, currentTick);
+            readySuspendedQueue.enqueue(slot);
+            return;
+        }
+        enqueueReady(slot);
+        if (runningSlot != ProcessTable.NONE && policy != Policy.FIFO && key(slot) < key(runningSlot)) {
+            enqueueReady(runningSlot);
+            runningSlot = ProcessTable.NONE;
+        }
+    }
+
+    private void enqueueReady(int slot) {
+        table.setState(slot, ProcessState.LISTO);
+        if (policy == Policy.FIFO) {
+            readyFifo.enqueue(slot);
+        } else {
+            readyHeap.insert(slot, key(slot));
+        }
+    }
+
+    /**
+     * Clave de orden del proceso según la política. Mientras un proceso espera en la cola de
+     * listos su clave no cambia, por lo que se puede calcular una sola vez al encolarlo.
+     */
+    private long key(int slot) {
+        switch (policy) {
+            case PRIORITY:
+                return table.getPriority(slot);
+            case REMAINING_TIME:
+                return table.getTotalExecutionTicks(slot) - table.getProgramCounter(slot);
+            case DEADLINE:
+                return table.getAbsoluteDeadline(slot);
+            default:
+                return 0;
+        }
+    }
+
+    private void terminate(int slot) {
+        table.setState(slot, ProcessState.TERMINADO);
+        table.setCompletionTick(slot, currentTick);
+        terminatedQueue.enqueue(slot);
+        metricsManager.recordProcessCompletion(currentTick <= table.getAbsoluteDeadline(slot));
+    }
+
+    private void dispatch() {
+        if (readyCount() == 0) {
+            return;
+        }
+        runningSlot = policy == Policy.FIFO ? readyFifo.dequeue() : readyHeap.poll();
+        table.setState(runningSlot, ProcessState.EJECUCION);
+        if (table.getFirstRunTick(runningSlot) == PCB.NO_TICK) {
+            table.setFirstRunTick(runningSlot, currentTick);
+        }
+        quantumCounter = config.getQuantum();
+    }
+
+    // --- Acceso ---
+
+    public ProcessTable getTable() {
+        return table;
+    }
+
+    public SimulationConfig getConfig() {
+        return config;
+    }
+
+    public MetricsManager getMetricsManager() {
+        return metricsManager;
+    }
+
+    /**
+     * @return El slot del proceso en ejecución, o {@link ProcessTable#NONE} si la CPU está libre.
+     */
+    public synchronized int getRunningSlot() {
+        return runningSlot;
+    }
+
+    public synchronized int readyCount() {
+        return policy == Policy.FIFO ? readyFifo.size() : readyHeap.size();
+    }
+
+    public synchronized int newCount() {
+        return newQueue.size();
+    }
+
+    public synchronized int readySuspendedCount() {
+        return readySuspendedQueue.size();
+    }
+
+    public synchronized int terminatedCount() {
+        return terminatedQueue.size();
+    }
+
+    /**
+     * @return Los procesos terminados, en orden de finalización. Recorrer con
+     * {@link ProcessTable.SlotQueue#peek()} y {@link ProcessTable.SlotQueue#next(int)}.
+     */
+    public synchronized ProcessTable.SlotQueue getTerminatedQueue() {
+        return terminatedQueue;
+    }
+}
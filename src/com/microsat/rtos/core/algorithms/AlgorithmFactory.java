@@ -0,0 +1,38 @@
+package com.microsat.rtos.core.algorithms;
+
+/**
+ * Crea instancias de {@link SchedulingAlgorithm} a partir de su nombre.
+ * Centraliza los nombres que aceptan la interfaz gráfica y la línea de comandos.
+ */
+public final class AlgorithmFactory {
+
+    /**
+     * Nombres de los algoritmos disponibles, tal como se muestran en la interfaz.
+     */
+    public static final String[] ALGORITHM_NAMES = {"FCFS", "Round Robin", "SRT", "Priority", "EDF", "RM", "MLFQ"};
+
+    private AlgorithmFactory() {
+        throw new UnsupportedOperationException("Esta es una clase de utilidad y no puede ser instanciada.");
+    }
+
+    /**
+     * Crea un algoritmo por nombre. No distingue mayúsculas, espacios ni guiones, y acepta
+     * abreviaturas comunes (por ejemplo "rr" para Round Robin o "rm" para Rate Monotonic).
+     * @param name Nombre del algoritmo.
+     * @return Una nueva instancia del algoritmo.
+     * @throws IllegalArgumentException si el nombre no corresponde a ningún algoritmo.
+     */
+    public static SchedulingAlgorithm create(String name) {
+        String key = name.toLowerCase().replace(" ", "").replace("-", "").replace("_", "");
+        switch (key) {
+            case "fcfs": return new FCFSAlgorithm();
+            case "roundrobin": case "rr": return new RoundRobinAlgorithm();
+            case "srt": return new SRTAlgorithm();
+            case "priority": case "prioridad": return new PriorityAlgorithm();
+            case "edf": return new EDFAlgorithm();
+            case "rm": case "ratemonotonic": return new RateMonotonicAlgorithm();
+            case "mlfq": case "multilevelfeedbackqueue": return new MLFQAlgorithm();
+            default: throw new IllegalArgumentException("Algoritmo desconocido: " + name);
+        }
+    }
+}
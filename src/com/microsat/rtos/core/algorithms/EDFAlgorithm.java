@@ -3,46 +3,45 @@ package com.microsat.rtos.core.algorithms;
 import com.microsat.rtos.core.PCB;
 import com.microsat.rtos.datastructures.CustomQueue;
 
+import java.util.Comparator;
+
 /**
  * Implementación del algoritmo Earliest Deadline First (EDF).
- * Es expropiativo y dinámico.
+ * Es expropiativo y dinámico. Compara deadlines absolutos ({@link PCB#getAbsoluteDeadline()}),
+ * que no cambian mientras el proceso espera, así que la cola de listos no necesita reordenarse.
  */
 public class EDFAlgorithm implements SchedulingAlgorithm {
 
+    /**
+     * Orden de la cola de listos: deadline más cercano primero.
+     */
+    private static final Comparator<PCB> ORDER_BY_DEADLINE = Comparator.comparingLong(PCB::getAbsoluteDeadline);
+
     @Override
     public PCB getNextProcess(CustomQueue<PCB> readyQueue) {
         if (readyQueue.isEmpty()) {
             return null;
         }
 
-        // Se busca en toda la cola el proceso con el deadline más cercano.
-        CustomQueue<PCB> tempQueue = new CustomQueue<>();
-        PCB bestProcess = readyQueue.dequeue();
-        tempQueue.enqueue(bestProcess);
-
-        while (!readyQueue.isEmpty()) {
-            PCB current = readyQueue.dequeue();
-            if (current.getDeadlineTicks() < bestProcess.getDeadlineTicks()) {
-                bestProcess = current;
-            }
-            tempQueue.enqueue(current);
-        }
+        // La cola se mantiene ordenada por deadline: el frente es el proceso más urgente.
+        readyQueue.setOrdering(ORDER_BY_DEADLINE);
+        return readyQueue.dequeue();
+    }
 
-        // Se reconstruye la cola original sin el proceso seleccionado.
-        PCB result = bestProcess;
-        while (!tempQueue.isEmpty()) {
-            PCB p = tempQueue.dequeue();
-            if (p != result) {
-                readyQueue.enqueue(p);
-            }
-        }
-        return result;
+    @Override
+    public Comparator<PCB> getReadyOrdering() {
+        return ORDER_BY_DEADLINE;
     }
 
     @Override
     public boolean shouldPreempt(PCB currentProcess, PCB newProcess) {
         if (currentProcess == null) return false;
         // Se interrumpe si el nuevo proceso tiene un deadline más cercano (urgente).
-        return newProcess.getDeadlineTicks() < currentProcess.getDeadlineTicks();
+        return newProcess.getAbsoluteDeadline() < currentProcess.getAbsoluteDeadline();
+    }
+
+    @Override
+    public String getName() {
+        return "EDF";
     }
 }
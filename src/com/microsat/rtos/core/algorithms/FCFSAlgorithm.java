@@ -20,4 +20,9 @@ public class FCFSAlgorithm implements SchedulingAlgorithm {
         // FCFS no es expropiativo, nunca interrumpe un proceso en ejecución.
         return false;
     }
+
+    @Override
+    public String getName() {
+        return "FCFS";
+    }
 }
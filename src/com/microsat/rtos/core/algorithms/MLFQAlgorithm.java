@@ -0,0 +1,100 @@
+package com.microsat.rtos.core.algorithms;
+
+import com.microsat.rtos.core.PCB;
+import com.microsat.rtos.core.SystemConfig;
+import com.microsat.rtos.datastructures.CustomQueue;
+import com.microsat.rtos.datastructures.LevelOrdering;
+
+import java.util.Comparator;
+
+/**
+ * Implementación de una cola multinivel con realimentación (MLFQ). Es expropiativo.
+ * El nivel de cada proceso es su prioridad ({@link PCB#getPriority()}, 0 = el más prioritario;
+ * las mayores que {@link #LEVELS} - 1 cuentan como el último nivel), y la cola de listos guarda
+ * una cola FIFO por nivel ({@link LevelOrdering}): elegir el siguiente proceso es buscar el primer
+ * bit encendido de un mapa de niveles ocupados, O(1) sin importar cuántos procesos esperen.
+ * <ul>
+ *   <li>Cada nivel tiene su quantum: el de la configuración en el nivel 0, y el doble en cada
+ *       nivel siguiente.</li>
+ *   <li>Un proceso que agota su quantum baja un nivel: los que usan mucha CPU van quedando
+ *       detrás de los que la liberan pronto.</li>
+ *   <li>Un proceso que llega a un nivel más prioritario que el del proceso en ejecución lo expropia.</li>
+ *   <li>Cada {@link SystemConfig#MLFQ_BOOST_INTERVAL} ticks todos los procesos vuelven al nivel 0,
+ *       para que los de niveles bajos (como las tareas de mantenimiento) no sufran inanición.</li>
+ * </ul>
+ * Como el algoritmo cambia la prioridad de los procesos, las métricas por banda de prioridad
+ * muestran el nivel con el que terminó cada uno.
+ */
+public class MLFQAlgorithm implements SchedulingAlgorithm {
+
+    /**
+     * Número de niveles: uno por cada prioridad de los procesos del sistema (0 a 9).
+     */
+    public static final int LEVELS = 10;
+
+    private static final int LOWEST_LEVEL = LEVELS - 1;
+
+    /**
+     * Orden de la cola de listos: nivel más prioritario primero, FIFO dentro de cada nivel.
+     */
+    private static final LevelOrdering<PCB> ORDER_BY_LEVEL = new LevelOrdering<>(MLFQAlgorithm::levelOf, LEVELS);
+
+    /**
+     * @param process Un proceso.
+     * @return Su nivel en la cola, entre 0 y {@link #LEVELS} - 1.
+     */
+    public static int levelOf(PCB process) {
+        return Math.max(0, Math.min(process.getPriority(), LOWEST_LEVEL));
+    }
+
+    @Override
+    public PCB getNextProcess(CustomQueue<PCB> readyQueue) {
+        if (readyQueue.isEmpty()) {
+            return null;
+        }
+
+        // La cola se mantiene por niveles: el frente es el más antiguo del nivel más prioritario.
+        readyQueue.setOrdering(ORDER_BY_LEVEL);
+        return readyQueue.dequeue();
+    }
+
+    @Override
+    public Comparator<PCB> getReadyOrdering() {
+        return ORDER_BY_LEVEL;
+    }
+
+    @Override
+    public boolean shouldPreempt(PCB currentProcess, PCB newProcess) {
+        if (currentProcess == null) return false;
+        // Se interrumpe si el nuevo proceso está en un nivel más prioritario.
+        return levelOf(newProcess) < levelOf(currentProcess);
+    }
+
+    @Override
+    public int getQuantum(PCB process, int baseQuantum) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) baseQuantum << levelOf(process));
+    }
+
+    @Override
+    public void onQuantumExpired(PCB process) {
+        int level = levelOf(process);
+        if (level < LOWEST_LEVEL) {
+            process.setPriority(level + 1);
+        }
+    }
+
+    @Override
+    public long getAgingInterval() {
+        return SystemConfig.MLFQ_BOOST_INTERVAL;
+    }
+
+    @Override
+    public void age(PCB process) {
+        process.setPriority(0);
+    }
+
+    @Override
+    public String getName() {
+        return "MLFQ";
+    }
+}
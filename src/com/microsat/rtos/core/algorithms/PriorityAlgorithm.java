@@ -3,40 +3,33 @@ package com.microsat.rtos.core.algorithms;
 import com.microsat.rtos.core.PCB;
 import com.microsat.rtos.datastructures.CustomQueue;
 
+import java.util.Comparator;
+
 /**
  * Implementación de un algoritmo de planificación por prioridad estática.
  * Es expropiativo. Se asume que un valor de prioridad MENOR es MÁS prioritario.
  */
 public class PriorityAlgorithm implements SchedulingAlgorithm {
 
+    /**
+     * Orden de la cola de listos: mayor prioridad (menor valor) primero.
+     */
+    private static final Comparator<PCB> ORDER_BY_PRIORITY = Comparator.comparingInt(PCB::getPriority);
+
     @Override
     public PCB getNextProcess(CustomQueue<PCB> readyQueue) {
         if (readyQueue.isEmpty()) {
             return null;
         }
 
-        // Se busca en toda la cola el proceso con la mayor prioridad (menor valor).
-        CustomQueue<PCB> tempQueue = new CustomQueue<>();
-        PCB bestProcess = readyQueue.dequeue();
-        tempQueue.enqueue(bestProcess);
-
-        while (!readyQueue.isEmpty()) {
-            PCB current = readyQueue.dequeue();
-            if (current.getPriority() < bestProcess.getPriority()) {
-                bestProcess = current;
-            }
-            tempQueue.enqueue(current);
-        }
+        // La cola se mantiene ordenada por prioridad: el frente es el proceso con menor valor.
+        readyQueue.setOrdering(ORDER_BY_PRIORITY);
+        return readyQueue.dequeue();
+    }
 
-        // Se reconstruye la cola original sin el proceso seleccionado.
-        PCB result = bestProcess;
-        while (!tempQueue.isEmpty()) {
-            PCB p = tempQueue.dequeue();
-            if (p != result) {
-                readyQueue.enqueue(p);
-            }
-        }
-        return result;
+    @Override
+    public Comparator<PCB> getReadyOrdering() {
+        return ORDER_BY_PRIORITY;
     }
 
     @Override
@@ -45,4 +38,9 @@ public class PriorityAlgorithm implements SchedulingAlgorithm {
         // Se interrumpe si el nuevo proceso tiene una prioridad mayor (valor más bajo).
         return newProcess.getPriority() < currentProcess.getPriority();
     }
+
+    @Override
+    public String getName() {
+        return "Priority";
+    }
 }
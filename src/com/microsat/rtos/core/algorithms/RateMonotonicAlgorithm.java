@@ -0,0 +1,53 @@
+package com.microsat.rtos.core.algorithms;
+
+import com.microsat.rtos.core.PCB;
+import com.microsat.rtos.datastructures.CustomQueue;
+
+import java.util.Comparator;
+
+/**
+ * Implementación de Rate Monotonic (RM) para tareas periódicas.
+ * Es expropiativo y de prioridad fija: la CPU se la lleva el trabajo de la tarea con menor período
+ * ({@link PCB#getPeriodTicks()}). Los procesos aperiódicos usan su deadline relativo como período.
+ * Con deadlines iguales al período es el orden de prioridades fijas óptimo; la
+ * {@link com.microsat.rtos.core.ResponseTimeAnalysis} dice si un conjunto de tareas cumple con él.
+ */
+public class RateMonotonicAlgorithm implements SchedulingAlgorithm {
+
+    /**
+     * Orden de la cola de listos: menor período primero.
+     */
+    private static final Comparator<PCB> ORDER_BY_PERIOD = Comparator.comparingInt(RateMonotonicAlgorithm::getRate);
+
+    @Override
+    public PCB getNextProcess(CustomQueue<PCB> readyQueue) {
+        if (readyQueue.isEmpty()) {
+            return null;
+        }
+
+        // La cola se mantiene ordenada por período: el frente es la tarea más frecuente.
+        readyQueue.setOrdering(ORDER_BY_PERIOD);
+        return readyQueue.dequeue();
+    }
+
+    @Override
+    public Comparator<PCB> getReadyOrdering() {
+        return ORDER_BY_PERIOD;
+    }
+
+    @Override
+    public boolean shouldPreempt(PCB currentProcess, PCB newProcess) {
+        if (currentProcess == null) return false;
+        // Se interrumpe si el nuevo proceso pertenece a una tarea de menor período.
+        return getRate(newProcess) < getRate(currentProcess);
+    }
+
+    private static int getRate(PCB pcb) {
+        return pcb.getPeriodTicks() > 0 ? pcb.getPeriodTicks() : pcb.getInitialDeadlineTicks();
+    }
+
+    @Override
+    public String getName() {
+        return "RM";
+    }
+}
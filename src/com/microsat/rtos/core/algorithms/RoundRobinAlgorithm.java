@@ -6,7 +6,7 @@ import com.microsat.rtos.datastructures.CustomQueue;
 /**
  * Implementación del algoritmo Round Robin.
  * No es expropiativo en el sentido de que un nuevo proceso interrumpa al actual,
- * pero el Scheduler lo manejará como expropiativo por tiempo (quantum).
+ * pero el Scheduler lo manejará como expropiativo por tiempo (quantum, ver {@link #getQuantum(PCB, int)}).
  */
 public class RoundRobinAlgorithm implements SchedulingAlgorithm {
 
@@ -23,4 +23,14 @@ public class RoundRobinAlgorithm implements SchedulingAlgorithm {
         // La interrupción solo ocurre por fin de quantum.
         return false;
     }
+
+    @Override
+    public int getQuantum(PCB process, int baseQuantum) {
+        return baseQuantum; // El mismo quantum para todos
+    }
+
+    @Override
+    public String getName() {
+        return "Round Robin";
+    }
 }
@@ -3,40 +3,33 @@ package com.microsat.rtos.core.algorithms;
 import com.microsat.rtos.core.PCB;
 import com.microsat.rtos.datastructures.CustomQueue;
 
+import java.util.Comparator;
+
 /**
  * Implementación del algoritmo Shortest Remaining Time (SRT).
  * Es la versión expropiativa de SJF.
  */
 public class SRTAlgorithm implements SchedulingAlgorithm {
 
+    /**
+     * Orden de la cola de listos: menor tiempo restante primero.
+     */
+    private static final Comparator<PCB> ORDER_BY_REMAINING_TIME = Comparator.comparingInt(SRTAlgorithm::getRemainingTime);
+
     @Override
     public PCB getNextProcess(CustomQueue<PCB> readyQueue) {
         if (readyQueue.isEmpty()) {
             return null;
         }
 
-        // Se busca en toda la cola el proceso con el menor tiempo restante.
-        CustomQueue<PCB> tempQueue = new CustomQueue<>();
-        PCB bestProcess = readyQueue.dequeue();
-        tempQueue.enqueue(bestProcess);
-
-        while (!readyQueue.isEmpty()) {
-            PCB current = readyQueue.dequeue();
-            if (getRemainingTime(current) < getRemainingTime(bestProcess)) {
-                bestProcess = current;
-            }
-            tempQueue.enqueue(current);
-        }
+        // La cola se mantiene ordenada por tiempo restante: el frente es el más corto.
+        readyQueue.setOrdering(ORDER_BY_REMAINING_TIME);
+        return readyQueue.dequeue();
+    }
 
-        // Se reconstruye la cola original sin el proceso seleccionado.
-        PCB result = bestProcess;
-        while (!tempQueue.isEmpty()) {
-            PCB p = tempQueue.dequeue();
-            if (p != result) { // Comparación por referencia de objeto
-                readyQueue.enqueue(p);
-            }
-        }
-        return result;
+    @Override
+    public Comparator<PCB> getReadyOrdering() {
+        return ORDER_BY_REMAINING_TIME;
     }
 
     @Override
@@ -46,7 +39,12 @@ public class SRTAlgorithm implements SchedulingAlgorithm {
         return getRemainingTime(newProcess) < getRemainingTime(currentProcess);
     }
 
-    private int getRemainingTime(PCB pcb) {
+    private static int getRemainingTime(PCB pcb) {
         return pcb.getTotalExecutionTicks() - pcb.getProgramCounter();
     }
+
+    @Override
+    public String getName() {
+        return "SRT";
+    }
 }
@@ -3,6 +3,8 @@ package com.microsat.rtos.core.algorithms;
 import com.microsat.rtos.core.PCB;
 import com.microsat.rtos.datastructures.CustomQueue;
 
+import java.util.Comparator;
+
 /**
  * Interfaz para el patrón Strategy, define un algoritmo de planificación de CPU.
  */
@@ -24,4 +26,60 @@ public interface SchedulingAlgorithm {
      * @return true si el proceso actual debe ser interrumpido en favor del nuevo.
      */
     boolean shouldPreempt(PCB currentProcess, PCB newProcess);
+
+    /**
+     * Orden en el que el algoritmo quiere mantener la cola de listos. El Scheduler lo aplica a la
+     * cola al cambiar de algoritmo, de modo que la selección del siguiente proceso sea O(log n)
+     * en lugar de un recorrido completo.
+     * @return El criterio de orden (menor = más prioritario), o null si la cola es FIFO.
+     */
+    default Comparator<PCB> getReadyOrdering() {
+        return null;
+    }
+
+    /**
+     * Quantum del proceso que acaba de recibir la CPU: al agotarlo, el Scheduler lo devuelve a la
+     * cola de listos. Se consulta en cada despacho.
+     * @param process El proceso despachado.
+     * @param baseQuantum El quantum de la configuración de la simulación.
+     * @return Los ticks de CPU seguidos que puede usar, o 0 si no tiene límite (solo deja la CPU
+     *         al terminar, al pedir E/S o por expropiación).
+     */
+    default int getQuantum(PCB process, int baseQuantum) {
+        return 0;
+    }
+
+    /**
+     * Avisa que un proceso agotó su quantum, justo antes de que vuelva a la cola de listos. El
+     * algoritmo puede cambiar aquí la clave con la que el proceso se ordena en esa cola.
+     * @param process El proceso que dejó la CPU.
+     */
+    default void onQuantumExpired(PCB process) {
+    }
+
+    /**
+     * Cada cuántos ticks el Scheduler aplica {@link #age(PCB)} a todos los procesos admitidos
+     * (en ejecución, listos, bloqueados o en disco), en los ticks múltiplos del intervalo.
+     * @return El intervalo en ticks, o 0 si el algoritmo no envejece procesos.
+     */
+    default long getAgingInterval() {
+        return 0;
+    }
+
+    /**
+     * Envejecimiento periódico de un proceso (ver {@link #getAgingInterval()}), para que los que
+     * esperan mucho no sufran inanición. El Scheduler reordena las colas después de envejecer a
+     * todos; el cambio no provoca expropiaciones por sí solo.
+     * @param process Un proceso admitido.
+     */
+    default void age(PCB process) {
+    }
+
+    /**
+     * Nombre con el que se agrupan las métricas del algoritmo.
+     * @return Para los algoritmos incluidos, el mismo nombre de {@link AlgorithmFactory#ALGORITHM_NAMES}.
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
 }
@@ -0,0 +1,324 @@
+package com.microsat.rtos.datastructures;
+
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+/**
+ * Implementación de un montículo binario mínimo (min-heap) genérico respaldado por un arreglo.
+ * Los elementos se ordenan por una clave definida por un {@link Comparator}. Los empates se
+ * resuelven por orden de inserción (FIFO), de modo que el elemento seleccionado coincide con el
+ * que elegiría un recorrido lineal que se queda con el primer mínimo encontrado.
+ * <p>
+ * Inserción y extracción del mínimo en O(log n); consulta del mínimo en O(1).
+ *
+ * @param <T> El tipo de dato que almacenará el montículo.
+ */
+public class BinaryHeap<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] items;
+    private long[] sequence; // Número de inserción de cada elemento, para desempate estable
+    private int size;
+    private long nextSequence;
+    private Comparator<? super T> comparator;
+
+    /**
+     * Crea un montículo vacío ordenado por la clave indicada.
+     * @param comparator Define la clave del montículo. Si es null, el orden es puramente FIFO.
+     */
+    public BinaryHeap(Comparator<? super T> comparator) {
+        this.items = new Object[INITIAL_CAPACITY];
+        this.sequence = new long[INITIAL_CAPACITY];
+        this.size = 0;
+        this.nextSequence = 0;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Inserta un elemento en el montículo.
+     * @param data El dato a insertar.
+     */
+    public void insert(T data) {
+        if (size == items.length) {
+            grow();
+        }
+        items[size] = data;
+        sequence[size] = nextSequence++;
+        siftUp(size);
+        size++;
+    }
+
+    /**
+     * Remueve y devuelve el elemento de menor clave.
+     * @return El elemento mínimo, o null si el montículo está vacío.
+     */
+    public T poll() {
+        if (size == 0) {
+            return null;
+        }
+        T result = elementAt(0);
+        size--;
+        if (size > 0) {
+            items[0] = items[size];
+            sequence[0] = sequence[size];
+            items[size] = null;
+            siftDown(0);
+        } else {
+            items[0] = null;
+        }
+        return result;
+    }
+
+    /**
+     * Remueve el elemento en la posición interna indicada (la de {@link #get(int)}) y restaura
+     * el orden del montículo. O(log n).
+     * @param index Posición interna (0 &lt;= index &lt; size()).
+     * @return El elemento removido.
+     * @throws IndexOutOfBoundsException si el índice está fuera de rango.
+     */
+    public T removeAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        T removed = elementAt(index);
+        size--;
+        if (index == size) {
+            items[size] = null;
+            return removed;
+        }
+        Object moved = items[size];
+        items[index] = moved;
+        sequence[index] = sequence[size];
+        items[size] = null;
+        siftDown(index);
+        if (items[index] == moved) {
+            siftUp(index); // No bajó: puede que deba subir
+        }
+        return removed;
+    }
+
+    /**
+     * Remueve todos los elementos que cumplen la condición y reconstruye el montículo una sola
+     * vez. Los que quedan conservan su orden de inserción, así que salen en el mismo orden que
+     * antes. O(n), sin importar cuántos se remuevan.
+     * @param filter Condición de los elementos a remover.
+     * @return El número de elementos removidos.
+     */
+    public int removeIf(Predicate<? super T> filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!filter.test(elementAt(i))) {
+                items[kept] = items[i];
+                sequence[kept] = sequence[i];
+                kept++;
+            }
+        }
+        int removed = size - kept;
+        for (int i = kept; i < size; i++) {
+            items[i] = null;
+        }
+        size = kept;
+        if (removed > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Busca el elemento de mayor valor según {@code key}. Entre empates elige el que saldría
+     * último del montículo, así que el resultado no depende de la disposición interna del
+     * arreglo. O(n).
+     * @param key Criterio a maximizar (puede ser distinto de la clave del montículo).
+     * @return La posición interna del elemento (la de {@link #get(int)}), o -1 si está vacío.
+     */
+    public int indexOfMax(Comparator<? super T> key) {
+        int best = -1;
+        for (int i = 0; i < size; i++) {
+            if (best < 0) {
+                best = i;
+                continue;
+            }
+            int cmp = key.compare(elementAt(i), elementAt(best));
+            if (cmp > 0 || (cmp == 0 && less(best, i))) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Devuelve el elemento de menor clave sin removerlo.
+     * @return El elemento mínimo, o null si el montículo está vacío.
+     */
+    public T peek() {
+        return size == 0 ? null : elementAt(0);
+    }
+
+    /**
+     * Cambia la clave del montículo y lo reconstruye en O(n) conservando el orden de inserción
+     * para los empates.
+     * @param comparator La nueva clave. Si es null, el orden pasa a ser puramente FIFO.
+     */
+    public void setComparator(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    public Comparator<? super T> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Devuelve el elemento en la posición interna indicada del arreglo del montículo.
+     * El orden interno no es el orden de extracción; sirve para recorridos de solo lectura.
+     * @param index Posición interna (0 &lt;= index &lt; size()).
+     * @return El elemento almacenado en esa posición.
+     * @throws IndexOutOfBoundsException si el índice está fuera de rango.
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return elementAt(index);
+    }
+
+    /**
+     * Copia los elementos en su orden interno hacia {@code dest}, como máximo
+     * {@code dest.length} elementos.
+     * @param dest Arreglo destino.
+     * @return El número de elementos copiados.
+     */
+    public int copyTo(T[] dest) {
+        Object[] current = items;
+        int count = Math.min(Math.min(size, current.length), dest.length);
+        System.arraycopy(current, 0, dest, 0, count);
+        return count;
+    }
+
+    /**
+     * Copia los elementos en su orden interno a partir de la posición {@code from} hacia
+     * {@code dest}, como máximo {@code dest.length} elementos. No lanza excepciones aunque otro
+     * hilo modifique el montículo durante la copia; quien llama debe validar el resultado.
+     * @param from Primera posición que se copia.
+     * @param dest Arreglo destino.
+     * @return El número de elementos copiados.
+     */
+    public int copyTo(int from, T[] dest) {
+        Object[] current = items;
+        int count = Math.max(0, Math.min(Math.min(size, current.length) - from, dest.length));
+        if (count > 0) {
+            System.arraycopy(current, from, dest, 0, count);
+        }
+        return count;
+    }
+
+    /**
+     * Copia los elementos en orden de extracción (el mismo en que los devolvería {@link #poll()})
+     * hacia {@code dest}, sin modificar el montículo. O(n log n).
+     * @param dest Arreglo destino; se copian como máximo {@code dest.length} elementos.
+     * @return El número de elementos copiados.
+     */
+    public int copyInPollOrder(T[] dest) {
+        BinaryHeap<T> copy = new BinaryHeap<>(comparator);
+        copy.items = items.clone();
+        copy.sequence = sequence.clone();
+        copy.size = size;
+        copy.nextSequence = nextSequence;
+        int count = Math.min(size, dest.length);
+        for (int i = 0; i < count; i++) {
+            dest[i] = copy.poll();
+        }
+        return count;
+    }
+
+    /**
+     * Verifica si el montículo está vacío.
+     * @return true si el montículo no contiene elementos.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Devuelve el número de elementos en el montículo.
+     * @return El tamaño actual del montículo.
+     */
+    public int size() {
+        return size;
+    }
+
+    // --- Operaciones internas ---
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) items[index];
+    }
+
+    /**
+     * Compara dos posiciones del arreglo: primero por clave y luego por orden de inserción.
+     * @return true si el elemento en i debe salir antes que el elemento en j.
+     */
+    private boolean less(int i, int j) {
+        if (comparator != null) {
+            int cmp = comparator.compare(elementAt(i), elementAt(j));
+            if (cmp != 0) {
+                return cmp < 0;
+            }
+        }
+        return sequence[i] < sequence[j];
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!less(index, parent)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                break;
+            }
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && less(right, left)) {
+                smallest = right;
+            }
+            if (!less(smallest, index)) {
+                break;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Object tmpItem = items[i];
+        items[i] = items[j];
+        items[j] = tmpItem;
+        long tmpSeq = sequence[i];
+        sequence[i] = sequence[j];
+        sequence[j] = tmpSeq;
+    }
+
+    private void grow() {
+        int newCapacity = items.length * 2;
+        Object[] newItems = new Object[newCapacity];
+        long[] newSequence = new long[newCapacity];
+        System.arraycopy(items, 0, newItems, 0, size);
+        System.arraycopy(sequence, 0, newSequence, 0, size);
+        items = newItems;
+        sequence = newSequence;
+    }
+}
@@ -0,0 +1,137 @@
+package com.microsat.rtos.datastructures;
+
+/**
+ * Búfer circular de capacidad fija para valores booleanos, empaquetados en un arreglo de
+ * {@code long} (64 muestras por palabra). Al llenarse, cada nueva muestra sobrescribe la más
+ * antigua, por lo que la memoria usada es constante.
+ * <p>
+ * Agregar y leer por índice son operaciones O(1).
+ */
+public class BitRingBuffer {
+
+    private final long[] words;
+    private final int capacity;
+    private int writeIndex; // Posición física donde se escribirá la próxima muestra
+    private int size;
+
+    /**
+     * Crea un búfer vacío.
+     * @param capacity Número máximo de muestras que se conservan. Debe ser mayor que 0.
+     * @throws IllegalArgumentException si la capacidad no es positiva.
+     */
+    public BitRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + capacity);
+        }
+        this.capacity = capacity;
+        this.words = new long[(capacity + 63) >>> 6];
+        this.writeIndex = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Agrega una muestra al final del búfer, descartando la más antigua si está lleno.
+     * @param value La muestra a agregar.
+     */
+    public void append(boolean value) {
+        int word = writeIndex >>> 6;
+        long mask = 1L << (writeIndex & 63);
+        if (value) {
+            words[word] |= mask;
+        } else {
+            words[word] &= ~mask;
+        }
+        writeIndex++;
+        if (writeIndex == capacity) {
+            writeIndex = 0;
+        }
+        if (size < capacity) {
+            size++;
+        }
+    }
+
+    /**
+     * Agrega {@code count} muestras iguales. Como solo se conservan las últimas
+     * {@link #capacity()} muestras, el costo es O(min(count, capacity)).
+     * @param value El valor de las muestras.
+     * @param count Número de muestras a agregar.
+     */
+    public void appendRun(boolean value, long count) {
+        long effective = Math.min(count, capacity);
+        for (long i = 0; i < effective; i++) {
+            append(value);
+        }
+    }
+
+    /**
+     * Devuelve la muestra en la posición lógica indicada (0 es la más antigua conservada).
+     * @param index Posición lógica de la muestra.
+     * @return El valor de la muestra.
+     * @throws IndexOutOfBoundsException si el índice está fuera del rango (index < 0 || index >= size()).
+     */
+    public boolean get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return bitAt(physicalIndex(index));
+    }
+
+    /**
+     * Copia las últimas muestras en {@code dest}, de la más antigua a la más reciente.
+     * Se copian como máximo {@code dest.length} muestras.
+     * @param dest Arreglo destino.
+     * @return El número de muestras copiadas.
+     */
+    public int copyLast(boolean[] dest) {
+        return copyLast(dest, dest.length);
+    }
+
+    /**
+     * Copia las últimas {@code count} muestras en {@code dest[0..count)}, de la más antigua a la
+     * más reciente. Si hay menos muestras, se copian todas las disponibles.
+     * @param dest Arreglo destino.
+     * @param count Número de muestras a copiar (como máximo {@code dest.length}).
+     * @return El número de muestras copiadas.
+     */
+    public int copyLast(boolean[] dest, int count) {
+        count = Math.min(Math.min(count, dest.length), size);
+        int physical = physicalIndex(size - count);
+        for (int i = 0; i < count; i++) {
+            dest[i] = bitAt(physical);
+            physical++;
+            if (physical == capacity) {
+                physical = 0;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Vacía el búfer.
+     */
+    public void clear() {
+        writeIndex = 0;
+        size = 0;
+    }
+
+    /**
+     * Devuelve el número de muestras conservadas.
+     * @return El tamaño actual, como máximo {@link #capacity()}.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private int physicalIndex(int logicalIndex) {
+        int physical = writeIndex - size + logicalIndex;
+        return physical < 0 ? physical + capacity : physical;
+    }
+
+    private boolean bitAt(int physicalIndex) {
+        return (words[physicalIndex >>> 6] & (1L << (physicalIndex & 63))) != 0;
+    }
+}
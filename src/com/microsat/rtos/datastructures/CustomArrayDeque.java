@@ -0,0 +1,278 @@
+package com.microsat.rtos.datastructures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Cola doble (deque) genérica respaldada por un arreglo circular que crece según se necesite.
+ * A diferencia de una lista enlazada, agregar o quitar elementos no crea nodos: una vez que el
+ * arreglo alcanza el tamaño de trabajo, las operaciones no asignan memoria.
+ * <p>
+ * Agregar y quitar por cualquiera de los extremos es O(1) amortizado; el acceso por índice es O(1).
+ *
+ * @param <T> El tipo de dato que almacenará la deque.
+ */
+public class CustomArrayDeque<T> implements Iterable<T> {
+
+    private static final int INITIAL_CAPACITY = 16; // Siempre potencia de dos
+
+    private Object[] elements;
+    private int head; // Posición física del primer elemento
+    private int size;
+
+    /**
+     * Crea una deque vacía.
+     */
+    public CustomArrayDeque() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Crea una deque vacía con espacio reservado para al menos {@code initialCapacity} elementos.
+     * @param initialCapacity Capacidad inicial.
+     */
+    public CustomArrayDeque(int initialCapacity) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < initialCapacity && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        this.elements = new Object[capacity];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Agrega un elemento al final.
+     * @param data El dato a agregar.
+     */
+    public void addLast(T data) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = data;
+        size++;
+    }
+
+    /**
+     * Agrega un elemento al frente.
+     * @param data El dato a agregar.
+     */
+    public void addFirst(T data) {
+        if (size == elements.length) {
+            grow();
+        }
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = data;
+        size++;
+    }
+
+    /**
+     * Remueve y devuelve el primer elemento.
+     * @return El primer elemento, o null si la deque está vacía.
+     */
+    public T pollFirst() {
+        if (size == 0) {
+            return null;
+        }
+        T data = elementAt(head);
+        elements[head] = null; // No retener referencias para el recolector
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return data;
+    }
+
+    /**
+     * Remueve y devuelve el último elemento.
+     * @return El último elemento, o null si la deque está vacía.
+     */
+    public T pollLast() {
+        if (size == 0) {
+            return null;
+        }
+        int last = (head + size - 1) & (elements.length - 1);
+        T data = elementAt(last);
+        elements[last] = null;
+        size--;
+        return data;
+    }
+
+    /**
+     * Remueve el elemento en la posición lógica indicada, desplazando los siguientes. O(n).
+     * @param index Posición lógica (0 es el primero).
+     * @return El elemento removido.
+     * @throws IndexOutOfBoundsException si el índice está fuera del rango (index < 0 || index >= size()).
+     */
+    public T removeAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int mask = elements.length - 1;
+        T data = elementAt((head + index) & mask);
+        for (int i = index; i < size - 1; i++) {
+            elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+        }
+        elements[(head + size - 1) & mask] = null;
+        size--;
+        return data;
+    }
+
+    /**
+     * Remueve todos los elementos que cumplen la condición, compactando el resto en una sola
+     * pasada y sin alterar su orden. O(n), sin importar cuántos se remuevan.
+     * @param filter Condición de los elementos a remover.
+     * @return El número de elementos removidos.
+     */
+    public int removeIf(Predicate<? super T> filter) {
+        int mask = elements.length - 1;
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            T data = elementAt((head + i) & mask);
+            if (!filter.test(data)) {
+                elements[(head + kept) & mask] = data;
+                kept++;
+            }
+        }
+        for (int i = kept; i < size; i++) {
+            elements[(head + i) & mask] = null;
+        }
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    /**
+     * @return El primer elemento sin removerlo, o null si la deque está vacía.
+     */
+    public T peekFirst() {
+        return size == 0 ? null : elementAt(head);
+    }
+
+    /**
+     * @return El último elemento sin removerlo, o null si la deque está vacía.
+     */
+    public T peekLast() {
+        return size == 0 ? null : elementAt((head + size - 1) & (elements.length - 1));
+    }
+
+    /**
+     * Devuelve el elemento en la posición lógica indicada (0 es el primero).
+     * @param index Posición lógica.
+     * @return El elemento en esa posición.
+     * @throws IndexOutOfBoundsException si el índice está fuera del rango (index < 0 || index >= size()).
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return elementAt((head + index) & (elements.length - 1));
+    }
+
+    /**
+     * Copia los elementos, del primero al último, hacia {@code dest}, como máximo
+     * {@code dest.length} elementos. No lanza excepciones aunque otro hilo modifique la deque
+     * durante la copia (en ese caso el contenido copiado puede ser inconsistente y quien llama
+     * debe validarlo, como hace {@link CustomQueue#snapshot(Object[])}).
+     * @param dest Arreglo destino.
+     * @return El tamaño de la deque leído al comenzar la copia.
+     */
+    public int copyTo(T[] dest) {
+        return copyTo(dest, 0);
+    }
+
+    /**
+     * Igual que {@link #copyTo(Object[])}, pero escribiendo desde la posición {@code offset} de
+     * {@code dest} (como máximo hasta su final).
+     * @param dest Arreglo destino.
+     * @param offset Primera posición de {@code dest} que se escribe.
+     * @return El tamaño de la deque leído al comenzar la copia.
+     */
+    public int copyTo(T[] dest, int offset) {
+        return copyTo(0, dest, offset);
+    }
+
+    /**
+     * Igual que {@link #copyTo(Object[], int)}, pero copiando desde el elemento {@code from}
+     * (0 es el primero). Solo recorre los elementos copiados.
+     * @param from Primer elemento que se copia.
+     * @param dest Arreglo destino.
+     * @param offset Primera posición de {@code dest} que se escribe.
+     * @return El tamaño de la deque leído al comenzar la copia.
+     */
+    @SuppressWarnings("unchecked")
+    public int copyTo(int from, T[] dest, int offset) {
+        Object[] current = elements;
+        int mask = current.length - 1;
+        int first = head + from;
+        int count = size;
+        int limit = Math.max(0, Math.min(count - from, dest.length - offset));
+        for (int i = 0; i < limit; i++) {
+            dest[offset + i] = (T) current[(first + i) & mask];
+        }
+        return count;
+    }
+
+    /**
+     * Vacía la deque conservando la capacidad reservada.
+     */
+    public void clear() {
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++) {
+            elements[(head + i) & mask] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Recorre los elementos del primero al último. No admite modificaciones durante el recorrido.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int physicalIndex) {
+        return (T) elements[physicalIndex];
+    }
+
+    /**
+     * Duplica la capacidad y deja los elementos contiguos desde la posición 0.
+     */
+    private void grow() {
+        int oldCapacity = elements.length;
+        if (oldCapacity == 1 << 30) {
+            throw new IllegalStateException("Capacidad máxima alcanzada");
+        }
+        Object[] newElements = new Object[oldCapacity << 1];
+        int firstPart = Math.min(size, oldCapacity - head);
+        System.arraycopy(elements, head, newElements, 0, firstPart);
+        System.arraycopy(elements, 0, newElements, firstPart, size - firstPart);
+        elements = newElements;
+        head = 0;
+    }
+}
@@ -0,0 +1,116 @@
+package com.microsat.rtos.datastructures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementación de una lista genérica respaldada por un arreglo que crece según se necesite.
+ * Agregar al final es O(1) amortizado y el acceso por índice es O(1).
+ *
+ * @param <T> El tipo de dato que almacenará la lista.
+ */
+public class CustomArrayList<T> implements Iterable<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] elements;
+    private int size;
+
+    /**
+     * Constructor que inicializa una lista vacía.
+     */
+    public CustomArrayList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Crea una lista vacía con espacio reservado para {@code initialCapacity} elementos.
+     * @param initialCapacity Capacidad inicial.
+     */
+    public CustomArrayList(int initialCapacity) {
+        this.elements = new Object[Math.max(1, initialCapacity)];
+        this.size = 0;
+    }
+
+    /**
+     * Agrega un elemento al final de la lista.
+     * @param data El dato a agregar.
+     */
+    public void add(T data) {
+        if (size == elements.length) {
+            ensureCapacity(size + 1);
+        }
+        elements[size++] = data;
+    }
+
+    /**
+     * Agrega al final todos los elementos de otra lista, en orden.
+     * @param other La lista cuyos elementos se agregan.
+     */
+    public void addAll(CustomArrayList<? extends T> other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.elements, 0, elements, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Devuelve el elemento en la posición especificada en esta lista.
+     * @param index índice del elemento a devolver.
+     * @return el elemento en la posición especificada.
+     * @throws IndexOutOfBoundsException si el índice está fuera del rango (index < 0 || index >= size()).
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (T) elements[index];
+    }
+
+    /**
+     * Verifica si la lista está vacía.
+     * @return true si la lista no contiene elementos.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Devuelve el número de elementos en la lista.
+     * @return El tamaño de la lista.
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return (T) elements[index++];
+            }
+        };
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= elements.length) {
+            return;
+        }
+        int newCapacity = Math.max(minCapacity, elements.length * 2);
+        Object[] newElements = new Object[newCapacity];
+        System.arraycopy(elements, 0, newElements, 0, size);
+        elements = newElements;
+    }
+}
@@ -1,12 +1,16 @@
 package com.microsat.rtos.datastructures;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * Implementación de una lista enlazada simple genérica.
  * @param <T> El tipo de dato que almacenará la lista.
  */
-public class CustomLinkedList<T> {
+public class CustomLinkedList<T> implements Iterable<T> {
 
     private Node<T> head;
+    private Node<T> tail; // Último nodo, para agregar al final en O(1)
     private int size;
 
     /**
@@ -14,6 +18,7 @@ public class CustomLinkedList<T> {
      */
     public CustomLinkedList() {
         this.head = null;
+        this.tail = null;
         this.size = 0;
     }
 
@@ -26,12 +31,9 @@ public class CustomLinkedList<T> {
         if (isEmpty()) {
             head = newNode;
         } else {
-            Node<T> current = head;
-            while (current.getNext() != null) {
-                current = current.getNext();
-            }
-            current.setNext(newNode);
+            tail.setNext(newNode);
         }
+        tail = newNode;
         size++;
     }
 
@@ -68,5 +70,31 @@ public class CustomLinkedList<T> {
         return current.getData();
     }
 
+    /**
+     * Devuelve un iterador que recorre la lista en orden, en O(1) por elemento.
+     * Útil para recorrer listas largas sin el costo O(n) de cada {@link #get(int)}.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> current = head;
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public T next() {
+                if (current == null) {
+                    throw new NoSuchElementException();
+                }
+                T data = current.getData();
+                current = current.getNext();
+                return data;
+            }
+        };
+    }
+
     // Aquí se podrían agregar más métodos como remove, etc. según se necesite.
 }
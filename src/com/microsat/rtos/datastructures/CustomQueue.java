@@ -1,24 +1,49 @@
 package com.microsat.rtos.datastructures;
 
+import java.lang.invoke.VarHandle;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
 /**
- * Implementación de una cola (Queue) genérica utilizando una lista enlazada.
- * Sigue el principio FIFO (First-In, First-Out).
+ * Implementación de una cola (Queue) genérica respaldada por un arreglo circular
+ * ({@link CustomArrayDeque}). Sigue el principio FIFO (First-In, First-Out). Encolar y
+ * desencolar no crean objetos, por lo que el uso continuo no genera basura.
+ * <p>
+ * Opcionalmente se le puede asignar un orden ({@link #setOrdering(Comparator)}); en ese caso
+ * los elementos se guardan en un {@link BinaryHeap} y {@link #dequeue()} devuelve siempre el
+ * de menor clave (FIFO entre empates) en O(log n). Si el orden es una {@link LevelOrdering}, los
+ * elementos se guardan en cambio en una {@link LevelQueue} y encolar y desencolar son O(1).
+ * <p>
+ * La cola admite un único escritor a la vez (el Scheduler, bajo su monitor) y lectores
+ * concurrentes de solo lectura, con un seqlock: el escritor deja impar un contador de versión
+ * antes de modificar la cola (con una barrera store-store, para que ninguna escritura del
+ * almacén se vea antes que la versión impar) y lo vuelve a dejar par al terminar (con semántica
+ * de liberación). {@link #snapshot(Object[])} copia el contenido sin bloquear ni alterar la cola
+ * y solo devuelve la copia si leyó la misma versión par antes y después (con una barrera de
+ * adquisición entre la copia y la segunda lectura); si no, reintenta. Así la copia corresponde
+ * siempre a un estado entre dos modificaciones.
  *
  * @param <T> El tipo de dato que almacenará la cola.
  */
-public class CustomQueue<T> {
+public class CustomQueue<T> implements Iterable<T> {
+
+    private final CustomArrayDeque<T> fifo; // Almacén en modo FIFO
+    private BinaryHeap<T> heap; // Solo se usa cuando la cola tiene un orden asignado
+    private LevelQueue<T> levels; // En lugar del montículo, si el orden es por niveles
 
-    private Node<T> head; // Frente de la cola
-    private Node<T> tail; // Final de la cola
-    private int size;
+    /**
+     * Contador de modificaciones. Es impar mientras una modificación está en curso.
+     */
+    private volatile int modCount;
 
     /**
      * Constructor que inicializa una cola vacía.
      */
     public CustomQueue() {
-        this.head = null;
-        this.tail = null;
-        this.size = 0;
+        this.fifo = new CustomArrayDeque<>();
     }
 
     /**
@@ -26,15 +51,15 @@ public class CustomQueue<T> {
      * @param data El dato a encolar.
      */
     public void enqueue(T data) {
-        Node<T> newNode = new Node<>(data);
-        if (isEmpty()) {
-            head = newNode;
-            tail = newNode;
+        beginWrite();
+        if (heap != null) {
+            heap.insert(data);
+        } else if (levels != null) {
+            levels.insert(data);
         } else {
-            tail.setNext(newNode);
-            tail = newNode;
+            fifo.addLast(data);
         }
-        size++;
+        endWrite();
     }
 
     /**
@@ -45,21 +70,85 @@ public class CustomQueue<T> {
         if (isEmpty()) {
             return null; // O lanzar una excepción como NoSuchElementException
         }
-        T data = head.getData();
-        head = head.getNext();
-        if (head == null) {
-            tail = null; // La cola quedó vacía
-        }
-        size--;
+        beginWrite();
+        T data = heap != null ? heap.poll() : levels != null ? levels.poll() : fifo.pollFirst();
+        endWrite();
         return data;
     }
 
+    /**
+     * Remueve el elemento en la posición indicada del recorrido de {@link #iterator()}. Sirve
+     * para sacar un elemento que no está al frente, después de encontrarlo recorriendo la cola.
+     * O(log n) con orden asignado y O(n) en modo FIFO o por niveles (solo el nivel del elemento).
+     * @param index Posición en el orden de recorrido.
+     * @return El elemento removido.
+     * @throws IndexOutOfBoundsException si el índice está fuera de rango.
+     */
+    public T removeAt(int index) {
+        beginWrite();
+        try {
+            return heap != null ? heap.removeAt(index) : levels != null ? levels.removeAt(index) : fifo.removeAt(index);
+        } finally {
+            endWrite();
+        }
+    }
+
+    /**
+     * Remueve todos los elementos que cumplen la condición en una sola pasada. Los que quedan
+     * conservan su orden de salida. O(n), sin importar cuántos se remuevan: conviene a
+     * {@link #removeAt(int)} cuando hay que sacar varios elementos a la vez.
+     * @param filter Condición de los elementos a remover.
+     * @return El número de elementos removidos.
+     */
+    public int removeIf(Predicate<? super T> filter) {
+        beginWrite();
+        try {
+            return heap != null ? heap.removeIf(filter) : levels != null ? levels.removeIf(filter) : fifo.removeIf(filter);
+        } finally {
+            endWrite();
+        }
+    }
+
+    /**
+     * Devuelve el elemento en la posición indicada del recorrido de {@link #iterator()}.
+     * @param index Posición en el orden de recorrido.
+     * @return El elemento en esa posición.
+     * @throws IndexOutOfBoundsException si el índice está fuera de rango.
+     */
+    public T get(int index) {
+        return heap != null ? heap.get(index) : levels != null ? levels.get(index) : fifo.get(index);
+    }
+
+    /**
+     * Busca el elemento de mayor valor según {@code key}. Entre empates elige el que saldría
+     * último de la cola, así que el resultado depende solo del contenido y del orden de salida
+     * (el que conserva un checkpoint), no de la disposición interna del montículo. O(n).
+     * @param key Criterio a maximizar (puede ser distinto del orden de la cola).
+     * @return La posición del elemento en el recorrido de {@link #iterator()}, o -1 si la cola
+     *         está vacía.
+     */
+    public int indexOfMax(Comparator<? super T> key) {
+        if (heap != null) {
+            return heap.indexOfMax(key);
+        }
+        if (levels != null) {
+            return levels.indexOfMax(key);
+        }
+        int best = -1;
+        for (int i = 0; i < fifo.size(); i++) {
+            if (best < 0 || key.compare(fifo.get(i), fifo.get(best)) >= 0) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
     /**
      * Verifica si la cola está vacía.
      * @return true si la cola no tiene elementos.
      */
     public boolean isEmpty() {
-        return head == null;
+        return heap != null ? heap.isEmpty() : levels != null ? levels.isEmpty() : fifo.isEmpty();
     }
 
     /**
@@ -67,6 +156,221 @@ public class CustomQueue<T> {
      * @return El tamaño actual de la cola.
      */
     public int size() {
-        return size;
+        return heap != null ? heap.size() : levels != null ? levels.size() : fifo.size();
+    }
+
+    /**
+     * Devuelve el elemento que saldría en el próximo {@link #dequeue()} sin removerlo. O(1).
+     * @return El dato al frente de la cola, o null si la cola está vacía.
+     */
+    public T peek() {
+        if (heap != null) {
+            return heap.peek();
+        }
+        return levels != null ? levels.peek() : fifo.peekFirst();
+    }
+
+    /**
+     * Asigna el orden de salida de la cola. Los elementos presentes se reorganizan conservando
+     * su orden de llegada para los empates.
+     * @param ordering La clave de ordenamiento, o null para volver a FIFO puro.
+     */
+    @SuppressWarnings("unchecked")
+    public void setOrdering(Comparator<? super T> ordering) {
+        if (ordering == getOrdering()) {
+            return;
+        }
+        beginWrite();
+        if (levels != null) {
+            // Salir del modo por niveles: los elementos pasan a FIFO en su orden de salida.
+            LevelQueue<T> oldLevels = levels;
+            levels = null;
+            while (!oldLevels.isEmpty()) {
+                fifo.addLast(oldLevels.poll());
+            }
+        }
+        if (ordering instanceof LevelOrdering) {
+            LevelQueue<T> newLevels = new LevelQueue<>((LevelOrdering<? super T>) ordering);
+            if (heap != null) {
+                while (!heap.isEmpty()) {
+                    newLevels.insert(heap.poll());
+                }
+                heap = null;
+            }
+            while (!fifo.isEmpty()) {
+                newLevels.insert(fifo.pollFirst());
+            }
+            levels = newLevels;
+        } else if (ordering == null) {
+            if (heap != null) {
+                // Volver a FIFO: el montículo sin clave entrega los elementos en orden de llegada.
+                BinaryHeap<T> oldHeap = heap;
+                heap = null;
+                oldHeap.setComparator(null);
+                while (!oldHeap.isEmpty()) {
+                    fifo.addLast(oldHeap.poll());
+                }
+            }
+        } else if (heap == null) {
+            BinaryHeap<T> newHeap = new BinaryHeap<>(ordering);
+            while (!fifo.isEmpty()) {
+                newHeap.insert(fifo.pollFirst());
+            }
+            heap = newHeap;
+        } else {
+            heap.setComparator(ordering);
+        }
+        endWrite();
+    }
+
+    /**
+     * Vuelve a ordenar la cola después de que cambiaron las claves de algunos de sus elementos
+     * (por ejemplo, las prioridades de los procesos que esperan). Los empates conservan el orden
+     * de llegada (con orden asignado) o el de salida anterior (por niveles). O(n); en modo FIFO
+     * no hace nada.
+     */
+    public void reorder() {
+        if (heap == null && levels == null) {
+            return;
+        }
+        beginWrite();
+        if (heap != null) {
+            heap.setComparator(heap.getComparator());
+        } else {
+            levels.reorder();
+        }
+        endWrite();
+    }
+
+    /**
+     * @return El orden actual de la cola, o null si es FIFO.
+     */
+    public Comparator<? super T> getOrdering() {
+        return heap != null ? heap.getComparator() : levels != null ? levels.getOrdering() : null;
+    }
+
+    /**
+     * Devuelve el contador de modificaciones. Si dos lecturas devuelven el mismo valor,
+     * la cola no cambió entre ellas.
+     * @return La versión actual de la cola.
+     */
+    public int getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Copia el contenido de la cola en {@code dest} sin modificarla. Puede llamarse desde otro
+     * hilo mientras el escritor trabaja: si la cola cambia durante la copia, se reintenta hasta
+     * obtener una versión consistente. Con orden asignado, los elementos salen en el orden
+     * interno del montículo, no en orden de extracción (por niveles, sí en orden de extracción).
+     * @param dest Arreglo destino; se copian como máximo {@code dest.length} elementos.
+     * @return El número de elementos de la cola en la versión copiada. Si es mayor que
+     *         {@code dest.length}, la copia quedó truncada.
+     */
+    public int snapshot(T[] dest) {
+        return snapshot(dest, 0);
+    }
+
+    /**
+     * Como {@link #snapshot(Object[])}, pero copia solo los elementos desde la posición
+     * {@code from} del mismo orden (por ejemplo, las filas visibles de una lista). El costo depende
+     * de {@code dest.length} y no del tamaño de la cola.
+     * @param dest Arreglo destino; se copian como máximo {@code dest.length} elementos.
+     * @param from Primera posición que se copia.
+     * @return El número de elementos de la cola en la versión copiada (no solo los copiados).
+     * @throws IllegalArgumentException si {@code from} es negativo.
+     */
+    public int snapshot(T[] dest, int from) {
+        if (from < 0) {
+            throw new IllegalArgumentException("Posición inicial negativa: " + from);
+        }
+        int spins = 0;
+        while (true) {
+            int version = modCount;
+            if ((version & 1) == 0) {
+                int count = copyUnsynchronized(dest, from);
+                VarHandle.acquireFence(); // Las lecturas anteriores no pueden moverse después de la validación
+                if (modCount == version) {
+                    return count;
+                }
+            }
+            if (++spins % 64 == 0) {
+                Thread.yield();
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Copia el contenido de la cola en {@code dest} en el orden en que saldría con
+     * {@link #dequeue()}, sin modificarla. A diferencia de {@link #snapshot(Object[])}, solo debe
+     * llamarse desde el hilo escritor. Volver a encolar los elementos en este orden en una cola
+     * con el mismo orden asignado reproduce exactamente las salidas futuras, empates incluidos.
+     * @param dest Arreglo destino; se copian como máximo {@code dest.length} elementos.
+     * @return El número de elementos copiados.
+     */
+    public int copyInDequeueOrder(T[] dest) {
+        if (heap != null) {
+            return heap.copyInPollOrder(dest);
+        }
+        return Math.min(levels != null ? levels.copyTo(dest) : fifo.copyTo(dest), dest.length);
+    }
+
+    /**
+     * Copia optimista, sin validar.
+     */
+    private int copyUnsynchronized(T[] dest, int from) {
+        BinaryHeap<T> currentHeap = heap;
+        if (currentHeap != null) {
+            int count = currentHeap.size();
+            currentHeap.copyTo(from, dest);
+            return count;
+        }
+        LevelQueue<T> currentLevels = levels;
+        return currentLevels != null ? currentLevels.copyTo(from, dest) : fifo.copyTo(from, dest, 0);
+    }
+
+    /**
+     * Devuelve un iterador de solo lectura. Solo debe usarse desde el hilo escritor; si la cola
+     * se modifica durante el recorrido, lanza {@link ConcurrentModificationException}.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final int expectedModCount = modCount;
+            private final BinaryHeap<T> iteratedHeap = heap;
+            private final LevelQueue<T> iteratedLevels = levels;
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < (iteratedHeap != null ? iteratedHeap.size()
+                        : iteratedLevels != null ? iteratedLevels.size() : fifo.size());
+            }
+
+            @Override
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (iteratedHeap != null) {
+                    return iteratedHeap.get(index++);
+                }
+                return iteratedLevels != null ? iteratedLevels.get(index++) : fifo.get(index++);
+            }
+        };
+    }
+
+    private void beginWrite() {
+        modCount++;
+        VarHandle.storeStoreFence(); // Las escrituras del almacén no pueden verse antes de la versión impar
+    }
+
+    private void endWrite() {
+        modCount++;
     }
 }
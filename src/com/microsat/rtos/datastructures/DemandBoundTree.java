@@ -0,0 +1,308 @@
+package com.microsat.rtos.datastructures;
+
+/**
+ * Árbol de demanda para la prueba de planificabilidad de EDF con trabajos de una sola ejecución.
+ * Cada elemento es un trabajo con un deadline absoluto, un ID (para desempatar) y su demanda (ticks
+ * de CPU pendientes). En orden de deadline, el trabajo k termina a más tardar en
+ * {@code tick + demanda acumulada hasta k}; el conjunto es factible si ninguno pasa su deadline,
+ * es decir, si la menor holgura {@code deadline_k - demanda acumulada_k} es al menos el tick actual.
+ * <p>
+ * Es un treap (árbol binario de búsqueda con prioridades aleatorias) respaldado por arreglos
+ * primitivos, en el que cada nodo guarda la demanda total de su subárbol y la menor holgura
+ * relativa a él. Insertar, remover, actualizar la demanda de un trabajo y consultar la holgura
+ * mínima del conjunto cuestan O(log n) esperado, sin recorrer los trabajos. Una vez alcanzada la
+ * capacidad necesaria, las operaciones no crean objetos.
+ * <p>
+ * Un trabajo puede quedar sin restricción propia ({@link #dropDeadline(long, int)}): sigue sumando
+ * demanda a los de deadline posterior, pero su deadline deja de contar. Sirve para los trabajos que
+ * ya incumplieron y siguen ejecutando.
+ */
+public class DemandBoundTree {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NONE = -1;
+
+    private long[] deadline;
+    private int[] id;
+    private long[] demand;
+    private boolean[] constrained; // false = su deadline ya no cuenta
+    private int[] priority;
+    private int[] left; // También enlaza la lista de posiciones libres
+    private int[] right;
+    private long[] subtreeDemand;
+    private long[] subtreeSlack; // Menor deadline - demanda acumulada dentro del subárbol
+    private int root;
+    private int freeList;
+    private int used; // Posiciones usadas alguna vez
+    private int size;
+    private int seed;
+
+    /**
+     * Crea un árbol vacío.
+     */
+    public DemandBoundTree() {
+        this.deadline = new long[INITIAL_CAPACITY];
+        this.id = new int[INITIAL_CAPACITY];
+        this.demand = new long[INITIAL_CAPACITY];
+        this.constrained = new boolean[INITIAL_CAPACITY];
+        this.priority = new int[INITIAL_CAPACITY];
+        this.left = new int[INITIAL_CAPACITY];
+        this.right = new int[INITIAL_CAPACITY];
+        this.subtreeDemand = new long[INITIAL_CAPACITY];
+        this.subtreeSlack = new long[INITIAL_CAPACITY];
+        this.root = NONE;
+        this.freeList = NONE;
+        this.seed = 0x2545F491; // Fija: el mismo conjunto de operaciones da siempre el mismo árbol
+    }
+
+    /**
+     * Agrega un trabajo. No verifica duplicados: cada par (deadline, ID) debe ser único.
+     * @param jobDeadline Deadline absoluto.
+     * @param jobId ID del trabajo.
+     * @param jobDemand Ticks de CPU pendientes.
+     */
+    public void insert(long jobDeadline, int jobId, long jobDemand) {
+        int node = allocate();
+        deadline[node] = jobDeadline;
+        id[node] = jobId;
+        demand[node] = jobDemand;
+        constrained[node] = true;
+        priority[node] = nextPriority();
+        left[node] = NONE;
+        right[node] = NONE;
+        update(node);
+        root = insert(root, node);
+        size++;
+    }
+
+    /**
+     * Quita un trabajo.
+     * @return true si estaba en el árbol.
+     */
+    public boolean remove(long jobDeadline, int jobId) {
+        int before = size;
+        root = remove(root, jobDeadline, jobId);
+        return size < before;
+    }
+
+    /**
+     * Cambia la demanda pendiente de un trabajo.
+     * @return true si estaba en el árbol.
+     */
+    public boolean setDemand(long jobDeadline, int jobId, long jobDemand) {
+        return modify(root, jobDeadline, jobId, jobDemand, true);
+    }
+
+    /**
+     * Deja de exigir el deadline de un trabajo, sin quitar su demanda.
+     * @return true si estaba en el árbol.
+     */
+    public boolean dropDeadline(long jobDeadline, int jobId) {
+        return modify(root, jobDeadline, jobId, -1, false);
+    }
+
+    /**
+     * @return La menor holgura del conjunto ({@code deadline - demanda acumulada}) entre los
+     *         trabajos con restricción, o Long.MAX_VALUE si no hay ninguno. El conjunto es
+     *         factible desde el tick t si el resultado es al menos t.
+     */
+    public long getMinSlack() {
+        return root == NONE ? Long.MAX_VALUE : subtreeSlack[root];
+    }
+
+    /**
+     * @return La demanda total de los trabajos del árbol.
+     */
+    public long getTotalDemand() {
+        return root == NONE ? 0 : subtreeDemand[root];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Vacía el árbol conservando la capacidad.
+     */
+    public void clear() {
+        root = NONE;
+        freeList = NONE;
+        used = 0;
+        size = 0;
+    }
+
+    // --- Operaciones internas ---
+
+    private boolean less(long aDeadline, int aId, int node) {
+        return aDeadline < deadline[node] || (aDeadline == deadline[node] && aId < id[node]);
+    }
+
+    private int insert(int tree, int node) {
+        if (tree == NONE) {
+            return node;
+        }
+        if (less(deadline[node], id[node], tree)) {
+            left[tree] = insert(left[tree], node);
+            if (priority[left[tree]] > priority[tree]) {
+                tree = rotateRight(tree);
+            }
+        } else {
+            right[tree] = insert(right[tree], node);
+            if (priority[right[tree]] > priority[tree]) {
+                tree = rotateLeft(tree);
+            }
+        }
+        update(tree);
+        return tree;
+    }
+
+    private int remove(int tree, long jobDeadline, int jobId) {
+        if (tree == NONE) {
+            return NONE;
+        }
+        if (deadline[tree] == jobDeadline && id[tree] == jobId) {
+            int merged = merge(left[tree], right[tree]);
+            left[tree] = freeList;
+            freeList = tree;
+            size--;
+            return merged;
+        }
+        if (less(jobDeadline, jobId, tree)) {
+            left[tree] = remove(left[tree], jobDeadline, jobId);
+        } else {
+            right[tree] = remove(right[tree], jobDeadline, jobId);
+        }
+        update(tree);
+        return tree;
+    }
+
+    private boolean modify(int tree, long jobDeadline, int jobId, long jobDemand, boolean setDemand) {
+        if (tree == NONE) {
+            return false;
+        }
+        boolean found;
+        if (deadline[tree] == jobDeadline && id[tree] == jobId) {
+            if (setDemand) {
+                demand[tree] = jobDemand;
+            } else {
+                constrained[tree] = false;
+            }
+            found = true;
+        } else if (less(jobDeadline, jobId, tree)) {
+            found = modify(left[tree], jobDeadline, jobId, jobDemand, setDemand);
+        } else {
+            found = modify(right[tree], jobDeadline, jobId, jobDemand, setDemand);
+        }
+        if (found) {
+            update(tree);
+        }
+        return found;
+    }
+
+    /**
+     * Une dos subárboles en los que todas las claves de {@code a} son menores que las de {@code b}.
+     */
+    private int merge(int a, int b) {
+        if (a == NONE) {
+            return b;
+        }
+        if (b == NONE) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    /**
+     * Recalcula la demanda y la holgura del subárbol a partir de las de sus hijos.
+     */
+    private void update(int node) {
+        int l = left[node];
+        int r = right[node];
+        long before = (l == NONE ? 0 : subtreeDemand[l]) + demand[node]; // Demanda hasta este trabajo
+        long slack = l == NONE ? Long.MAX_VALUE : subtreeSlack[l];
+        if (constrained[node]) {
+            slack = Math.min(slack, deadline[node] - before);
+        }
+        if (r != NONE && subtreeSlack[r] != Long.MAX_VALUE) {
+            slack = Math.min(slack, subtreeSlack[r] - before);
+        }
+        subtreeDemand[node] = before + (r == NONE ? 0 : subtreeDemand[r]);
+        subtreeSlack[node] = slack;
+    }
+
+    private int allocate() {
+        if (freeList != NONE) {
+            int node = freeList;
+            freeList = left[node];
+            return node;
+        }
+        if (used == deadline.length) {
+            grow();
+        }
+        return used++;
+    }
+
+    private int nextPriority() {
+        // xorshift32: barato y reproducible
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private void grow() {
+        int capacity = deadline.length * 2;
+        deadline = copyOf(deadline, capacity);
+        id = copyOf(id, capacity);
+        demand = copyOf(demand, capacity);
+        boolean[] newConstrained = new boolean[capacity];
+        System.arraycopy(constrained, 0, newConstrained, 0, used);
+        constrained = newConstrained;
+        priority = copyOf(priority, capacity);
+        left = copyOf(left, capacity);
+        right = copyOf(right, capacity);
+        subtreeDemand = copyOf(subtreeDemand, capacity);
+        subtreeSlack = copyOf(subtreeSlack, capacity);
+    }
+
+    private long[] copyOf(long[] values, int capacity) {
+        long[] copy = new long[capacity];
+        System.arraycopy(values, 0, copy, 0, used);
+        return copy;
+    }
+
+    private int[] copyOf(int[] values, int capacity) {
+        int[] copy = new int[capacity];
+        System.arraycopy(values, 0, copy, 0, used);
+        return copy;
+    }
+}
@@ -0,0 +1,194 @@
+package com.microsat.rtos.datastructures;
+
+/**
+ * Montículo binario mínimo de enteros con clave {@code long}, respaldado por arreglos primitivos.
+ * Es la variante sin objetos de {@link BinaryHeap}: pensado para colas de índices (por ejemplo,
+ * posiciones de una tabla de procesos), donde no se quiere un objeto ni un nodo por elemento.
+ * Los empates de clave se resuelven por orden de inserción (FIFO).
+ * <p>
+ * Inserción y extracción del mínimo en O(log n); consulta del mínimo en O(1). Una vez alcanzada
+ * la capacidad necesaria, las operaciones no crean objetos.
+ */
+public class IntBinaryHeap {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] values;
+    private long[] keys;
+    private long[] sequence; // Número de inserción de cada elemento, para desempate estable
+    private int size;
+    private long nextSequence;
+
+    /**
+     * Crea un montículo vacío.
+     */
+    public IntBinaryHeap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Crea un montículo vacío con espacio reservado para {@code initialCapacity} elementos.
+     * @param initialCapacity Capacidad inicial.
+     */
+    public IntBinaryHeap(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.values = new int[capacity];
+        this.keys = new long[capacity];
+        this.sequence = new long[capacity];
+        this.size = 0;
+        this.nextSequence = 0;
+    }
+
+    /**
+     * Inserta un valor con la clave indicada.
+     * @param value El valor a insertar.
+     * @param key Su clave (menor = sale antes).
+     */
+    public void insert(int value, long key) {
+        if (size == values.length) {
+            grow();
+        }
+        values[size] = value;
+        keys[size] = key;
+        sequence[size] = nextSequence++;
+        siftUp(size);
+        size++;
+    }
+
+    /**
+     * Remueve y devuelve el valor de menor clave.
+     * @return El valor mínimo.
+     * @throws IllegalStateException si el montículo está vacío.
+     */
+    public int poll() {
+        if (size == 0) {
+            throw new IllegalStateException("El montículo está vacío");
+        }
+        int result = values[0];
+        size--;
+        if (size > 0) {
+            values[0] = values[size];
+            keys[0] = keys[size];
+            sequence[0] = sequence[size];
+            siftDown(0);
+        }
+        return result;
+    }
+
+    /**
+     * Devuelve el valor de menor clave sin removerlo.
+     * @return El valor mínimo.
+     * @throws IllegalStateException si el montículo está vacío.
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("El montículo está vacío");
+        }
+        return values[0];
+    }
+
+    /**
+     * Devuelve la clave del valor mínimo.
+     * @return La menor clave.
+     * @throws IllegalStateException si el montículo está vacío.
+     */
+    public long peekKey() {
+        if (size == 0) {
+            throw new IllegalStateException("El montículo está vacío");
+        }
+        return keys[0];
+    }
+
+    /**
+     * Devuelve el valor en la posición interna indicada. El orden interno no es el orden de
+     * extracción; sirve para recorridos de solo lectura.
+     * @param index Posición interna (0 &lt;= index &lt; size()).
+     * @return El valor almacenado en esa posición.
+     * @throws IndexOutOfBoundsException si el índice está fuera de rango.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return values[index];
+    }
+
+    /**
+     * Vacía el montículo conservando la capacidad reservada.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // --- Operaciones internas ---
+
+    private boolean less(int i, int j) {
+        if (keys[i] != keys[j]) {
+            return keys[i] < keys[j];
+        }
+        return sequence[i] < sequence[j];
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!less(index, parent)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                break;
+            }
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && less(right, left)) {
+                smallest = right;
+            }
+            if (!less(smallest, index)) {
+                break;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int tmpValue = values[i];
+        values[i] = values[j];
+        values[j] = tmpValue;
+        long tmpKey = keys[i];
+        keys[i] = keys[j];
+        keys[j] = tmpKey;
+        long tmpSeq = sequence[i];
+        sequence[i] = sequence[j];
+        sequence[j] = tmpSeq;
+    }
+
+    private void grow() {
+        int newCapacity = values.length * 2;
+        int[] newValues = new int[newCapacity];
+        long[] newKeys = new long[newCapacity];
+        long[] newSequence = new long[newCapacity];
+        System.arraycopy(values, 0, newValues, 0, size);
+        System.arraycopy(keys, 0, newKeys, 0, size);
+        System.arraycopy(sequence, 0, newSequence, 0, size);
+        values = newValues;
+        keys = newKeys;
+        sequence = newSequence;
+    }
+}
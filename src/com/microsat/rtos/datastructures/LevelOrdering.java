@@ -0,0 +1,55 @@
+package com.microsat.rtos.datastructures;
+
+import java.util.Comparator;
+import java.util.function.ToIntFunction;
+
+/**
+ * Orden por niveles: la clave de cada elemento es un entero en {@code [0, levelCount)} (menor =
+ * sale antes) y los empates se resuelven por orden de llegada. Sirve como cualquier
+ * {@link Comparator}, pero asignado a una {@link CustomQueue} hace que la cola guarde sus elementos
+ * en una {@link LevelQueue}, donde encolar y desencolar cuestan O(1) en lugar de O(log n).
+ *
+ * @param <T> El tipo de los elementos.
+ */
+public final class LevelOrdering<T> implements Comparator<T> {
+
+    /**
+     * Máximo número de niveles: uno por bit del mapa de niveles ocupados de {@link LevelQueue}.
+     */
+    public static final int MAX_LEVELS = Long.SIZE;
+
+    private final ToIntFunction<? super T> level;
+    private final int levelCount;
+
+    /**
+     * Crea un orden por niveles.
+     * @param level Nivel de cada elemento; debe estar en {@code [0, levelCount)}.
+     * @param levelCount Número de niveles, entre 1 y {@link #MAX_LEVELS}.
+     * @throws IllegalArgumentException si el número de niveles está fuera de rango.
+     */
+    public LevelOrdering(ToIntFunction<? super T> level, int levelCount) {
+        if (levelCount <= 0 || levelCount > MAX_LEVELS) {
+            throw new IllegalArgumentException("El número de niveles debe estar entre 1 y " + MAX_LEVELS
+                    + ": " + levelCount);
+        }
+        this.level = level;
+        this.levelCount = levelCount;
+    }
+
+    /**
+     * @param element Un elemento.
+     * @return Su nivel (0 = el que sale primero).
+     */
+    public int levelOf(T element) {
+        return level.applyAsInt(element);
+    }
+
+    public int getLevelCount() {
+        return levelCount;
+    }
+
+    @Override
+    public int compare(T a, T b) {
+        return Integer.compare(levelOf(a), levelOf(b));
+    }
+}
@@ -0,0 +1,231 @@
+package com.microsat.rtos.datastructures;
+
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+/**
+ * Cola por niveles: una cola FIFO ({@link CustomArrayDeque}) por nivel de una
+ * {@link LevelOrdering} y un mapa de bits con los niveles ocupados. Sale primero el elemento más
+ * antiguo del nivel más bajo, igual que en un {@link BinaryHeap} con el mismo orden, pero el nivel
+ * a atender sale del bit menos significativo del mapa ({@link Long#numberOfTrailingZeros(long)}):
+ * encolar, desencolar y consultar el frente son O(1), sin importar cuántos elementos haya.
+ * <p>
+ * El recorrido por índice ({@link #get(int)}) sigue el orden de salida: primero el nivel más bajo
+ * y, dentro de cada nivel, el orden de llegada.
+ *
+ * @param <T> El tipo de dato que almacenará la cola.
+ */
+public class LevelQueue<T> {
+
+    private final LevelOrdering<? super T> ordering;
+    private final Object[] levels; // Una CustomArrayDeque<T> por nivel
+    private final CustomArrayDeque<T> moving; // Auxiliar de reorder(), se reutiliza
+    private long occupied; // Bit i encendido = el nivel i tiene elementos
+    private int size;
+
+    /**
+     * Crea una cola vacía.
+     * @param ordering Define el nivel de cada elemento.
+     */
+    public LevelQueue(LevelOrdering<? super T> ordering) {
+        this.ordering = ordering;
+        this.levels = new Object[ordering.getLevelCount()];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = new CustomArrayDeque<T>();
+        }
+        this.moving = new CustomArrayDeque<>();
+    }
+
+    /**
+     * Agrega un elemento al final de su nivel. O(1) amortizado.
+     * @param data El dato a insertar.
+     */
+    public void insert(T data) {
+        int level = ordering.levelOf(data);
+        level(level).addLast(data);
+        occupied |= 1L << level;
+        size++;
+    }
+
+    /**
+     * Remueve y devuelve el elemento más antiguo del nivel más bajo. O(1).
+     * @return El elemento, o null si la cola está vacía.
+     */
+    public T poll() {
+        if (size == 0) {
+            return null;
+        }
+        int level = Long.numberOfTrailingZeros(occupied);
+        CustomArrayDeque<T> queue = level(level);
+        T data = queue.pollFirst();
+        if (queue.isEmpty()) {
+            occupied &= ~(1L << level);
+        }
+        size--;
+        return data;
+    }
+
+    /**
+     * Devuelve el elemento que saldría con {@link #poll()} sin removerlo. O(1).
+     * @return El elemento, o null si la cola está vacía.
+     */
+    public T peek() {
+        return size == 0 ? null : level(Long.numberOfTrailingZeros(occupied)).peekFirst();
+    }
+
+    /**
+     * Devuelve el elemento en la posición indicada del orden de salida. O(niveles).
+     * @param index Posición (0 es el próximo en salir).
+     * @return El elemento en esa posición.
+     * @throws IndexOutOfBoundsException si el índice está fuera de rango.
+     */
+    public T get(int index) {
+        checkIndex(index);
+        int position = index;
+        for (long bits = occupied; ; bits &= bits - 1) {
+            CustomArrayDeque<T> queue = level(Long.numberOfTrailingZeros(bits));
+            if (position < queue.size()) {
+                return queue.get(position);
+            }
+            position -= queue.size();
+        }
+    }
+
+    /**
+     * Remueve el elemento en la posición indicada del orden de salida. O(niveles + tamaño de su nivel).
+     * @param index Posición (0 es el próximo en salir).
+     * @return El elemento removido.
+     * @throws IndexOutOfBoundsException si el índice está fuera de rango.
+     */
+    public T removeAt(int index) {
+        checkIndex(index);
+        int position = index;
+        for (long bits = occupied; ; bits &= bits - 1) {
+            int level = Long.numberOfTrailingZeros(bits);
+            CustomArrayDeque<T> queue = level(level);
+            if (position < queue.size()) {
+                T data = queue.removeAt(position);
+                if (queue.isEmpty()) {
+                    occupied &= ~(1L << level);
+                }
+                size--;
+                return data;
+            }
+            position -= queue.size();
+        }
+    }
+
+    /**
+     * Remueve todos los elementos que cumplen la condición en una sola pasada, sin alterar el
+     * orden de los demás. O(n).
+     * @param filter Condición de los elementos a remover.
+     * @return El número de elementos removidos.
+     */
+    public int removeIf(Predicate<? super T> filter) {
+        int removed = 0;
+        for (long bits = occupied; bits != 0; bits &= bits - 1) {
+            int level = Long.numberOfTrailingZeros(bits);
+            CustomArrayDeque<T> queue = level(level);
+            removed += queue.removeIf(filter);
+            if (queue.isEmpty()) {
+                occupied &= ~(1L << level);
+            }
+        }
+        size -= removed;
+        return removed;
+    }
+
+    /**
+     * Busca el elemento de mayor valor según {@code key}. Entre empates elige el que saldría
+     * último de la cola. O(n).
+     * @param key Criterio a maximizar (puede ser distinto del orden de la cola).
+     * @return La posición del elemento en el orden de salida, o -1 si la cola está vacía.
+     */
+    public int indexOfMax(Comparator<? super T> key) {
+        int best = -1;
+        T bestData = null;
+        int index = 0;
+        for (long bits = occupied; bits != 0; bits &= bits - 1) {
+            CustomArrayDeque<T> queue = level(Long.numberOfTrailingZeros(bits));
+            for (int i = 0; i < queue.size(); i++, index++) {
+                T data = queue.get(i);
+                if (best < 0 || key.compare(data, bestData) >= 0) {
+                    best = index;
+                    bestData = data;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Vuelve a ubicar cada elemento en su nivel, después de que cambiaron los niveles de algunos.
+     * Los que terminan en el mismo nivel conservan entre sí el orden de salida anterior. O(n).
+     */
+    public void reorder() {
+        while (size > 0) {
+            moving.addLast(poll());
+        }
+        while (!moving.isEmpty()) {
+            insert(moving.pollFirst());
+        }
+    }
+
+    /**
+     * Copia los elementos en orden de salida hacia {@code dest}, como máximo {@code dest.length}.
+     * Como {@link CustomArrayDeque#copyTo(Object[])}, no lanza excepciones aunque otro hilo
+     * modifique la cola durante la copia; quien llama debe validar el resultado.
+     * @param dest Arreglo destino.
+     * @return El número de elementos de la cola según los tamaños leídos durante la copia.
+     */
+    public int copyTo(T[] dest) {
+        int count = 0;
+        for (int level = 0; level < levels.length; level++) {
+            count += level(level).copyTo(dest, Math.min(count, dest.length));
+        }
+        return count;
+    }
+
+    /**
+     * Como {@link #copyTo(Object[])}, pero copiando desde la posición {@code from} del orden de
+     * salida. Los niveles anteriores a esa posición se saltan sin recorrerlos.
+     * @param from Primera posición que se copia.
+     * @param dest Arreglo destino.
+     * @return El número de elementos de la cola según los tamaños leídos durante la copia.
+     */
+    public int copyTo(int from, T[] dest) {
+        int count = 0;
+        int copied = 0;
+        for (int level = 0; level < levels.length; level++) {
+            CustomArrayDeque<T> queue = level(level);
+            int skip = Math.max(0, from - count);
+            int levelSize = queue.copyTo(skip, dest, copied);
+            copied = Math.min(dest.length, copied + Math.max(0, levelSize - skip));
+            count += levelSize;
+        }
+        return count;
+    }
+
+    public LevelOrdering<? super T> getOrdering() {
+        return ordering;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CustomArrayDeque<T> level(int level) {
+        return (CustomArrayDeque<T>) levels[level];
+    }
+}
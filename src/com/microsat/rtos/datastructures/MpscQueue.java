@@ -0,0 +1,112 @@
+package com.microsat.rtos.datastructures;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cola sin bloqueos para múltiples productores y un único consumidor (MPSC), basada en una lista
+ * enlazada con nodo centinela. Los productores solo hacen un intercambio atómico sobre el final
+ * de la cola, así que nunca esperan a un monitor ni al consumidor; {@link #offerAll} publica un
+ * lote completo con un solo intercambio.
+ * <p>
+ * {@link #poll()} y {@link #drainTo(CustomQueue)} solo deben llamarse desde el hilo consumidor.
+ * Un elemento recién ofrecido puede tardar un instante en ser visible para el consumidor (entre
+ * el intercambio y el enlace del productor); en ese caso aparece en la siguiente consulta.
+ *
+ * @param <T> El tipo de dato que almacenará la cola.
+ */
+public class MpscQueue<T> {
+
+    /**
+     * Nodo de la cola. Se usa una clase propia (y no {@link Node}) porque el enlace debe ser volátil.
+     */
+    private static final class Link<T> {
+        private T value;
+        private volatile Link<T> next;
+
+        Link(T value) {
+            this.value = value;
+        }
+    }
+
+    private final AtomicReference<Link<T>> tail; // Lado de los productores
+    private Link<T> head; // Centinela; solo lo modifica el consumidor
+
+    /**
+     * Crea una cola vacía.
+     */
+    public MpscQueue() {
+        Link<T> stub = new Link<>(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * Agrega un elemento al final. Puede llamarse desde cualquier hilo.
+     * @param data El dato a agregar; no debe ser null.
+     */
+    public void offer(T data) {
+        Link<T> link = new Link<>(data);
+        Link<T> previous = tail.getAndSet(link);
+        previous.next = link;
+    }
+
+    /**
+     * Agrega todos los elementos de la lista, en orden y como un único bloque contiguo: los
+     * elementos de otro productor no quedan intercalados. Puede llamarse desde cualquier hilo.
+     * @param data Los datos a agregar; ninguno debe ser null.
+     */
+    public void offerAll(CustomArrayList<? extends T> data) {
+        int count = data.size();
+        if (count == 0) {
+            return;
+        }
+        Link<T> first = new Link<>(data.get(0));
+        Link<T> last = first;
+        for (int i = 1; i < count; i++) {
+            Link<T> link = new Link<>(data.get(i));
+            last.next = link;
+            last = link;
+        }
+        Link<T> previous = tail.getAndSet(last);
+        previous.next = first;
+    }
+
+    /**
+     * Remueve y devuelve el primer elemento. Solo para el hilo consumidor.
+     * @return El primer elemento, o null si la cola está vacía.
+     */
+    public T poll() {
+        Link<T> next = head.next;
+        if (next == null) {
+            return null;
+        }
+        T data = next.value;
+        next.value = null; // El nodo pasa a ser el centinela
+        head = next;
+        return data;
+    }
+
+    /**
+     * Mueve todos los elementos visibles a {@code dest}, en orden. Solo para el hilo consumidor.
+     * @param dest Cola destino.
+     * @return El número de elementos movidos.
+     */
+    public int drainTo(CustomQueue<? super T> dest) {
+        int count = 0;
+        T data;
+        while ((data = poll()) != null) {
+            dest.enqueue(data);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Verifica si hay elementos visibles para el consumidor. Desde otros hilos el resultado es
+     * solo orientativo.
+     * @return true si la cola no tiene elementos visibles.
+     */
+    public boolean isEmpty() {
+        return head.next == null;
+    }
+}
@@ -3,7 +3,7 @@ package com.microsat.rtos.gui;
 import com.microsat.rtos.core.PCB;
 import com.microsat.rtos.core.Scheduler;
 import com.microsat.rtos.core.algorithms.*;
-import com.microsat.rtos.datastructures.CustomLinkedList;
+import com.microsat.rtos.datastructures.CustomArrayList;
 import com.microsat.rtos.io.ProcessLoader;
 
 import javax.swing.*;
@@ -103,9 +103,7 @@ public class ControlPanel extends JPanel {
 
 
 
-        String[] algorithms = {"FCFS", "Round Robin", "SRT", "Priority", "EDF"};
-
-        algorithmComboBox = new JComboBox<>(algorithms);
+        algorithmComboBox = new JComboBox<>(AlgorithmFactory.ALGORITHM_NAMES);
 
         configureComponent(algorithmComboBox);
 
@@ -189,6 +187,8 @@ public class ControlPanel extends JPanel {
 
     private void generateProcesses() {
 
+        CustomArrayList<PCB> batch = new CustomArrayList<>(20);
+
         for (int i = 0; i < 20; i++) {
 
             int totalTicks = random.nextInt(50) + 10;
@@ -199,12 +199,14 @@ public class ControlPanel extends JPanel {
 
             PCB pcb = new PCB(nextProcessId, "Proc-" + nextProcessId, priority, deadline, totalTicks);
 
-            scheduler.addProcess(pcb);
+            batch.add(pcb);
 
             nextProcessId++;
 
         }
 
+        scheduler.addProcesses(batch);
+
     }
 
 
@@ -223,13 +225,9 @@ public class ControlPanel extends JPanel {
 
             try {
 
-                CustomLinkedList<PCB> loadedPcbList = ProcessLoader.loadFromFile(selectedFile);
-
-                for (int i = 0; i < loadedPcbList.size(); i++) {
+                CustomArrayList<PCB> loadedPcbList = ProcessLoader.loadFromFile(selectedFile);
 
-                    scheduler.addProcess(loadedPcbList.get(i));
-
-                }
+                scheduler.addProcesses(loadedPcbList);
 
                 JOptionPane.showMessageDialog(this,
 
@@ -279,23 +277,7 @@ public class ControlPanel extends JPanel {
 
 
 
-        SchedulingAlgorithm newAlgorithm;
-
-        switch (selected) {
-
-            case "Round Robin": newAlgorithm = new RoundRobinAlgorithm(); break;
-
-            case "SRT": newAlgorithm = new SRTAlgorithm(); break;
-
-            case "Priority": newAlgorithm = new PriorityAlgorithm(); break;
-
-            case "EDF": newAlgorithm = new EDFAlgorithm(); break;
-
-            case "FCFS": default: newAlgorithm = new FCFSAlgorithm(); break;
-
-        }
-
-        scheduler.setAlgorithm(newAlgorithm);
+        scheduler.setAlgorithm(AlgorithmFactory.create(selected));
 
     }
 
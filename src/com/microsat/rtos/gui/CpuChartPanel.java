@@ -1,13 +1,20 @@
 package com.microsat.rtos.gui;
 
-import com.microsat.rtos.datastructures.CustomLinkedList;
 import com.microsat.rtos.metrics.MetricsManager;
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 
 /**
  * Panel que dibuja una gráfica del uso de la CPU a lo largo del tiempo.
+ * <p>
+ * El dibujo es incremental: la cuadrícula y la curva se guardan en imágenes fuera de pantalla.
+ * En cada refresco la imagen de la curva se desplaza hacia la izquierda y solo se dibujan las
+ * muestras nuevas; {@link #paintComponent(Graphics)} se limita a copiar las dos imágenes. Si hay
+ * más muestras que píxeles, cada columna resume un grupo de muestras con su mínimo y su máximo.
+ * Las columnas tienen un ancho fraccionario, redondeado a píxeles, para que la ventana completa de
+ * muestras ocupe siempre todo el ancho de la gráfica.
  */
 public class CpuChartPanel extends JPanel {
 
@@ -16,8 +23,39 @@ public class CpuChartPanel extends JPanel {
     private static final Color BORDER_COLOR = new Color(50, 180, 150);
     private static final Color GRID_COLOR = new Color(40, 90, 80);
     private static final Color LINE_COLOR = new Color(10, 255, 150);
+    private static final int MAX_POINTS = 480; // Dibuja los últimos N puntos
+    private static final int PADDING = 10;
+    private static final BasicStroke LINE_STROKE = new BasicStroke(2);
+
+    private final MetricsManager metrics;
+    private final boolean[] samples = new boolean[MAX_POINTS]; // Se reutiliza en cada refresco
+
+    private BufferedImage gridImage;
+    private BufferedImage plotImage; // Transparente, se dibuja encima de la cuadrícula
+    private int imageWidth;
+    private int imageHeight;
+    private int samplesPerColumn; // Muestras por columna (cuando hay más muestras que píxeles)
+    private int columnCount; // Columnas que caben en la ventana de MAX_POINTS muestras
+    private int columnPhase; // Columnas dibujadas desde el último redibujado, módulo columnCount
+
+    private long seenTicks = -1; // Ticks ya dibujados; -1 obliga a redibujar todo
+    // Columna en construcción (mínimo y máximo de las muestras acumuladas)
+    private int bucketFill;
+    private boolean bucketHasBusy;
+    private boolean bucketHasIdle;
+    private boolean bucketLast;
+    // Nivel en el que terminó la última columna dibujada
+    private boolean hasPrevious;
+    private boolean previousLevel;
+
+    // Columnas completadas en el refresco actual, pendientes de dibujar (como máximo una por muestra)
+    private final boolean[] pendingBusy = new boolean[MAX_POINTS];
+    private final boolean[] pendingIdle = new boolean[MAX_POINTS];
+    private final boolean[] pendingLast = new boolean[MAX_POINTS];
+    private int pendingCount;
 
     public CpuChartPanel() {
+        this.metrics = MetricsManager.getInstance();
         setBackground(PANEL_BACKGROUND);
         TitledBorder titledBorder = BorderFactory.createTitledBorder(
                 BorderFactory.createLineBorder(BORDER_COLOR, 1), "Historial de Uso de CPU");
@@ -32,43 +70,172 @@ public class CpuChartPanel extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
+        if (!ensureImages()) {
+            return;
+        }
+        if (seenTicks < 0) {
+            update(); // Primer pintado o cambio de tamaño
+        }
+        g.drawImage(gridImage, 0, 0, null);
+        g.drawImage(plotImage, PADDING, 0, null);
+    }
 
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    /**
+     * Incorpora las muestras nuevas a la imagen y solicita un repintado si hubo cambios.
+     */
+    public void refresh() {
+        if (ensureImages() && update()) {
+            repaint();
+        }
+    }
 
+    /**
+     * Crea (o recrea tras un cambio de tamaño) las imágenes fuera de pantalla.
+     * @return false si el panel todavía no tiene tamaño.
+     */
+    private boolean ensureImages() {
         int width = getWidth();
         int height = getHeight();
-        int padding = 10;
-        int graphHeight = height - 2 * padding;
+        if (width <= 2 * PADDING || height <= 2 * PADDING) {
+            return false;
+        }
+        if (gridImage != null && width == imageWidth && height == imageHeight) {
+            return true;
+        }
+        imageWidth = width;
+        imageHeight = height;
 
-        drawGrid(g2d, width, height, padding);
+        gridImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D grid = gridImage.createGraphics();
+        grid.setColor(PANEL_BACKGROUND);
+        grid.fillRect(0, 0, width, height);
+        drawGrid(grid, width, height);
+        grid.dispose();
 
-        CustomLinkedList<Boolean> history = MetricsManager.getInstance().getCpuUsageHistory();
-        if (history.size() < 2) {
-            return;
+        int plotWidth = width - 2 * PADDING;
+        plotImage = new BufferedImage(plotWidth, height, BufferedImage.TYPE_INT_ARGB);
+        samplesPerColumn = plotWidth >= MAX_POINTS ? 1 : (MAX_POINTS + plotWidth - 1) / plotWidth;
+        columnCount = (MAX_POINTS + samplesPerColumn - 1) / samplesPerColumn;
+        seenTicks = -1;
+        return true;
+    }
+
+    /**
+     * Lee las muestras registradas desde el último refresco y dibuja las columnas completas.
+     * @return true si la imagen cambió.
+     */
+    private boolean update() {
+        boolean fullRedraw = seenTicks < 0;
+        long since = fullRedraw ? 0 : seenTicks;
+        long total = metrics.copyCpuUsageSince(since, samples);
+        if (total < since) {
+            // Las métricas se reiniciaron: se vuelve a empezar desde cero.
+            fullRedraw = true;
+            since = 0;
+            total = metrics.copyCpuUsageSince(0, samples);
+        }
+        if (total - since >= MAX_POINTS) {
+            fullRedraw = true; // Todas las muestras visibles son nuevas
         }
+        if (fullRedraw) {
+            clearPlot();
+        }
+        int count = (int) Math.min(total - since, MAX_POINTS);
+        seenTicks = total;
+        if (count <= 0) {
+            return fullRedraw;
+        }
+
+        pendingCount = 0;
+        for (int i = 0; i < count; i++) {
+            boolean busy = samples[i];
+            bucketHasBusy |= busy;
+            bucketHasIdle |= !busy;
+            bucketLast = busy;
+            if (++bucketFill == samplesPerColumn) {
+                pendingBusy[pendingCount] = bucketHasBusy;
+                pendingIdle[pendingCount] = bucketHasIdle;
+                pendingLast[pendingCount] = bucketLast;
+                pendingCount++;
+                bucketFill = 0;
+                bucketHasBusy = false;
+                bucketHasIdle = false;
+            }
+        }
+        if (pendingCount > 0) {
+            drawPendingColumns();
+        }
+        return pendingCount > 0 || fullRedraw;
+    }
+
+    /**
+     * Desplaza la curva a la izquierda lo que ocupan las columnas nuevas y las dibuja a la derecha.
+     */
+    private void drawPendingColumns() {
+        int plotWidth = plotImage.getWidth();
+        int height = plotImage.getHeight();
+        int end = columnPhase + pendingCount;
+        int right = columnEdge(end, plotWidth); // Borde derecho de la gráfica
+        int shift = Math.min(plotWidth, right - columnEdge(columnPhase, plotWidth));
+
+        Graphics2D g2d = plotImage.createGraphics();
+        g2d.clipRect(0, 0, plotWidth, height);
+        g2d.setComposite(AlphaComposite.Src);
+        if (shift < plotWidth) {
+            g2d.copyArea(shift, 0, plotWidth - shift, height, -shift, 0);
+        }
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(plotWidth - shift, 0, shift, height);
+        g2d.setComposite(AlphaComposite.SrcOver);
 
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setColor(LINE_COLOR);
-        g2d.setStroke(new BasicStroke(2));
-
-        int maxPoints = Math.min(history.size(), 480); // Dibuja los últimos N puntos
-        int startIdx = Math.max(0, history.size() - maxPoints);
-
-        for (int i = 1; i < maxPoints; i++) {
-            int idx1 = startIdx + i - 1;
-            int idx2 = startIdx + i;
-            
-            int x1 = (int) ((double) (i - 1) / (maxPoints - 1) * (width - 2 * padding)) + padding;
-            int y1 = history.get(idx1) ? padding : padding + graphHeight;
-            
-            int x2 = (int) ((double) i / (maxPoints - 1) * (width - 2 * padding)) + padding;
-            int y2 = history.get(idx2) ? padding : padding + graphHeight;
-
-            g2d.drawLine(x1, y1, x2, y2);
+        g2d.setStroke(LINE_STROKE);
+        int top = PADDING;
+        int bottom = height - PADDING;
+        for (int i = 0; i < pendingCount; i++) {
+            int x = plotWidth - (right - columnEdge(columnPhase + i, plotWidth));
+            int nextX = plotWidth - (right - columnEdge(columnPhase + i + 1, plotWidth));
+            boolean mixed = pendingBusy[i] && pendingIdle[i];
+            boolean level = pendingLast[i];
+            int endY = level ? top : bottom;
+            if (mixed) {
+                // El grupo tuvo ticks ocupados y ociosos: barra vertical del mínimo al máximo.
+                g2d.drawLine(x, top, x, bottom);
+                g2d.drawLine(x, endY, nextX, endY);
+            } else {
+                int startY = hasPrevious ? (previousLevel ? top : bottom) : endY;
+                g2d.drawLine(x, startY, nextX, endY);
+            }
+            hasPrevious = true;
+            previousLevel = level;
         }
+        g2d.dispose();
+        columnPhase = end % columnCount;
+    }
+
+    /**
+     * Posición, en píxeles, del borde izquierdo de la columna {@code column} contada desde el
+     * último redibujado: {@code column * plotWidth / columnCount} redondeado. Se calcula siempre
+     * desde el origen, así que el redondeo no acumula error al desplazar la curva.
+     */
+    private int columnEdge(int column, int plotWidth) {
+        return (int) (((long) column * plotWidth + columnCount / 2) / columnCount);
+    }
+
+    private void clearPlot() {
+        Graphics2D g2d = plotImage.createGraphics();
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(0, 0, plotImage.getWidth(), plotImage.getHeight());
+        g2d.dispose();
+        bucketFill = 0;
+        bucketHasBusy = false;
+        bucketHasIdle = false;
+        hasPrevious = false;
+        columnPhase = 0;
     }
-    
-    private void drawGrid(Graphics2D g2d, int width, int height, int padding) {
+
+    private void drawGrid(Graphics2D g2d, int width, int height) {
         g2d.setColor(GRID_COLOR);
         // Líneas verticales
         for (int i = 0; i < width; i += 20) {
@@ -79,8 +246,4 @@ public class CpuChartPanel extends JPanel {
             g2d.drawLine(0, i, width, i);
         }
     }
-    
-    public void refresh() {
-        repaint();
-    }
 }
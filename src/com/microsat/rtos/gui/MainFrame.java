@@ -3,6 +3,7 @@ package com.microsat.rtos.gui;
 import com.microsat.rtos.core.Scheduler;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ActionEvent;
 
 public class MainFrame extends JFrame {
 
@@ -18,6 +19,7 @@ public class MainFrame extends JFrame {
     private final QueuePanel terminatedQueuePanel;
     private final ProcessInfoPanel processInfoPanel;
     private final ControlPanel controlPanel;
+    private final ProfilerOverlay profilerOverlay;
 
     private static final Color FRAME_BACKGROUND = new Color(10, 12, 14);
 
@@ -47,6 +49,18 @@ public class MainFrame extends JFrame {
         
         // 4. Organizar los paneles en el layout
         setupLayout();
+
+        // Capa de instrumentación del Scheduler, se muestra y oculta con F3
+        profilerOverlay = new ProfilerOverlay(scheduler.getProfiler());
+        setGlassPane(profilerOverlay);
+        getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+                .put(KeyStroke.getKeyStroke("F3"), "toggleProfiler");
+        getRootPane().getActionMap().put("toggleProfiler", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                profilerOverlay.toggle();
+            }
+        });
         
         // 5. Iniciar el hilo del scheduler
         schedulerThread.start();
@@ -96,6 +110,7 @@ public class MainFrame extends JFrame {
         blockedSuspendedQueuePanel.refresh();
         terminatedQueuePanel.refresh();
         processInfoPanel.refresh();
+        profilerOverlay.refresh();
     }
 
 }
\ No newline at end of file
@@ -85,10 +85,12 @@ public class ProcessInfoPanel extends JPanel {
             stateLabel.setText("Estado: " + pcb.getState());
             pcLabel.setText("PC: " + pcb.getProgramCounter());
             marLabel.setText("MAR: " + pcb.getMemoryAddressRegister());
-            deadlineLabel.setText("Ticks para Deadline: " + pcb.getDeadlineTicks());
+            long deadlineTicks = pcb.getDeadlineTicks(scheduler.getCurrentTick());
+            deadlineLabel.setText("Ticks para Deadline: " + deadlineTicks);
             
             updateProgressBar(executionProgressBar, "Ejecución", pcb.getProgramCounter(), pcb.getTotalExecutionTicks());
-            updateProgressBar(deadlineProgressBar, "Deadline", pcb.getInitialDeadlineTicks() - pcb.getDeadlineTicks(), pcb.getInitialDeadlineTicks());
+            int elapsed = (int) Math.min(pcb.getInitialDeadlineTicks() - deadlineTicks, Integer.MAX_VALUE);
+            updateProgressBar(deadlineProgressBar, "Deadline", elapsed, pcb.getInitialDeadlineTicks());
 
         } else {
             idLabel.setText("ID: --");
@@ -0,0 +1,126 @@
+package com.microsat.rtos.gui;
+
+import com.microsat.rtos.metrics.SchedulerProfiler;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Capa transparente (glass pane) que muestra en una esquina lo que cuesta cada tick del
+ * Scheduler en el host: duración por fase, bytes asignados por tick, cambios de contexto y
+ * expropiaciones. No recibe eventos del mouse, así que no bloquea la interfaz de abajo.
+ * <p>
+ * Mostrarla activa el {@link SchedulerProfiler} y ocultarla lo desactiva.
+ */
+public class ProfilerOverlay extends JComponent {
+
+    private static final Color BOX_BACKGROUND = new Color(10, 12, 14, 210);
+    private static final Color TEXT_COLOR = new Color(0, 255, 200);
+    private static final Color BORDER_COLOR = new Color(50, 180, 150);
+    private static final Font FONT = new Font("Monospaced", Font.PLAIN, 12);
+    private static final int MARGIN = 12;
+    private static final int PADDING = 8;
+
+    private final SchedulerProfiler profiler;
+    private String[] lines = new String[0];
+
+    public ProfilerOverlay(SchedulerProfiler profiler) {
+        this.profiler = profiler;
+        setOpaque(false);
+        setVisible(false);
+    }
+
+    /**
+     * Muestra u oculta la capa, activando o desactivando la medición.
+     */
+    public void toggle() {
+        boolean show = !isVisible();
+        if (show) {
+            profiler.reset();
+        }
+        profiler.setEnabled(show);
+        setVisible(show);
+        refresh();
+    }
+
+    /**
+     * Toma una copia de las mediciones y repinta. Debe ser llamado desde el EDT.
+     */
+    public void refresh() {
+        if (!isVisible()) {
+            return;
+        }
+        SchedulerProfiler.Snapshot snapshot = profiler.snapshot();
+        SchedulerProfiler.Stats tick = snapshot.getPhase(SchedulerProfiler.Phase.TICK);
+        SchedulerProfiler.Stats bytes = snapshot.getAllocatedBytes();
+        String[] next = new String[7 + SchedulerProfiler.Phase.values().length];
+        next[0] = "Perfil del Scheduler (F3)   " + (snapshot.getAlgorithm() != null ? snapshot.getAlgorithm() : "-");
+        next[1] = String.format("%-10s %9s %9s %9s", "ns", "p50", "p99", "máx");
+        int row = 2;
+        for (SchedulerProfiler.Phase phase : SchedulerProfiler.Phase.values()) {
+            SchedulerProfiler.Stats stats = snapshot.getPhase(phase);
+            next[row++] = String.format("%-10s %9d %9d %9d", phase.getLabel(), stats.getP50(), stats.getP99(), stats.getMax());
+        }
+        next[row++] = bytes.getCount() > 0
+                ? String.format("%-10s %9d %9d %9d", "Bytes", bytes.getP50(), bytes.getP99(), bytes.getMax())
+                : "Bytes      no disponible";
+        next[row++] = String.format("Ticks medidos: %d", tick.getCount());
+        next[row++] = String.format("Cola de listos: %d (máx %d)", snapshot.getLastReadyQueueSize(), snapshot.getMaxReadyQueueSize());
+        next[row++] = String.format("Cambios de contexto: %d  Expropiaciones: %d",
+                snapshot.getContextSwitches(), snapshot.getPreemptions());
+        next[row] = worstQueueSizeLine(snapshot);
+        lines = next;
+        repaint();
+    }
+
+    /**
+     * @return El rango de tamaños de la cola de listos con el peor p99 de duración del tick.
+     */
+    private static String worstQueueSizeLine(SchedulerProfiler.Snapshot snapshot) {
+        int worst = -1;
+        long worstP99 = -1;
+        for (int sizeClass = 0; sizeClass < snapshot.getQueueSizeClassCount(); sizeClass++) {
+            SchedulerProfiler.Stats stats = snapshot.getTickNanosByQueueSize(sizeClass);
+            if (stats != null && stats.getP99() > worstP99) {
+                worst = sizeClass;
+                worstP99 = stats.getP99();
+            }
+        }
+        if (worst < 0) {
+            return "Peor p99 por tamaño de cola: -";
+        }
+        return String.format("Peor p99: %d ns con cola de %d a %d", worstP99,
+                SchedulerProfiler.Snapshot.queueSizeClassLowerBound(worst),
+                Math.max(0, SchedulerProfiler.Snapshot.queueSizeClassLowerBound(worst + 1) - 1));
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (lines.length == 0) {
+            return;
+        }
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setFont(FONT);
+        FontMetrics metrics = g2d.getFontMetrics();
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, metrics.stringWidth(line));
+        }
+        int boxWidth = width + 2 * PADDING;
+        int boxHeight = lines.length * metrics.getHeight() + 2 * PADDING;
+        int x = getWidth() - boxWidth - MARGIN;
+        int y = MARGIN;
+
+        g2d.setColor(BOX_BACKGROUND);
+        g2d.fillRect(x, y, boxWidth, boxHeight);
+        g2d.setColor(BORDER_COLOR);
+        g2d.drawRect(x, y, boxWidth, boxHeight);
+        g2d.setColor(TEXT_COLOR);
+        int baseline = y + PADDING + metrics.getAscent();
+        for (String line : lines) {
+            g2d.drawString(line, x + PADDING, baseline);
+            baseline += metrics.getHeight();
+        }
+        g2d.dispose();
+    }
+}
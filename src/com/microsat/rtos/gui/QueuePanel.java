@@ -4,28 +4,45 @@ import com.microsat.rtos.core.PCB;
 import com.microsat.rtos.datastructures.CustomQueue;
 
 import javax.swing.*;
-import javax.swing.border.Border;
 import javax.swing.border.TitledBorder;
 import java.awt.*;
 
 /**
  * Un panel reutilizable para visualizar el contenido de una CustomQueue<PCB>.
+ * <p>
+ * La lista es virtual: un {@link JList} con alto y ancho de celda fijos solo pinta las filas
+ * visibles, con un único renderer reutilizado. El modelo no guarda la cola completa: conoce su
+ * tamaño y una copia de las filas visibles, que se vuelve a tomar cuando la cola cambia o se
+ * desplaza la vista. Así el costo en el EDT depende del tamaño de la ventana y no del largo de
+ * la cola.
  */
 public class QueuePanel extends JPanel {
+    private static final String CARD_LIST = "list";
+    private static final String CARD_EMPTY = "empty";
+
     private final CustomQueue<PCB> pcbQueue;
-    private final JPanel contentPanel;
     private final TitledBorder titledBorder;
+    private final String titleBase;
+    private final PcbListModel model;
+    private final JList<PCB> list;
+    private final CardLayout cards;
+    private final JPanel cardPanel;
+    private final JViewport viewport;
+    private int lastModCount = -1;
+    private int lastCount = -1;
 
     private static final Color PANEL_BACKGROUND = new Color(21, 25, 28);
     private static final Color TEXT_COLOR = new Color(0, 255, 200);
     private static final Color BORDER_COLOR = new Color(50, 180, 150);
+    private static final Font ROW_FONT = new Font("Monospaced", Font.PLAIN, 12);
 
     public QueuePanel(String title, CustomQueue<PCB> pcbQueue) {
         this.pcbQueue = pcbQueue;
-        
+        this.titleBase = title;
+
         setBackground(PANEL_BACKGROUND);
         setLayout(new BorderLayout());
-        
+
         titledBorder = BorderFactory.createTitledBorder(
             BorderFactory.createLineBorder(BORDER_COLOR, 1), title);
         titledBorder.setTitleColor(TEXT_COLOR);
@@ -34,58 +51,165 @@ public class QueuePanel extends JPanel {
             titledBorder
         ));
 
-        contentPanel = new JPanel();
-        contentPanel.setBackground(PANEL_BACKGROUND);
-        contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
+        model = new PcbListModel();
+        list = new JList<>(model);
+        list.setBackground(PANEL_BACKGROUND);
+        list.setFocusable(false);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setCellRenderer(new PcbCellRenderer());
+        // Celdas de tamaño fijo: el JList no mide cada fila, solo pinta las visibles.
+        list.setPrototypeCellValue(new PCB(99999, "", 999, 0, 99999));
 
-        JScrollPane scrollPane = new JScrollPane(contentPanel);
-        scrollPane.getViewport().setBackground(PANEL_BACKGROUND);
+        JScrollPane scrollPane = new JScrollPane(list);
+        viewport = scrollPane.getViewport();
+        viewport.setBackground(PANEL_BACKGROUND);
+        viewport.addChangeListener(e -> updateVisibleRows()); // Desplazamiento o cambio de tamaño
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
-        add(scrollPane, BorderLayout.CENTER);
+
+        JLabel emptyLabel = new JLabel("  - EMPTY -");
+        emptyLabel.setForeground(TEXT_COLOR.darker());
+        emptyLabel.setVerticalAlignment(SwingConstants.TOP);
+
+        cards = new CardLayout();
+        cardPanel = new JPanel(cards);
+        cardPanel.setBackground(PANEL_BACKGROUND);
+        cardPanel.add(scrollPane, CARD_LIST);
+        cardPanel.add(emptyLabel, CARD_EMPTY);
+        add(cardPanel, BorderLayout.CENTER);
     }
 
     /**
      * Refresca la visualización de la cola. Debe ser llamado desde el EDT.
      */
     public void refresh() {
-        contentPanel.removeAll();
-        titledBorder.setTitle(getTitleBase() + " (" + pcbQueue.size() + ")");
-
-        if (pcbQueue.isEmpty()) {
-            JLabel emptyLabel = new JLabel("  - EMPTY -");
-            emptyLabel.setForeground(TEXT_COLOR.darker());
-            contentPanel.add(emptyLabel);
-        } else {
-            // Iterar de forma no destructiva
-            CustomQueue<PCB> tempQueue = new CustomQueue<>();
-            while (!pcbQueue.isEmpty()) {
-                PCB pcb = pcbQueue.dequeue();
-                contentPanel.add(createPcbLabel(pcb));
-                tempQueue.enqueue(pcb);
-            }
-            // Restaurar la cola original
-            while (!tempQueue.isEmpty()) {
-                pcbQueue.enqueue(tempQueue.dequeue());
+        // Si la versión de la cola no cambió desde el último refresco, no hay nada que redibujar.
+        int modCount = pcbQueue.getModCount();
+        if (modCount == lastModCount) {
+            return;
+        }
+        lastModCount = modCount;
+
+        int count = updateVisibleRows();
+        if (count != lastCount) {
+            titledBorder.setTitle(titleBase + " (" + count + ")");
+            if ((count == 0) != (lastCount == 0) || lastCount < 0) {
+                cards.show(cardPanel, count == 0 ? CARD_EMPTY : CARD_LIST);
             }
+            lastCount = count;
+            repaint(); // El borde con el título
         }
-        
-        revalidate();
-        repaint();
     }
 
-    private String getTitleBase() {
-        String currentTitle = titledBorder.getTitle();
-        int countIndex = currentTitle.lastIndexOf(" (");
-        return (countIndex != -1) ? currentTitle.substring(0, countIndex) : currentTitle;
+    /**
+     * Vuelve a copiar las filas visibles de la cola y actualiza el tamaño de la lista.
+     * @return El tamaño actual de la cola.
+     */
+    private int updateVisibleRows() {
+        int rowHeight = Math.max(1, list.getFixedCellHeight());
+        Rectangle view = viewport.getViewRect();
+        int first = view.y / rowHeight;
+        int rows = view.height / rowHeight + 2; // Filas cortadas arriba y abajo
+        // Copia de solo lectura: no se toca la cola que el hilo del Scheduler está usando.
+        int count = model.update(pcbQueue, first, rows);
+        // Las filas visibles leen el PCB en vivo (p. ej. el PC), así que se repintan aunque no cambien.
+        list.repaint();
+        return count;
     }
 
-    private Component createPcbLabel(PCB pcb) {
-        String text = String.format("  ID: %-3d | Pri: %-3d | PC: %d/%d",
-                pcb.getProcessId(), pcb.getPriority(), pcb.getProgramCounter(), pcb.getTotalExecutionTicks());
-        JLabel label = new JLabel(text);
-        label.setForeground(TEXT_COLOR);
-        label.setFont(new Font("Monospaced", Font.PLAIN, 12));
-        label.setAlignmentX(Component.LEFT_ALIGNMENT);
-        return label;
+    /**
+     * Modelo de la lista: el tamaño de la cola y una copia de las filas visibles. Las demás
+     * filas devuelven null (no se pintan). Notificar cambios de tamaño es O(1) porque el
+     * {@link JList} tiene celdas de tamaño fijo.
+     */
+    private static final class PcbListModel extends AbstractListModel<PCB> {
+        private PCB[] window = new PCB[0]; // Se reutiliza entre refrescos
+        private int windowStart;
+        private int windowSize;
+        private int size;
+
+        @Override
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public PCB getElementAt(int index) {
+            int offset = index - windowStart;
+            return offset >= 0 && offset < windowSize ? window[offset] : null;
+        }
+
+        /**
+         * Copia las filas {@code [first, first + rows)} de la cola y notifica el nuevo tamaño.
+         * @return El tamaño de la cola en la versión copiada.
+         */
+        int update(CustomQueue<PCB> queue, int first, int rows) {
+            if (window.length < rows) {
+                window = new PCB[rows];
+            }
+            int count = queue.snapshot(window, first);
+            int copied = Math.max(0, Math.min(count - first, window.length));
+            for (int i = copied; i < windowSize; i++) {
+                window[i] = null; // No retener PCBs que ya salieron de la cola
+            }
+            windowStart = first;
+            windowSize = copied;
+
+            int previousSize = size;
+            size = count;
+            if (count > previousSize) {
+                fireIntervalAdded(this, previousSize, count - 1);
+            } else if (count < previousSize) {
+                fireIntervalRemoved(this, count, previousSize - 1);
+            }
+            if (copied > 0) {
+                fireContentsChanged(this, first, first + copied - 1);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Renderer único para todas las filas; reutiliza el mismo StringBuilder para el texto.
+     */
+    private static final class PcbCellRenderer extends JLabel implements ListCellRenderer<PCB> {
+        private final StringBuilder text = new StringBuilder(48);
+
+        PcbCellRenderer() {
+            setOpaque(true);
+            setFont(ROW_FONT);
+            setForeground(TEXT_COLOR);
+            setBackground(PANEL_BACKGROUND);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends PCB> list, PCB pcb, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            text.setLength(0);
+            if (pcb == null) {
+                // Fila fuera de la copia visible (p. ej. durante un desplazamiento): se deja vacía.
+                setText("");
+                setBackground(PANEL_BACKGROUND);
+                return this;
+            }
+            text.append("  ID: ");
+            appendPadded(pcb.getProcessId(), 3);
+            text.append(" | Pri: ");
+            appendPadded(pcb.getPriority(), 3);
+            text.append(" | PC: ").append(pcb.getProgramCounter()).append('/').append(pcb.getTotalExecutionTicks());
+            setText(text.toString());
+            setBackground(isSelected ? BORDER_COLOR.darker().darker() : PANEL_BACKGROUND);
+            return this;
+        }
+
+        /**
+         * Equivalente a {@code %-Nd}: el número alineado a la izquierda en N columnas.
+         */
+        private void appendPadded(int value, int width) {
+            int start = text.length();
+            text.append(value);
+            while (text.length() - start < width) {
+                text.append(' ');
+            }
+        }
     }
 }
@@ -0,0 +1,282 @@
+package com.microsat.rtos.io;
+
+import com.microsat.rtos.core.PCB;
+import com.microsat.rtos.datastructures.CustomArrayList;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Carga de trabajo en formato binario compacto ({@value #EXTENSION}), leída directamente desde
+ * el archivo mapeado en memoria, sin interpretar texto.
+ * <p>
+ * Formato (little-endian, columnar, registros de ancho fijo):
+ * <pre>
+ *   Cabecera (32 bytes): magic "RTWL", versión (int), cantidad de registros n (int),
+ *                        reservado (int), tamaño de la tabla de nombres en bytes (long), reservado (long)
+ *   int[n]     IDs
+ *   int[n]     prioridades
+ *   int[n]     ticks totales de ejecución
+ *   int[n]     deadlines (ticks)
+ *   int[n]     ráfagas de CPU entre pedidos de E/S (0 = sin E/S)     (desde la versión 2)
+ *   int[n]     dispositivos de E/S                                    (desde la versión 2)
+ *   int[n]     ráfagas de E/S (ticks)                                 (desde la versión 2)
+ *   int[n + 1] desplazamientos de cada nombre dentro de la tabla de nombres
+ *   byte[]     tabla de nombres (UTF-8, concatenados)
+ * </pre>
+ * Los archivos de la versión 1, sin las columnas de E/S, se siguen leyendo.
+ * Cada columna se mapea por separado, así que cada una (y la tabla de nombres) debe caber en 2 GB.
+ */
+public final class BinaryWorkload {
+
+    /**
+     * Extensión con la que {@link ProcessLoader#loadFromFile(File)} reconoce el formato.
+     */
+    public static final String EXTENSION = ".rtwl";
+
+    private static final int MAGIC = 'R' | ('T' << 8) | ('W' << 16) | ('L' << 24);
+    private static final int VERSION = 2;
+    private static final int FIRST_VERSION = 1; // Sin columnas de E/S
+    private static final int HEADER_BYTES = 32;
+
+    private final int count;
+    private final IntBuffer ids;
+    private final IntBuffer priorities;
+    private final IntBuffer totalTicks;
+    private final IntBuffer deadlines;
+    private final IntBuffer cpuBursts; // null en archivos de la versión 1
+    private final IntBuffer ioDevices;
+    private final IntBuffer ioBursts;
+    private final IntBuffer nameOffsets;
+    private final ByteBuffer names;
+
+    private BinaryWorkload(int count, IntBuffer ids, IntBuffer priorities, IntBuffer totalTicks, IntBuffer deadlines,
+                           IntBuffer cpuBursts, IntBuffer ioDevices, IntBuffer ioBursts, IntBuffer nameOffsets,
+                           ByteBuffer names) {
+        this.count = count;
+        this.ids = ids;
+        this.priorities = priorities;
+        this.totalTicks = totalTicks;
+        this.deadlines = deadlines;
+        this.cpuBursts = cpuBursts;
+        this.ioDevices = ioDevices;
+        this.ioBursts = ioBursts;
+        this.nameOffsets = nameOffsets;
+        this.names = names;
+    }
+
+    /**
+     * Abre un archivo binario y mapea sus columnas. No copia ni interpreta los registros.
+     * @param file Archivo {@value #EXTENSION}.
+     * @return Vista de solo lectura sobre el archivo.
+     * @throws IOException Si el archivo no se puede leer o no tiene el formato esperado.
+     */
+    public static BinaryWorkload open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                throw new IOException("Archivo binario truncado: " + file.getName());
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("No es un archivo de carga de trabajo binario: " + file.getName());
+            }
+            int version = header.getInt(4);
+            if (version != VERSION && version != FIRST_VERSION) {
+                throw new IOException("Versión de formato no soportada: " + version);
+            }
+            int count = header.getInt(8);
+            long nameBytes = header.getLong(16);
+            long columnBytes = 4L * count;
+            int columns = version == FIRST_VERSION ? 4 : 7;
+            long expectedSize = HEADER_BYTES + columns * columnBytes + 4L * (count + 1) + nameBytes;
+            if (count < 0 || nameBytes < 0 || expectedSize != fileSize) {
+                throw new IOException("Archivo binario corrupto o truncado: " + file.getName());
+            }
+            long position = HEADER_BYTES;
+            IntBuffer ids = mapInts(channel, position, count);
+            position += columnBytes;
+            IntBuffer priorities = mapInts(channel, position, count);
+            position += columnBytes;
+            IntBuffer totalTicks = mapInts(channel, position, count);
+            position += columnBytes;
+            IntBuffer deadlines = mapInts(channel, position, count);
+            position += columnBytes;
+            IntBuffer cpuBursts = null;
+            IntBuffer ioDevices = null;
+            IntBuffer ioBursts = null;
+            if (version != FIRST_VERSION) {
+                cpuBursts = mapInts(channel, position, count);
+                position += columnBytes;
+                ioDevices = mapInts(channel, position, count);
+                position += columnBytes;
+                ioBursts = mapInts(channel, position, count);
+                position += columnBytes;
+            }
+            IntBuffer nameOffsets = mapInts(channel, position, count + 1);
+            position += 4L * (count + 1);
+            ByteBuffer names = channel.map(FileChannel.MapMode.READ_ONLY, position, nameBytes);
+            // El mapeo sigue siendo válido después de cerrar el canal.
+            return new BinaryWorkload(count, ids, priorities, totalTicks, deadlines, cpuBursts, ioDevices, ioBursts,
+                    nameOffsets, names);
+        }
+    }
+
+    private static IntBuffer mapInts(FileChannel channel, long position, int ints) throws IOException {
+        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, 4L * ints);
+        return region.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * @return El número de registros del archivo.
+     */
+    public int size() {
+        return count;
+    }
+
+    public int getId(int index) {
+        return ids.get(index);
+    }
+
+    public int getPriority(int index) {
+        return priorities.get(index);
+    }
+
+    public int getTotalExecutionTicks(int index) {
+        return totalTicks.get(index);
+    }
+
+    public int getDeadlineTicks(int index) {
+        return deadlines.get(index);
+    }
+
+    public int getCpuBurstTicks(int index) {
+        return cpuBursts != null ? cpuBursts.get(index) : 0;
+    }
+
+    public int getIoDevice(int index) {
+        return ioDevices != null ? ioDevices.get(index) : 0;
+    }
+
+    public int getIoBurstTicks(int index) {
+        return ioBursts != null ? ioBursts.get(index) : 0;
+    }
+
+    /**
+     * Decodifica el nombre del registro desde la tabla de nombres.
+     * @param index Índice del registro.
+     * @return El nombre del proceso.
+     */
+    public String getName(int index) {
+        int start = nameOffsets.get(index);
+        int end = nameOffsets.get(index + 1);
+        byte[] bytes = new byte[end - start];
+        names.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Crea el PCB del registro indicado, en estado NUEVO.
+     * @param index Índice del registro.
+     * @return Un PCB nuevo.
+     * @throws IllegalArgumentException si el patrón de E/S del registro no es válido.
+     */
+    public PCB toPCB(int index) {
+        return new PCB(getId(index), getName(index), getPriority(index), getDeadlineTicks(index), getTotalExecutionTicks(index),
+                getCpuBurstTicks(index), getIoDevice(index), getIoBurstTicks(index));
+    }
+
+    /**
+     * Crea los PCBs de todos los registros, en orden.
+     * @return Lista de PCBs.
+     */
+    public CustomArrayList<PCB> toPCBs() {
+        CustomArrayList<PCB> pcbs = new CustomArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            pcbs.add(toPCB(i));
+        }
+        return pcbs;
+    }
+
+    /**
+     * Escribe una carga de trabajo en formato binario.
+     * @param pcbs Procesos a escribir (se usa su definición inicial: ID, nombre, prioridad,
+     *             duración, deadline inicial y patrón de E/S).
+     * @param file Archivo destino; se sobrescribe si existe.
+     * @throws IOException Si hay un error de escritura.
+     */
+    public static void write(CustomArrayList<PCB> pcbs, File file) throws IOException {
+        int count = pcbs.size();
+        byte[][] encodedNames = new byte[count][];
+        long nameBytes = 0;
+        for (int i = 0; i < count; i++) {
+            encodedNames[i] = pcbs.get(i).getProcessName().getBytes(StandardCharsets.UTF_8);
+            nameBytes += encodedNames[i].length;
+        }
+        if (nameBytes > Integer.MAX_VALUE) {
+            throw new IOException("La tabla de nombres supera 2 GB");
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(0).putLong(nameBytes).putLong(0);
+            for (int column = 0; column < 7; column++) {
+                for (int i = 0; i < count; i++) {
+                    PCB pcb = pcbs.get(i);
+                    int value;
+                    switch (column) {
+                        case 0: value = pcb.getProcessId(); break;
+                        case 1: value = pcb.getPriority(); break;
+                        case 2: value = pcb.getTotalExecutionTicks(); break;
+                        case 3: value = pcb.getInitialDeadlineTicks(); break;
+                        case 4: value = pcb.getCpuBurstTicks(); break;
+                        case 5: value = pcb.getIoDevice(); break;
+                        default: value = pcb.getIoBurstTicks(); break;
+                    }
+                    putInt(channel, buffer, value);
+                }
+            }
+            int offset = 0;
+            for (int i = 0; i < count; i++) {
+                putInt(channel, buffer, offset);
+                offset += encodedNames[i].length;
+            }
+            putInt(channel, buffer, offset);
+            for (byte[] name : encodedNames) {
+                int written = 0;
+                while (written < name.length) {
+                    if (!buffer.hasRemaining()) {
+                        flush(channel, buffer);
+                    }
+                    int chunk = Math.min(buffer.remaining(), name.length - written);
+                    buffer.put(name, written, chunk);
+                    written += chunk;
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static void putInt(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+        if (buffer.remaining() < 4) {
+            flush(channel, buffer);
+        }
+        buffer.putInt(value);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,297 @@
+package com.microsat.rtos.io;
+
+import com.microsat.rtos.core.PCB;
+import com.microsat.rtos.datastructures.CustomArrayList;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Cargador de CSV para archivos grandes. Mapea el archivo en memoria con {@link FileChannel},
+ * lo divide en bloques que terminan en un salto de línea y los procesa en paralelo sobre el
+ * {@link ForkJoinPool} común. Los campos numéricos se leen directamente de los bytes, sin crear
+ * un {@code String} por campo; solo el nombre del proceso se convierte a texto.
+ * <p>
+ * Acepta el mismo formato que {@link ProcessLoader}: {@code ID,Nombre,Instrucciones,Prioridad,CiclosParaDeadline},
+ * opcionalmente seguido de {@code RafagaCPU,Dispositivo,RafagaES} para los procesos que hacen E/S,
+ * ignorando líneas vacías y comentarios ({@code #}) y, como {@code String.split(",")}, las comas
+ * finales. Las líneas mal formadas se reportan y se omiten.
+ */
+final class MappedCsvLoader {
+
+    /**
+     * Por debajo de este tamaño el archivo se procesa como un solo bloque, sin tareas paralelas.
+     */
+    private static final long MIN_CHUNK_BYTES = 1L << 20;
+
+    /**
+     * Tamaño máximo de un bloque (y por lo tanto de cada región mapeada).
+     */
+    private static final long MAX_CHUNK_BYTES = 64L << 20;
+
+    private static final int BASIC_FIELD_COUNT = 5;
+    private static final int FIELD_COUNT = 8; // Con el patrón de E/S
+
+    private MappedCsvLoader() {
+    }
+
+    /**
+     * Carga todos los procesos del archivo, en el mismo orden en que aparecen.
+     * @param file Archivo CSV.
+     * @return Lista de PCBs.
+     * @throws IOException Si hay un error de I/O.
+     */
+    static CustomArrayList<PCB> load(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize == 0) {
+                return new CustomArrayList<>();
+            }
+            long[] boundaries = computeChunkBoundaries(channel, fileSize);
+            if (boundaries.length == 2) {
+                return parseChunk(channel, boundaries[0], boundaries[1]);
+            }
+            try {
+                return ForkJoinPool.commonPool().invoke(new ChunkTask(channel, boundaries, 0, boundaries.length - 1));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Divide el archivo en bloques de tamaño parecido. Cada límite interno se mueve hasta justo
+     * después del siguiente salto de línea, de modo que ninguna línea queda partida.
+     * @return Posiciones de inicio de cada bloque, más el tamaño del archivo al final.
+     */
+    private static long[] computeChunkBoundaries(FileChannel channel, long fileSize) throws IOException {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        long target = Math.max(MIN_CHUNK_BYTES, Math.min(MAX_CHUNK_BYTES, fileSize / (parallelism * 4L)));
+        int maxChunks = (int) Math.min(Integer.MAX_VALUE - 1, (fileSize + target - 1) / target);
+        long[] boundaries = new long[maxChunks + 1];
+        int count = 0;
+        long start = 0;
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        while (start < fileSize) {
+            boundaries[count++] = start;
+            long end = start + target;
+            if (end >= fileSize) {
+                break;
+            }
+            start = nextLineStart(channel, end, fileSize, probe);
+        }
+        long[] result = new long[count + 1];
+        System.arraycopy(boundaries, 0, result, 0, count);
+        result[count] = fileSize;
+        return result;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long fileSize, ByteBuffer probe) throws IOException {
+        long current = position;
+        while (current < fileSize) {
+            probe.clear();
+            int read = channel.read(probe, current);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return current + i + 1;
+                }
+            }
+            current += read;
+        }
+        return fileSize;
+    }
+
+    /**
+     * Procesa los bloques [from, to) dividiendo el rango a la mitad y concatenando en orden.
+     */
+    private static final class ChunkTask extends RecursiveTask<CustomArrayList<PCB>> {
+        private final FileChannel channel;
+        private final long[] boundaries;
+        private final int from;
+        private final int to;
+
+        ChunkTask(FileChannel channel, long[] boundaries, int from, int to) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CustomArrayList<PCB> compute() {
+            if (to - from == 1) {
+                try {
+                    return parseChunk(channel, boundaries[from], boundaries[to]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int middle = (from + to) >>> 1;
+            ChunkTask right = new ChunkTask(channel, boundaries, middle, to);
+            right.fork();
+            CustomArrayList<PCB> result = new ChunkTask(channel, boundaries, from, middle).compute();
+            result.addAll(right.join());
+            return result;
+        }
+    }
+
+    private static CustomArrayList<PCB> parseChunk(FileChannel channel, long start, long end) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        int limit = buffer.limit();
+        // Estimación de ~32 bytes por línea para evitar crecimientos repetidos.
+        CustomArrayList<PCB> pcbs = new CustomArrayList<>(limit / 32 + 1);
+        int[] fieldStart = new int[FIELD_COUNT];
+        int[] fieldEnd = new int[FIELD_COUNT];
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            parseLine(buffer, lineStart, lineEnd, fieldStart, fieldEnd, pcbs);
+            lineStart = lineEnd + 1;
+        }
+        return pcbs;
+    }
+
+    private static void parseLine(ByteBuffer buffer, int start, int end, int[] fieldStart, int[] fieldEnd,
+                                  CustomArrayList<PCB> out) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        if (isBlank(buffer, start, end) || buffer.get(start) == '#') {
+            return; // Ignorar líneas vacías o comentarios
+        }
+
+        // Como String.split(","), se descartan los campos vacíos del final ("1,a,2,3,4," es válida).
+        int fieldsEnd = end;
+        while (fieldsEnd > start && buffer.get(fieldsEnd - 1) == ',') {
+            fieldsEnd--;
+        }
+
+        int fields = 0;
+        fieldStart[0] = start;
+        for (int i = start; i < fieldsEnd; i++) {
+            if (buffer.get(i) == ',') {
+                if (fields + 1 >= FIELD_COUNT) {
+                    fields = FIELD_COUNT; // Más campos de los esperados
+                    break;
+                }
+                fieldEnd[fields] = i;
+                fields++;
+                fieldStart[fields] = i + 1;
+            }
+        }
+        if (fields != BASIC_FIELD_COUNT - 1 && fields != FIELD_COUNT - 1) {
+            System.err.println("Línea mal formada en CSV, se ignora: " + decode(buffer, start, end));
+            return;
+        }
+        fieldEnd[fields] = fieldsEnd;
+
+        try {
+            int id = parseInt(buffer, fieldStart[0], fieldEnd[0]);
+            int totalTicks = parseInt(buffer, fieldStart[2], fieldEnd[2]);
+            int priority = parseInt(buffer, fieldStart[3], fieldEnd[3]);
+            int deadline = parseInt(buffer, fieldStart[4], fieldEnd[4]);
+            int cpuBurst = 0;
+            int ioDevice = 0;
+            int ioBurst = 0;
+            if (fields == FIELD_COUNT - 1) {
+                cpuBurst = parseInt(buffer, fieldStart[5], fieldEnd[5]);
+                ioDevice = parseInt(buffer, fieldStart[6], fieldEnd[6]);
+                ioBurst = parseInt(buffer, fieldStart[7], fieldEnd[7]);
+            }
+            String name = decodeTrimmed(buffer, fieldStart[1], fieldEnd[1]);
+            out.add(new PCB(id, name, priority, deadline, totalTicks, cpuBurst, ioDevice, ioBurst));
+        } catch (NumberFormatException e) {
+            System.err.println("Error de formato numérico en línea, se ignora: " + decode(buffer, start, end));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage() + ", se ignora la línea: " + decode(buffer, start, end));
+        }
+    }
+
+    /**
+     * Interpreta un entero decimal con signo opcional, ignorando espacios alrededor
+     * (mismo criterio que {@code Integer.parseInt(s.trim())}).
+     */
+    private static int parseInt(ByteBuffer buffer, int start, int end) {
+        while (start < end && isSpace(buffer.get(start))) {
+            start++;
+        }
+        while (end > start && isSpace(buffer.get(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            throw new NumberFormatException();
+        }
+        boolean negative = false;
+        byte first = buffer.get(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+            if (start == end) {
+                throw new NumberFormatException();
+            }
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException();
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException();
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+            throw new NumberFormatException();
+        }
+        return (int) value;
+    }
+
+    private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isSpace(buffer.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mismo criterio que {@link String#trim()}: caracteres de control y espacio. Los bytes de
+     * secuencias UTF-8 multibyte son negativos y nunca cuentan como espacio.
+     */
+    private static boolean isSpace(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+
+    private static String decodeTrimmed(ByteBuffer buffer, int start, int end) {
+        while (start < end && isSpace(buffer.get(start))) {
+            start++;
+        }
+        while (end > start && isSpace(buffer.get(end - 1))) {
+            end--;
+        }
+        return decode(buffer, start, end);
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
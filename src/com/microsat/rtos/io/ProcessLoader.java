@@ -1,10 +1,8 @@
 package com.microsat.rtos.io;
 
 import com.microsat.rtos.core.PCB;
-import com.microsat.rtos.datastructures.CustomLinkedList;
-import java.io.BufferedReader;
+import com.microsat.rtos.datastructures.CustomArrayList;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 
 /**
@@ -13,15 +11,19 @@ import java.io.IOException;
 public class ProcessLoader {
 
     /**
-     * Carga una lista de procesos desde un archivo. Detecta el formato (CSV) por extensión.
+     * Carga una lista de procesos desde un archivo. Detecta el formato (CSV o binario
+     * {@value BinaryWorkload#EXTENSION}) por extensión.
      * @param file El archivo a cargar.
-     * @return Una lista enlazada de PCBs.
+     * @return Una lista de PCBs, en el orden del archivo.
      * @throws IOException Si ocurre un error de lectura o el formato no es soportado.
      */
-    public static CustomLinkedList<PCB> loadFromFile(File file) throws IOException {
+    public static CustomArrayList<PCB> loadFromFile(File file) throws IOException {
         String name = file.getName();
-        if (name.toLowerCase().endsWith(".csv")) {
+        String lowerName = name.toLowerCase();
+        if (lowerName.endsWith(".csv")) {
             return loadFromCSV(file);
+        } else if (lowerName.endsWith(BinaryWorkload.EXTENSION)) {
+            return BinaryWorkload.open(file).toPCBs();
         } else {
             // En el futuro se podría implementar JSON aquí.
             throw new IOException("Formato de archivo no soportado: " + name);
@@ -30,39 +32,16 @@ public class ProcessLoader {
 
     /**
      * Implementación específica para cargar desde un archivo CSV.
-     * Formato: ID,Nombre,Instrucciones,Prioridad,CiclosParaDeadline
+     * Formato: ID,Nombre,Instrucciones,Prioridad,CiclosParaDeadline[,RafagaCPU,Dispositivo,RafagaES]
+     * (las tres columnas de E/S son opcionales; ver {@link PCB}).
+     * <p>
+     * El archivo se mapea en memoria y se procesa por bloques en paralelo (ver {@link MappedCsvLoader}),
+     * por lo que el costo es lineal en el tamaño del archivo.
      * @param file Archivo CSV.
      * @return Lista de PCBs.
      * @throws IOException Si hay un error de I/O.
      */
-    private static CustomLinkedList<PCB> loadFromCSV(File file) throws IOException {
-        CustomLinkedList<PCB> pcbList = new CustomLinkedList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            // Omitir encabezado si existe
-            // reader.readLine(); 
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty() || line.startsWith("#")) {
-                    continue; // Ignorar líneas vacías o comentarios
-                }
-                String[] parts = line.split(",");
-                if (parts.length != 5) {
-                    System.err.println("Línea mal formada en CSV, se ignora: " + line);
-                    continue;
-                }
-                try {
-                    int id = Integer.parseInt(parts[0].trim());
-                    String name = parts[1].trim();
-                    int totalTicks = Integer.parseInt(parts[2].trim());
-                    int priority = Integer.parseInt(parts[3].trim());
-                    int deadline = Integer.parseInt(parts[4].trim());
-                    
-                    pcbList.add(new PCB(id, name, priority, deadline, totalTicks));
-                } catch (NumberFormatException e) {
-                    System.err.println("Error de formato numérico en línea, se ignora: " + line);
-                }
-            }
-        }
-        return pcbList;
+    private static CustomArrayList<PCB> loadFromCSV(File file) throws IOException {
+        return MappedCsvLoader.load(file);
     }
 }
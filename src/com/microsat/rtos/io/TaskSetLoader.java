@@ -0,0 +1,88 @@
+package com.microsat.rtos.io;
+
+import com.microsat.rtos.core.PeriodicTask;
+import com.microsat.rtos.datastructures.CustomArrayList;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Carga conjuntos de tareas periódicas ({@link PeriodicTask}) desde un archivo CSV.
+ * Formato: {@code ID,Nombre,Periodo,WCET,Fase,Deadline[,Prioridad]} (prioridad 0 si se omite),
+ * ignorando líneas vacías y comentarios ({@code #}). Las líneas mal formadas, las tareas inválidas y
+ * los IDs repetidos se reportan y se omiten. Los trabajos llevan el ID de su tarea, así que conviene
+ * que no coincida con el de ningún proceso aperiódico.
+ */
+public class TaskSetLoader {
+
+    private static final int BASIC_FIELD_COUNT = 6;
+    private static final int FIELD_COUNT = 7; // Con la prioridad
+
+    private TaskSetLoader() {
+        throw new UnsupportedOperationException("Esta es una clase de utilidad y no puede ser instanciada.");
+    }
+
+    /**
+     * Carga las tareas de un archivo, en el orden en que aparecen.
+     * @param file Archivo CSV.
+     * @return Las tareas.
+     * @throws IOException Si hay un error de I/O.
+     */
+    public static CustomArrayList<PeriodicTask> loadFromFile(File file) throws IOException {
+        CustomArrayList<PeriodicTask> tasks = new CustomArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue; // Ignorar líneas vacías o comentarios
+                }
+                PeriodicTask task = parseLine(trimmed);
+                if (task == null) {
+                    continue;
+                }
+                if (containsId(tasks, task.getTaskId())) {
+                    System.err.println("ID de tarea repetido, se ignora la línea: " + trimmed);
+                    continue;
+                }
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    private static PeriodicTask parseLine(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != BASIC_FIELD_COUNT && fields.length != FIELD_COUNT) {
+            System.err.println("Línea mal formada en CSV de tareas, se ignora: " + line);
+            return null;
+        }
+        try {
+            int id = Integer.parseInt(fields[0].trim());
+            String name = fields[1].trim();
+            int period = Integer.parseInt(fields[2].trim());
+            int wcet = Integer.parseInt(fields[3].trim());
+            int phase = Integer.parseInt(fields[4].trim());
+            int deadline = Integer.parseInt(fields[5].trim());
+            int priority = fields.length == FIELD_COUNT ? Integer.parseInt(fields[6].trim()) : 0;
+            return new PeriodicTask(id, name, priority, period, wcet, phase, deadline);
+        } catch (NumberFormatException e) {
+            System.err.println("Error de formato numérico en línea, se ignora: " + line);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage() + ", se ignora la línea: " + line);
+        }
+        return null;
+    }
+
+    private static boolean containsId(CustomArrayList<PeriodicTask> tasks, int id) {
+        for (PeriodicTask task : tasks) {
+            if (task.getTaskId() == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package com.microsat.rtos.io;
+
+import com.microsat.rtos.core.PCB;
+import com.microsat.rtos.datastructures.CustomArrayList;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Convierte una carga de trabajo CSV al formato binario {@value BinaryWorkload#EXTENSION},
+ * para que las corridas repetidas sobre la misma traza no tengan que volver a interpretar texto.
+ * <p>
+ * Uso: {@code java com.microsat.rtos.io.WorkloadConverter <entrada.csv> <salida.rtwl>}
+ */
+public class WorkloadConverter {
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Uso: WorkloadConverter <entrada.csv> <salida" + BinaryWorkload.EXTENSION + ">");
+            System.exit(2);
+        }
+        File input = new File(args[0]);
+        File output = new File(args[1]);
+        try {
+            long start = System.nanoTime();
+            CustomArrayList<PCB> pcbs = ProcessLoader.loadFromFile(input);
+            BinaryWorkload.write(pcbs, output);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d procesos convertidos en %.2f s: %s (%d bytes)%n",
+                    pcbs.size(), seconds, output.getPath(), output.length());
+        } catch (IOException e) {
+            System.err.println("Error al convertir la carga de trabajo: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
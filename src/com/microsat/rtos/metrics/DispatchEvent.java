@@ -0,0 +1,35 @@
+package com.microsat.rtos.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de JDK Flight Recorder emitido en cada decisión de despacho. Su duración es lo que tardó
+ * el algoritmo en elegir el proceso ({@code SchedulingAlgorithm.getNextProcess}). Solo tiene costo
+ * mientras hay una grabación de JFR con el evento habilitado.
+ */
+@Name("com.microsat.rtos.Dispatch")
+@Label("Despacho")
+@Category({"RTOS", "Scheduler"})
+@Description("Selección del siguiente proceso a ejecutar")
+public class DispatchEvent extends Event {
+
+    @Label("Algoritmo")
+    public String algorithm;
+
+    @Label("ID del proceso")
+    public int processId;
+
+    @Label("Prioridad")
+    public int priority;
+
+    @Label("Tamaño de la cola de listos")
+    @Description("Procesos que quedaron en la cola de listos después de la selección")
+    public int readyQueueSize;
+
+    @Label("Tick")
+    public long tick;
+}
@@ -0,0 +1,131 @@
+package com.microsat.rtos.metrics;
+
+import com.microsat.rtos.core.PCB;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Distribuciones de latencia (en ticks) de un grupo de procesos terminados, cada una en un
+ * {@link LogHistogram}:
+ * <ul>
+ *   <li>Respuesta: desde la llegada hasta la primera vez en la CPU.</li>
+ *   <li>Espera: tiempo en el sistema sin ejecutar (retorno menos ticks de CPU).</li>
+ *   <li>Retorno (turnaround): desde la llegada hasta la terminación.</li>
+ *   <li>Holgura: deadline restante al terminar, para los procesos que lo cumplieron.</li>
+ *   <li>Retraso: ticks de más sobre el deadline, para los procesos que no lo cumplieron.</li>
+ * </ul>
+ * Registrar es seguro desde varios hilos y no toma bloqueos.
+ */
+public class LatencyStats {
+
+    private final LogHistogram responseTime;
+    private final LogHistogram waitingTime;
+    private final LogHistogram turnaroundTime;
+    private final LogHistogram slack;
+    private final LogHistogram lateness;
+
+    /**
+     * Crea un grupo vacío.
+     */
+    public LatencyStats() {
+        this(new LogHistogram(), new LogHistogram(), new LogHistogram(), new LogHistogram(), new LogHistogram());
+    }
+
+    private LatencyStats(LogHistogram responseTime, LogHistogram waitingTime, LogHistogram turnaroundTime,
+                         LogHistogram slack, LogHistogram lateness) {
+        this.responseTime = responseTime;
+        this.waitingTime = waitingTime;
+        this.turnaroundTime = turnaroundTime;
+        this.slack = slack;
+        this.lateness = lateness;
+    }
+
+    /**
+     * Registra un proceso terminado. Se ignora si el proceso no tiene marcas de llegada, primera
+     * ejecución y terminación.
+     * @param pcb El proceso terminado.
+     */
+    public void record(PCB pcb) {
+        long arrival = pcb.getArrivalTick();
+        long firstRun = pcb.getFirstRunTick();
+        long completion = pcb.getCompletionTick();
+        if (arrival < 0 || firstRun < 0 || completion < 0) {
+            return;
+        }
+        long turnaround = completion - arrival;
+        responseTime.record(firstRun - arrival);
+        waitingTime.record(turnaround - pcb.getTotalExecutionTicks());
+        turnaroundTime.record(turnaround);
+        long remainingDeadline = pcb.getDeadlineTicks(completion);
+        if (remainingDeadline >= 0) {
+            slack.record(remainingDeadline);
+        } else {
+            lateness.record(-remainingDeadline);
+        }
+    }
+
+    /**
+     * Suma a este grupo todos los registros de otro.
+     * @param other El grupo a sumar.
+     */
+    public void add(LatencyStats other) {
+        responseTime.add(other.responseTime);
+        waitingTime.add(other.waitingTime);
+        turnaroundTime.add(other.turnaroundTime);
+        slack.add(other.slack);
+        lateness.add(other.lateness);
+    }
+
+    /**
+     * @return El número de procesos registrados.
+     */
+    public long getCount() {
+        return turnaroundTime.getTotalCount();
+    }
+
+    public LogHistogram getResponseTime() {
+        return responseTime;
+    }
+
+    public LogHistogram getWaitingTime() {
+        return waitingTime;
+    }
+
+    public LogHistogram getTurnaroundTime() {
+        return turnaroundTime;
+    }
+
+    public LogHistogram getSlack() {
+        return slack;
+    }
+
+    public LogHistogram getLateness() {
+        return lateness;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        responseTime.writeTo(out);
+        waitingTime.writeTo(out);
+        turnaroundTime.writeTo(out);
+        slack.writeTo(out);
+        lateness.writeTo(out);
+    }
+
+    static LatencyStats readFrom(ByteBuffer in) throws IOException {
+        return new LatencyStats(LogHistogram.readFrom(in), LogHistogram.readFrom(in), LogHistogram.readFrom(in),
+                LogHistogram.readFrom(in), LogHistogram.readFrom(in));
+    }
+
+    /**
+     * Borra todos los registros.
+     */
+    public void reset() {
+        responseTime.reset();
+        waitingTime.reset();
+        turnaroundTime.reset();
+        slack.reset();
+        lateness.reset();
+    }
+}
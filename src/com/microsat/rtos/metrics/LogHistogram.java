@@ -0,0 +1,200 @@
+package com.microsat.rtos.metrics;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de valores no negativos con cubetas logarítmicas (al estilo de HdrHistogram), de
+ * memoria fija. Los valores menores que {@code 2^SUB_BUCKET_BITS} se guardan exactos; los mayores
+ * se agrupan por potencia de dos, y cada potencia se divide en {@code 2^SUB_BUCKET_BITS} cubetas
+ * lineales, así que el error relativo de cualquier percentil es menor que
+ * {@code 1 / 2^SUB_BUCKET_BITS} (≈1.6 %).
+ * <p>
+ * Registrar un valor es O(1) y sin bloqueos (contadores atómicos), por lo que varios hilos pueden
+ * registrar a la vez. Las lecturas son aproximadas mientras haya escrituras en curso.
+ */
+public class LogHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Mayor valor que se distingue; los mayores se cuentan en la última cubeta.
+     */
+    public static final long MAX_TRACKABLE_VALUE = (1L << 40) - 1;
+
+    private static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount;
+    private final LongAdder sum;
+    private final LongAccumulator max;
+
+    /**
+     * Crea un histograma vacío.
+     */
+    public LogHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Registra un valor. Los negativos se registran como 0 y los mayores que
+     * {@link #MAX_TRACKABLE_VALUE} como ese máximo.
+     * @param value El valor a registrar.
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, Math.min(value, MAX_TRACKABLE_VALUE));
+        counts.incrementAndGet(indexOf(clamped));
+        totalCount.increment();
+        sum.add(clamped);
+        max.accumulate(clamped);
+    }
+
+    /**
+     * Suma a este histograma todos los registros de otro.
+     * @param other El histograma a sumar.
+     */
+    public void add(LogHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        sum.add(other.sum.sum());
+        max.accumulate(other.max.get());
+    }
+
+    /**
+     * Devuelve el valor por debajo del cual (o igual) queda el porcentaje indicado de registros.
+     * El resultado es el límite superior de la cubeta correspondiente.
+     * @param percentile Percentil entre 0 y 100 (p. ej. 99.9).
+     * @return El valor del percentil, o 0 si el histograma está vacío.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = totalCount.sum();
+        if (total == 0) {
+            return 0;
+        }
+        double clamped = Math.max(0.0, Math.min(100.0, percentile));
+        long rank = Math.max(1, (long) Math.ceil(clamped / 100.0 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= rank) {
+                return Math.min(highestValueOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return El promedio de los valores registrados, o 0 si no hay registros.
+     */
+    public double getMean() {
+        long total = totalCount.sum();
+        return total == 0 ? 0.0 : (double) sum.sum() / total;
+    }
+
+    /**
+     * Borra todos los registros. No debe llamarse mientras otros hilos registran valores.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    // --- Serialización (para los checkpoints) ---
+
+    /**
+     * Escribe el histograma en forma dispersa: solo las cubetas con registros.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        int used = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts.get(i) != 0) {
+                used++;
+            }
+        }
+        out.writeInt(used);
+        for (int i = 0; i < BUCKET_COUNT && used > 0; i++) {
+            long count = counts.get(i);
+            if (count != 0) {
+                out.writeShort(i);
+                out.writeLong(count);
+                used--;
+            }
+        }
+        out.writeLong(totalCount.sum());
+        out.writeLong(sum.sum());
+        out.writeLong(max.get());
+    }
+
+    /**
+     * Lee un histograma escrito con {@link #writeTo(DataOutput)}.
+     * @throws IOException Si los datos no son válidos.
+     */
+    static LogHistogram readFrom(ByteBuffer in) throws IOException {
+        LogHistogram histogram = new LogHistogram();
+        int used = in.getInt();
+        if (used < 0 || used > BUCKET_COUNT) {
+            throw new IOException("Histograma corrupto: " + used + " cubetas");
+        }
+        for (int i = 0; i < used; i++) {
+            int index = Short.toUnsignedInt(in.getShort());
+            if (index >= BUCKET_COUNT) {
+                throw new IOException("Histograma corrupto: cubeta " + index);
+            }
+            histogram.counts.set(index, in.getLong());
+        }
+        histogram.totalCount.add(in.getLong());
+        histogram.sum.add(in.getLong());
+        histogram.max.accumulate(in.getLong());
+        return histogram;
+    }
+
+    // --- Cálculo de cubetas ---
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // >= SUB_BUCKET_BITS
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return El mayor valor que cae en la cubeta indicada.
+     */
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long lowest = (SUB_BUCKETS + subBucket) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
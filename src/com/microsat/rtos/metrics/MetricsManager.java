@@ -1,23 +1,84 @@
 package com.microsat.rtos.metrics;
 
 import com.microsat.rtos.core.PCB;
-import com.microsat.rtos.datastructures.CustomLinkedList;
+import com.microsat.rtos.datastructures.BitRingBuffer;
+
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Singleton para gestionar y registrar métricas de rendimiento del simulador.
+ * Gestiona y registra métricas de rendimiento del simulador. La interfaz gráfica usa la
+ * instancia global ({@link #getInstance()}); las simulaciones independientes (por ejemplo en un
+ * barrido de parámetros) crean la suya para no mezclar resultados.
+ * <p>
+ * Además de los contadores, guarda la distribución de latencias de los procesos terminados
+ * ({@link LatencyStats}) por algoritmo y por banda de prioridad, para consultar percentiles
+ * (p50, p99, p99.9) en lugar de promedios. Los contadores de procesos y los histogramas se
+ * actualizan sin tomar el monitor; solo el historial de CPU y los contadores de ticks lo usan.
  */
 public class MetricsManager {
     private static final MetricsManager INSTANCE = new MetricsManager();
 
-    private CustomLinkedList<Boolean> cpuUsageHistory;
-    private int completedProcesses;
-    private int deadlinesMet;
     private static final int MAX_HISTORY_POINTS = 500; // Limitar el historial para no consumir memoria infinita
 
-    private MetricsManager() {
-        this.cpuUsageHistory = new CustomLinkedList<>();
-        this.completedProcesses = 0;
-        this.deadlinesMet = 0;
+    /**
+     * Número de bandas de prioridad: alta (0-2), media (3-6) y baja (7 o más).
+     */
+    public static final int PRIORITY_BANDS = 3;
+    private static final String[] PRIORITY_BAND_NAMES = {"alta (0-2)", "media (3-6)", "baja (7+)"};
+    private static final String UNNAMED_ALGORITHM = "(sin algoritmo)";
+
+    /**
+     * Latencias de un algoritmo, una entrada por banda de prioridad.
+     */
+    private static final class AlgorithmLatencies {
+        private final String algorithm;
+        private final LatencyStats[] bands = new LatencyStats[PRIORITY_BANDS];
+
+        AlgorithmLatencies(String algorithm) {
+            this.algorithm = algorithm;
+            for (int i = 0; i < PRIORITY_BANDS; i++) {
+                bands[i] = new LatencyStats();
+            }
+        }
+    }
+
+    private final BitRingBuffer cpuUsageHistory;
+    private long totalTicks;
+    private long busyTicks; // Ticks-núcleo ocupados (con un solo núcleo, ticks ocupados)
+    private long[] coreBusyTicks; // Ticks ocupados por núcleo
+    private final LongAdder completedProcesses;
+    private final LongAdder deadlinesMet;
+    private final LongAdder deadlineMisses; // Deadlines vencidos, detectados en el tick en que vencen
+    private final LongAdder abortedProcesses;
+    private final LongAdder rejectedProcesses; // Rechazados por el control de admisión
+    private final LongAdder deferredProcesses; // Diferidos por el control de admisión (admitidos o no después)
+    private final LongAdder swapIns;
+    private final LongAdder swapOuts;
+    private final LogHistogram swapInLatency; // Ticks en disco de cada proceso traído a RAM
+    private final LogHistogram ioBlockedTime; // Ticks bloqueado (espera más servicio) de cada pedido de E/S
+    // Copia-en-escritura: se lee sin bloqueo y solo se reemplaza al aparecer un algoritmo nuevo.
+    private volatile AlgorithmLatencies[] latencies;
+    private final Object latenciesLock = new Object();
+
+    /**
+     * Crea un registro de métricas independiente de la instancia global.
+     */
+    public MetricsManager() {
+        this.cpuUsageHistory = new BitRingBuffer(MAX_HISTORY_POINTS);
+        this.totalTicks = 0;
+        this.busyTicks = 0;
+        this.coreBusyTicks = new long[1];
+        this.completedProcesses = new LongAdder();
+        this.deadlinesMet = new LongAdder();
+        this.deadlineMisses = new LongAdder();
+        this.abortedProcesses = new LongAdder();
+        this.rejectedProcesses = new LongAdder();
+        this.deferredProcesses = new LongAdder();
+        this.swapIns = new LongAdder();
+        this.swapOuts = new LongAdder();
+        this.swapInLatency = new LogHistogram();
+        this.ioBlockedTime = new LogHistogram();
+        this.latencies = new AlgorithmLatencies[0];
     }
 
     public static MetricsManager getInstance() {
@@ -29,58 +90,469 @@ public class MetricsManager {
      * @param isCpuBusy true si la CPU estuvo ocupada, false si estuvo ociosa.
      */
     public synchronized void recordTick(boolean isCpuBusy) {
-        cpuUsageHistory.add(isCpuBusy);
-        // Mantiene el historial con un tamaño máximo para la visualización
-        if (cpuUsageHistory.size() > MAX_HISTORY_POINTS) {
-            // Para "eliminar" el primero, creamos una nueva lista sin él.
-            // Esto es ineficiente pero cumple la restricción de no tener un método removeFirst().
-            CustomLinkedList<Boolean> newHistory = new CustomLinkedList<>();
-            for (int i = 1; i < cpuUsageHistory.size(); i++) {
-                newHistory.add(cpuUsageHistory.get(i));
+        totalTicks++;
+        if (isCpuBusy) {
+            busyTicks++;
+            coreBusyTicks[0]++;
+        }
+        // El búfer circular descarta la muestra más antigua al llenarse: costo y memoria constantes.
+        cpuUsageHistory.append(isCpuBusy);
+    }
+
+    /**
+     * Registra varios ticks consecutivos con el mismo estado de CPU. Equivale a llamar
+     * {@code count} veces a {@link #recordTick(boolean)}.
+     * @param isCpuBusy true si la CPU estuvo ocupada durante esos ticks.
+     * @param count Número de ticks.
+     */
+    public synchronized void recordTicks(boolean isCpuBusy, long count) {
+        totalTicks += count;
+        if (isCpuBusy) {
+            busyTicks += count;
+            coreBusyTicks[0] += count;
+        }
+        cpuUsageHistory.appendRun(isCpuBusy, count);
+    }
+
+    /**
+     * Define cuántos núcleos se simulan y reinicia los contadores por núcleo. Con más de un
+     * núcleo, el uso de CPU es el promedio de todos los núcleos y el historial marca como
+     * ocupado cada tick en el que al menos un núcleo trabajó.
+     * @param coreCount Número de núcleos (al menos 1).
+     * @throws IllegalArgumentException si coreCount no es positivo.
+     */
+    public synchronized void setCoreCount(int coreCount) {
+        if (coreCount <= 0) {
+            throw new IllegalArgumentException("El número de núcleos debe ser positivo: " + coreCount);
+        }
+        coreBusyTicks = new long[coreCount];
+    }
+
+    /**
+     * Registra un tick de una simulación multinúcleo.
+     * @param busyCores Estado de cada núcleo durante el tick (true = ocupado); su largo debe
+     *                  coincidir con {@link #getCoreCount()}.
+     */
+    public synchronized void recordCoreTicks(boolean[] busyCores) {
+        totalTicks++;
+        int busyCount = 0;
+        for (int core = 0; core < coreBusyTicks.length; core++) {
+            if (busyCores[core]) {
+                coreBusyTicks[core]++;
+                busyCount++;
             }
-            // Reemplazar el historial antiguo. Esto no es atómico y podría ser mejorado.
-            // Por simplicidad para el ejercicio, lo dejamos así.
         }
+        busyTicks += busyCount;
+        cpuUsageHistory.append(busyCount > 0);
     }
 
     /**
      * Registra la finalización de un proceso y actualiza las métricas relacionadas.
      * @param pcb El proceso que ha terminado.
      */
-    public synchronized void recordProcessCompletion(PCB pcb) {
-        completedProcesses++;
-        if (pcb.getDeadlineTicks() >= 0) {
-            deadlinesMet++;
+    public void recordProcessCompletion(PCB pcb) {
+        recordProcessCompletion(pcb, UNNAMED_ALGORITHM);
+    }
+
+    /**
+     * Registra la finalización de un proceso y sus latencias, agrupadas bajo el algoritmo
+     * indicado y la banda de prioridad del proceso. No toma bloqueos.
+     * @param pcb El proceso que ha terminado, con sus marcas de llegada, primera ejecución y terminación.
+     * @param algorithm Nombre del algoritmo que lo planificó.
+     */
+    public void recordProcessCompletion(PCB pcb, String algorithm) {
+        recordProcessCompletion(pcb.isDeadlineMet());
+        latenciesFor(algorithm).bands[priorityBand(pcb.getPriority())].record(pcb);
+    }
+
+    /**
+     * Registra la finalización de un proceso sin necesitar su PCB (no registra latencias).
+     * @param deadlineMet true si el proceso terminó dentro de su deadline.
+     */
+    public void recordProcessCompletion(boolean deadlineMet) {
+        completedProcesses.increment();
+        if (deadlineMet) {
+            deadlinesMet.increment();
+        }
+    }
+
+    /**
+     * Registra que venció el deadline de un proceso que todavía no había terminado. No toma bloqueos.
+     * @param aborted true si el proceso se abortó por el incumplimiento (no cuenta como completado).
+     */
+    public void recordDeadlineMiss(boolean aborted) {
+        deadlineMisses.increment();
+        if (aborted) {
+            abortedProcesses.increment();
+        }
+    }
+
+    /**
+     * @return Los deadlines que vencieron antes de que su proceso terminara, contados en el
+     *         momento en que vencieron (incluye los procesos que después terminaron tarde).
+     */
+    public long getDeadlineMisses() {
+        return deadlineMisses.sum();
+    }
+
+    public long getAbortedProcesses() {
+        return abortedProcesses.sum();
+    }
+
+    /**
+     * Registra que el control de admisión rechazó un proceso. No toma bloqueos.
+     */
+    public void recordAdmissionRejection() {
+        rejectedProcesses.increment();
+    }
+
+    /**
+     * Registra que el control de admisión difirió la llegada de un proceso. No toma bloqueos.
+     */
+    public void recordAdmissionDeferral() {
+        deferredProcesses.increment();
+    }
+
+    /**
+     * @return Los procesos que el control de admisión rechazó (en su llegada o después de diferirlos).
+     */
+    public long getRejectedProcesses() {
+        return rejectedProcesses.sum();
+    }
+
+    /**
+     * @return Los procesos que el control de admisión difirió al menos una vez.
+     */
+    public long getDeferredProcesses() {
+        return deferredProcesses.sum();
+    }
+
+    /**
+     * Registra que un proceso volvió de disco a RAM. No toma bloqueos.
+     * @param ticksOnDisk Ticks que el proceso pasó en disco.
+     */
+    public void recordSwapIn(long ticksOnDisk) {
+        swapIns.increment();
+        swapInLatency.record(ticksOnDisk);
+    }
+
+    /**
+     * Registra que el planificador de mediano plazo llevó un proceso de RAM a disco.
+     */
+    public void recordSwapOut() {
+        swapOuts.increment();
+    }
+
+    public long getSwapIns() {
+        return swapIns.sum();
+    }
+
+    public long getSwapOuts() {
+        return swapOuts.sum();
+    }
+
+    /**
+     * @return La distribución de ticks que pasaron en disco los procesos traídos a RAM. Es el
+     *         objeto que se sigue actualizando.
+     */
+    public LogHistogram getSwapInLatency() {
+        return swapInLatency;
+    }
+
+    /**
+     * Registra un pedido de E/S. No toma bloqueos.
+     * @param blockedTicks Ticks que el proceso quedará bloqueado: la espera en la cola del
+     *                     dispositivo más el servicio.
+     */
+    public void recordIoRequest(long blockedTicks) {
+        ioBlockedTime.record(blockedTicks);
+    }
+
+    /**
+     * @return La distribución de ticks bloqueados por pedido de E/S (su conteo es el número de
+     *         pedidos). Es el objeto que se sigue actualizando.
+     */
+    public LogHistogram getIoBlockedTime() {
+        return ioBlockedTime;
+    }
+
+    private AlgorithmLatencies latenciesFor(String algorithm) {
+        AlgorithmLatencies found = findLatencies(latencies, algorithm);
+        if (found != null) {
+            return found;
+        }
+        synchronized (latenciesLock) {
+            AlgorithmLatencies[] current = latencies;
+            found = findLatencies(current, algorithm);
+            if (found == null) {
+                AlgorithmLatencies[] grown = new AlgorithmLatencies[current.length + 1];
+                System.arraycopy(current, 0, grown, 0, current.length);
+                found = new AlgorithmLatencies(algorithm);
+                grown[current.length] = found;
+                latencies = grown;
+            }
+            return found;
+        }
+    }
+
+    private static AlgorithmLatencies findLatencies(AlgorithmLatencies[] entries, String algorithm) {
+        for (AlgorithmLatencies entry : entries) {
+            if (entry.algorithm.equals(algorithm)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param priority Prioridad de un proceso (menor = más prioritario).
+     * @return La banda de prioridad, entre 0 (alta) y {@code PRIORITY_BANDS - 1} (baja).
+     */
+    public static int priorityBand(int priority) {
+        if (priority <= 2) {
+            return 0;
+        }
+        return priority <= 6 ? 1 : 2;
+    }
+
+    /**
+     * @param band Índice de la banda.
+     * @return El nombre de la banda para los reportes.
+     */
+    public static String getPriorityBandName(int band) {
+        return PRIORITY_BAND_NAMES[band];
+    }
+
+    /**
+     * @return Los nombres de los algoritmos que registraron procesos terminados, en orden de aparición.
+     */
+    public String[] getLatencyAlgorithms() {
+        AlgorithmLatencies[] entries = latencies;
+        String[] names = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            names[i] = entries[i].algorithm;
         }
+        return names;
+    }
+
+    /**
+     * Devuelve las latencias de un algoritmo en una banda de prioridad. El objeto devuelto es el
+     * que se sigue actualizando.
+     * @param algorithm Nombre del algoritmo ({@link com.microsat.rtos.core.algorithms.SchedulingAlgorithm#getName()}).
+     * @param band Banda de prioridad ({@link #priorityBand(int)}).
+     * @return Las latencias, o null si el algoritmo no registró procesos.
+     */
+    public LatencyStats getLatencyStats(String algorithm, int band) {
+        AlgorithmLatencies entry = findLatencies(latencies, algorithm);
+        return entry == null ? null : entry.bands[band];
+    }
+
+    /**
+     * @param algorithm Nombre del algoritmo.
+     * @return Una copia con las latencias del algoritmo en todas las bandas (vacía si no registró procesos).
+     */
+    public LatencyStats getLatencyStats(String algorithm) {
+        LatencyStats merged = new LatencyStats();
+        AlgorithmLatencies entry = findLatencies(latencies, algorithm);
+        if (entry != null) {
+            for (LatencyStats band : entry.bands) {
+                merged.add(band);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * @return Una copia con las latencias de todos los algoritmos y bandas.
+     */
+    public LatencyStats getLatencyStats() {
+        LatencyStats merged = new LatencyStats();
+        for (AlgorithmLatencies entry : latencies) {
+            for (LatencyStats band : entry.bands) {
+                merged.add(band);
+            }
+        }
+        return merged;
     }
 
     /**
      * Calcula la tasa de éxito (procesos completados a tiempo).
      * @return El porcentaje de éxito (0.0 a 100.0).
      */
-    public synchronized double getSuccessRate() {
-        if (completedProcesses == 0) {
+    public double getSuccessRate() {
+        long completed = completedProcesses.sum();
+        if (completed == 0) {
             return 100.0; // O 0.0, dependiendo de la definición. 100% si no hubo fallos.
         }
-        return (double) deadlinesMet / completedProcesses * 100.0;
+        return (double) deadlinesMet.sum() / completed * 100.0;
     }
 
-    public synchronized int getCompletedProcesses() {
-        return completedProcesses;
+    /**
+     * Calcula el porcentaje de ticks en los que la CPU estuvo ocupada (con varios núcleos, el
+     * promedio de todos ellos).
+     * @return El uso de CPU (0.0 a 100.0).
+     */
+    public synchronized double getCpuUtilization() {
+        if (totalTicks == 0) {
+            return 0.0;
+        }
+        return (double) busyTicks / ((double) totalTicks * coreBusyTicks.length) * 100.0;
     }
 
-    public synchronized int getDeadlinesMet() {
-        return deadlinesMet;
+    /**
+     * Calcula el porcentaje de ticks en los que un núcleo estuvo ocupado.
+     * @param core Índice del núcleo.
+     * @return El uso del núcleo (0.0 a 100.0).
+     */
+    public synchronized double getCoreUtilization(int core) {
+        if (totalTicks == 0) {
+            return 0.0;
+        }
+        return (double) coreBusyTicks[core] / totalTicks * 100.0;
     }
 
-    public synchronized CustomLinkedList<Boolean> getCpuUsageHistory() {
-        return cpuUsageHistory;
+    public synchronized int getCoreCount() {
+        return coreBusyTicks.length;
+    }
+
+    public synchronized long getTotalTicks() {
+        return totalTicks;
+    }
+
+    public synchronized long getBusyTicks() {
+        return busyTicks;
+    }
+
+    public int getCompletedProcesses() {
+        return completedProcesses.intValue();
+    }
+
+    public int getDeadlinesMet() {
+        return deadlinesMet.intValue();
+    }
+
+    /**
+     * Copia las muestras más recientes del historial de CPU, de la más antigua a la más reciente.
+     * @param dest Arreglo destino; se copian como máximo {@code dest.length} muestras.
+     * @return El número de muestras copiadas.
+     */
+    public synchronized int copyCpuUsageHistory(boolean[] dest) {
+        return cpuUsageHistory.copyLast(dest);
+    }
+
+    /**
+     * Copia solo las muestras del historial registradas después del tick {@code sinceTick}, para
+     * quien dibuja la gráfica de forma incremental. Se copian las
+     * {@code min(total - sinceTick, dest.length)} más recientes, de la más antigua a la más reciente.
+     * @param sinceTick Total de ticks que quien llama ya procesó (0 para copiar desde el inicio).
+     * @param dest Arreglo destino; no puede ser más largo que el historial.
+     * @return El total de ticks registrados en el momento de la copia. Si es menor que
+     *         {@code sinceTick}, las métricas se reiniciaron.
+     * @throws IllegalArgumentException si dest es más largo que el historial.
+     */
+    public synchronized long copyCpuUsageSince(long sinceTick, boolean[] dest) {
+        if (dest.length > cpuUsageHistory.capacity()) {
+            throw new IllegalArgumentException("El historial solo conserva " + cpuUsageHistory.capacity() + " muestras");
+        }
+        if (totalTicks > sinceTick) {
+            cpuUsageHistory.copyLast(dest, (int) Math.min(totalTicks - sinceTick, dest.length));
+        }
+        return totalTicks;
+    }
+
+    /**
+     * Copia todo el estado acumulado, para guardarlo en un checkpoint. Las latencias se copian,
+     * así que el estado no cambia aunque se sigan registrando procesos. Para que sea coherente,
+     * debe llamarse cuando nadie está registrando (por ejemplo, entre dos ticks).
+     * @return El estado actual.
+     */
+    public synchronized MetricsState captureState() {
+        boolean[] history = new boolean[cpuUsageHistory.size()];
+        cpuUsageHistory.copyLast(history);
+        AlgorithmLatencies[] entries = latencies;
+        String[] algorithms = new String[entries.length];
+        LatencyStats[][] copies = new LatencyStats[entries.length][PRIORITY_BANDS];
+        for (int i = 0; i < entries.length; i++) {
+            algorithms[i] = entries[i].algorithm;
+            for (int band = 0; band < PRIORITY_BANDS; band++) {
+                copies[i][band] = new LatencyStats();
+                copies[i][band].add(entries[i].bands[band]);
+            }
+        }
+        LogHistogram swapLatency = new LogHistogram();
+        swapLatency.add(swapInLatency);
+        LogHistogram ioTime = new LogHistogram();
+        ioTime.add(ioBlockedTime);
+        return new MetricsState(totalTicks, busyTicks, coreBusyTicks.clone(), completedProcesses.sum(),
+                deadlinesMet.sum(), deadlineMisses.sum(), abortedProcesses.sum(), rejectedProcesses.sum(),
+                deferredProcesses.sum(), swapIns.sum(), swapOuts.sum(),
+                swapLatency, ioTime, history, algorithms, copies);
+    }
+
+    /**
+     * Reemplaza todo el estado acumulado por uno capturado antes con {@link #captureState()},
+     * incluido el número de núcleos.
+     * @param state El estado a aplicar.
+     */
+    public synchronized void restoreState(MetricsState state) {
+        totalTicks = state.getTotalTicks();
+        busyTicks = state.getBusyTicks();
+        coreBusyTicks = state.getCoreBusyTicks().clone();
+        completedProcesses.reset();
+        completedProcesses.add(state.getCompletedProcesses());
+        deadlinesMet.reset();
+        deadlinesMet.add(state.getDeadlinesMet());
+        deadlineMisses.reset();
+        deadlineMisses.add(state.getDeadlineMisses());
+        abortedProcesses.reset();
+        abortedProcesses.add(state.getAbortedProcesses());
+        rejectedProcesses.reset();
+        rejectedProcesses.add(state.getRejectedProcesses());
+        deferredProcesses.reset();
+        deferredProcesses.add(state.getDeferredProcesses());
+        swapIns.reset();
+        swapIns.add(state.getSwapIns());
+        swapOuts.reset();
+        swapOuts.add(state.getSwapOuts());
+        swapInLatency.reset();
+        swapInLatency.add(state.getSwapInLatency());
+        ioBlockedTime.reset();
+        ioBlockedTime.add(state.getIoBlockedTime());
+        cpuUsageHistory.clear();
+        for (boolean busy : state.getCpuUsageHistory()) {
+            cpuUsageHistory.append(busy);
+        }
+        String[] algorithms = state.getAlgorithms();
+        AlgorithmLatencies[] restored = new AlgorithmLatencies[algorithms.length];
+        for (int i = 0; i < algorithms.length; i++) {
+            restored[i] = new AlgorithmLatencies(algorithms[i]);
+            for (int band = 0; band < PRIORITY_BANDS; band++) {
+                restored[i].bands[band].add(state.getLatencies()[i][band]);
+            }
+        }
+        synchronized (latenciesLock) {
+            latencies = restored;
+        }
     }
 
     public synchronized void reset() {
         // Podría ser útil para reiniciar la simulación
-        cpuUsageHistory = new CustomLinkedList<>();
-        completedProcesses = 0;
-        deadlinesMet = 0;
+        cpuUsageHistory.clear();
+        totalTicks = 0;
+        busyTicks = 0;
+        coreBusyTicks = new long[coreBusyTicks.length];
+        completedProcesses.reset();
+        deadlinesMet.reset();
+        deadlineMisses.reset();
+        abortedProcesses.reset();
+        rejectedProcesses.reset();
+        deferredProcesses.reset();
+        swapIns.reset();
+        swapOuts.reset();
+        swapInLatency.reset();
+        ioBlockedTime.reset();
+        synchronized (latenciesLock) {
+            latencies = new AlgorithmLatencies[0];
+        }
     }
 }
@@ -0,0 +1,222 @@
+package com.microsat.rtos.metrics;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Copia inmutable de todo lo que acumuló un {@link MetricsManager}: contadores de ticks (también
+ * por núcleo), procesos completados, deadlines cumplidos y vencidos, abortos, rechazos y diferidos del
+ * control de admisión, swapping, tiempos de E/S, el historial de uso de CPU y las
+ * latencias por algoritmo y banda de prioridad. Se obtiene con {@link MetricsManager#captureState()}
+ * y se aplica con {@link MetricsManager#restoreState(MetricsState)}; forma parte de los checkpoints
+ * del Scheduler.
+ */
+public final class MetricsState {
+
+    private final long totalTicks;
+    private final long busyTicks;
+    private final long[] coreBusyTicks;
+    private final long completedProcesses;
+    private final long deadlinesMet;
+    private final long deadlineMisses;
+    private final long abortedProcesses;
+    private final long rejectedProcesses;
+    private final long deferredProcesses;
+    private final long swapIns;
+    private final long swapOuts;
+    private final LogHistogram swapInLatency;
+    private final LogHistogram ioBlockedTime;
+    private final boolean[] cpuUsageHistory; // De la muestra más antigua a la más reciente
+    private final String[] algorithms;
+    private final LatencyStats[][] latencies; // [algoritmo][banda]
+
+    MetricsState(long totalTicks, long busyTicks, long[] coreBusyTicks, long completedProcesses, long deadlinesMet,
+                 long deadlineMisses, long abortedProcesses, long rejectedProcesses, long deferredProcesses, long swapIns, long swapOuts, LogHistogram swapInLatency, LogHistogram ioBlockedTime,
+                 boolean[] cpuUsageHistory,
+                 String[] algorithms, LatencyStats[][] latencies) {
+        this.totalTicks = totalTicks;
+        this.busyTicks = busyTicks;
+        this.coreBusyTicks = coreBusyTicks;
+        this.completedProcesses = completedProcesses;
+        this.deadlinesMet = deadlinesMet;
+        this.deadlineMisses = deadlineMisses;
+        this.abortedProcesses = abortedProcesses;
+        this.rejectedProcesses = rejectedProcesses;
+        this.deferredProcesses = deferredProcesses;
+        this.swapIns = swapIns;
+        this.swapOuts = swapOuts;
+        this.swapInLatency = swapInLatency;
+        this.ioBlockedTime = ioBlockedTime;
+        this.cpuUsageHistory = cpuUsageHistory;
+        this.algorithms = algorithms;
+        this.latencies = latencies;
+    }
+
+    /**
+     * Escribe el estado en formato binario.
+     * @param out Destino.
+     * @throws IOException Si no se puede escribir.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(totalTicks);
+        out.writeLong(busyTicks);
+        out.writeInt(coreBusyTicks.length);
+        for (long ticks : coreBusyTicks) {
+            out.writeLong(ticks);
+        }
+        out.writeLong(completedProcesses);
+        out.writeLong(deadlinesMet);
+        out.writeLong(deadlineMisses);
+        out.writeLong(abortedProcesses);
+        out.writeLong(rejectedProcesses);
+        out.writeLong(deferredProcesses);
+        out.writeLong(swapIns);
+        out.writeLong(swapOuts);
+        swapInLatency.writeTo(out);
+        ioBlockedTime.writeTo(out);
+        out.writeInt(cpuUsageHistory.length);
+        // Historial empaquetado de a 8 muestras por byte
+        for (int i = 0; i < cpuUsageHistory.length; i += 8) {
+            int packed = 0;
+            for (int bit = 0; bit < 8 && i + bit < cpuUsageHistory.length; bit++) {
+                if (cpuUsageHistory[i + bit]) {
+                    packed |= 1 << bit;
+                }
+            }
+            out.writeByte(packed);
+        }
+        out.writeInt(algorithms.length);
+        for (int i = 0; i < algorithms.length; i++) {
+            byte[] name = algorithms[i].getBytes(StandardCharsets.UTF_8);
+            out.writeShort(name.length);
+            out.write(name);
+            for (LatencyStats band : latencies[i]) {
+                band.writeTo(out);
+            }
+        }
+    }
+
+    /**
+     * Lee un estado escrito con {@link #writeTo(DataOutput)}, a partir de la posición actual del
+     * búfer (big-endian).
+     * @param in Origen.
+     * @return El estado leído.
+     * @throws IOException Si los datos no son válidos.
+     * @throws java.nio.BufferUnderflowException si el búfer termina antes que el estado.
+     */
+    public static MetricsState readFrom(ByteBuffer in) throws IOException {
+        long totalTicks = in.getLong();
+        long busyTicks = in.getLong();
+        int coreCount = in.getInt();
+        if (coreCount <= 0 || coreCount > 1 << 16) {
+            throw new IOException("Métricas corruptas: " + coreCount + " núcleos");
+        }
+        long[] coreBusyTicks = new long[coreCount];
+        for (int core = 0; core < coreCount; core++) {
+            coreBusyTicks[core] = in.getLong();
+        }
+        long completedProcesses = in.getLong();
+        long deadlinesMet = in.getLong();
+        long deadlineMisses = in.getLong();
+        long abortedProcesses = in.getLong();
+        long rejectedProcesses = in.getLong();
+        long deferredProcesses = in.getLong();
+        long swapIns = in.getLong();
+        long swapOuts = in.getLong();
+        LogHistogram swapInLatency = LogHistogram.readFrom(in);
+        LogHistogram ioBlockedTime = LogHistogram.readFrom(in);
+        int historyLength = in.getInt();
+        if (historyLength < 0 || historyLength > 1 << 24) {
+            throw new IOException("Métricas corruptas: historial de " + historyLength + " muestras");
+        }
+        boolean[] history = new boolean[historyLength];
+        for (int i = 0; i < historyLength; i += 8) {
+            int packed = in.get();
+            for (int bit = 0; bit < 8 && i + bit < historyLength; bit++) {
+                history[i + bit] = (packed & (1 << bit)) != 0;
+            }
+        }
+        int algorithmCount = in.getInt();
+        if (algorithmCount < 0 || algorithmCount > 1 << 16) {
+            throw new IOException("Métricas corruptas: " + algorithmCount + " algoritmos");
+        }
+        String[] algorithms = new String[algorithmCount];
+        LatencyStats[][] latencies = new LatencyStats[algorithmCount][MetricsManager.PRIORITY_BANDS];
+        for (int i = 0; i < algorithmCount; i++) {
+            byte[] name = new byte[Short.toUnsignedInt(in.getShort())];
+            in.get(name);
+            algorithms[i] = new String(name, StandardCharsets.UTF_8);
+            for (int band = 0; band < MetricsManager.PRIORITY_BANDS; band++) {
+                latencies[i][band] = LatencyStats.readFrom(in);
+            }
+        }
+        return new MetricsState(totalTicks, busyTicks, coreBusyTicks, completedProcesses, deadlinesMet, deadlineMisses,
+                abortedProcesses, rejectedProcesses, deferredProcesses, swapIns, swapOuts, swapInLatency, ioBlockedTime, history, algorithms, latencies);
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    public long getCompletedProcesses() {
+        return completedProcesses;
+    }
+
+    long getBusyTicks() {
+        return busyTicks;
+    }
+
+    long[] getCoreBusyTicks() {
+        return coreBusyTicks;
+    }
+
+    long getDeadlinesMet() {
+        return deadlinesMet;
+    }
+
+    long getDeadlineMisses() {
+        return deadlineMisses;
+    }
+
+    long getAbortedProcesses() {
+        return abortedProcesses;
+    }
+
+    long getRejectedProcesses() {
+        return rejectedProcesses;
+    }
+
+    long getDeferredProcesses() {
+        return deferredProcesses;
+    }
+
+    long getSwapIns() {
+        return swapIns;
+    }
+
+    long getSwapOuts() {
+        return swapOuts;
+    }
+
+    LogHistogram getSwapInLatency() {
+        return swapInLatency;
+    }
+
+    LogHistogram getIoBlockedTime() {
+        return ioBlockedTime;
+    }
+
+    boolean[] getCpuUsageHistory() {
+        return cpuUsageHistory;
+    }
+
+    String[] getAlgorithms() {
+        return algorithms;
+    }
+
+    LatencyStats[][] getLatencies() {
+        return latencies;
+    }
+}
@@ -0,0 +1,33 @@
+package com.microsat.rtos.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento instantáneo de JDK Flight Recorder emitido cuando un proceso que llega expropia al que
+ * está en ejecución.
+ */
+@Name("com.microsat.rtos.Preemption")
+@Label("Expropiación")
+@Category({"RTOS", "Scheduler"})
+@Description("Un proceso recién admitido desplazó al proceso en ejecución")
+public class PreemptionEvent extends Event {
+
+    @Label("Algoritmo")
+    public String algorithm;
+
+    @Label("Proceso expropiado")
+    public int preemptedProcessId;
+
+    @Label("Proceso que expropia")
+    public int preemptingProcessId;
+
+    @Label("Tamaño de la cola de listos")
+    public int readyQueueSize;
+
+    @Label("Tick")
+    public long tick;
+}
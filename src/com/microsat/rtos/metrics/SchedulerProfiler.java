@@ -0,0 +1,348 @@
+package com.microsat.rtos.metrics;
+
+import jdk.jfr.FlightRecorder;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Instrumentación del camino caliente del Scheduler, medida en el host (no en ticks simulados).
+ * <p>
+ * Los cambios de contexto y las expropiaciones se cuentan siempre. El resto se activa con
+ * {@link #setEnabled(boolean)}: mientras está activo, cada tick registra en nanosegundos cuánto
+ * tardó cada fase ({@link Phase}: deadlines, admisión, ejecución, fin de E/S, swapping y despacho,
+ * además del tick completo) y cuántos bytes asignó el hilo del Scheduler, y el tiempo total del
+ * tick se agrupa además por el tamaño de la cola de listos (en potencias de dos). Desactivado, el costo por tick es la lectura de un campo volátil.
+ * <p>
+ * Los resultados se consultan con {@link #snapshot()} desde cualquier hilo.
+ * <p>
+ * Independientemente de esto, el Scheduler emite los eventos de JDK Flight Recorder
+ * {@link DispatchEvent} y {@link PreemptionEvent} cuando hay una grabación de JFR.
+ */
+public class SchedulerProfiler {
+
+    /**
+     * Fases de un tick del Scheduler. {@link #TICK} es el tick completo.
+     */
+    public enum Phase {
+        DEADLINES("Deadlines"), ADMISSION("Admisión"), EXECUTION("Ejecución"), IO_COMPLETION("Fin de E/S"), SWAPPING("Swapping"),
+        DISPATCH("Despacho"), TICK("Tick");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final int QUEUE_SIZE_CLASSES = 32; // Tamaños 0, 1, 2-3, 4-7, ... hasta 2^31
+
+    private volatile boolean enabled;
+    private final LogHistogram[] phaseNanos;
+    private final LogHistogram allocatedBytes;
+    // Se crean a medida que aparecen tamaños de cola nuevos (solo el hilo del Scheduler escribe).
+    private final AtomicReferenceArray<LogHistogram> tickNanosByQueueSize;
+    private final LongAdder contextSwitches;
+    private final LongAdder preemptions;
+    private final LongAccumulator maxReadyQueueSize;
+    private volatile int lastReadyQueueSize;
+    private volatile String lastAlgorithm;
+
+    /**
+     * Crea un perfilador desactivado.
+     */
+    public SchedulerProfiler() {
+        this.phaseNanos = new LogHistogram[PHASES.length];
+        for (int i = 0; i < PHASES.length; i++) {
+            phaseNanos[i] = new LogHistogram();
+        }
+        this.allocatedBytes = new LogHistogram();
+        this.tickNanosByQueueSize = new AtomicReferenceArray<>(QUEUE_SIZE_CLASSES);
+        this.contextSwitches = new LongAdder();
+        this.preemptions = new LongAdder();
+        this.maxReadyQueueSize = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Indica si vale la pena crear eventos de JFR. Mientras nadie inició una grabación, JFR no
+     * está inicializado y crear el primer evento costaría cargar todo el módulo (cientos de ms).
+     * @return true si Flight Recorder ya fue inicializado en esta JVM.
+     */
+    public static boolean isFlightRecorderActive() {
+        return FlightRecorder.isInitialized();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Activa o desactiva la medición por tick. Al activarla se habilita también la medición de
+     * memoria asignada por hilo, si la JVM la soporta.
+     * @param enabled true para medir.
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled && Allocation.BEAN != null && !Allocation.BEAN.isThreadAllocatedMemoryEnabled()) {
+            Allocation.BEAN.setThreadAllocatedMemoryEnabled(true);
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return Los bytes asignados hasta ahora por el hilo actual, o -1 si la JVM no lo soporta.
+     */
+    public long currentThreadAllocatedBytes() {
+        return Allocation.BEAN != null ? Allocation.BEAN.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Registra las mediciones de un tick. Solo debe llamarse desde el hilo del Scheduler.
+     * @param deadlinesNanos Duración de la detección de deadlines vencidos.
+     * @param admissionNanos Duración de la admisión.
+     * @param executionNanos Duración de la ejecución del proceso actual.
+     * @param ioCompletionNanos Duración del despertar de los procesos cuya E/S terminó.
+     * @param swappingNanos Duración del planificador de mediano plazo.
+     * @param dispatchNanos Duración del despacho.
+     * @param allocated Bytes asignados durante el tick, o un valor negativo si no se midieron.
+     * @param readyQueueSize Tamaño de la cola de listos al final del tick.
+     * @param algorithm Nombre del algoritmo activo.
+     */
+    public void recordTick(long deadlinesNanos, long admissionNanos, long executionNanos, long ioCompletionNanos,
+                           long swappingNanos, long dispatchNanos, long allocated, int readyQueueSize, String algorithm) {
+        long tickNanos = deadlinesNanos + admissionNanos + executionNanos + ioCompletionNanos + swappingNanos
+                + dispatchNanos;
+        phaseNanos[Phase.DEADLINES.ordinal()].record(deadlinesNanos);
+        phaseNanos[Phase.ADMISSION.ordinal()].record(admissionNanos);
+        phaseNanos[Phase.EXECUTION.ordinal()].record(executionNanos);
+        phaseNanos[Phase.IO_COMPLETION.ordinal()].record(ioCompletionNanos);
+        phaseNanos[Phase.SWAPPING.ordinal()].record(swappingNanos);
+        phaseNanos[Phase.DISPATCH.ordinal()].record(dispatchNanos);
+        phaseNanos[Phase.TICK.ordinal()].record(tickNanos);
+        if (allocated >= 0) {
+            allocatedBytes.record(allocated);
+        }
+        int sizeClass = sizeClass(readyQueueSize);
+        LogHistogram bySize = tickNanosByQueueSize.get(sizeClass);
+        if (bySize == null) {
+            bySize = new LogHistogram();
+            tickNanosByQueueSize.set(sizeClass, bySize);
+        }
+        bySize.record(tickNanos);
+        maxReadyQueueSize.accumulate(readyQueueSize);
+        lastReadyQueueSize = readyQueueSize;
+        lastAlgorithm = algorithm;
+    }
+
+    /**
+     * Cuenta un cambio de contexto (un proceso entró a la CPU).
+     */
+    public void recordContextSwitch() {
+        contextSwitches.increment();
+    }
+
+    /**
+     * Cuenta una expropiación.
+     */
+    public void recordPreemption() {
+        preemptions.increment();
+    }
+
+    /**
+     * @return Una copia de las mediciones actuales.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Borra todas las mediciones y contadores. No cambia si la medición está activa.
+     */
+    public void reset() {
+        for (LogHistogram histogram : phaseNanos) {
+            histogram.reset();
+        }
+        allocatedBytes.reset();
+        for (int i = 0; i < QUEUE_SIZE_CLASSES; i++) {
+            tickNanosByQueueSize.set(i, null);
+        }
+        contextSwitches.reset();
+        preemptions.reset();
+        maxReadyQueueSize.reset();
+    }
+
+    /**
+     * @return 0 para una cola vacía, y k + 1 para tamaños entre 2^k y 2^(k+1) - 1.
+     */
+    private static int sizeClass(int size) {
+        return size <= 0 ? 0 : Math.min(QUEUE_SIZE_CLASSES - 1, 32 - Integer.numberOfLeadingZeros(size));
+    }
+
+    /**
+     * El MXBean se obtiene solo si alguien activa la medición, para no cargar JMX en cada Scheduler.
+     */
+    private static final class Allocation {
+        static final com.sun.management.ThreadMXBean BEAN = find();
+
+        private static com.sun.management.ThreadMXBean find() {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean extended = (com.sun.management.ThreadMXBean) bean;
+                if (extended.isThreadAllocatedMemorySupported()) {
+                    return extended;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Resumen de un histograma.
+     */
+    public static final class Stats {
+        private final long count;
+        private final double mean;
+        private final long p50;
+        private final long p99;
+        private final long p999;
+        private final long max;
+
+        Stats(LogHistogram histogram) {
+            this.count = histogram.getTotalCount();
+            this.mean = histogram.getMean();
+            this.p50 = histogram.getValueAtPercentile(50);
+            this.p99 = histogram.getValueAtPercentile(99);
+            this.p999 = histogram.getValueAtPercentile(99.9);
+            this.max = histogram.getMax();
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getP999() {
+            return p999;
+        }
+
+        public long getMax() {
+            return max;
+        }
+    }
+
+    /**
+     * Copia inmutable de las mediciones en un instante.
+     */
+    public static final class Snapshot {
+        private final boolean enabled;
+        private final Stats[] phases;
+        private final Stats allocatedBytes;
+        private final Stats[] tickNanosByQueueSize; // null en las clases de tamaño sin ticks
+        private final long contextSwitches;
+        private final long preemptions;
+        private final int lastReadyQueueSize;
+        private final long maxReadyQueueSize;
+        private final String algorithm;
+
+        private Snapshot(SchedulerProfiler profiler) {
+            this.enabled = profiler.enabled;
+            this.phases = new Stats[PHASES.length];
+            for (int i = 0; i < PHASES.length; i++) {
+                phases[i] = new Stats(profiler.phaseNanos[i]);
+            }
+            this.allocatedBytes = new Stats(profiler.allocatedBytes);
+            this.tickNanosByQueueSize = new Stats[QUEUE_SIZE_CLASSES];
+            for (int i = 0; i < QUEUE_SIZE_CLASSES; i++) {
+                LogHistogram histogram = profiler.tickNanosByQueueSize.get(i);
+                tickNanosByQueueSize[i] = histogram == null ? null : new Stats(histogram);
+            }
+            this.contextSwitches = profiler.contextSwitches.sum();
+            this.preemptions = profiler.preemptions.sum();
+            this.lastReadyQueueSize = profiler.lastReadyQueueSize;
+            this.maxReadyQueueSize = profiler.maxReadyQueueSize.get();
+            this.algorithm = profiler.lastAlgorithm;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @param phase Fase del tick.
+         * @return La duración de la fase en nanosegundos.
+         */
+        public Stats getPhase(Phase phase) {
+            return phases[phase.ordinal()];
+        }
+
+        /**
+         * @return Los bytes asignados por tick (sin registros si la JVM no lo soporta).
+         */
+        public Stats getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /**
+         * @return El número de clases de tamaño de cola de {@link #getTickNanosByQueueSize(int)}.
+         */
+        public int getQueueSizeClassCount() {
+            return QUEUE_SIZE_CLASSES;
+        }
+
+        /**
+         * @param sizeClass Clase de tamaño: 0 para la cola vacía, k + 1 para tamaños entre 2^k y 2^(k+1) - 1.
+         * @return La duración del tick con ese tamaño de cola, o null si no hubo ticks así.
+         */
+        public Stats getTickNanosByQueueSize(int sizeClass) {
+            return tickNanosByQueueSize[sizeClass];
+        }
+
+        /**
+         * @param sizeClass Clase de tamaño.
+         * @return El menor tamaño de cola de la clase.
+         */
+        public static long queueSizeClassLowerBound(int sizeClass) {
+            return sizeClass == 0 ? 0 : 1L << (sizeClass - 1);
+        }
+
+        public long getContextSwitches() {
+            return contextSwitches;
+        }
+
+        public long getPreemptions() {
+            return preemptions;
+        }
+
+        public int getLastReadyQueueSize() {
+            return lastReadyQueueSize;
+        }
+
+        public long getMaxReadyQueueSize() {
+            return maxReadyQueueSize;
+        }
+
+        /**
+         * @return El algoritmo activo en el último tick medido, o null si no se midió ninguno.
+         */
+        public String getAlgorithm() {
+            return algorithm;
+        }
+    }
+}
@@ -0,0 +1,613 @@
+package com.microsat.rtos.sim;
+
+import com.microsat.rtos.core.AdmissionPolicy;
+import com.microsat.rtos.core.CheckpointWriter;
+import com.microsat.rtos.core.CyclicExecutive;
+import com.microsat.rtos.core.IoDevice;
+import com.microsat.rtos.core.MultiCoreScheduler;
+import com.microsat.rtos.core.PCB;
+import com.microsat.rtos.core.PeriodicTask;
+import com.microsat.rtos.core.ProcessTable;
+import com.microsat.rtos.core.ResponseTimeAnalysis;
+import com.microsat.rtos.core.ScheduleTable;
+import com.microsat.rtos.core.Scheduler;
+import com.microsat.rtos.core.SchedulerCheckpoint;
+import com.microsat.rtos.core.SimulationConfig;
+import com.microsat.rtos.core.SwapPolicy;
+import com.microsat.rtos.core.SystemConfig;
+import com.microsat.rtos.core.TableScheduler;
+import com.microsat.rtos.core.algorithms.AlgorithmFactory;
+import com.microsat.rtos.core.algorithms.SchedulingAlgorithm;
+import com.microsat.rtos.datastructures.CustomArrayList;
+import com.microsat.rtos.io.BinaryWorkload;
+import com.microsat.rtos.io.ProcessLoader;
+import com.microsat.rtos.io.TaskSetLoader;
+import com.microsat.rtos.metrics.LatencyStats;
+import com.microsat.rtos.metrics.LogHistogram;
+import com.microsat.rtos.metrics.MetricsManager;
+import com.microsat.rtos.metrics.SchedulerProfiler;
+import com.microsat.rtos.trace.TraceRecorder;
+import com.microsat.rtos.trace.TraceReplay;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Punto de entrada sin interfaz gráfica. Carga una carga de trabajo, la simula a máxima
+ * velocidad (sin esperas entre ticks) y muestra un reporte final de métricas.
+ * <p>
+ * Uso: {@code java -cp out com.microsat.rtos.sim.HeadlessRunner [--event-driven] [--profile] [--trace archivo.rttr] [--checkpoint-every N directorio] [--swap-policy política] [--abort-on-miss] [--admission política] [--tasks tareas.csv] [--table] [--cores N [--partitioned]] [archivo] <algoritmo> <ticks>}
+ * (el archivo de procesos se puede omitir solo con {@code --tasks}),
+ * {@code java -cp out com.microsat.rtos.sim.HeadlessRunner [opciones] --restore checkpoint.rtcp <ticks>}
+ * o {@code java -cp out com.microsat.rtos.sim.HeadlessRunner --tasks tareas.csv --cyclic <ticks>}
+ * <p>
+ * Con {@code --event-driven} el reloj salta directamente entre eventos (ver
+ * {@link Scheduler#advanceEventDriven(long)}), lo que acelera mucho las cargas dispersas.
+ * Con {@code --table} los procesos se guardan en una {@link ProcessTable} y se simulan con
+ * {@link TableScheduler}, sin un objeto por proceso; conviene para cargas de millones de procesos.
+ * Con {@code --cores N} se simula una CPU de N núcleos con {@link MultiCoreScheduler} (cola global,
+ * o una cola por núcleo con robo de trabajo si además se indica {@code --partitioned}).
+ * <p>
+ * El reporte incluye los percentiles p50/p99/p99.9 de las latencias de los procesos terminados,
+ * en total y por banda de prioridad (no disponible con {@code --table}, que no guarda PCBs).
+ * Con {@code --profile} se activa el {@link SchedulerProfiler} y el reporte agrega lo que costó
+ * cada fase del tick en el host (solo con el planificador de un núcleo).
+ * Con {@code --trace} cada transición de estado se graba en una traza binaria que luego se
+ * analiza con {@link TraceReplay} (también solo con el planificador de un núcleo).
+ * Con {@code --checkpoint-every N directorio} se guarda un {@link SchedulerCheckpoint} cada N ticks
+ * (escrito en segundo plano por un {@link CheckpointWriter}), y con {@code --restore} la simulación
+ * continúa desde un checkpoint, con su carga, algoritmo y métricas, durante los ticks indicados.
+ * Con {@code --swap-policy} se elige el criterio del planificador de mediano plazo
+ * ({@link SwapPolicy}, por defecto el del algoritmo); el reporte muestra el tráfico de swapping
+ * y cuánto esperaron en disco los procesos.
+ * <p>
+ * Los deadlines corren desde la llegada de cada proceso. El reporte del planificador de un núcleo
+ * cuenta los deadlines que vencieron antes de que su proceso terminara; con {@code --abort-on-miss}
+ * esos procesos se abortan en el tick en que vence su deadline. Con {@code --admission} se activa
+ * el control de admisión de EDF ({@link AdmissionPolicy}): las llegadas que harían infactible el
+ * conjunto admitido se rechazan ({@code reject}) o esperan a que haya lugar ({@code defer}), y el
+ * reporte cuenta unos y otros.
+ * <p>
+ * Con {@code --tasks} el planificador de un núcleo libera además los trabajos de un conjunto de
+ * {@link PeriodicTask} (ver {@link TaskSetLoader}). Al cargarlas se hace el
+ * {@link ResponseTimeAnalysis} de Rate Monotonic y se avisa si alguna tarea no es planificable.
+ * Con {@code --cyclic} las tareas se ejecutan con un {@link CyclicExecutive}, siguiendo una
+ * {@link ScheduleTable} calculada de antemano, sin algoritmo ni procesos aperiódicos.
+ * <p>
+ * Si la carga define ráfagas de E/S, el reporte del planificador de un núcleo agrega el uso, los
+ * pedidos y la cola máxima de cada {@link IoDevice}, y cuánto estuvieron bloqueados los procesos.
+ */
+public class HeadlessRunner {
+
+    public static void main(String[] args) {
+        boolean eventDriven = false;
+        boolean profile = false;
+        boolean useTable = false;
+        boolean partitioned = false;
+        File traceFile = null;
+        File checkpointDirectory = null;
+        long checkpointInterval = 0;
+        File restoreFile = null;
+        String swapPolicyName = null;
+        boolean abortOnMiss = false;
+        String admissionPolicyName = null;
+        File taskFile = null;
+        boolean cyclic = false;
+        int cores = 0; // 0 = planificador de un solo núcleo
+        String[] positional = new String[3];
+        int positionalCount = 0;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--event-driven")) {
+                eventDriven = true;
+            } else if (arg.equals("--profile")) {
+                profile = true;
+            } else if (arg.equals("--table")) {
+                useTable = true;
+            } else if (arg.equals("--partitioned")) {
+                partitioned = true;
+            } else if (arg.equals("--abort-on-miss")) {
+                abortOnMiss = true;
+            } else if (arg.equals("--cyclic")) {
+                cyclic = true;
+            } else if (arg.equals("--tasks") && i + 1 < args.length) {
+                taskFile = new File(args[++i]);
+            } else if (arg.equals("--trace") && i + 1 < args.length) {
+                traceFile = new File(args[++i]);
+            } else if (arg.equals("--swap-policy") && i + 1 < args.length) {
+                swapPolicyName = args[++i];
+            } else if (arg.equals("--admission") && i + 1 < args.length) {
+                admissionPolicyName = args[++i];
+            } else if (arg.equals("--restore") && i + 1 < args.length) {
+                restoreFile = new File(args[++i]);
+            } else if (arg.equals("--checkpoint-every") && i + 2 < args.length) {
+                try {
+                    checkpointInterval = Long.parseLong(args[++i]);
+                } catch (NumberFormatException e) {
+                    positionalCount = -1;
+                    break;
+                }
+                checkpointDirectory = new File(args[++i]);
+            } else if (arg.equals("--cores") && i + 1 < args.length) {
+                try {
+                    cores = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    positionalCount = -1;
+                    break;
+                }
+            } else if (positionalCount < positional.length && !arg.startsWith("--")) {
+                positional[positionalCount++] = arg;
+            } else {
+                positionalCount = -1; // Argumento desconocido o sobrante
+                break;
+            }
+        }
+        boolean multiCore = cores > 0 || partitioned;
+        boolean singleCoreOnly = profile || traceFile != null || checkpointDirectory != null || restoreFile != null
+                || swapPolicyName != null || abortOnMiss || admissionPolicyName != null || taskFile != null;
+        int expectedPositional = restoreFile != null || cyclic ? 1 : positional.length; // Al restaurar, solo los ticks
+        if (taskFile != null && !cyclic && positionalCount == positional.length - 1) {
+            // Solo tareas periódicas: sin archivo de procesos
+            System.arraycopy(positional, 0, positional, 1, positionalCount++);
+            positional[0] = null;
+        }
+        if (positionalCount != expectedPositional || cores < 0 || (multiCore && (eventDriven || useTable))
+                || (singleCoreOnly && (multiCore || useTable)) || (checkpointDirectory != null && checkpointInterval <= 0)
+                || (taskFile != null && restoreFile != null)
+                || (cyclic && (taskFile == null || eventDriven || profile || traceFile != null || checkpointDirectory != null
+                        || swapPolicyName != null || abortOnMiss || admissionPolicyName != null))) {
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        SchedulingAlgorithm algorithm = null;
+        SwapPolicy swapPolicy = null; // null = la por defecto o la del checkpoint
+        AdmissionPolicy admissionPolicy = null; // Ídem
+        long ticks;
+        try {
+            if (restoreFile == null && !cyclic) {
+                algorithm = AlgorithmFactory.create(positional[1]);
+            }
+            if (swapPolicyName != null) {
+                swapPolicy = SwapPolicy.fromName(swapPolicyName);
+            }
+            if (admissionPolicyName != null) {
+                admissionPolicy = AdmissionPolicy.fromName(admissionPolicyName);
+            }
+            ticks = Long.parseLong(positional[expectedPositional - 1]);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Argumento inválido: " + e.getMessage());
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        if (restoreFile != null) {
+            runSingleCore(restoreFile, null, null, swapPolicy, abortOnMiss, admissionPolicy, null, ticks, eventDriven, profile,
+                    traceFile, checkpointDirectory, checkpointInterval);
+            return;
+        }
+        CustomArrayList<PeriodicTask> tasks = taskFile != null ? loadTasks(taskFile) : null;
+        if (cyclic) {
+            runCyclic(tasks, ticks);
+            return;
+        }
+        File file = positional[0] != null ? new File(positional[0]) : null;
+        if (useTable) {
+            runWithTable(file, positional[1], algorithm, ticks, eventDriven);
+            return;
+        }
+        if (multiCore) {
+            MultiCoreScheduler.Mode mode = partitioned ? MultiCoreScheduler.Mode.PARTITIONED : MultiCoreScheduler.Mode.GLOBAL;
+            runMultiCore(file, positional[1], algorithm, ticks, Math.max(1, cores), mode);
+            return;
+        }
+        runSingleCore(file, positional[1], algorithm, swapPolicy, abortOnMiss, admissionPolicy, tasks, ticks, eventDriven, profile,
+                traceFile, checkpointDirectory, checkpointInterval);
+    }
+
+    /**
+     * Carga las tareas periódicas y muestra su análisis de tiempo de respuesta con Rate Monotonic;
+     * si alguna tarea no es planificable lo avisa, pero la simulación sigue.
+     */
+    private static CustomArrayList<PeriodicTask> loadTasks(File taskFile) {
+        CustomArrayList<PeriodicTask> tasks;
+        try {
+            tasks = TaskSetLoader.loadFromFile(taskFile);
+        } catch (IOException e) {
+            System.err.println("Error cargando las tareas: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+        ResponseTimeAnalysis analysis = ResponseTimeAnalysis.analyze(tasks);
+        System.out.println("=== Análisis de tiempo de respuesta (Rate Monotonic) ===");
+        System.out.printf("Tareas periódicas:      %d, utilización %.3f (cota de Liu y Layland %.3f)%n",
+                analysis.getTaskCount(), analysis.getUtilization(), analysis.getLiuLaylandBound());
+        for (int i = 0; i < analysis.getTaskCount(); i++) {
+            PeriodicTask task = analysis.getTask(i);
+            long response = analysis.getResponseTime(i);
+            System.out.printf("  %-4d %-16s T=%-8d C=%-8d D=%-8d R=%s%n", task.getTaskId(), task.getName(),
+                    task.getPeriodTicks(), task.getWcetTicks(), task.getDeadlineTicks(),
+                    response == ResponseTimeAnalysis.UNBOUNDED ? "> D (no planificable)" : Long.toString(response));
+        }
+        if (!analysis.isSchedulable()) {
+            System.err.println("Advertencia: el conjunto de tareas no es planificable con Rate Monotonic; "
+                    + "hay tareas que pueden incumplir su deadline");
+        }
+        System.out.println();
+        return tasks;
+    }
+
+    /**
+     * Ejecuta las tareas periódicas con un ejecutivo cíclico, a partir de su tabla estática.
+     */
+    private static void runCyclic(CustomArrayList<PeriodicTask> tasks, long ticks) {
+        ScheduleTable table;
+        long buildStart = System.nanoTime();
+        try {
+            table = ScheduleTable.build(tasks);
+        } catch (IllegalArgumentException e) {
+            System.err.println("No se puede construir la tabla cíclica: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        long buildNanos = System.nanoTime() - buildStart;
+        MetricsManager metrics = MetricsManager.getInstance();
+        CyclicExecutive executive = new CyclicExecutive(table, metrics);
+
+        long start = System.nanoTime();
+        executive.advance(ticks);
+        long elapsedNanos = System.nanoTime() - start;
+
+        printReport(CyclicExecutive.NAME, tasks.size(), ticks, elapsedNanos, metrics, 0, 0, 0);
+        System.out.printf("Tabla cíclica:          %d entradas, hiperperíodo %d ticks, ciclo desde el tick %d (%.1f ms)%n",
+                table.getEntryCount(), table.getHyperperiod(), table.getCycleStart(), buildNanos / 1_000_000.0);
+        printLatencies(metrics);
+    }
+
+    /**
+     * Simula con el planificador de un núcleo, a partir de una carga de trabajo (y tareas
+     * periódicas, si las hay) o, si
+     * {@code algorithm} es null, de un checkpoint (que conserva su política ante deadlines
+     * vencidos salvo que se pida abortar, y su control de admisión salvo que se indique otro).
+     */
+    private static void runSingleCore(File file, String algorithmName, SchedulingAlgorithm algorithm,
+                                      SwapPolicy swapPolicy, boolean abortOnMiss, AdmissionPolicy admissionPolicy,
+                                      CustomArrayList<PeriodicTask> tasks, long ticks, boolean eventDriven, boolean profile,
+                                      File traceFile, File checkpointDirectory, long checkpointInterval) {
+        Scheduler scheduler;
+        int loaded;
+        long restoreNanos = -1;
+        if (algorithm == null) {
+            try {
+                long restoreStart = System.nanoTime();
+                SchedulerCheckpoint checkpoint = SchedulerCheckpoint.read(file);
+                scheduler = Scheduler.restore(checkpoint, MetricsManager.getInstance());
+                restoreNanos = System.nanoTime() - restoreStart;
+                algorithmName = checkpoint.getAlgorithmName();
+                loaded = checkpoint.getProcessCount();
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error restaurando el checkpoint: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+        } else {
+            CustomArrayList<PCB> workload = new CustomArrayList<>();
+            if (file != null) {
+                try {
+                    workload = ProcessLoader.loadFromFile(file);
+                } catch (IOException e) {
+                    System.err.println("Error cargando archivo: " + e.getMessage());
+                    System.exit(1);
+                    return;
+                }
+            }
+            scheduler = new Scheduler();
+            scheduler.setAlgorithm(algorithm);
+            scheduler.addProcesses(workload);
+            if (tasks != null) {
+                scheduler.setPeriodicTasks(tasks);
+            }
+            loaded = workload.size();
+        }
+        if (swapPolicy != null) {
+            scheduler.setSwapPolicy(swapPolicy);
+        }
+        if (abortOnMiss) {
+            scheduler.setAbortOnDeadlineMiss(true);
+        }
+        if (admissionPolicy != null) {
+            scheduler.setAdmissionPolicy(admissionPolicy);
+        }
+        scheduler.getProfiler().setEnabled(profile);
+        TraceRecorder trace = null;
+        if (traceFile != null) {
+            try {
+                trace = TraceRecorder.create(traceFile);
+            } catch (IOException e) {
+                System.err.println("Error creando la traza: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+            scheduler.setTraceRecorder(trace);
+        }
+        CheckpointWriter checkpoints = null;
+        if (checkpointDirectory != null) {
+            try {
+                checkpoints = new CheckpointWriter(checkpointDirectory);
+            } catch (IOException e) {
+                System.err.println("Error preparando los checkpoints: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+            scheduler.setCheckpointWriter(checkpoints, checkpointInterval);
+        }
+
+        long start = System.nanoTime();
+        if (eventDriven) {
+            scheduler.advanceEventDriven(ticks);
+        } else {
+            scheduler.advance(ticks);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        if (checkpoints != null) {
+            scheduler.setCheckpointWriter(null, 0);
+            checkpoints.close(); // Espera a que se escriba el último checkpoint pendiente
+        }
+        if (trace != null) {
+            scheduler.setTraceRecorder(null);
+            try {
+                trace.close();
+            } catch (IOException e) {
+                System.err.println("Error cerrando la traza: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+        }
+
+        printReport(algorithmName, loaded, ticks, elapsedNanos, scheduler.getMetricsManager(),
+                scheduler.getReadyQueue().size(), scheduler.getReadySuspendedQueue().size(), scheduler.getNewQueue().size());
+        printDevices(scheduler);
+        if (restoreNanos >= 0) {
+            System.out.printf("Restaurado desde:       %s (tick %d, %.1f ms)%n", file.getPath(),
+                    scheduler.getCurrentTick() - ticks, restoreNanos / 1_000_000.0);
+        }
+        if (trace != null) {
+            System.out.printf("Traza:                  %s (%d eventos)%n", traceFile.getPath(), trace.getEventCount());
+        }
+        if (checkpoints != null) {
+            System.out.printf("Checkpoints:            %d escritos, %d descartados%s%n", checkpoints.getWrittenCount(),
+                    checkpoints.getDroppedCount(), checkpoints.getLastFile() != null ? ", último: " + checkpoints.getLastFile().getPath() : "");
+            if (checkpoints.getLastError() != null) {
+                System.err.println("Error escribiendo checkpoints: " + checkpoints.getLastError().getMessage());
+            }
+        }
+        printLatencies(scheduler.getMetricsManager());
+        if (profile) {
+            printProfile(scheduler.getProfiler().snapshot());
+        }
+    }
+
+    private static void printProfile(SchedulerProfiler.Snapshot snapshot) {
+        System.out.printf("%n%-30s %10s %10s %10s %10s %10s%n", "Costo por tick en el host", "promedio", "p50", "p99",
+                "p99.9", "máx");
+        for (SchedulerProfiler.Phase phase : SchedulerProfiler.Phase.values()) {
+            printProfileRow(phase.getLabel() + " (ns)", snapshot.getPhase(phase));
+        }
+        printProfileRow("Bytes asignados", snapshot.getAllocatedBytes());
+        for (int sizeClass = 0; sizeClass < snapshot.getQueueSizeClassCount(); sizeClass++) {
+            SchedulerProfiler.Stats stats = snapshot.getTickNanosByQueueSize(sizeClass);
+            if (stats != null) {
+                printProfileRow("  Tick con cola >= " + SchedulerProfiler.Snapshot.queueSizeClassLowerBound(sizeClass), stats);
+            }
+        }
+        System.out.printf("Cambios de contexto:    %d%n", snapshot.getContextSwitches());
+        System.out.printf("Expropiaciones:         %d%n", snapshot.getPreemptions());
+    }
+
+    private static void printProfileRow(String label, SchedulerProfiler.Stats stats) {
+        if (stats.getCount() == 0) {
+            System.out.printf("  %-28s %10s%n", label, "-");
+            return;
+        }
+        System.out.printf("  %-28s %10.0f %10d %10d %10d %10d%n", label, stats.getMean(), stats.getP50(), stats.getP99(),
+                stats.getP999(), stats.getMax());
+    }
+
+    /**
+     * Simula con la tabla de procesos. Los archivos binarios se copian columna a columna a la
+     * tabla y los nombres se decodifican bajo demanda desde el archivo mapeado.
+     */
+    private static void runWithTable(File file, String algorithmName, SchedulingAlgorithm algorithm, long ticks,
+                                     boolean eventDriven) {
+        ProcessTable table;
+        try {
+            table = loadTable(file);
+        } catch (IOException e) {
+            System.err.println("Error cargando archivo: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        MetricsManager metrics = MetricsManager.getInstance();
+        TableScheduler scheduler;
+        try {
+            scheduler = new TableScheduler(table, SimulationConfig.defaults(), metrics, algorithm);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Argumento inválido: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        scheduler.addAllProcesses();
+
+        long start = System.nanoTime();
+        if (eventDriven) {
+            scheduler.advanceEventDriven(ticks);
+        } else {
+            scheduler.advance(ticks);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        printReport(algorithmName, table.size(), ticks, elapsedNanos, metrics,
+                scheduler.readyCount(), scheduler.readySuspendedCount(), scheduler.newCount());
+    }
+
+    private static void runMultiCore(File file, String algorithmName, SchedulingAlgorithm algorithm, long ticks,
+                                     int cores, MultiCoreScheduler.Mode mode) {
+        CustomArrayList<PCB> workload;
+        try {
+            workload = ProcessLoader.loadFromFile(file);
+        } catch (IOException e) {
+            System.err.println("Error cargando archivo: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        MetricsManager metrics = MetricsManager.getInstance();
+        MultiCoreScheduler scheduler = new MultiCoreScheduler(SimulationConfig.defaults(), metrics, cores, mode, algorithm);
+        scheduler.addProcesses(workload);
+
+        long start = System.nanoTime();
+        scheduler.advance(ticks);
+        long elapsedNanos = System.nanoTime() - start;
+
+        printReport(algorithmName, workload.size(), ticks, elapsedNanos, metrics,
+                scheduler.getReadyCount(), scheduler.getReadySuspendedQueue().size(), scheduler.getNewQueue().size());
+        System.out.printf("Núcleos:                %d (%s), robos=%d, expropiaciones=%d%n",
+                cores, mode == MultiCoreScheduler.Mode.GLOBAL ? "cola global" : "particionado", scheduler.getSteals(),
+                scheduler.getPreemptions());
+        for (int core = 0; core < cores; core++) {
+            System.out.printf("  Núcleo %-2d             %.2f %%%n", core, metrics.getCoreUtilization(core));
+        }
+        printLatencies(metrics);
+    }
+
+    private static ProcessTable loadTable(File file) throws IOException {
+        if (file.getName().toLowerCase().endsWith(BinaryWorkload.EXTENSION)) {
+            BinaryWorkload workload = BinaryWorkload.open(file);
+            ProcessTable table = new ProcessTable(workload.size());
+            for (int i = 0; i < workload.size(); i++) {
+                table.add(workload.getId(i), null, workload.getPriority(i),
+                        workload.getDeadlineTicks(i), workload.getTotalExecutionTicks(i));
+            }
+            table.setNameResolver(workload::getName);
+            return table;
+        }
+        CustomArrayList<PCB> pcbs = ProcessLoader.loadFromFile(file);
+        ProcessTable table = new ProcessTable(pcbs.size());
+        for (PCB pcb : pcbs) {
+            table.add(pcb);
+        }
+        return table;
+    }
+
+    private static void printReport(String algorithmName, int loaded, long ticks, long elapsedNanos, MetricsManager metrics,
+                                    int ready, int readySuspended, int pending) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        double ticksPerSecond = seconds > 0 ? ticks / seconds : 0.0;
+
+        System.out.println("=== Reporte de simulación ===");
+        System.out.printf("Algoritmo:              %s%n", algorithmName);
+        System.out.printf("Procesos cargados:      %d%n", loaded);
+        System.out.printf("Ticks simulados:        %d%n", metrics.getTotalTicks());
+        System.out.printf("Tiempo real:            %.3f s%n", seconds);
+        System.out.printf("Velocidad:              %.0f ticks/s%n", ticksPerSecond);
+        System.out.printf("Uso de CPU:             %.2f %%%n", metrics.getCpuUtilization());
+        System.out.printf("Procesos completados:   %d%n", metrics.getCompletedProcesses());
+        System.out.printf("Deadlines cumplidos:    %d (%.2f %%)%n", metrics.getDeadlinesMet(), metrics.getSuccessRate());
+        if (metrics.getDeadlineMisses() > 0) {
+            System.out.printf("Deadlines vencidos:     %d, abortados=%d%n", metrics.getDeadlineMisses(),
+                    metrics.getAbortedProcesses());
+        }
+        if (metrics.getRejectedProcesses() > 0 || metrics.getDeferredProcesses() > 0) {
+            System.out.printf("Control de admisión:    %d rechazados, %d diferidos%n", metrics.getRejectedProcesses(),
+                    metrics.getDeferredProcesses());
+        }
+        System.out.printf("Pendientes:             listos=%d, listos-suspendidos=%d, nuevos=%d%n",
+                ready, readySuspended, pending);
+        System.out.printf("Swapping:               %d a RAM, %d a disco%n", metrics.getSwapIns(), metrics.getSwapOuts());
+        LogHistogram onDisk = metrics.getSwapInLatency();
+        if (onDisk.getTotalCount() > 0) {
+            System.out.printf("Tiempo en disco:        p50=%d, p99=%d, máx=%d ticks%n", onDisk.getValueAtPercentile(50),
+                    onDisk.getValueAtPercentile(99), onDisk.getMax());
+        }
+        LogHistogram ioBlocked = metrics.getIoBlockedTime();
+        if (ioBlocked.getTotalCount() > 0) {
+            System.out.printf("Bloqueo por E/S:        %d pedidos, p50=%d, p99=%d, máx=%d ticks%n", ioBlocked.getTotalCount(),
+                    ioBlocked.getValueAtPercentile(50), ioBlocked.getValueAtPercentile(99), ioBlocked.getMax());
+        }
+    }
+
+    private static void printDevices(Scheduler scheduler) {
+        if (scheduler.getMetricsManager().getIoBlockedTime().getTotalCount() == 0) {
+            return;
+        }
+        System.out.println("Dispositivos de E/S:    uso, pedidos, cola máxima");
+        for (int i = 0; i < SystemConfig.IO_DEVICE_COUNT; i++) {
+            IoDevice device = scheduler.getIoDevice(i);
+            if (device.getRequests() == 0) {
+                continue;
+            }
+            System.out.printf("  %-21s %.2f %%, pedidos=%d, cola máx=%d%n", device.getName(),
+                    device.getUtilization(scheduler.getCurrentTick()), device.getRequests(), device.getMaxQueueLength());
+        }
+    }
+
+    private static void printLatencies(MetricsManager metrics) {
+        for (String algorithm : metrics.getLatencyAlgorithms()) {
+            printLatencies(metrics, algorithm);
+        }
+    }
+
+    private static void printLatencies(MetricsManager metrics, String algorithm) {
+        System.out.printf("%n%-30s %10s %10s %10s %10s%n", "Latencias de " + algorithm + " (ticks)", "p50", "p99", "p99.9", "máx");
+        LatencyStats total = metrics.getLatencyStats(algorithm);
+        printLatencyRow("Respuesta", total.getResponseTime());
+        printLatencyRow("Espera", total.getWaitingTime());
+        printLatencyRow("Retorno", total.getTurnaroundTime());
+        printLatencyRow("Holgura (cumplidos)", total.getSlack());
+        printLatencyRow("Retraso (incumplidos)", total.getLateness());
+        for (int band = 0; band < MetricsManager.PRIORITY_BANDS; band++) {
+            LatencyStats stats = metrics.getLatencyStats(algorithm, band);
+            if (stats == null || stats.getCount() == 0) {
+                continue;
+            }
+            System.out.printf("  Prioridad %s: %d procesos%n", MetricsManager.getPriorityBandName(band), stats.getCount());
+            printLatencyRow("  Respuesta", stats.getResponseTime());
+            printLatencyRow("  Retorno", stats.getTurnaroundTime());
+        }
+    }
+
+    private static void printLatencyRow(String label, LogHistogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            System.out.printf("  %-28s %10s%n", label, "-");
+            return;
+        }
+        System.out.printf("  %-28s %10d %10d %10d %10d%n", label, histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMax());
+    }
+
+    private static void printUsage() {
+        System.err.println("Uso: java -cp out com.microsat.rtos.sim.HeadlessRunner [--event-driven] [--profile] [--trace archivo.rttr] [--checkpoint-every N directorio] [--swap-policy política] [--abort-on-miss] [--admission política] [--tasks tareas.csv] [--table] [archivo] <algoritmo> <ticks>");
+        System.err.println("       java -cp out com.microsat.rtos.sim.HeadlessRunner [--event-driven] [--profile] [--trace archivo.rttr] [--checkpoint-every N directorio] [--swap-policy política] [--abort-on-miss] [--admission política] --restore checkpoint.rtcp <ticks>");
+        System.err.println("       java -cp out com.microsat.rtos.sim.HeadlessRunner --cores N [--partitioned] <archivo> <algoritmo> <ticks>");
+        System.err.println("       java -cp out com.microsat.rtos.sim.HeadlessRunner --tasks tareas.csv --cyclic <ticks>");
+        System.err.print("Algoritmos:");
+        for (String name : AlgorithmFactory.ALGORITHM_NAMES) {
+            System.err.print(" \"" + name + "\"");
+        }
+        System.err.println();
+        System.err.print("Políticas de swapping:");
+        for (SwapPolicy policy : SwapPolicy.values()) {
+            System.err.print(" " + policy.name().toLowerCase().replace('_', '-'));
+        }
+        System.err.println();
+        System.err.print("Políticas de admisión:");
+        for (AdmissionPolicy policy : AdmissionPolicy.values()) {
+            System.err.print(" " + policy.name().toLowerCase());
+        }
+        System.err.println();
+    }
+}
@@ -0,0 +1,344 @@
+package com.microsat.rtos.sim;
+
+import com.microsat.rtos.core.MultiCoreScheduler;
+import com.microsat.rtos.core.PCB;
+import com.microsat.rtos.core.Scheduler;
+import com.microsat.rtos.core.SimulationConfig;
+import com.microsat.rtos.core.SystemConfig;
+import com.microsat.rtos.core.algorithms.AlgorithmFactory;
+import com.microsat.rtos.datastructures.CustomArrayList;
+import com.microsat.rtos.io.ProcessLoader;
+import com.microsat.rtos.metrics.LatencyStats;
+import com.microsat.rtos.metrics.MetricsManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Barrido de parámetros: corre la misma carga de trabajo con cada combinación de
+ * algoritmo × quantum × límite de memoria × núcleos y muestra una tabla comparativa.
+ * <p>
+ * Cada corrida usa su propio {@link Scheduler}, su propia {@link SimulationConfig}, sus propias
+ * {@link MetricsManager} y copias de los PCBs, así que no comparten estado mutable y se reparten
+ * entre todos los núcleos con un {@link ForkJoinPool}.
+ * <p>
+ * Uso: {@code java -cp out com.microsat.rtos.sim.ParameterSweep <archivo> <ticks> [opciones]}
+ * <ul>
+ *   <li>{@code --algorithms FCFS,EDF} (por defecto, todos)</li>
+ *   <li>{@code --quantums 5,10,20} (por defecto, el de {@code SystemConfig})</li>
+ *   <li>{@code --memory 5,10,50} (por defecto, el de {@code SystemConfig})</li>
+ *   <li>{@code --cores 1,2,4,8,16} núcleos simulados (por defecto, 1). Con más de un núcleo se usa
+ *       {@link MultiCoreScheduler}</li>
+ *   <li>{@code --partitioned}: colas por núcleo con robo de trabajo en lugar de una cola global</li>
+ *   <li>{@code --threads N} (por defecto, un hilo por núcleo del host)</li>
+ *   <li>{@code --event-driven}: cada corrida usa {@link Scheduler#advanceEventDriven(long)}
+ *       (solo con un núcleo)</li>
+ * </ul>
+ */
+public class ParameterSweep {
+
+    /**
+     * Resultado de una corrida del barrido.
+     */
+    public static final class Result {
+        private final String algorithm;
+        private final SimulationConfig config;
+        private final int cores;
+        private final long ticks;
+        private final double cpuUtilization;
+        private final int completed;
+        private final int deadlinesMet;
+        private final long responseP99;
+        private final long turnaroundP99;
+        private final long elapsedNanos;
+
+        Result(String algorithm, SimulationConfig config, int cores, MetricsManager metrics, long elapsedNanos) {
+            this.algorithm = algorithm;
+            this.config = config;
+            this.cores = cores;
+            this.ticks = metrics.getTotalTicks();
+            this.cpuUtilization = metrics.getCpuUtilization();
+            this.completed = metrics.getCompletedProcesses();
+            this.deadlinesMet = metrics.getDeadlinesMet();
+            LatencyStats latencies = metrics.getLatencyStats();
+            this.responseP99 = latencies.getResponseTime().getValueAtPercentile(99);
+            this.turnaroundP99 = latencies.getTurnaroundTime().getValueAtPercentile(99);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public SimulationConfig getConfig() {
+            return config;
+        }
+
+        public int getCores() {
+            return cores;
+        }
+
+        public long getTicks() {
+            return ticks;
+        }
+
+        public int getCompleted() {
+            return completed;
+        }
+
+        public int getDeadlinesMet() {
+            return deadlinesMet;
+        }
+
+        public double getCpuUtilization() {
+            return cpuUtilization;
+        }
+
+        public double getSuccessRate() {
+            return completed == 0 ? 100.0 : (double) deadlinesMet / completed * 100.0;
+        }
+
+        /**
+         * @return El percentil 99 del tiempo de respuesta de los procesos terminados, en ticks.
+         */
+        public long getResponseP99() {
+            return responseP99;
+        }
+
+        /**
+         * @return El percentil 99 del tiempo de retorno de los procesos terminados, en ticks.
+         */
+        public long getTurnaroundP99() {
+            return turnaroundP99;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    private final PCB[] workload;
+    private final long ticks;
+    private final boolean eventDriven;
+    private final String[] algorithms;
+    private final SimulationConfig[] configs;
+    private final int[] coreCounts;
+    private final MultiCoreScheduler.Mode mode;
+
+    /**
+     * @param workload Carga de trabajo plantilla; cada corrida usa copias de estos PCBs.
+     * @param ticks Ticks a simular por corrida.
+     * @param eventDriven true para usar el modo de eventos discretos.
+     * @param algorithms Nombres de los algoritmos a comparar.
+     * @param quantums Valores de quantum a comparar.
+     * @param memoryLimits Límites de memoria a comparar.
+     */
+    public ParameterSweep(PCB[] workload, long ticks, boolean eventDriven,
+                          String[] algorithms, int[] quantums, int[] memoryLimits) {
+        this(workload, ticks, eventDriven, algorithms, quantums, memoryLimits, new int[]{1}, MultiCoreScheduler.Mode.GLOBAL);
+    }
+
+    /**
+     * @param workload Carga de trabajo plantilla; cada corrida usa copias de estos PCBs.
+     * @param ticks Ticks a simular por corrida.
+     * @param eventDriven true para usar el modo de eventos discretos (solo corridas de un núcleo).
+     * @param algorithms Nombres de los algoritmos a comparar.
+     * @param quantums Valores de quantum a comparar.
+     * @param memoryLimits Límites de memoria a comparar.
+     * @param coreCounts Números de núcleos a comparar.
+     * @param mode Organización de las colas en las corridas multinúcleo.
+     */
+    public ParameterSweep(PCB[] workload, long ticks, boolean eventDriven, String[] algorithms, int[] quantums,
+                          int[] memoryLimits, int[] coreCounts, MultiCoreScheduler.Mode mode) {
+        this.workload = workload;
+        this.ticks = ticks;
+        this.eventDriven = eventDriven;
+        this.algorithms = algorithms;
+        this.configs = new SimulationConfig[quantums.length * memoryLimits.length];
+        int index = 0;
+        for (int quantum : quantums) {
+            for (int memory : memoryLimits) {
+                configs[index++] = new SimulationConfig(memory, quantum);
+            }
+        }
+        this.coreCounts = coreCounts;
+        this.mode = mode;
+    }
+
+    /**
+     * Ejecuta todas las combinaciones en el pool indicado.
+     * @param pool Pool donde se reparten las corridas.
+     * @return Los resultados en orden algoritmo × quantum × memoria × núcleos.
+     */
+    public Result[] run(ForkJoinPool pool) {
+        Result[] results = new Result[algorithms.length * configs.length * coreCounts.length];
+        pool.invoke(new SweepTask(results, 0, results.length));
+        return results;
+    }
+
+    private Result runSingle(int index) {
+        int cores = coreCounts[index % coreCounts.length];
+        int combination = index / coreCounts.length;
+        String algorithm = algorithms[combination / configs.length];
+        SimulationConfig config = configs[combination % configs.length];
+        MetricsManager metrics = new MetricsManager();
+        if (cores > 1) {
+            MultiCoreScheduler multiCore = new MultiCoreScheduler(config, metrics, cores, mode, AlgorithmFactory.create(algorithm));
+            for (PCB template : workload) {
+                multiCore.addProcess(template.copy());
+            }
+            long start = System.nanoTime();
+            multiCore.advance(ticks);
+            return new Result(algorithm, config, cores, metrics, System.nanoTime() - start);
+        }
+        Scheduler scheduler = new Scheduler(config, metrics);
+        scheduler.setAlgorithm(AlgorithmFactory.create(algorithm));
+        for (PCB template : workload) {
+            scheduler.addProcess(template.copy());
+        }
+        long start = System.nanoTime();
+        if (eventDriven) {
+            scheduler.advanceEventDriven(ticks);
+        } else {
+            scheduler.advance(ticks);
+        }
+        return new Result(algorithm, config, 1, metrics, System.nanoTime() - start);
+    }
+
+    /**
+     * Divide el rango de corridas a la mitad hasta quedar con una sola, que se ejecuta directamente.
+     */
+    private final class SweepTask extends RecursiveAction {
+        private final Result[] results;
+        private final int from;
+        private final int to;
+
+        SweepTask(Result[] results, int from, int to) {
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                results[from] = runSingle(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SweepTask(results, from, middle), new SweepTask(results, middle, to));
+        }
+    }
+
+    public static void main(String[] args) {
+        String[] algorithms = AlgorithmFactory.ALGORITHM_NAMES;
+        int[] quantums = {SystemConfig.DEFAULT_QUANTUM};
+        int[] memoryLimits = {SystemConfig.MAX_MEMORY_PROCESSES};
+        int[] coreCounts = {1};
+        MultiCoreScheduler.Mode mode = MultiCoreScheduler.Mode.GLOBAL;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean eventDriven = false;
+        File file;
+        long ticks;
+        try {
+            if (args.length < 2) {
+                throw new IllegalArgumentException("Faltan el archivo y los ticks");
+            }
+            file = new File(args[0]);
+            ticks = Long.parseLong(args[1]);
+            for (int i = 2; i < args.length; i++) {
+                String option = args[i];
+                if (option.equals("--event-driven")) {
+                    eventDriven = true;
+                    continue;
+                }
+                if (option.equals("--partitioned")) {
+                    mode = MultiCoreScheduler.Mode.PARTITIONED;
+                    continue;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Falta el valor de " + option);
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--algorithms": algorithms = value.split(","); break;
+                    case "--quantums": quantums = parseInts(value); break;
+                    case "--memory": memoryLimits = parseInts(value); break;
+                    case "--cores": coreCounts = parseInts(value); break;
+                    case "--threads": threads = Integer.parseInt(value); break;
+                    default: throw new IllegalArgumentException("Opción desconocida: " + option);
+                }
+            }
+            for (String algorithm : algorithms) {
+                AlgorithmFactory.create(algorithm); // Valida los nombres antes de empezar
+            }
+            for (int cores : coreCounts) {
+                if (cores <= 0) {
+                    throw new IllegalArgumentException("El número de núcleos debe ser positivo: " + cores);
+                }
+                if (cores > 1 && eventDriven) {
+                    throw new IllegalArgumentException("--event-driven solo admite corridas de un núcleo");
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Argumento inválido: " + e.getMessage());
+            System.err.println("Uso: java -cp out com.microsat.rtos.sim.ParameterSweep <archivo> <ticks> "
+                    + "[--algorithms A,B] [--quantums 5,10] [--memory 5,50] [--cores 1,2,4] [--partitioned] [--threads N] [--event-driven]");
+            System.exit(2);
+            return;
+        }
+
+        CustomArrayList<PCB> loaded;
+        try {
+            loaded = ProcessLoader.loadFromFile(file);
+        } catch (IOException e) {
+            System.err.println("Error cargando archivo: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        PCB[] workload = new PCB[loaded.size()];
+        int index = 0;
+        for (PCB pcb : loaded) {
+            workload[index++] = pcb;
+        }
+
+        ParameterSweep sweep = new ParameterSweep(workload, ticks, eventDriven, algorithms, quantums, memoryLimits,
+                coreCounts, mode);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        Result[] results;
+        try {
+            results = sweep.run(pool);
+        } finally {
+            pool.shutdown();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        printTable(results);
+        System.out.printf("%d corridas en %.3f s con %d hilos%n", results.length, elapsedNanos / 1e9, threads);
+    }
+
+    private static void printTable(Result[] results) {
+        System.out.printf("%-12s %8s %8s %8s %12s %12s %10s %10s %10s %10s %10s%n",
+                "Algoritmo", "Quantum", "Memoria", "Núcleos", "Completados", "Deadlines", "Éxito %", "CPU %",
+                "p99 resp", "p99 ret", "Tiempo s");
+        for (Result result : results) {
+            System.out.printf("%-12s %8d %8d %8d %12d %12d %10.2f %10.2f %10d %10d %10.3f%n",
+                    result.getAlgorithm(), result.getConfig().getQuantum(), result.getConfig().getMaxMemoryProcesses(),
+                    result.getCores(), result.getCompleted(), result.getDeadlinesMet(), result.getSuccessRate(),
+                    result.getCpuUtilization(), result.getResponseP99(), result.getTurnaroundP99(),
+                    result.getElapsedNanos() / 1e9);
+        }
+    }
+
+    private static int[] parseInts(String csv) {
+        String[] parts = csv.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+}
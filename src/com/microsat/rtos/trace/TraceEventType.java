@@ -0,0 +1,67 @@
+package com.microsat.rtos.trace;
+
+/**
+ * Tipos de evento de una traza de ejecución. El código se guarda en un byte; el 0 no se usa, de
+ * modo que un registro lleno de ceros marca el final de una traza que no se cerró.
+ */
+public enum TraceEventType {
+    /** El proceso entró al sistema (a listos o a listos-suspendidos, según el estado registrado). */
+    ADMISSION(1),
+    /** El proceso pasó a la CPU. */
+    DISPATCH(2),
+    /** El proceso fue expropiado; el argumento es el ID del proceso que lo desplazó. */
+    PREEMPTION(3),
+    /** El proceso agotó su quantum y volvió a listos. */
+    QUANTUM_EXPIRED(4),
+    /** El proceso terminó; el argumento es el deadline restante (negativo si no lo cumplió). */
+    COMPLETION(5),
+    /** El planificador de mediano plazo llevó el proceso a disco; el argumento es el ID del proceso para el que hizo lugar (-1 si ninguno). */
+    SWAP_OUT(6),
+    /** El proceso volvió de disco a RAM; el argumento es el número de ticks que pasó en disco. */
+    SWAP_IN(7),
+    /** El proceso dejó la CPU para esperar una E/S; el argumento es el índice del dispositivo. */
+    IO_BLOCK(8),
+    /** Terminó la E/S del proceso (vuelve a listos o a listos-suspendidos); el argumento es el índice del dispositivo. */
+    IO_WAKEUP(9),
+    /** Venció el deadline del proceso sin que terminara; el argumento es el número de ticks de CPU que le faltaban. */
+    DEADLINE_MISS(10),
+    /** El proceso se abortó por incumplir su deadline y pasó a terminados. */
+    ABORT(11),
+    /** El control de admisión rechazó el proceso, que pasó a terminados sin ejecutar. */
+    REJECTION(12),
+    /** El control de admisión difirió la llegada del proceso hasta que el conjunto admitido le deje lugar. */
+    DEFERRAL(13);
+
+    private static final TraceEventType[] BY_CODE = new TraceEventType[14];
+
+    static {
+        for (TraceEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    TraceEventType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * @return true si después de este evento la CPU queda libre.
+     */
+    public boolean releasesCpu() {
+        return this == PREEMPTION || this == QUANTUM_EXPIRED || this == COMPLETION || this == IO_BLOCK || this == ABORT;
+    }
+
+    /**
+     * @param code Código leído de la traza.
+     * @return El tipo correspondiente, o null si el código no es válido.
+     */
+    public static TraceEventType fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.microsat.rtos.trace;
+
+/**
+ * Constantes del formato de traza ({@value #EXTENSION}), compartidas por {@link TraceRecorder} y
+ * {@link TraceReader}.
+ * <p>
+ * Formato (little-endian):
+ * <pre>
+ *   Cabecera (64 bytes): magic "RTTR", versión (int), tamaño de registro (int),
+ *                        intervalo del índice en eventos (int), cantidad de eventos (long),
+ *                        posición del índice (long, 0 si la traza no se cerró),
+ *                        cantidad de entradas del índice (int), reservado
+ *   Eventos (24 bytes c/u): tick (long), ID del proceso (int), argumento (int),
+ *                           PC (int), tipo (byte), estado del proceso (byte), reservado (short)
+ *   Índice (24 bytes c/u): tick (long), número de evento (long),
+ *                          ID del proceso en CPU antes de ese evento (int, -1 si ninguno), reservado (int)
+ * </pre>
+ * Hay una entrada de índice cada {@link #INDEX_INTERVAL} eventos.
+ */
+final class TraceFormat {
+
+    static final String EXTENSION = ".rttr";
+
+    static final int MAGIC = 'R' | ('T' << 8) | ('T' << 16) | ('R' << 24);
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int RECORD_BYTES = 24;
+    static final int INDEX_ENTRY_BYTES = 24;
+    static final int INDEX_INTERVAL = 1024;
+
+    // Segmentos mapeados de 24 MB: un número entero de registros.
+    static final int RECORDS_PER_SEGMENT = 1 << 20;
+    static final long SEGMENT_BYTES = (long) RECORDS_PER_SEGMENT * RECORD_BYTES;
+
+    // Desplazamientos dentro de la cabecera
+    static final int HEADER_MAGIC = 0;
+    static final int HEADER_VERSION = 4;
+    static final int HEADER_RECORD_BYTES = 8;
+    static final int HEADER_INDEX_INTERVAL = 12;
+    static final int HEADER_EVENT_COUNT = 16;
+    static final int HEADER_INDEX_POSITION = 24;
+    static final int HEADER_INDEX_COUNT = 32;
+
+    // Desplazamientos dentro de un registro
+    static final int EVENT_TICK = 0;
+    static final int EVENT_PROCESS_ID = 8;
+    static final int EVENT_ARGUMENT = 12;
+    static final int EVENT_PROGRAM_COUNTER = 16;
+    static final int EVENT_TYPE = 20;
+    static final int EVENT_STATE = 21;
+
+    static final int NO_PROCESS = -1;
+
+    private TraceFormat() {
+        throw new UnsupportedOperationException("Esta es una clase de utilidad y no puede ser instanciada.");
+    }
+}
@@ -0,0 +1,265 @@
+package com.microsat.rtos.trace;
+
+import com.microsat.rtos.core.ProcessState;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lectura de una traza grabada con {@link TraceRecorder}, mapeada en memoria. Los eventos se
+ * leen por número, sin copiarlos.
+ * <p>
+ * Con el índice disperso, {@link #getRunningProcessAt(long)} y {@link #firstEventAtOrAfter(long)}
+ * hacen una búsqueda binaria sobre el índice (O(log n)) y luego recorren como máximo
+ * {@link TraceFormat#INDEX_INTERVAL} eventos. Si la traza no se cerró (la simulación terminó
+ * abruptamente), se cuentan los eventos completos y el índice se reconstruye en memoria.
+ */
+public final class TraceReader {
+
+    private static final ProcessState[] STATES = ProcessState.values();
+
+    private final MappedByteBuffer[] segments;
+    private final long eventCount;
+    private final boolean recovered;
+    private final long[] indexTicks;
+    private final long[] indexEvents;
+    private final int[] indexRunning;
+    private final int indexCount;
+
+    private TraceReader(MappedByteBuffer[] segments, long eventCount, boolean recovered, long[] indexTicks,
+                        long[] indexEvents, int[] indexRunning, int indexCount) {
+        this.segments = segments;
+        this.eventCount = eventCount;
+        this.recovered = recovered;
+        this.indexTicks = indexTicks;
+        this.indexEvents = indexEvents;
+        this.indexRunning = indexRunning;
+        this.indexCount = indexCount;
+    }
+
+    /**
+     * Abre una traza.
+     * @param file Archivo {@value TraceFormat#EXTENSION}.
+     * @return Vista de solo lectura sobre la traza.
+     * @throws IOException Si el archivo no se puede leer o no tiene el formato esperado.
+     */
+    public static TraceReader open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < TraceFormat.HEADER_BYTES) {
+                throw new IOException("Traza truncada: " + file.getName());
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, TraceFormat.HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(TraceFormat.HEADER_MAGIC) != TraceFormat.MAGIC) {
+                throw new IOException("No es un archivo de traza: " + file.getName());
+            }
+            if (header.getInt(TraceFormat.HEADER_VERSION) != TraceFormat.VERSION
+                    || header.getInt(TraceFormat.HEADER_RECORD_BYTES) != TraceFormat.RECORD_BYTES
+                    || header.getInt(TraceFormat.HEADER_INDEX_INTERVAL) != TraceFormat.INDEX_INTERVAL) {
+                throw new IOException("Versión de formato de traza no soportada: " + header.getInt(TraceFormat.HEADER_VERSION));
+            }
+            long indexPosition = header.getLong(TraceFormat.HEADER_INDEX_POSITION);
+            long maxEvents = (fileSize - TraceFormat.HEADER_BYTES) / TraceFormat.RECORD_BYTES;
+            MappedByteBuffer[] segments = mapSegments(channel, fileSize);
+
+            if (indexPosition == 0) {
+                // Traza sin cerrar: los eventos completos terminan en el primer registro vacío.
+                long count = 0;
+                while (count < maxEvents && typeCode(segments, count) != 0) {
+                    count++;
+                }
+                return rebuildIndex(segments, count);
+            }
+
+            long eventCount = header.getLong(TraceFormat.HEADER_EVENT_COUNT);
+            int indexCount = header.getInt(TraceFormat.HEADER_INDEX_COUNT);
+            long indexBytes = (long) indexCount * TraceFormat.INDEX_ENTRY_BYTES;
+            if (eventCount < 0 || eventCount > maxEvents || indexCount < 0
+                    || indexPosition != TraceFormat.HEADER_BYTES + eventCount * TraceFormat.RECORD_BYTES
+                    || indexPosition + indexBytes > fileSize) {
+                throw new IOException("Traza corrupta: " + file.getName());
+            }
+            ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexPosition, indexBytes)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            long[] ticks = new long[indexCount];
+            long[] events = new long[indexCount];
+            int[] running = new int[indexCount];
+            for (int i = 0; i < indexCount; i++) {
+                ticks[i] = index.getLong();
+                events[i] = index.getLong();
+                running[i] = index.getInt();
+                index.getInt(); // Reservado
+            }
+            return new TraceReader(segments, eventCount, false, ticks, events, running, indexCount);
+        }
+    }
+
+    private static MappedByteBuffer[] mapSegments(FileChannel channel, long fileSize) throws IOException {
+        long dataBytes = fileSize - TraceFormat.HEADER_BYTES;
+        int count = (int) ((dataBytes + TraceFormat.SEGMENT_BYTES - 1) / TraceFormat.SEGMENT_BYTES);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long position = TraceFormat.HEADER_BYTES + i * TraceFormat.SEGMENT_BYTES;
+            long size = Math.min(TraceFormat.SEGMENT_BYTES, fileSize - position);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return segments;
+    }
+
+    /**
+     * Recorre todos los eventos para reconstruir el índice de una traza que no se cerró.
+     */
+    private static TraceReader rebuildIndex(MappedByteBuffer[] segments, long eventCount) {
+        int indexCount = (int) ((eventCount + TraceFormat.INDEX_INTERVAL - 1) / TraceFormat.INDEX_INTERVAL);
+        long[] ticks = new long[indexCount];
+        long[] events = new long[indexCount];
+        int[] running = new int[indexCount];
+        TraceReader partial = new TraceReader(segments, eventCount, true, ticks, events, running, 0);
+        int runningProcess = TraceFormat.NO_PROCESS;
+        for (long event = 0; event < eventCount; event++) {
+            if (event % TraceFormat.INDEX_INTERVAL == 0) {
+                int entry = (int) (event / TraceFormat.INDEX_INTERVAL);
+                ticks[entry] = partial.getTick(event);
+                events[entry] = event;
+                running[entry] = runningProcess;
+            }
+            runningProcess = partial.applyToRunning(runningProcess, event);
+        }
+        return new TraceReader(segments, eventCount, true, ticks, events, running, indexCount);
+    }
+
+    // --- Acceso a eventos ---
+
+    /**
+     * @return El número de eventos de la traza.
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @return true si la traza no se había cerrado y su índice se reconstruyó al abrirla.
+     */
+    public boolean isRecovered() {
+        return recovered;
+    }
+
+    public long getTick(long event) {
+        return segment(event).getLong(offset(event) + TraceFormat.EVENT_TICK);
+    }
+
+    public int getProcessId(long event) {
+        return segment(event).getInt(offset(event) + TraceFormat.EVENT_PROCESS_ID);
+    }
+
+    /**
+     * @return El dato adicional del evento (ver {@link TraceEventType}).
+     */
+    public int getArgument(long event) {
+        return segment(event).getInt(offset(event) + TraceFormat.EVENT_ARGUMENT);
+    }
+
+    public int getProgramCounter(long event) {
+        return segment(event).getInt(offset(event) + TraceFormat.EVENT_PROGRAM_COUNTER);
+    }
+
+    public TraceEventType getType(long event) {
+        return TraceEventType.fromCode(typeCode(segments, event));
+    }
+
+    /**
+     * @return El estado del proceso después del evento.
+     */
+    public ProcessState getState(long event) {
+        return STATES[segment(event).get(offset(event) + TraceFormat.EVENT_STATE)];
+    }
+
+    // --- Búsquedas por tick ---
+
+    /**
+     * Indica qué proceso tenía la CPU al final del tick indicado, después de todos los eventos de
+     * ese tick (es decir, el proceso que ejecuta durante el tick siguiente).
+     * @param tick Tick a consultar.
+     * @return El ID del proceso, o -1 si la CPU estaba libre.
+     */
+    public int getRunningProcessAt(long tick) {
+        int entry = lastIndexEntryAtOrBefore(tick);
+        if (entry < 0) {
+            return TraceFormat.NO_PROCESS; // Antes del primer evento
+        }
+        int running = indexRunning[entry];
+        for (long event = indexEvents[entry]; event < eventCount && getTick(event) <= tick; event++) {
+            running = applyToRunning(running, event);
+        }
+        return running;
+    }
+
+    /**
+     * @param tick Tick a buscar.
+     * @return El número del primer evento con tick mayor o igual, o {@link #getEventCount()} si no hay.
+     */
+    public long firstEventAtOrAfter(long tick) {
+        int entry = lastIndexEntryBefore(tick);
+        long event = entry < 0 ? 0 : indexEvents[entry];
+        while (event < eventCount && getTick(event) < tick) {
+            event++;
+        }
+        return event;
+    }
+
+    /**
+     * @return La última entrada del índice con tick menor o igual, o -1.
+     */
+    private int lastIndexEntryAtOrBefore(long tick) {
+        int low = 0;
+        int high = indexCount - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (indexTicks[middle] <= tick) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return La última entrada del índice con tick estrictamente menor, o -1.
+     */
+    private int lastIndexEntryBefore(long tick) {
+        return tick == Long.MIN_VALUE ? -1 : lastIndexEntryAtOrBefore(tick - 1);
+    }
+
+    private int applyToRunning(int running, long event) {
+        TraceEventType type = getType(event);
+        if (type == TraceEventType.DISPATCH) {
+            return getProcessId(event);
+        }
+        if (type != null && type.releasesCpu() && getProcessId(event) == running) {
+            return TraceFormat.NO_PROCESS;
+        }
+        return running;
+    }
+
+    private MappedByteBuffer segment(long event) {
+        return segments[(int) (event / TraceFormat.RECORDS_PER_SEGMENT)];
+    }
+
+    private static int offset(long event) {
+        return (int) (event % TraceFormat.RECORDS_PER_SEGMENT) * TraceFormat.RECORD_BYTES;
+    }
+
+    private static int typeCode(MappedByteBuffer[] segments, long event) {
+        return segments[(int) (event / TraceFormat.RECORDS_PER_SEGMENT)].get(offset(event) + TraceFormat.EVENT_TYPE);
+    }
+}
@@ -0,0 +1,201 @@
+package com.microsat.rtos.trace;
+
+import com.microsat.rtos.core.PCB;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Graba una traza binaria de solo anexado con cada transición de estado del Scheduler
+ * (admisiones, despachos, expropiaciones, fines de quantum y terminaciones).
+ * <p>
+ * Los eventos se escriben directamente en segmentos del archivo mapeados en memoria: registrar
+ * un evento son unas pocas escrituras en memoria, sin llamadas al sistema ni objetos nuevos. El
+ * sistema operativo vuelca las páginas al disco, así que los eventos sobreviven aunque la JVM
+ * termine sin cerrar la traza ({@link TraceReader} la recupera leyendo hasta el primer registro
+ * vacío). Al cerrar se escribe el índice disperso de ticks y se completa la cabecera.
+ * <p>
+ * No es seguro para varios hilos: el Scheduler registra siempre desde su propio hilo.
+ * Ver el formato en {@link TraceFormat}.
+ */
+public final class TraceRecorder implements Closeable {
+
+    /**
+     * Extensión de los archivos de traza.
+     */
+    public static final String EXTENSION = TraceFormat.EXTENSION;
+
+    private final FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private int segmentRecords; // Registros escritos en el segmento actual
+    private long eventCount;
+    private int runningProcessId = TraceFormat.NO_PROCESS;
+    private boolean closed;
+
+    // Índice disperso en memoria (se escribe al final del archivo al cerrar)
+    private long[] indexTicks = new long[64];
+    private long[] indexEvents = new long[64];
+    private int[] indexRunning = new int[64];
+    private int indexCount;
+
+    private TraceRecorder(FileChannel channel) throws IOException {
+        this.channel = channel;
+        writeHeader(0, 0, 0);
+        this.segment = mapSegment(0);
+    }
+
+    /**
+     * Crea (o reemplaza) un archivo de traza.
+     * @param file Archivo destino, normalmente con extensión {@value #EXTENSION}.
+     * @return Un grabador listo para registrar eventos.
+     * @throws IOException Si el archivo no se puede crear o mapear.
+     */
+    public static TraceRecorder create(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new TraceRecorder(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Registra un evento.
+     * @param type Tipo del evento.
+     * @param tick Tick del Scheduler en el que ocurrió.
+     * @param pcb Proceso afectado; se guardan su ID, su PC y su estado después del evento.
+     * @param argument Dato adicional según el tipo (ver {@link TraceEventType}).
+     * @throws IllegalStateException si la traza ya se cerró.
+     * @throws UncheckedIOException si no se puede mapear un segmento nuevo del archivo.
+     */
+    public void record(TraceEventType type, long tick, PCB pcb, int argument) {
+        if (closed) {
+            throw new IllegalStateException("La traza ya fue cerrada");
+        }
+        if (segmentRecords == TraceFormat.RECORDS_PER_SEGMENT) {
+            nextSegment();
+        }
+        if (eventCount % TraceFormat.INDEX_INTERVAL == 0) {
+            addIndexEntry(tick);
+        }
+        int base = segmentRecords * TraceFormat.RECORD_BYTES;
+        segment.putLong(base + TraceFormat.EVENT_TICK, tick);
+        segment.putInt(base + TraceFormat.EVENT_PROCESS_ID, pcb.getProcessId());
+        segment.putInt(base + TraceFormat.EVENT_ARGUMENT, argument);
+        segment.putInt(base + TraceFormat.EVENT_PROGRAM_COUNTER, pcb.getProgramCounter());
+        segment.put(base + TraceFormat.EVENT_STATE, (byte) pcb.getState().ordinal());
+        // El tipo se escribe al final: un registro con tipo distinto de 0 está completo.
+        segment.put(base + TraceFormat.EVENT_TYPE, type.getCode());
+        segmentRecords++;
+        eventCount++;
+
+        if (type == TraceEventType.DISPATCH) {
+            runningProcessId = pcb.getProcessId();
+        } else if (type.releasesCpu() && pcb.getProcessId() == runningProcessId) {
+            runningProcessId = TraceFormat.NO_PROCESS;
+        }
+    }
+
+    /**
+     * @return El número de eventos registrados.
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Escribe el índice y la cabecera definitiva, y recorta el archivo al tamaño usado.
+     * @throws IOException Si no se puede escribir el archivo.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            long indexPosition = TraceFormat.HEADER_BYTES + eventCount * TraceFormat.RECORD_BYTES;
+            ByteBuffer index = ByteBuffer.allocate(indexCount * TraceFormat.INDEX_ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < indexCount; i++) {
+                index.putLong(indexTicks[i]).putLong(indexEvents[i]).putInt(indexRunning[i]).putInt(0);
+            }
+            index.flip();
+            writeFully(index, indexPosition);
+            writeHeader(eventCount, indexPosition, indexCount);
+            segment = null;
+            try {
+                channel.truncate(indexPosition + (long) indexCount * TraceFormat.INDEX_ENTRY_BYTES);
+            } catch (IOException e) {
+                // Algunos sistemas no permiten recortar un archivo con regiones mapeadas. La traza
+                // sigue siendo válida: el lector usa la cabecera, no el tamaño del archivo.
+            }
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void nextSegment() {
+        try {
+            segment = mapSegment(segmentIndex + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo extender la traza", e);
+        }
+        segmentIndex++;
+        segmentRecords = 0;
+    }
+
+    private MappedByteBuffer mapSegment(int index) throws IOException {
+        long position = TraceFormat.HEADER_BYTES + index * TraceFormat.SEGMENT_BYTES;
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, position, TraceFormat.SEGMENT_BYTES);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        return mapped;
+    }
+
+    private void addIndexEntry(long tick) {
+        if (indexCount == indexTicks.length) {
+            int capacity = indexCount * 2;
+            long[] ticks = new long[capacity];
+            long[] events = new long[capacity];
+            int[] running = new int[capacity];
+            System.arraycopy(indexTicks, 0, ticks, 0, indexCount);
+            System.arraycopy(indexEvents, 0, events, 0, indexCount);
+            System.arraycopy(indexRunning, 0, running, 0, indexCount);
+            indexTicks = ticks;
+            indexEvents = events;
+            indexRunning = running;
+        }
+        indexTicks[indexCount] = tick;
+        indexEvents[indexCount] = eventCount;
+        indexRunning[indexCount] = runningProcessId;
+        indexCount++;
+    }
+
+    private void writeHeader(long events, long indexPosition, int indexEntries) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(TraceFormat.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(TraceFormat.HEADER_MAGIC, TraceFormat.MAGIC);
+        header.putInt(TraceFormat.HEADER_VERSION, TraceFormat.VERSION);
+        header.putInt(TraceFormat.HEADER_RECORD_BYTES, TraceFormat.RECORD_BYTES);
+        header.putInt(TraceFormat.HEADER_INDEX_INTERVAL, TraceFormat.INDEX_INTERVAL);
+        header.putLong(TraceFormat.HEADER_EVENT_COUNT, events);
+        header.putLong(TraceFormat.HEADER_INDEX_POSITION, indexPosition);
+        header.putInt(TraceFormat.HEADER_INDEX_COUNT, indexEntries);
+        writeFully(header, 0);
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.microsat.rtos.trace;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Herramienta de línea de comandos para analizar una traza después de la simulación.
+ * <p>
+ * Uso: {@code java -cp out com.microsat.rtos.trace.TraceReplay <traza.rttr> <comando>}
+ * <ul>
+ *   <li>{@code summary}: cantidad de eventos por tipo y rango de ticks.</li>
+ *   <li>{@code at <tick>}: qué proceso tenía la CPU al final de ese tick.</li>
+ *   <li>{@code range <desde> <hasta>}: los eventos con tick en [desde, hasta].</li>
+ * </ul>
+ */
+public class TraceReplay {
+
+    private static final int MAX_RANGE_EVENTS = 10_000; // Evita inundar la consola
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            printUsage();
+            System.exit(2);
+            return;
+        }
+        TraceReader trace;
+        try {
+            trace = TraceReader.open(new File(args[0]));
+        } catch (IOException e) {
+            System.err.println("Error abriendo la traza: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        try {
+            switch (args[1]) {
+                case "summary":
+                    printSummary(trace);
+                    break;
+                case "at":
+                    requireArguments(args, 3);
+                    long tick = Long.parseLong(args[2]);
+                    int running = trace.getRunningProcessAt(tick);
+                    System.out.println(running < 0
+                            ? "Tick " + tick + ": CPU libre"
+                            : "Tick " + tick + ": proceso " + running);
+                    break;
+                case "range":
+                    requireArguments(args, 4);
+                    printRange(trace, Long.parseLong(args[2]), Long.parseLong(args[3]));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Comando desconocido: " + args[1]);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Argumento inválido: " + e.getMessage());
+            printUsage();
+            System.exit(2);
+        }
+    }
+
+    private static void requireArguments(String[] args, int count) {
+        if (args.length < count) {
+            throw new IllegalArgumentException("Faltan argumentos para " + args[1]);
+        }
+    }
+
+    private static void printSummary(TraceReader trace) {
+        long events = trace.getEventCount();
+        long[] byType = new long[TraceEventType.values().length];
+        for (long event = 0; event < events; event++) {
+            TraceEventType type = trace.getType(event);
+            if (type != null) {
+                byType[type.ordinal()]++;
+            }
+        }
+        System.out.println("=== Traza ===");
+        System.out.printf("Eventos:                %d%s%n", events, trace.isRecovered() ? " (traza sin cerrar, recuperada)" : "");
+        if (events > 0) {
+            System.out.printf("Ticks:                  %d a %d%n", trace.getTick(0), trace.getTick(events - 1));
+        }
+        for (TraceEventType type : TraceEventType.values()) {
+            System.out.printf("  %-20s %d%n", type, byType[type.ordinal()]);
+        }
+    }
+
+    private static void printRange(TraceReader trace, long from, long to) {
+        long event = trace.firstEventAtOrAfter(from);
+        int printed = 0;
+        for (; event < trace.getEventCount() && trace.getTick(event) <= to; event++) {
+            if (printed == MAX_RANGE_EVENTS) {
+                System.out.println("... (se muestran solo los primeros " + MAX_RANGE_EVENTS + " eventos)");
+                return;
+            }
+            System.out.printf("%10d  %-16s proceso=%-8d estado=%-20s pc=%-8d arg=%d%n", trace.getTick(event),
+                    trace.getType(event), trace.getProcessId(event), trace.getState(event),
+                    trace.getProgramCounter(event), trace.getArgument(event));
+            printed++;
+        }
+    }
+
+    private static void printUsage() {
+        System.err.println("Uso: java -cp out com.microsat.rtos.trace.TraceReplay <traza" + TraceFormat.EXTENSION
+                + "> summary | at <tick> | range <desde> <hasta>");
+    }
+}